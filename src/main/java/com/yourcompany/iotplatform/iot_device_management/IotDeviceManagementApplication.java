@@ -2,8 +2,10 @@ package com.yourcompany.iotplatform.iot_device_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class IotDeviceManagementApplication {
 
 	public static void main(String[] args) {
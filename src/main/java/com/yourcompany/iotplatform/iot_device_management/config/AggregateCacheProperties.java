@@ -0,0 +1,59 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplam Sonuç Önbelleği Konfigürasyonu
+ * telemetry.aggregate-cache.enabled ile sayısal toplam sorguları (ortalama, min, max, toplam) UTC'ye hizalı
+ * kovalara bölünür; tamamen geçmişte kalan kovaların sonucu bellekte tutulur, yalnızca açık kova ve aralık
+ * kenarlarındaki kısmi kovalar her sorguda hesaplanır
+ */
+@ConfigurationProperties(prefix = "telemetry.aggregate-cache")
+public class AggregateCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Kova boyları (büyükten küçüğe, her biri bir öncekini tam bölmeli); aralık önce büyük kovalarla,
+     * kalan kenarlar küçük kovalarla kapatılır
+     */
+    private List<Duration> bucketSizes = new ArrayList<>(List.of(Duration.ofDays(1), Duration.ofHours(1)));
+
+    /**
+     * Kova bitişinden bu süre geçince kova kapanmış sayılır ve önbelleğe alınabilir
+     */
+    private Duration settleTime = Duration.ofMinutes(1);
+
+    /**
+     * Kapanmış kova sonucunun en uzun önbellekte kalma süresi; bu uygulamanın görmediği yazmalar
+     * (başka örnekler, veritabanına doğrudan yazan araçlar) için üst sınır
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Önbellekteki en fazla kova sonucu (her biri yaklaşık 150 bayt); dolunca en uzun süre kullanılmayan atılır
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Tek sorgunun kullanabileceği en fazla kova; daha uzun aralıklar önbelleğe uğramadan hesaplanır
+     */
+    private int maxBucketsPerQuery = 2_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Duration> getBucketSizes() { return bucketSizes; }
+    public void setBucketSizes(List<Duration> bucketSizes) { this.bucketSizes = bucketSizes; }
+    public Duration getSettleTime() { return settleTime; }
+    public void setSettleTime(Duration settleTime) { this.settleTime = settleTime; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public int getMaxBucketsPerQuery() { return maxBucketsPerQuery; }
+    public void setMaxBucketsPerQuery(int maxBucketsPerQuery) { this.maxBucketsPerQuery = maxBucketsPerQuery; }
+}
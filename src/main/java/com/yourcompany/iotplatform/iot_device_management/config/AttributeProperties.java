@@ -0,0 +1,44 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Yük Öznitelikleri Konfigürasyonu
+ * telemetry.attributes.enabled ile ham yükte ayrıştırılan alanlar (dataType, value, unit, quality,
+ * timestamp) dışında kalan alanlar (pil, sinyal, yazılım sürümü vb.) telemetry_attributes tablosuna
+ * JSON olarak yazılır ve veritabanında filtrelenip özetlenebilir. PostgreSQL'de sütun JSONB'dir;
+ * gin-index ile eşitlik sorguları için GIN, indexed-paths ile sayısal karşılaştırmalar için ifade
+ * indeksleri oluşturulur
+ */
+@ConfigurationProperties(prefix = "telemetry.attributes")
+public class AttributeProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * PostgreSQL'de öznitelik sütununa jsonb_path_ops GIN indeksi
+     */
+    private boolean ginIndex = true;
+
+    /**
+     * PostgreSQL'de sayısal ifade indeksi oluşturulacak yollar (ör. rssi, battery, radio.snr)
+     */
+    private Set<String> indexedPaths = new LinkedHashSet<>();
+
+    /**
+     * Tek sorguda kabul edilen en fazla filtre sayısı
+     */
+    private int maxFilters = 8;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isGinIndex() { return ginIndex; }
+    public void setGinIndex(boolean ginIndex) { this.ginIndex = ginIndex; }
+    public Set<String> getIndexedPaths() { return indexedPaths; }
+    public void setIndexedPaths(Set<String> indexedPaths) { this.indexedPaths = indexedPaths; }
+    public int getMaxFilters() { return maxFilters; }
+    public void setMaxFilters(int maxFilters) { this.maxFilters = maxFilters; }
+}
@@ -0,0 +1,17 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sorgu Birleştirme Konfigürasyonu
+ * telemetry.coalescing.enabled ile aynı anda gelen özdeş okuma istekleri (aynı sorgu, aynı parametreler,
+ * aynı yetki kapsamı) tek sefer çalıştırılır ve sonucu bekleyen tüm isteklerle paylaşılır
+ */
+@ConfigurationProperties(prefix = "telemetry.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+}
@@ -0,0 +1,92 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Telemetri Sıkıştırma Konfigürasyonu
+ * telemetry.compression.rules[n] ile cihaz tipi, veri tipi veya cihaz bazında kayıt öncesi sıkıştırma
+ * kuralları tanımlanır. Bir seriye en özel eşleşen kural uygulanır; kuralı olmayan seriler olduğu gibi yazılır
+ */
+@ConfigurationProperties(prefix = "telemetry.compression")
+public class CompressionProperties {
+
+    /**
+     * Kayıt öncesi sıkıştırma açık mı
+     */
+    private boolean enabled = false;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+
+    /**
+     * Sıkıştırma yöntemi
+     */
+    public enum Mode {
+        /**
+         * Sıkıştırma yok, her okuma yazılır
+         */
+        NONE,
+
+        /**
+         * Ölü bant: son yazılan değerden tolerans kadar sapmayan okumalar atlanır (basamak şeklinde geri kurulur)
+         */
+        DEADBAND,
+
+        /**
+         * Döner kapı (swinging door): yazılan noktalar arasındaki doğrusal enterpolasyondan tolerans kadar
+         * sapmayan okumalar atlanır (doğrusal geri kurulur)
+         */
+        SWINGING_DOOR
+    }
+
+    /**
+     * Sıkıştırma kuralı
+     */
+    public static class Rule extends SeriesSelector {
+        private String name;
+        private Mode mode = Mode.DEADBAND;
+
+        /**
+         * Mutlak tolerans (veri biriminde)
+         */
+        private double absolute;
+
+        /**
+         * Yüzde tolerans (son yazılan değerin yüzdesi); mutlak toleranstan büyükse o kullanılır
+         */
+        private double percent;
+
+        /**
+         * Değer değişmese de bu süre dolunca okuma zorla yazılır
+         */
+        private Duration maxInterval = Duration.ofMinutes(10);
+
+        /**
+         * Referans değere göre geçerli tolerans
+         * @param reference Son yazılan değer
+         * @return Tolerans
+         */
+        public double tolerance(double reference) {
+            return Math.max(absolute, Math.abs(reference) * percent / 100.0);
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+        public double getAbsolute() { return absolute; }
+        public void setAbsolute(double absolute) { this.absolute = absolute; }
+        public double getPercent() { return percent; }
+        public void setPercent(double percent) { this.percent = percent; }
+        public Duration getMaxInterval() { return maxInterval; }
+        public void setMaxInterval(Duration maxInterval) { this.maxInterval = maxInterval; }
+    }
+}
@@ -0,0 +1,73 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import com.yourcompany.iotplatform.iot_device_management.datasource.BulkheadDataSource;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ConnectionBulkhead;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bağlantı Bölmesi Konfigürasyonu
+ * datasource.bulkhead.enabled=true iken uygulamanın DataSource'u iş yükü sınıflarına göre izin dağıtan
+ * {@link BulkheadDataSource} ile sarılır. Sınırlar datasource.bulkhead.{ingestion|interactive|batch}.* ile ayarlanır
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.bulkhead.enabled", havingValue = "true")
+public class ConnectionBulkheadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionBulkheadConfig.class);
+
+    /**
+     * İş yükü sınıfı başına bağlantı bölmeleri (metrikleri MeterBinder olarak kaydedilir)
+     */
+    @Bean
+    public ConnectionBulkhead connectionBulkhead(Environment environment) {
+        List<ConnectionBulkhead.Compartment> compartments = new ArrayList<>();
+        for (Workload workload : Workload.values()) {
+            String prefix = "datasource.bulkhead." + workload.getKey();
+            compartments.add(new ConnectionBulkhead.Compartment(workload,
+                    environment.getProperty(prefix + ".max-connections", Integer.class, workload.getDefaultMaxConnections()),
+                    environment.getProperty(prefix + ".acquire-timeout-ms", Long.class, workload.getDefaultAcquireTimeoutMillis())));
+        }
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(compartments);
+
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (bulkhead.getTotalMaxConnections() > poolSize) {
+            logger.warn("Bağlantı bölmelerinin toplamı ({}) havuz boyutundan ({}) büyük; bölmeler birbirini yine bekletebilir",
+                    bulkhead.getTotalMaxConnections(), poolSize);
+        }
+        for (Workload workload : Workload.values()) {
+            ConnectionBulkhead.Compartment compartment = bulkhead.getCompartment(workload);
+            logger.info("Bağlantı bölmesi - İş yükü: {}, Sınır: {}, Bekleme: {} ms",
+                    workload.getKey(), compartment.getMaxConnections(), compartment.getAcquireTimeoutMillis());
+        }
+        return bulkhead;
+    }
+
+    /**
+     * "dataSource" bean'ini bölmeli DataSource ile sarma (okuma replikası yönlendirmesi açıksa onu da kapsar)
+     */
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<ConnectionBulkhead> connectionBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, connectionBulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Sayaç Serileri Konfigürasyonu
+ * telemetry.counters.data-types ile tekdüze artan değer gönderen veri tipleri (enerji sayacı,
+ * paket sayacı vb.) sayaç olarak tanımlanır. Sayaç serilerinde değerin düşmesi sıfırlanma kabul edilir;
+ * özetlere ortalama/min/max yanında sıfırlanmalar düzeltilmiş artış yazılır
+ */
+@ConfigurationProperties(prefix = "telemetry.counters")
+public class CounterProperties {
+
+    private Set<String> dataTypes = new LinkedHashSet<>();
+
+    public Set<String> getDataTypes() { return dataTypes; }
+    public void setDataTypes(Set<String> dataTypes) { this.dataTypes = dataTypes; }
+
+    /**
+     * Veri tipi sayaç mı
+     * @param dataType Veri tipi
+     * @return Sayaç olarak tanımlıysa true
+     */
+    public boolean isCounter(String dataType) {
+        return dataType != null && dataTypes.contains(dataType);
+    }
+}
@@ -0,0 +1,50 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Ham Veri Yükü Saklama Konfigürasyonu
+ * telemetry.payload.storage ile ham JSON'un satırda (inline) veya ayrı tabloda sıkıştırılmış
+ * (compressed) tutulacağı seçilir. drop-device-types içindeki cihaz tiplerinin ham yükü hiç saklanmaz;
+ * istendiğinde ayrıştırılmış sütunlardan türetilir
+ */
+@ConfigurationProperties(prefix = "telemetry.payload")
+public class PayloadProperties {
+
+    /**
+     * Saklama yeri
+     */
+    public enum Storage {
+        /** telemetry_data.payload sütununda, sıkıştırılmadan (varsayılan) */
+        INLINE,
+        /** telemetry_payload tablosunda, Deflate ile sıkıştırılmış */
+        COMPRESSED
+    }
+
+    private Storage storage = Storage.INLINE;
+
+    private Set<Device.DeviceType> dropDeviceTypes = EnumSet.noneOf(Device.DeviceType.class);
+
+    /**
+     * Deflate seviyesi (1 en hızlı, 9 en küçük)
+     */
+    private int compressionLevel = 6;
+
+    /**
+     * Bu uzunluktan (bayt) kısa yükler sıkıştırılmadan ayrı tabloya yazılır
+     */
+    private int minCompressLength = 64;
+
+    public Storage getStorage() { return storage; }
+    public void setStorage(Storage storage) { this.storage = storage; }
+    public Set<Device.DeviceType> getDropDeviceTypes() { return dropDeviceTypes; }
+    public void setDropDeviceTypes(Set<Device.DeviceType> dropDeviceTypes) { this.dropDeviceTypes = dropDeviceTypes; }
+    public int getCompressionLevel() { return compressionLevel; }
+    public void setCompressionLevel(int compressionLevel) { this.compressionLevel = compressionLevel; }
+    public int getMinCompressLength() { return minCompressLength; }
+    public void setMinCompressLength(int minCompressLength) { this.minCompressLength = minCompressLength; }
+}
@@ -0,0 +1,61 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Telemetri Sorgu Dili Konfigürasyonu
+ * telemetry.query-language ile ad-hoc sorguların maliyet sınırları belirlenir. Sorgu çalıştırılmadan önce
+ * taranacak satır sayısı indeksli, sınırlı COUNT örnekleriyle tahmin edilir; sınırı aşan sorgu reddedilir
+ */
+@ConfigurationProperties(prefix = "telemetry.query-language")
+public class QueryLanguageProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Tek sorgunun tarayabileceği tahmini en fazla satır (ham okuma veya özet satırı)
+     */
+    private long maxScannedRows = 5_000_000;
+
+    /**
+     * Tek sorgunun döndürebileceği en fazla satır; LIMIT verilmezse bu değer uygulanır
+     */
+    private int maxResultRows = 100_000;
+
+    /**
+     * Tahmin için örneklenen zaman dilimi sayısı
+     */
+    private int probeSlices = 4;
+
+    /**
+     * Örnek diliminin uzunluğu; aralık probe-slices x probe-window'dan kısaysa tamamı sayılır
+     */
+    private Duration probeWindow = Duration.ofHours(1);
+
+    /**
+     * Sorgu zaman aşımı
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Akış sırasında veritabanından bir seferde okunan satır
+     */
+    private int fetchSize = 5_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getMaxScannedRows() { return maxScannedRows; }
+    public void setMaxScannedRows(long maxScannedRows) { this.maxScannedRows = maxScannedRows; }
+    public int getMaxResultRows() { return maxResultRows; }
+    public void setMaxResultRows(int maxResultRows) { this.maxResultRows = maxResultRows; }
+    public int getProbeSlices() { return probeSlices; }
+    public void setProbeSlices(int probeSlices) { this.probeSlices = probeSlices; }
+    public Duration getProbeWindow() { return probeWindow; }
+    public void setProbeWindow(Duration probeWindow) { this.probeWindow = probeWindow; }
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+}
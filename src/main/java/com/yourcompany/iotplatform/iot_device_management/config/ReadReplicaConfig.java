@@ -0,0 +1,95 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaAwareJpaTransactionManager;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaHealthMonitor;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Okuma Replikası Konfigürasyonu
+ * datasource.replicas.enabled=true iken birincil veritabanı ve replikalar için ayrı bağlantı havuzları
+ * oluşturur; uygulama yönlendiren DataSource'u ve replika etiketlerini tanıyan işlem yöneticisini kullanır
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    /**
+     * Birincil (yazma) veritabanı bağlantı havuzu
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replika bağlantı havuzları ve sağlık izleyicisi
+     */
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${datasource.replicas.urls:}") String urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replicas.latest-max-lag-ms:1000}") long latestMaxLagMillis) {
+        List<ReplicaHealthMonitor.Replica> replicas = new ArrayList<>();
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replicaUrls.get(i));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaHealthMonitor.Replica("replica-" + i, dataSource));
+        }
+        logger.info("Okuma replikaları yapılandırıldı: {} replika, en son değer gecikme sınırı {} ms",
+                replicas.size(), latestMaxLagMillis);
+        return new ReplicaHealthMonitor(primaryDataSource, replicas, latestMaxLagMillis);
+    }
+
+    /**
+     * Uygulamanın kullandığı DataSource - bağlantı ilk SQL ifadesinde işlem bilgisine göre seçilir
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthMonitor replicaHealthMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor));
+    }
+
+    /**
+     * Replika etiketlerini yönlendirmeye aktaran işlem yöneticisi
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaAwareJpaTransactionManager(entityManagerFactory);
+    }
+}
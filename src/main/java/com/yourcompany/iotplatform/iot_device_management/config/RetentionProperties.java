@@ -0,0 +1,92 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Telemetri Saklama Politikaları Konfigürasyonu
+ * telemetry.retention.policies[n] ile cihaz tipi, veri tipi veya cihaz bazında ham veri süresi ve
+ * özet (rollup) katmanları tanımlanır. Bir seriye en özel eşleşen politika uygulanır
+ * (cihaz > veri tipi > cihaz tipi); hiçbir ölçüt içermeyen politika varsayılandır
+ */
+@ConfigurationProperties(prefix = "telemetry.retention")
+public class RetentionProperties {
+
+    /**
+     * Zamanlanmış saklama çalıştırmaları açık mı
+     */
+    private boolean enabled = false;
+
+    /**
+     * Bir parçada (tek işlem) işlenecek en fazla satır
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * Bir çalıştırmada işlenecek en fazla parça; kalan iş sonraki çalıştırmada devam eder
+     */
+    private int maxChunksPerRun = 200;
+
+    /**
+     * Geç gelen veriler için özetleme gecikmesi
+     */
+    private Duration lateArrival = Duration.ofHours(1);
+
+    private List<Policy> policies = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public int getMaxChunksPerRun() { return maxChunksPerRun; }
+    public void setMaxChunksPerRun(int maxChunksPerRun) { this.maxChunksPerRun = maxChunksPerRun; }
+    public Duration getLateArrival() { return lateArrival; }
+    public void setLateArrival(Duration lateArrival) { this.lateArrival = lateArrival; }
+    public List<Policy> getPolicies() { return policies; }
+    public void setPolicies(List<Policy> policies) { this.policies = policies; }
+
+    /**
+     * Saklama politikası
+     */
+    public static class Policy extends SeriesSelector {
+        private String name;
+
+        /**
+         * Ham verinin saklanma süresi (boşsa ham veri silinmez)
+         */
+        private Duration raw;
+
+        private List<Rollup> rollups = new ArrayList<>();
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Duration getRaw() { return raw; }
+        public void setRaw(Duration raw) { this.raw = raw; }
+        public List<Rollup> getRollups() { return rollups; }
+        public void setRollups(List<Rollup> rollups) { this.rollups = rollups; }
+    }
+
+    /**
+     * Özet katmanı
+     */
+    public static class Rollup {
+
+        /**
+         * Özet aralığı (ör. 1m, 1h, 1d)
+         */
+        private Duration interval;
+
+        /**
+         * Özetlerin saklanma süresi (boşsa süresiz)
+         */
+        private Duration keep;
+
+        public Duration getInterval() { return interval; }
+        public void setInterval(Duration interval) { this.interval = interval; }
+        public Duration getKeep() { return keep; }
+        public void setKeep(Duration keep) { this.keep = keep; }
+    }
+}
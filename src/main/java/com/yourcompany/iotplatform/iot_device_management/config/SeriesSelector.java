@@ -0,0 +1,66 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seri Seçici
+ * Cihaz tipi, veri tipi veya cihaz bazında seri eşleştirme ölçütleri; konfigürasyonla tanımlanan
+ * seri kurallarının (saklama politikaları, sıkıştırma kuralları) ortak tabanı
+ */
+public abstract class SeriesSelector {
+
+    private Device.DeviceType deviceType;
+    private String dataType;
+    private String deviceId;
+
+    /**
+     * Seçicinin seriye uyup uymadığı
+     * @param deviceKey Cihaz ID'si
+     * @param type Cihaz tipi
+     * @param seriesDataType Veri tipi
+     * @return Uyuyor mu
+     */
+    public boolean matches(String deviceKey, Device.DeviceType type, String seriesDataType) {
+        return (deviceId == null || deviceId.equals(deviceKey))
+                && (deviceType == null || deviceType == type)
+                && (dataType == null || dataType.equals(seriesDataType));
+    }
+
+    /**
+     * Özgüllük: cihaz ölçütü veri tipinden, veri tipi cihaz tipinden önce gelir
+     * @return Özgüllük puanı
+     */
+    public int specificity() {
+        return (deviceId != null ? 4 : 0) + (dataType != null ? 2 : 0) + (deviceType != null ? 1 : 0);
+    }
+
+    /**
+     * Seriye uyan en özel seçici; eşit özgüllükte listede önce gelen kazanır
+     * @param selectors Seçiciler
+     * @param deviceKey Cihaz ID'si
+     * @param type Cihaz tipi
+     * @param seriesDataType Veri tipi
+     * @return En özel eşleşen seçici
+     */
+    public static <T extends SeriesSelector> Optional<T> mostSpecific(List<T> selectors, String deviceKey,
+                                                                     Device.DeviceType type, String seriesDataType) {
+        T best = null;
+        for (T selector : selectors) {
+            if (selector.matches(deviceKey, type, seriesDataType)
+                    && (best == null || selector.specificity() > best.specificity())) {
+                best = selector;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public Device.DeviceType getDeviceType() { return deviceType; }
+    public void setDeviceType(Device.DeviceType deviceType) { this.deviceType = deviceType; }
+    public String getDataType() { return dataType; }
+    public void setDataType(String dataType) { this.dataType = dataType; }
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+}
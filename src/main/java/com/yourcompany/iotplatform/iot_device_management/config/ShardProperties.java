@@ -0,0 +1,71 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Telemetri Parçalama (Sharding) Konfigürasyonu
+ * telemetry.store.backend=sharded iken satır telemetrisi telemetry.shards.nodes içindeki veritabanlarına
+ * cihaz ID'sinin tutarlı özetine (consistent hash) göre dağıtılır. Parçalar yalnızca listenin sonuna
+ * eklenmelidir: sıra, parçanın ID aralığını belirler
+ */
+@ConfigurationProperties(prefix = "telemetry.shards")
+public class ShardProperties {
+
+    /**
+     * Parça başına ID aralığı; bir parçanın ürettiği ID'ler (sıra + 1) mod MAX_SHARDS sınıfındadır
+     * ve satırlar yeniden dengelemede taşınsa da ID'ler parçalar arasında çakışmaz
+     */
+    public static final int MAX_SHARDS = 64;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Halka üzerinde parça başına sanal düğüm sayısı
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Parça başına bağlantı havuzu boyutu
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * Yeniden dengelemede tek seferde taşınan satır sayısı
+     */
+    private int rebalanceChunkSize = 5000;
+
+    public List<Node> getNodes() { return nodes; }
+    public void setNodes(List<Node> nodes) { this.nodes = nodes; }
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+    public int getMaxPoolSize() { return maxPoolSize; }
+    public void setMaxPoolSize(int maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+    public int getRebalanceChunkSize() { return rebalanceChunkSize; }
+    public void setRebalanceChunkSize(int rebalanceChunkSize) { this.rebalanceChunkSize = rebalanceChunkSize; }
+
+    /**
+     * Parça veritabanı
+     */
+    public static class Node {
+
+        /**
+         * Halkadaki kalıcı ad; değiştirilirse parçanın cihazları yer değiştirir
+         */
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
@@ -0,0 +1,57 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.ConsistentHashRing;
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.ShardCluster;
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.TelemetryShard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Telemetri Parça Konfigürasyonu
+ * telemetry.store.backend=sharded iken her parça veritabanı için ayrı bağlantı havuzu açar ve
+ * parça kümesini oluşturur. Cihazlar, kullanıcılar ve diğer tablolar birincil veritabanında kalır
+ */
+@Configuration
+@ConditionalOnProperty(name = "telemetry.store.backend", havingValue = "sharded")
+@EnableConfigurationProperties(ShardProperties.class)
+public class TelemetryShardConfig {
+
+    /**
+     * Parça kümesi
+     */
+    @Bean(destroyMethod = "close")
+    public ShardCluster shardCluster(ShardProperties properties) {
+        List<ShardProperties.Node> nodes = properties.getNodes();
+        if (nodes.isEmpty() || nodes.size() > ShardProperties.MAX_SHARDS) {
+            throw new IllegalStateException("telemetry.shards.nodes 1-" + ShardProperties.MAX_SHARDS + " parça içermeli");
+        }
+        Set<String> names = new HashSet<>();
+        List<TelemetryShard> shards = new ArrayList<>(nodes.size());
+        List<AutoCloseable> pools = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            ShardProperties.Node node = nodes.get(i);
+            if (node.getName() == null || node.getUrl() == null || !names.add(node.getName())) {
+                throw new IllegalStateException("Parça adı ve URL'si zorunlu, ad benzersiz olmalı: " + node.getName());
+            }
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + node.getName());
+            dataSource.setJdbcUrl(node.getUrl());
+            dataSource.setUsername(node.getUsername());
+            dataSource.setPassword(node.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaxPoolSize());
+            pools.add(dataSource);
+            shards.add(new TelemetryShard(node.getName(), i, dataSource));
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(shards.stream().map(TelemetryShard::getName).toList(),
+                properties.getVirtualNodes());
+        return new ShardCluster(shards, ring, ShardProperties.MAX_SHARDS, pools);
+    }
+}
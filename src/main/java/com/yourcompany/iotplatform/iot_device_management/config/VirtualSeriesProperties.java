@@ -0,0 +1,59 @@
+package com.yourcompany.iotplatform.iot_device_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sanal Seri Konfigürasyonu
+ * telemetry.virtual-series.definitions[n] ile cihazın diğer serilerinden ifade ile türetilen seriler
+ * tanımlanır (ör. power = voltage * current). Tanımın data-type alanı sanal serinin adıdır; aynı ada
+ * cihaz tipi veya cihaz bazında farklı ifadeler verilebilir, en özel eşleşen tanım uygulanır
+ */
+@ConfigurationProperties(prefix = "telemetry.virtual-series")
+public class VirtualSeriesProperties {
+
+    /**
+     * Canlı okumalarda sanal serilerin hesaplanması açık mı (sorgu anında hesaplama her zaman açıktır)
+     */
+    private boolean enabled = false;
+
+    private List<Definition> definitions = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Definition> getDefinitions() { return definitions; }
+    public void setDefinitions(List<Definition> definitions) { this.definitions = definitions; }
+
+    /**
+     * Sanal seri tanımı
+     */
+    public static class Definition extends SeriesSelector {
+
+        /**
+         * Girişler (aynı cihazın veri tipleri) üzerinden ifade, ör. "voltage * current"
+         */
+        private String expression;
+
+        /**
+         * Hesaplanan değerler kaydedilsin mi; kapalıysa yalnızca son değer güncellenir,
+         * geçmiş sorgu anında girişlerden hesaplanır
+         */
+        private boolean materialize = false;
+
+        /**
+         * Tetikleyen okuma ile diğer girişlerin son okuması arasındaki en büyük fark; daha eski
+         * girişlerle hesaplama yapılmaz. Sorgu anında hizalama toleransı olarak da kullanılır
+         */
+        private Duration maxInputAge = Duration.ofMinutes(1);
+
+        public String getExpression() { return expression; }
+        public void setExpression(String expression) { this.expression = expression; }
+        public boolean isMaterialize() { return materialize; }
+        public void setMaterialize(boolean materialize) { this.materialize = materialize; }
+        public Duration getMaxInputAge() { return maxInputAge; }
+        public void setMaxInputAge(Duration maxInputAge) { this.maxInputAge = maxInputAge; }
+    }
+}
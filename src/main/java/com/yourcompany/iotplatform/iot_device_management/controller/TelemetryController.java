@@ -1,20 +1,55 @@
 package com.yourcompany.iotplatform.iot_device_management.controller;
 
+import com.yourcompany.iotplatform.iot_device_management.dto.CounterIncreaseDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateRequest;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotRequest;
+import com.yourcompany.iotplatform.iot_device_management.dto.RetentionReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.ShardRebalanceReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.StateTransitionDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
 import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryImportResult;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryQueryPlanDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryRollupDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetrySampleDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TimeInStateDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.service.DeviceRegistry;
+import com.yourcompany.iotplatform.iot_device_management.service.FleetAggregationService;
+import com.yourcompany.iotplatform.iot_device_management.service.FleetSnapshotService;
+import com.yourcompany.iotplatform.iot_device_management.service.QueryCoalescer;
+import com.yourcompany.iotplatform.iot_device_management.service.ShardRebalanceService;
 import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryExportService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryImportService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryInterpolation;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryJoinService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQueryService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryRetentionService;
+import com.yourcompany.iotplatform.iot_device_management.service.VirtualSeriesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Telemetri Verisi Controller'ı
@@ -30,24 +65,52 @@ public class TelemetryController {
     @Autowired
     private TelemetryDataService telemetryDataService;
     
+    @Autowired
+    private TelemetryExportService telemetryExportService;
+    
+    @Autowired
+    private TelemetryImportService telemetryImportService;
+    
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+    
+    @Autowired
+    private FleetAggregationService fleetAggregationService;
+    
+    @Autowired
+    private TelemetryJoinService telemetryJoinService;
+    
+    @Autowired
+    private VirtualSeriesService virtualSeriesService;
+    
+    @Autowired
+    private TelemetryQueryService telemetryQueryService;
+    
+    @Autowired
+    private TelemetryRetentionService telemetryRetentionService;
+    
+    @Autowired
+    private ShardRebalanceService shardRebalanceService;
+    
+    @Autowired
+    private QueryCoalescer queryCoalescer;
+    
     /**
      * Belirli cihaza ait telemetri verilerini getirme
      * @param deviceId Cihaz ID'si
      * @param limit Limit sayısı
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/device/{deviceId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
     public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByDevice(
             @PathVariable Long deviceId,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByDevice(deviceId, limit);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(queryCoalescer.execute("device-views", List.of(deviceId, limit, includePayload),
+                    () -> telemetryDataService.getTelemetryDataViewsByDevice(deviceId, limit, includePayload)));
         } catch (Exception e) {
             logger.error("Telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -59,6 +122,7 @@ public class TelemetryController {
      * @param deviceId Cihaz ID'si
      * @param startTime Başlangıç zamanı
      * @param endTime Bitiş zamanı
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/device/{deviceId}/timerange")
@@ -66,14 +130,12 @@ public class TelemetryController {
     public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByTimeRange(
             @PathVariable Long deviceId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByTimeRange(deviceId, startTime, endTime);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(queryCoalescer.execute("device-timerange-views",
+                    List.of(deviceId, startTime, endTime, includePayload),
+                    () -> telemetryDataService.getTelemetryDataViewsByTimeRange(deviceId, startTime, endTime, includePayload)));
         } catch (Exception e) {
             logger.error("Zaman aralığı telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -101,21 +163,43 @@ public class TelemetryController {
         }
     }
     
+    /**
+     * Belirli cihazın belirli veri tipindeki en son telemetri verisini getirme
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return En son telemetri verisi
+     */
+    @GetMapping("/device/{deviceId}/latest/{dataType}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<TelemetryDataDto> getLatestTelemetryDataByDataType(
+            @PathVariable Long deviceId,
+            @PathVariable String dataType) {
+        try {
+            Optional<TelemetryData> telemetryData = telemetryDataService.getLatestTelemetryData(deviceId, dataType);
+            if (telemetryData.isPresent()) {
+                return ResponseEntity.ok(new TelemetryDataDto(telemetryData.get()));
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (Exception e) {
+            logger.error("Veri tipi bazlı en son telemetri verisi alma hatası: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * Belirli topic'e ait telemetri verilerini getirme
      * @param topic MQTT topic
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/topic/{topic}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
-    public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByTopic(@PathVariable String topic) {
+    public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByTopic(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByTopic(topic);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(telemetryDataService.getTelemetryDataViewsByTopic(topic, includePayload));
         } catch (Exception e) {
             logger.error("Topic bazlı telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -125,18 +209,16 @@ public class TelemetryController {
     /**
      * Belirli veri tipine ait telemetri verilerini getirme
      * @param dataType Veri tipi
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/datatype/{dataType}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
-    public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByDataType(@PathVariable String dataType) {
+    public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByDataType(
+            @PathVariable String dataType,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByDataType(dataType);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(telemetryDataService.getTelemetryDataViewsByDataType(dataType, includePayload));
         } catch (Exception e) {
             logger.error("Veri tipi bazlı telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -147,20 +229,18 @@ public class TelemetryController {
      * Belirli cihaz ve veri tipine ait telemetri verilerini getirme
      * @param deviceId Cihaz ID'si
      * @param dataType Veri tipi
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/device/{deviceId}/datatype/{dataType}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
     public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByDeviceAndDataType(
             @PathVariable Long deviceId,
-            @PathVariable String dataType) {
+            @PathVariable String dataType,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByDeviceAndDataType(deviceId, dataType);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(
+                    deviceId, dataType, includePayload));
         } catch (Exception e) {
             logger.error("Cihaz ve veri tipi bazlı telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -171,26 +251,72 @@ public class TelemetryController {
      * Belirli zaman aralığındaki tüm telemetri verilerini getirme
      * @param startTime Başlangıç zamanı
      * @param endTime Bitiş zamanı
+     * @param includePayload Ham veri yükü dahil edilsin mi
      * @return Telemetri verileri
      */
     @GetMapping("/timerange")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
     public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByTimeRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
         try {
-            List<TelemetryData> telemetryData = telemetryDataService.getTelemetryDataByTimeRange(startTime, endTime);
-            List<TelemetryDataDto> telemetryDataDtos = telemetryData.stream()
-                    .map(TelemetryDataDto::new)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(telemetryDataDtos);
+            return ResponseEntity.ok(queryCoalescer.execute("timerange-views", List.of(startTime, endTime, includePayload),
+                    () -> telemetryDataService.getTelemetryDataViewsByTimeRange(startTime, endTime, includePayload)));
         } catch (Exception e) {
             logger.error("Genel zaman aralığı telemetri verisi alma hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    /**
+     * Yük özniteliklerine göre filtrelenmiş telemetri verileri (ör. filter=payload.rssi<-90&filter=firmware=1.4.2)
+     * @param filter Öznitelik filtreleri (hepsi sağlanmalı)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param limit Limit sayısı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verileri
+     */
+    @GetMapping("/attributes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<TelemetryDataDto>> getTelemetryDataByAttributes(
+            @RequestParam List<String> filter,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
+        return ResponseEntity.ok(telemetryDataService.getTelemetryDataViewsByAttributes(filter, deviceId, dataType,
+                startTime, endTime, limit, includePayload));
+    }
+    
+    /**
+     * Filtrelenmiş telemetri verilerinde sayısal yük özniteliğinin sayı, toplam, min ve max değerleri
+     * @param path Öznitelik yolu (ör. payload.battery)
+     * @param filter Öznitelik filtreleri (boş olabilir)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Toplam değerler
+     */
+    @GetMapping("/attributes/aggregate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<TelemetryAggregate> getAttributeAggregate(
+            @RequestParam String path,
+            @RequestParam(required = false) List<String> filter,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        return ResponseEntity.ok(telemetryDataService.getAttributeAggregate(path, filter, deviceId, dataType,
+                startTime, endTime));
+    }
+    
     /**
      * Belirli cihazın belirli zaman aralığındaki ortalama değerini hesaplama
      * @param deviceId Cihaz ID'si
@@ -215,6 +341,8 @@ public class TelemetryController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (BusinessRuleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Ortalama değer hesaplama hatası: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -280,4 +408,473 @@ public class TelemetryController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    /**
+     * Telemetri verilerini NDJSON veya CSV olarak akış halinde dışa aktarma
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param deviceId Cihaz ID'si (opsiyonel)
+     * @param dataType Veri tipi (opsiyonel)
+     * @param format Çıkış formatı (ndjson, csv)
+     * @param gzip Gzip sıkıştırma
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Akış halinde dışa aktarım
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<StreamingResponseBody> exportTelemetryData(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) String dataType,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
+        TelemetryExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = TelemetryExportService.ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        telemetryExportService.checkExportable(startTime, endTime);
+        
+        String fileName = "telemetry-export." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> telemetryExportService.export(
+                deviceId, dataType, startTime, endTime, includePayload, exportFormat, gzip, out);
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+    
+    /**
+     * Geçmiş telemetri verilerini NDJSON veya CSV olarak akış halinde içe aktarma
+     * Gzip sıkıştırılmış gövde otomatik tanınır; istek tamamlanana kadar ilerleme /import/jobs ile izlenebilir
+     * @param body İstek gövdesi
+     * @param format Girdi formatı (ndjson, csv)
+     * @param deviceId Satırda cihaz yoksa kullanılacak cihaz ID'si (opsiyonel)
+     * @return İçe aktarma sonucu
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<TelemetryImportResult> importTelemetryData(
+            InputStream body,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String deviceId) {
+        TelemetryImportService.ImportFormat importFormat;
+        try {
+            importFormat = TelemetryImportService.ImportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        TelemetryImportResult result = telemetryImportService.importTelemetry(body, importFormat, deviceId);
+        if (result.getStatus() == TelemetryImportResult.Status.FAILED) {
+            return ResponseEntity.internalServerError().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Devam eden ve son tamamlanan içe aktarma işleri
+     * @return İçe aktarma sonuçları
+     */
+    @GetMapping("/import/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<TelemetryImportResult>> getImportJobs() {
+        return ResponseEntity.ok(telemetryImportService.getJobs());
+    }
+    
+    /**
+     * İçe aktarma işinin ilerleme bilgisi
+     * @param jobId İş ID'si
+     * @return İçe aktarma sonucu
+     */
+    @GetMapping("/import/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<TelemetryImportResult> getImportJob(@PathVariable String jobId) {
+        return telemetryImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Cihazın özet (rollup) değerleri - ham verisi silinmiş dönemler için
+     * Sıkıştırılmış serilerde sayı ve toplam okumaları değil saklanan noktaları sayar; yalnızca minimum ve
+     * maksimum tolerans içinde doğrudur
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param interval Özet aralığı (ör. 1m, 1h, 1d)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Özetler
+     */
+    @GetMapping("/device/{deviceId}/rollups")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<TelemetryRollupDto>> getRollups(
+            @PathVariable Long deviceId,
+            @RequestParam String dataType,
+            @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        Duration bucket;
+        try {
+            bucket = DurationStyle.detectAndParse(interval);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(telemetryRetentionService.getRollups(deviceId, dataType, bucket, startTime, endTime));
+    }
+    
+    /**
+     * Sayaç serisinin kova başına artışı ve hızı - tüketim raporları için, sıfırlanmalar düzeltilmiş
+     * @param deviceId Cihaz ID'si
+     * @param dataType Sayaç veri tipi
+     * @param interval Kova aralığı (ör. 1h, 1d)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Artışlar
+     */
+    @GetMapping("/device/{deviceId}/counters/increase")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<CounterIncreaseDto>> getCounterIncrease(
+            @PathVariable Long deviceId,
+            @RequestParam String dataType,
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        Duration bucket;
+        try {
+            bucket = DurationStyle.detectAndParse(interval);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(telemetryRetentionService.getCounterIncrease(deviceId, dataType, bucket,
+                startTime, endTime));
+    }
+    
+    /**
+     * Cihazın sayısal serisi düzenli zaman ızgarasında - sıkıştırılarak yazılmış seriler için grafik verisi
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param step Izgara adımı (ör. 10s, 1m)
+     * @param method Enterpolasyon yöntemi (linear, previous; boşsa serinin sıkıştırma kuralına göre)
+     * @return Izgara noktaları
+     */
+    @GetMapping("/device/{deviceId}/interpolated")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<TelemetrySampleDto>> getInterpolatedTelemetry(
+            @PathVariable Long deviceId,
+            @RequestParam String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "1m") String step,
+            @RequestParam(required = false) String method) {
+        Duration gridStep;
+        TelemetryInterpolation.Method interpolation;
+        try {
+            gridStep = DurationStyle.detectAndParse(step);
+            interpolation = method != null ? TelemetryInterpolation.Method.valueOf(method.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(telemetryDataService.getInterpolatedTelemetry(deviceId, dataType, startTime, endTime,
+                gridStep, interpolation));
+    }
+    
+    /**
+     * Birden fazla serinin ortak zamana hizalanması - NDJSON akışı, her satırda seri sırasıyla değerler
+     * (ör. series=12:power&series=12:temperature&alignment=grid&step=1m)
+     * @param series Seriler ("cihazId:veriTipi")
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param alignment Hizalama yöntemi (grid, nearest)
+     * @param step Izgara adımı (grid için)
+     * @param tolerance Izgarada birleştirilecek en uzun boşluk / en yakın okuma için en büyük uzaklık
+     * @param method Izgara değer yöntemi (previous, linear)
+     * @return Hizalanmış satırlar
+     */
+    @GetMapping("/join")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<StreamingResponseBody> joinSeries(
+            @RequestParam List<String> series,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "grid") String alignment,
+            @RequestParam(defaultValue = "1m") String step,
+            @RequestParam(defaultValue = "1m") String tolerance,
+            @RequestParam(required = false) String method) {
+        TelemetryJoinService.Alignment joinAlignment;
+        Duration gridStep;
+        Duration maxDistance;
+        TelemetryInterpolation.Method interpolation;
+        try {
+            joinAlignment = TelemetryJoinService.Alignment.valueOf(alignment.toUpperCase());
+            gridStep = DurationStyle.detectAndParse(step);
+            maxDistance = DurationStyle.detectAndParse(tolerance);
+            interpolation = method != null ? TelemetryInterpolation.Method.valueOf(method.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        TelemetryJoinService.JoinQuery query = telemetryJoinService.prepare(series, startTime, endTime, joinAlignment,
+                gridStep, maxDistance, interpolation);
+        StreamingResponseBody body = out -> telemetryJoinService.writeNdjson(query, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Sanal serinin girişlerinden sorgu anında hesaplanması - NDJSON akışı, her satırda tek değer
+     * (ör. name=power veya expression=voltage*current)
+     * @param deviceId Cihaz ID'si
+     * @param name Tanımlı sanal seri adı
+     * @param expression Geçici ifade
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param alignment Girişlerin hizalanma yöntemi (grid, nearest)
+     * @param step Izgara adımı (grid için)
+     * @param tolerance Girişler arası en büyük zaman farkı (verilmezse tanımın max-input-age'i)
+     * @param method Izgara değer yöntemi (previous, linear)
+     * @return Hesaplanan değerler
+     */
+    @GetMapping("/device/{deviceId}/virtual")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<StreamingResponseBody> getVirtualSeries(
+            @PathVariable Long deviceId,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String expression,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "grid") String alignment,
+            @RequestParam(defaultValue = "1m") String step,
+            @RequestParam(required = false) String tolerance,
+            @RequestParam(required = false) String method) {
+        TelemetryJoinService.Alignment joinAlignment;
+        Duration gridStep;
+        Duration maxDistance;
+        TelemetryInterpolation.Method interpolation;
+        try {
+            joinAlignment = TelemetryJoinService.Alignment.valueOf(alignment.toUpperCase());
+            gridStep = DurationStyle.detectAndParse(step);
+            maxDistance = tolerance != null ? DurationStyle.detectAndParse(tolerance) : null;
+            interpolation = method != null ? TelemetryInterpolation.Method.valueOf(method.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        VirtualSeriesService.VirtualQuery query = virtualSeriesService.prepare(deviceId, name, expression, startTime,
+                endTime, joinAlignment, gridStep, maxDistance, interpolation);
+        StreamingResponseBody body = out -> virtualSeriesService.writeNdjson(query, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Sorgu dili ile ad-hoc telemetri sorgusu - NDJSON akışı, her satır SELECT etiketlerini anahtar olarak kullanır
+     * (ör. q=SELECT device.type, avg(value) WHERE dataType = 'temperature' AND time >= '2024-06-01T00:00:00Z' GROUP BY device.type)
+     * @param q Sorgu metni
+     * @return Sorgu sonucu
+     */
+    @GetMapping("/query")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<StreamingResponseBody> runTelemetryQuery(@RequestParam String q) {
+        TelemetryQueryService.Plan plan = telemetryQueryService.prepare(q);
+        StreamingResponseBody body = out -> telemetryQueryService.writeNdjson(plan, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Sorgu dili ifadesinin derlendiği SQL ve maliyet tahmini (çalıştırmadan)
+     * @param q Sorgu metni
+     * @return Sorgu planı
+     */
+    @GetMapping("/query/explain")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<TelemetryQueryPlanDto> explainTelemetryQuery(@RequestParam String q) {
+        return ResponseEntity.ok(telemetryQueryService.explain(q));
+    }
+    
+    /**
+     * Boolean veya metin serisinin durum geçişleri (kapı, röle vb.)
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Aralıkla kesişen durum aralıkları
+     */
+    @GetMapping("/device/{deviceId}/states/transitions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<StateTransitionDto>> getStateTransitions(
+            @PathVariable Long deviceId,
+            @RequestParam String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        return ResponseEntity.ok(telemetryDataService.getStateTransitions(deviceId, dataType, startTime, endTime));
+    }
+    
+    /**
+     * Boolean veya metin serisinin her durumda geçirdiği süre - kullanım oranı raporları için
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Durum süreleri
+     */
+    @GetMapping("/device/{deviceId}/states/time-in-state")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<TimeInStateDto>> getTimeInState(
+            @PathVariable Long deviceId,
+            @RequestParam String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        return ResponseEntity.ok(telemetryDataService.getTimeInState(deviceId, dataType, startTime, endTime));
+    }
+    
+    /**
+     * Son saklama çalıştırmasının raporu
+     * @return Saklama raporu
+     */
+    @GetMapping("/retention")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RetentionReport> getRetentionReport() {
+        return telemetryRetentionService.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+    
+    /**
+     * Saklama politikalarını hemen uygulama (parça sınırı geçerlidir)
+     * @return Saklama raporu
+     */
+    @PostMapping("/retention/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RetentionReport> runRetention() {
+        return ResponseEntity.ok(telemetryRetentionService.run());
+    }
+    
+    /**
+     * Telemetri parçalarının durumu - satır sayıları ve halkaya göre yanlış parçadaki cihazlar
+     * @return Kuru çalıştırma raporu
+     */
+    @GetMapping("/shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ShardRebalanceReport> getShardStatus() {
+        return ResponseEntity.ok(shardRebalanceService.status());
+    }
+    
+    /**
+     * Parça eklendikten sonra cihazları yeni sahip parçalarına taşıma
+     * @param dryRun true ise yalnızca taşınacaklar raporlanır
+     * @return Yeniden dengeleme raporu
+     */
+    @PostMapping("/shards/rebalance")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ShardRebalanceReport> rebalanceShards(@RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(shardRebalanceService.rebalance(dryRun));
+    }
+    
+    /**
+     * Filo anlık görüntüsü - çok sayıda cihazın durumu ve son değerleri tek çağrıda
+     * If-None-Match başlığı güncel sürümle eşleşirse 304 döner
+     * @param deviceIds Cihaz ID'leri (opsiyonel)
+     * @param ownerId Cihaz sahibi ID'si (opsiyonel)
+     * @param status Cihaz durumu (opsiyonel)
+     * @param deviceType Cihaz tipi (opsiyonel)
+     * @param webRequest Koşullu istek kontrolü için web isteği
+     * @return Filo anlık görüntüsü
+     */
+    @GetMapping("/snapshot")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<FleetSnapshotDto> getFleetSnapshot(
+            @RequestParam(required = false) List<Long> deviceIds,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) Device.DeviceStatus status,
+            @RequestParam(required = false) Device.DeviceType deviceType,
+            WebRequest webRequest) {
+        List<DeviceRegistry.DeviceState> devices = fleetSnapshotService.selectDevices(
+                new FleetSnapshotRequest(deviceIds, ownerId, status, deviceType));
+        String version = fleetSnapshotService.computeVersion(devices);
+        
+        if (webRequest.checkNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        return ResponseEntity.ok().eTag(version).body(fleetSnapshotService.buildSnapshot(devices, version));
+    }
+    
+    /**
+     * Filo anlık görüntüsü - uzun cihaz listeleri için istek gövdesi ile
+     * If-None-Match başlığı güncel sürümle eşleşirse 304 döner
+     * @param request Seçim isteği
+     * @param ifNoneMatch Önceki yanıtın ETag değeri
+     * @return Filo anlık görüntüsü
+     */
+    @PostMapping("/snapshot")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<FleetSnapshotDto> postFleetSnapshot(
+            @RequestBody FleetSnapshotRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<DeviceRegistry.DeviceState> devices = fleetSnapshotService.selectDevices(request);
+        String version = fleetSnapshotService.computeVersion(devices);
+        
+        // POST için Spring'in checkNotModified'ı 412 döndüğünden eşleşme burada kontrol edilir
+        if (ifNoneMatch != null && ifNoneMatch.replace("W/", "").replace("\"", "").trim().equals(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        return ResponseEntity.ok().eTag(version).body(fleetSnapshotService.buildSnapshot(devices, version));
+    }
+    
+    /**
+     * Filo toplamları - cihaz, cihaz tipi, sahip veya konuma göre gruplanmış; isteğe bağlı ilk K
+     * (ör. groupBy=DEVICE&orderBy=MAX&limit=20 ile en yüksek değeri gören 20 cihaz)
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param groupBy Gruplama ölçütü
+     * @param orderBy Sıralama değeri (opsiyonel)
+     * @param descending Büyükten küçüğe mi
+     * @param limit İlk K (opsiyonel)
+     * @param deviceIds Cihaz ID'leri (opsiyonel)
+     * @param ownerId Cihaz sahibi ID'si (opsiyonel)
+     * @param status Cihaz durumu (opsiyonel)
+     * @param deviceType Cihaz tipi (opsiyonel)
+     * @param location Konum açıklaması (opsiyonel)
+     * @return Grup toplamları
+     */
+    @GetMapping("/fleet/aggregate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public ResponseEntity<List<FleetAggregateDto>> getFleetAggregate(
+            @RequestParam String dataType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "DEVICE") FleetAggregateRequest.GroupBy groupBy,
+            @RequestParam(required = false) FleetAggregateRequest.Metric orderBy,
+            @RequestParam(defaultValue = "true") boolean descending,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) List<Long> deviceIds,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) Device.DeviceStatus status,
+            @RequestParam(required = false) Device.DeviceType deviceType,
+            @RequestParam(required = false) String location) {
+        FleetAggregateRequest request = new FleetAggregateRequest();
+        request.setDataType(dataType);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setGroupBy(groupBy);
+        request.setOrderBy(orderBy);
+        request.setDescending(descending);
+        request.setLimit(limit);
+        request.setDeviceIds(deviceIds);
+        request.setOwnerId(ownerId);
+        request.setStatus(status);
+        request.setDeviceType(deviceType);
+        request.setLocation(location);
+        return ResponseEntity.ok(fleetAggregationService.aggregate(request));
+    }
 }
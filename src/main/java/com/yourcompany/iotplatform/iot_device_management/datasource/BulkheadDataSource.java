@@ -0,0 +1,134 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bağlantı Bölmeli DataSource
+ * Her bağlantı, geçerli iş yükü sınıfının ({@link WorkloadContext}) bölmesinden izin alınarak açılır;
+ * izin bağlantı kapatıldığında geri verilir. Aynı iş parçacığında zaten bağlantı tutan çağrılar
+ * (ör. REQUIRES_NEW) ek izin almaz; böylece sınırı 1 olan bölme kendi kendini kilitlemez
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<AtomicInteger> heldConnections = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private final ConnectionBulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource target, ConnectionBulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return open(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return open(username, password);
+    }
+
+    public ConnectionBulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    private Connection open(String username, String password) throws SQLException {
+        AtomicInteger held = heldConnections.get();
+        ConnectionBulkhead.Compartment compartment = held.get() == 0 ? bulkhead.acquire(WorkloadContext.current()) : null;
+        Connection target;
+        try {
+            target = username == null
+                    ? obtainTargetDataSource().getConnection()
+                    : obtainTargetDataSource().getConnection(username, password);
+        } catch (SQLException | RuntimeException e) {
+            if (compartment != null) {
+                compartment.release();
+            }
+            throw e;
+        }
+        held.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new PermitInvocationHandler(target, compartment, held));
+    }
+
+    /**
+     * Kapatıldığında izni geri veren bağlantı sarmalayıcısı
+     */
+    private static class PermitInvocationHandler implements InvocationHandler {
+        private final Connection target;
+        private final ConnectionBulkhead.Compartment compartment;
+        private final AtomicInteger ownerHeld;
+        private boolean closed;
+
+        PermitInvocationHandler(Connection target, ConnectionBulkhead.Compartment compartment, AtomicInteger ownerHeld) {
+            this.target = target;
+            this.compartment = compartment;
+            this.ownerHeld = ownerHeld;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Bulkhead connection [" + target + "]";
+                case "getTargetConnection":
+                    return target;
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "isClosed":
+                    if (closed) {
+                        return true;
+                    }
+                    break;
+                case "close":
+                    close();
+                    return null;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private synchronized void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                target.close();
+            } finally {
+                ownerHeld.decrementAndGet();
+                if (compartment != null) {
+                    compartment.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bağlantı Bölmeleri
+ * Tek bağlantı havuzundaki bağlantıları iş yükü sınıflarına izin (permit) olarak paylaştırır.
+ * Bölme dolduğunda bağlantı isteyen yalnızca kendi bölmesinin bekleme süresi kadar bekler,
+ * süre dolarsa SQLTransientConnectionException alır. Metrikler db.bulkhead.* adıyla workload etiketiyle yayınlanır
+ */
+public class ConnectionBulkhead implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionBulkhead.class);
+
+    private final Map<Workload, Compartment> compartments = new EnumMap<>(Workload.class);
+
+    /**
+     * @param configured Yapılandırılmış bölmeler; eksik iş yükü sınıfları varsayılan değerleri alır
+     */
+    public ConnectionBulkhead(Collection<Compartment> configured) {
+        configured.forEach(compartment -> compartments.put(compartment.workload, compartment));
+        for (Workload workload : Workload.values()) {
+            compartments.computeIfAbsent(workload, w -> new Compartment(
+                    w, w.getDefaultMaxConnections(), w.getDefaultAcquireTimeoutMillis()));
+        }
+    }
+
+    /**
+     * İş yükü sınıfının bölmesinden bağlantı izni alma
+     * @param workload İş yükü sınıfı
+     * @return İzni veren bölme; bağlantı kapanınca {@link Compartment#release()} çağrılmalıdır
+     * @throws SQLTransientConnectionException Bekleme süresi içinde izin alınamazsa
+     */
+    public Compartment acquire(Workload workload) throws SQLTransientConnectionException {
+        Compartment compartment = compartments.get(workload);
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = compartment.permits.tryAcquire(compartment.acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Bağlantı izni beklenirken kesildi: " + workload.getKey(), e);
+        }
+        compartment.recordWait(System.nanoTime() - started);
+        if (!acquired) {
+            compartment.timeouts.incrementAndGet();
+            logger.warn("Bağlantı bölmesi dolu - İş yükü: {}, Sınır: {}, Bekleme: {} ms",
+                    workload.getKey(), compartment.maxConnections, compartment.acquireTimeoutMillis);
+            throw new SQLTransientConnectionException("Bağlantı bölmesi dolu: " + workload.getKey()
+                    + " (" + compartment.maxConnections + " bağlantı, " + compartment.acquireTimeoutMillis + " ms)");
+        }
+        return compartment;
+    }
+
+    /**
+     * İş yükü sınıfının bölmesi
+     * @param workload İş yükü sınıfı
+     * @return Bölme
+     */
+    public Compartment getCompartment(Workload workload) {
+        return compartments.get(workload);
+    }
+
+    /**
+     * Tüm bölmelerin toplam bağlantı sınırı
+     * @return Toplam sınır
+     */
+    public int getTotalMaxConnections() {
+        return compartments.values().stream().mapToInt(Compartment::getMaxConnections).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Compartment compartment : compartments.values()) {
+            String workload = compartment.workload.getKey();
+            Gauge.builder("db.bulkhead.connections.active", compartment, Compartment::getActiveConnections)
+                    .tag("workload", workload).description("Bölmeden kullanımda olan bağlantılar").register(registry);
+            Gauge.builder("db.bulkhead.connections.max", compartment, Compartment::getMaxConnections)
+                    .tag("workload", workload).description("Bölmenin bağlantı sınırı").register(registry);
+            Gauge.builder("db.bulkhead.connections.pending", compartment, c -> c.permits.getQueueLength())
+                    .tag("workload", workload).description("Bağlantı izni bekleyen iş parçacıkları").register(registry);
+            FunctionCounter.builder("db.bulkhead.timeouts", compartment.timeouts, AtomicLong::get)
+                    .tag("workload", workload).description("Süresi dolan bağlantı izni istekleri").register(registry);
+            compartment.acquireTimer = Timer.builder("db.bulkhead.acquire")
+                    .tag("workload", workload).description("Bağlantı izni bekleme süresi").register(registry);
+        }
+    }
+
+    /**
+     * Tek iş yükü sınıfının bölmesi
+     */
+    public static class Compartment {
+        private final Workload workload;
+        private final int maxConnections;
+        private final long acquireTimeoutMillis;
+        private final Semaphore permits;
+        private final AtomicLong timeouts = new AtomicLong();
+        private volatile Timer acquireTimer;
+
+        public Compartment(Workload workload, int maxConnections, long acquireTimeoutMillis) {
+            if (maxConnections < 1) {
+                throw new IllegalArgumentException("Bağlantı sınırı en az 1 olmalı: " + workload.getKey());
+            }
+            this.workload = workload;
+            this.maxConnections = maxConnections;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+            this.permits = new Semaphore(maxConnections, true);
+        }
+
+        /**
+         * Bağlantı iznini bölmeye geri verme
+         */
+        public void release() {
+            permits.release();
+        }
+
+        private void recordWait(long nanos) {
+            Timer timer = acquireTimer;
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public Workload getWorkload() { return workload; }
+        public int getMaxConnections() { return maxConnections; }
+        public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+        public int getActiveConnections() { return maxConnections - permits.availablePermits(); }
+        public long getTimeouts() { return timeouts.get(); }
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Replika Farkında JPA İşlem Yöneticisi
+ * Yeni başlayan her işlemin replika etiketini ReplicaRouting'e bildirir; bağlantı
+ * LazyConnectionDataSourceProxy sayesinde ilk SQL ifadesinde, bu bilgiye göre seçilir
+ */
+public class ReplicaAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public ReplicaAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReplicaRouting.begin(definition);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReplicaRouting.end();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReplicaRouting.end();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replika Sağlık ve Gecikme İzleyicisi
+ * Her turda birincil veritabanına heartbeat yazar ve replikalardan geri okur:
+ * okuma başarısızsa replika devre dışı kalır, okunan heartbeat'in yaşı replikasyon gecikmesidir.
+ * Heartbeat tablosu diğer tablolar gibi replike edildiğinden veritabanından bağımsız çalışır
+ */
+public class ReplicaHealthMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at_ms BIGINT NOT NULL)";
+
+    private static final String UPDATE_SQL = "UPDATE replica_heartbeat SET beat_at_ms = ? WHERE id = 1";
+
+    private static final String INSERT_SQL = "INSERT INTO replica_heartbeat (id, beat_at_ms) VALUES (1, ?)";
+
+    private static final String SELECT_SQL = "SELECT beat_at_ms FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final long latestMaxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaHealthMonitor(DataSource primary, List<Replica> replicas, long latestMaxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.latestMaxLagMillis = latestMaxLagMillis;
+        this.primary.execute(CREATE_SQL);
+    }
+
+    /**
+     * Replikaları kontrol etme - heartbeat yazma, replikalardan okuma ve gecikmeyi ölçme
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:2000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update(UPDATE_SQL, now) == 0) {
+                primary.update(INSERT_SQL, now);
+            }
+        } catch (Exception e) {
+            logger.warn("Replika heartbeat'i yazılamadı: {}", e.getMessage());
+        }
+
+        for (Replica replica : replicas) {
+            try {
+                Long beat = new JdbcTemplate(replica.getDataSource()).query(SELECT_SQL,
+                        rs -> rs.next() ? rs.getLong(1) : null);
+                long lag = beat == null ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beat);
+                replica.update(true, lag);
+            } catch (Exception e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    /**
+     * Yönlendirme isteğine uyan replikayı seçme (sağlıklı replikalar arasında sırayla)
+     * @param route Yönlendirme isteği
+     * @return Replika (uygun replika yoksa boş; okuma birincil veritabanına gider)
+     */
+    public Optional<Replica> select(ReplicaRouting.Route route) {
+        if (route == ReplicaRouting.Route.PRIMARY || replicas.isEmpty()) {
+            return Optional.empty();
+        }
+        long maxLag = route == ReplicaRouting.Route.REPLICA_LATEST ? latestMaxLagMillis : Long.MAX_VALUE;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy() && replica.getLagMillis() <= maxLag) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Replikayı devre dışı bırakma; bir sonraki başarılı kontrolde yeniden devreye girer
+     * Havuzdaki bağlantılar da boşaltılır, kopmuş bağlantılar yeniden kullanılmaz
+     * @param replica Replika
+     * @param cause Hata
+     */
+    public void markDown(Replica replica, Exception cause) {
+        if (replica.isHealthy()) {
+            logger.warn("Replika devre dışı bırakıldı: {} - {}", replica.getName(), cause.getMessage());
+        }
+        replica.update(false, Long.MAX_VALUE);
+        if (replica.getDataSource().getHikariPoolMXBean() != null) {
+            replica.getDataSource().getHikariPoolMXBean().softEvictConnections();
+        }
+    }
+
+    /**
+     * İzlenen replikalar
+     * @return Replikalar
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    /**
+     * Replika bağlantı havuzu ve son ölçülen durumu
+     */
+    public static class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void update(boolean healthy, long lagMillis) {
+            if (healthy && !this.healthy) {
+                logger.info("Replika yeniden devreye alındı: {}", name);
+            }
+            this.healthy = healthy;
+            this.lagMillis = lagMillis;
+        }
+
+        public String getName() { return name; }
+        public HikariDataSource getDataSource() { return dataSource; }
+        public boolean isHealthy() { return healthy; }
+        public long getLagMillis() { return lagMillis; }
+    }
+}
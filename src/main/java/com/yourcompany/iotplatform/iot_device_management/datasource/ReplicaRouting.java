@@ -0,0 +1,79 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Replika Yönlendirme Etiketleri
+ * Salt okunur işlemler yalnızca bu etiketlerden biri ile işaretlenmişse replikaya gider:
+ * {@code @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)}.
+ * Etiketsiz okumalar (ör. Spring Data varsayılan işlemleri) birincil veritabanında kalır
+ */
+public final class ReplicaRouting {
+
+    /**
+     * Herhangi bir sağlıklı replikadan okunabilir
+     */
+    public static final String REPLICA = "replica";
+
+    /**
+     * Yalnızca gecikmesi datasource.replicas.latest-max-lag-ms altındaki replikalardan okunabilir
+     */
+    public static final String REPLICA_LATEST = "replica-latest";
+
+    /**
+     * Geçerli işlemin yönlendirme isteği; askıya alınan işlemler için yığın olarak tutulur
+     */
+    private static final ThreadLocal<Deque<Route>> routes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * İşlem yönlendirme isteği
+     */
+    public enum Route {
+        PRIMARY, REPLICA, REPLICA_LATEST
+    }
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Yeni başlayan işlemin yönlendirme isteğini kaydetme
+     * @param definition İşlem tanımı
+     */
+    static void begin(TransactionDefinition definition) {
+        routes.get().push(routeOf(definition));
+    }
+
+    /**
+     * Tamamlanan işlemin yönlendirme isteğini kaldırma
+     */
+    static void end() {
+        Deque<Route> stack = routes.get();
+        stack.poll();
+        if (stack.isEmpty()) {
+            routes.remove();
+        }
+    }
+
+    /**
+     * Geçerli işlemin yönlendirme isteği
+     * @return Yönlendirme (işlem yoksa PRIMARY)
+     */
+    public static Route current() {
+        Route route = routes.get().peek();
+        return route == null ? Route.PRIMARY : route;
+    }
+
+    private static Route routeOf(TransactionDefinition definition) {
+        if (!definition.isReadOnly() || !(definition instanceof TransactionAttribute attribute)) {
+            return Route.PRIMARY;
+        }
+        if (attribute.getLabels().contains(REPLICA_LATEST)) {
+            return Route.REPLICA_LATEST;
+        }
+        return attribute.getLabels().contains(REPLICA) ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Replika Yönlendiren DataSource
+ * Replika etiketli salt okunur işlemleri sağlıklı bir replikaya, diğer her şeyi birincil veritabanına yönlendirir.
+ * Replikadan bağlantı alınamazsa replika devre dışı bırakılır ve birincil veritabanına düşülür.
+ * İşlem bilgisi bağlantı alınırken hazır olsun diye LazyConnectionDataSourceProxy arkasında kullanılır
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor healthMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaHealthMonitor healthMonitor) {
+        this.primary = primary;
+        this.healthMonitor = healthMonitor;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        healthMonitor.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return selectReplica().map(ReplicaHealthMonitor.Replica::getName).orElse(PRIMARY);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Optional<ReplicaHealthMonitor.Replica> replica = selectReplica();
+        if (replica.isPresent()) {
+            try {
+                return replica.get().getDataSource().getConnection();
+            } catch (SQLException e) {
+                healthMonitor.markDown(replica.get(), e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    private Optional<ReplicaHealthMonitor.Replica> selectReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Optional.empty();
+        }
+        return healthMonitor.select(ReplicaRouting.current());
+    }
+}
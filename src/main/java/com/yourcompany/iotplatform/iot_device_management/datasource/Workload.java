@@ -0,0 +1,42 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+/**
+ * Veritabanı İş Yükü Sınıfı
+ * Her sınıfın bağlantı bölmesinde kendi bağlantı sınırı ve bekleme süresi vardır;
+ * bir sınıfın yükü diğerlerinin bağlantılarını tüketemez
+ */
+public enum Workload {
+
+    /**
+     * MQTT telemetri yazma yolu
+     */
+    INGESTION("ingestion", 4, 5_000),
+
+    /**
+     * REST/GraphQL istekleri (varsayılan)
+     */
+    INTERACTIVE("interactive", 4, 3_000),
+
+    /**
+     * Dışa/içe aktarma, mühürleme ve saklama gibi toplu ve bakım işleri
+     */
+    BATCH("batch", 2, 30_000);
+
+    private final String key;
+    private final int defaultMaxConnections;
+    private final long defaultAcquireTimeoutMillis;
+
+    Workload(String key, int defaultMaxConnections, long defaultAcquireTimeoutMillis) {
+        this.key = key;
+        this.defaultMaxConnections = defaultMaxConnections;
+        this.defaultAcquireTimeoutMillis = defaultAcquireTimeoutMillis;
+    }
+
+    /**
+     * Konfigürasyon ve metrik etiketlerinde kullanılan ad
+     * @return Ad
+     */
+    public String getKey() { return key; }
+    public int getDefaultMaxConnections() { return defaultMaxConnections; }
+    public long getDefaultAcquireTimeoutMillis() { return defaultAcquireTimeoutMillis; }
+}
@@ -0,0 +1,60 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Geçerli İş Parçacığının İş Yükü Sınıfı
+ * Bağlantı alınmadan önce, yani işlem başlatan çağrının dışında girilmelidir:
+ * <pre>
+ * WorkloadContext.run(Workload.BATCH, () -&gt; exportService.export(...));
+ * </pre>
+ * İşaretlenmemiş iş parçacıkları {@link Workload#INTERACTIVE} sayılır
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> current = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * İşi verilen iş yükü sınıfında çalıştırma; bitince önceki sınıf geri yüklenir
+     * @param workload İş yükü sınıfı
+     * @param task İş
+     * @return İşin sonucu
+     */
+    public static <T> T run(Workload workload, Supplier<T> task) {
+        Workload previous = current.get();
+        current.set(workload);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Sonuç döndürmeyen işi verilen iş yükü sınıfında çalıştırma
+     * @param workload İş yükü sınıfı
+     * @param task İş
+     */
+    public static void run(Workload workload, Runnable task) {
+        run(workload, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Geçerli iş yükü sınıfı
+     * @return İş yükü sınıfı
+     */
+    public static Workload current() {
+        Workload workload = current.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+}
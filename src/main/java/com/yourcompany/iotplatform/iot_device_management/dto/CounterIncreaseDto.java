@@ -0,0 +1,28 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sayaç Artışı DTO'su
+ * Bir kovadaki sıfırlanmalar düzeltilmiş artış, saniye başına ortalama hız ve sıfırlanma sayısı
+ */
+public class CounterIncreaseDto {
+    
+    private final LocalDateTime bucketStart;
+    private final double increase;
+    private final double ratePerSecond;
+    private final long resets;
+    
+    public CounterIncreaseDto(LocalDateTime bucketStart, double increase, double ratePerSecond, long resets) {
+        this.bucketStart = bucketStart;
+        this.increase = increase;
+        this.ratePerSecond = ratePerSecond;
+        this.resets = resets;
+    }
+    
+    // Getters
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public double getIncrease() { return increase; }
+    public double getRatePerSecond() { return ratePerSecond; }
+    public long getResets() { return resets; }
+}
@@ -0,0 +1,44 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+/**
+ * Filo Toplam DTO'su
+ * Bir grubun (cihaz, cihaz tipi, sahip veya konum) sorgu aralığındaki toplam değerleri.
+ * compressed işaretliyse gruptaki en az bir cihazın serisi sıkıştırılarak yazılıyordur; sayı, toplam ve
+ * ortalama okumaları değil saklanan noktaları sayar, yalnızca minimum ve maksimum tolerans içinde doğrudur
+ */
+public class FleetAggregateDto {
+    
+    private final String group;
+    private final int deviceCount;
+    private final long count;
+    private final Double sum;
+    private final Double min;
+    private final Double max;
+    private final Double average;
+    private final boolean compressed;
+    
+    public FleetAggregateDto(String group, int deviceCount, TelemetryAggregate aggregate) {
+        this(group, deviceCount, aggregate, false);
+    }
+    
+    public FleetAggregateDto(String group, int deviceCount, TelemetryAggregate aggregate, boolean compressed) {
+        this.group = group;
+        this.deviceCount = deviceCount;
+        this.compressed = compressed;
+        this.count = aggregate.getCount();
+        this.sum = aggregate.getSum();
+        this.min = aggregate.getMin();
+        this.max = aggregate.getMax();
+        this.average = aggregate.getAverage();
+    }
+    
+    // Getters
+    public String getGroup() { return group; }
+    public int getDeviceCount() { return deviceCount; }
+    public long getCount() { return count; }
+    public Double getSum() { return sum; }
+    public Double getMin() { return min; }
+    public Double getMax() { return max; }
+    public Double getAverage() { return average; }
+    public boolean isCompressed() { return compressed; }
+}
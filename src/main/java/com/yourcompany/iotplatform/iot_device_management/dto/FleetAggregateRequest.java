@@ -0,0 +1,67 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filo Toplam İsteği
+ * Veri tipi ve zaman aralığı, cihaz seçimi (ID listesi veya sahip/durum/tip/konum filtresi),
+ * gruplama ölçütü ve isteğe bağlı sıralama ile ilk K sınırı
+ */
+public class FleetAggregateRequest {
+    
+    /**
+     * Gruplama ölçütü
+     */
+    public enum GroupBy {
+        DEVICE, DEVICE_TYPE, OWNER, LOCATION
+    }
+    
+    /**
+     * Sıralama değeri
+     */
+    public enum Metric {
+        AVERAGE, MIN, MAX, SUM, COUNT
+    }
+    
+    private String dataType;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private GroupBy groupBy = GroupBy.DEVICE;
+    private Metric orderBy;
+    private boolean descending = true;
+    private Integer limit;
+    private List<Long> deviceIds;
+    private Long ownerId;
+    private Device.DeviceStatus status;
+    private Device.DeviceType deviceType;
+    private String location;
+    
+    // Getters and Setters
+    public String getDataType() { return dataType; }
+    public void setDataType(String dataType) { this.dataType = dataType; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    public GroupBy getGroupBy() { return groupBy; }
+    public void setGroupBy(GroupBy groupBy) { this.groupBy = groupBy; }
+    public Metric getOrderBy() { return orderBy; }
+    public void setOrderBy(Metric orderBy) { this.orderBy = orderBy; }
+    public boolean isDescending() { return descending; }
+    public void setDescending(boolean descending) { this.descending = descending; }
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+    public List<Long> getDeviceIds() { return deviceIds; }
+    public void setDeviceIds(List<Long> deviceIds) { this.deviceIds = deviceIds; }
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    public Device.DeviceStatus getStatus() { return status; }
+    public void setStatus(Device.DeviceStatus status) { this.status = status; }
+    public Device.DeviceType getDeviceType() { return deviceType; }
+    public void setDeviceType(Device.DeviceType deviceType) { this.deviceType = deviceType; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+}
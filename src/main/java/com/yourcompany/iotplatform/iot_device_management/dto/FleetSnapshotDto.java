@@ -0,0 +1,92 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filo Anlık Görüntü DTO'su
+ * Çok sayıda cihazın durumunu ve veri tipi bazında son değerlerini tek yanıtta taşır
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FleetSnapshotDto {
+    
+    private final String version;
+    private final int count;
+    private final List<DeviceSnapshot> devices;
+    
+    public FleetSnapshotDto(String version, List<DeviceSnapshot> devices) {
+        this.version = version;
+        this.count = devices.size();
+        this.devices = devices;
+    }
+    
+    // Getters
+    public String getVersion() { return version; }
+    public int getCount() { return count; }
+    public List<DeviceSnapshot> getDevices() { return devices; }
+    
+    /**
+     * Tek cihazın anlık görüntüsü
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class DeviceSnapshot {
+        private final Long id;
+        private final String deviceId;
+        private final Device.DeviceStatus status;
+        private final LocalDateTime lastSeen;
+        private final List<LatestValue> values;
+        
+        public DeviceSnapshot(Long id, String deviceId, Device.DeviceStatus status,
+                              LocalDateTime lastSeen, List<LatestValue> values) {
+            this.id = id;
+            this.deviceId = deviceId;
+            this.status = status;
+            this.lastSeen = lastSeen;
+            this.values = values;
+        }
+        
+        // Getters
+        public Long getId() { return id; }
+        public String getDeviceId() { return deviceId; }
+        public Device.DeviceStatus getStatus() { return status; }
+        public LocalDateTime getLastSeen() { return lastSeen; }
+        public List<LatestValue> getValues() { return values; }
+    }
+    
+    /**
+     * Bir veri tipinin son değeri
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LatestValue {
+        private final String dataType;
+        private final String unit;
+        private final Double valueNumeric;
+        private final String valueString;
+        private final Boolean valueBoolean;
+        private final Integer quality;
+        private final LocalDateTime timestamp;
+        
+        public LatestValue(TelemetryData telemetryData) {
+            this.dataType = telemetryData.getDataType();
+            this.unit = telemetryData.getUnit();
+            this.valueNumeric = telemetryData.getValueNumeric();
+            this.valueString = telemetryData.getValueString();
+            this.valueBoolean = telemetryData.getValueBoolean();
+            this.quality = telemetryData.getQuality();
+            this.timestamp = telemetryData.getTimestamp();
+        }
+        
+        // Getters
+        public String getDataType() { return dataType; }
+        public String getUnit() { return unit; }
+        public Double getValueNumeric() { return valueNumeric; }
+        public String getValueString() { return valueString; }
+        public Boolean getValueBoolean() { return valueBoolean; }
+        public Integer getQuality() { return quality; }
+        public LocalDateTime getTimestamp() { return timestamp; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+
+import java.util.List;
+
+/**
+ * Filo Anlık Görüntü İsteği
+ * Cihaz ID listesi veya sahip/durum/tip filtresi ile cihaz seçimi
+ */
+public class FleetSnapshotRequest {
+    
+    private List<Long> deviceIds;
+    private Long ownerId;
+    private Device.DeviceStatus status;
+    private Device.DeviceType deviceType;
+    
+    // Constructors
+    public FleetSnapshotRequest() {}
+    
+    public FleetSnapshotRequest(List<Long> deviceIds, Long ownerId,
+                                Device.DeviceStatus status, Device.DeviceType deviceType) {
+        this.deviceIds = deviceIds;
+        this.ownerId = ownerId;
+        this.status = status;
+        this.deviceType = deviceType;
+    }
+    
+    // Getters and Setters
+    public List<Long> getDeviceIds() {
+        return deviceIds;
+    }
+    
+    public void setDeviceIds(List<Long> deviceIds) {
+        this.deviceIds = deviceIds;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+    
+    public Device.DeviceStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Device.DeviceStatus status) {
+        this.status = status;
+    }
+    
+    public Device.DeviceType getDeviceType() {
+        return deviceType;
+    }
+    
+    public void setDeviceType(Device.DeviceType deviceType) {
+        this.deviceType = deviceType;
+    }
+}
@@ -0,0 +1,91 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Saklama Çalıştırması Raporu DTO'su
+ * Politika başına özetlenen, silinen satırları ve tahmini geri kazanılan alanı taşır
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RetentionReport {
+    
+    /**
+     * Çalıştırma durumu
+     */
+    public enum Status {
+        RUNNING,
+        /** Tüm seriler güncel */
+        COMPLETED,
+        /** Parça sınırına ulaşıldı; kalan iş sonraki çalıştırmada devam eder */
+        PARTIAL,
+        FAILED
+    }
+    
+    private final Status status;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final int chunks;
+    private final List<PolicyProgress> policies;
+    private final String error;
+    
+    public RetentionReport(Status status, LocalDateTime startedAt, LocalDateTime finishedAt, int chunks,
+                           List<PolicyProgress> policies, String error) {
+        this.status = status;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.chunks = chunks;
+        this.policies = policies;
+        this.error = error;
+    }
+    
+    // Getters
+    public Status getStatus() { return status; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public int getChunks() { return chunks; }
+    public List<PolicyProgress> getPolicies() { return policies; }
+    public String getError() { return error; }
+    
+    public long getReclaimedBytesEstimate() {
+        return policies.stream().mapToLong(PolicyProgress::getReclaimedBytesEstimate).sum();
+    }
+    
+    /**
+     * Tek politikanın çalıştırmadaki ilerlemesi
+     */
+    public static class PolicyProgress {
+        private final String policy;
+        private final int series;
+        private final long rowsRolledUp;
+        private final long rollupsWritten;
+        private final long rawRowsDeleted;
+        private final long rollupsDeleted;
+        private final long segmentPointsDeleted;
+        private final long reclaimedBytesEstimate;
+        
+        public PolicyProgress(String policy, int series, long rowsRolledUp, long rollupsWritten, long rawRowsDeleted,
+                              long rollupsDeleted, long segmentPointsDeleted, long reclaimedBytesEstimate) {
+            this.policy = policy;
+            this.series = series;
+            this.rowsRolledUp = rowsRolledUp;
+            this.rollupsWritten = rollupsWritten;
+            this.rawRowsDeleted = rawRowsDeleted;
+            this.rollupsDeleted = rollupsDeleted;
+            this.segmentPointsDeleted = segmentPointsDeleted;
+            this.reclaimedBytesEstimate = reclaimedBytesEstimate;
+        }
+        
+        // Getters
+        public String getPolicy() { return policy; }
+        public int getSeries() { return series; }
+        public long getRowsRolledUp() { return rowsRolledUp; }
+        public long getRollupsWritten() { return rollupsWritten; }
+        public long getRawRowsDeleted() { return rawRowsDeleted; }
+        public long getRollupsDeleted() { return rollupsDeleted; }
+        public long getSegmentPointsDeleted() { return segmentPointsDeleted; }
+        public long getReclaimedBytesEstimate() { return reclaimedBytesEstimate; }
+    }
+}
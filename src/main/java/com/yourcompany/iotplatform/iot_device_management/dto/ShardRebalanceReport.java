@@ -0,0 +1,65 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import java.util.List;
+
+/**
+ * Parça Yeniden Dengeleme Raporu DTO'su
+ * Parça başına satır ve cihaz sayılarını, halkaya göre yanlış parçada duran cihazları ve
+ * (kuru çalıştırma değilse) taşınan satırları taşır
+ */
+public class ShardRebalanceReport {
+    
+    private final boolean dryRun;
+    private final boolean rebalancePending;
+    private final long elapsedMillis;
+    private final List<ShardStatus> shards;
+    
+    public ShardRebalanceReport(boolean dryRun, boolean rebalancePending, long elapsedMillis, List<ShardStatus> shards) {
+        this.dryRun = dryRun;
+        this.rebalancePending = rebalancePending;
+        this.elapsedMillis = elapsedMillis;
+        this.shards = shards;
+    }
+    
+    // Getters
+    public boolean isDryRun() { return dryRun; }
+    public boolean isRebalancePending() { return rebalancePending; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<ShardStatus> getShards() { return shards; }
+    
+    public long getMovedDevices() {
+        return dryRun ? 0 : shards.stream().mapToLong(ShardStatus::getMisplacedDevices).sum();
+    }
+    
+    public long getMovedRows() {
+        return dryRun ? 0 : shards.stream().mapToLong(ShardStatus::getMisplacedRows).sum();
+    }
+    
+    /**
+     * Tek parçanın durumu
+     */
+    public static class ShardStatus {
+        private final String name;
+        private final long rows;
+        private final long devices;
+        private final long misplacedDevices;
+        private final long misplacedRows;
+        
+        public ShardStatus(String name, long rows, long devices, long misplacedDevices, long misplacedRows) {
+            this.name = name;
+            this.rows = rows;
+            this.devices = devices;
+            this.misplacedDevices = misplacedDevices;
+            this.misplacedRows = misplacedRows;
+        }
+        
+        // Getters
+        public String getName() { return name; }
+        /** Çalıştırma başındaki satır sayısı */
+        public long getRows() { return rows; }
+        public long getDevices() { return devices; }
+        /** Halkaya göre başka parçaya ait cihazlar (taşınanlar veya taşınacaklar) */
+        public long getMisplacedDevices() { return misplacedDevices; }
+        public long getMisplacedRows() { return misplacedRows; }
+    }
+}
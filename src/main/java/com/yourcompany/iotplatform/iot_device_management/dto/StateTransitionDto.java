@@ -0,0 +1,28 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durum Geçişi DTO'su
+ * Bir durumun başladığı ve bittiği zaman; süren durumun bitişi null'dır
+ */
+public class StateTransitionDto {
+    
+    private final String state;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Integer quality;
+    
+    public StateTransitionDto(String state, LocalDateTime start, LocalDateTime end, Integer quality) {
+        this.state = state;
+        this.start = start;
+        this.end = end;
+        this.quality = quality;
+    }
+    
+    // Getters
+    public String getState() { return state; }
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+    public Integer getQuality() { return quality; }
+}
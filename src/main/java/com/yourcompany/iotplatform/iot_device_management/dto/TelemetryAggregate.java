@@ -0,0 +1,92 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+/**
+ * Telemetri Toplam Değerleri
+ * Sayı, toplam, minimum ve maksimum birlikte tutulur; böylece farklı kaynaklardan
+ * gelen sonuçlar ortalama bozulmadan birleştirilebilir
+ */
+public class TelemetryAggregate {
+    
+    private long count;
+    private Double sum;
+    private Double min;
+    private Double max;
+    
+    // Constructors
+    public TelemetryAggregate() {}
+    
+    /**
+     * JPQL constructor expression için - boş kümede SUM/MIN/MAX null döner
+     */
+    public TelemetryAggregate(Long count, Double sum, Double min, Double max) {
+        this.count = count == null ? 0L : count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+    
+    /**
+     * Boş toplam
+     * @return Hiç değer içermeyen toplam
+     */
+    public static TelemetryAggregate empty() {
+        return new TelemetryAggregate(0L, null, null, null);
+    }
+    
+    /**
+     * İki toplamı birleştirme
+     * @param other Diğer toplam
+     * @return Birleşik toplam
+     */
+    public TelemetryAggregate combine(TelemetryAggregate other) {
+        if (other == null || other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new TelemetryAggregate(count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+    
+    /**
+     * Ortalama değer
+     * @return Ortalama (değer yoksa null)
+     */
+    public Double getAverage() {
+        return count == 0 ? null : sum / count;
+    }
+    
+    // Getters and Setters
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public Double getSum() {
+        return sum;
+    }
+    
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+    
+    public Double getMin() {
+        return min;
+    }
+    
+    public void setMin(Double min) {
+        this.min = min;
+    }
+    
+    public Double getMax() {
+        return max;
+    }
+    
+    public void setMax(Double max) {
+        this.max = max;
+    }
+}
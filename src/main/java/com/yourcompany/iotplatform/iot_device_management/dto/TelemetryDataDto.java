@@ -1,19 +1,22 @@
 package com.yourcompany.iotplatform.iot_device_management.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
 
 import java.time.LocalDateTime;
 
 /**
  * Telemetri Verisi DTO (Data Transfer Object)
- * REST API'de telemetri verilerini transfer etmek için kullanılır
+ * REST API'de telemetri verilerini transfer etmek için kullanılır.
+ * Zaman damgaları içeride UTC epoch milisaniye tutulur; JSON'a UTC LocalDateTime olarak yazılır
  */
 public class TelemetryDataDto {
     
     private Long id;
     private Long deviceId;
     private String deviceName;
-    private LocalDateTime timestamp;
+    private long timestampMillis;
     private String topic;
     private String payload;
     private String dataType;
@@ -22,14 +25,14 @@ public class TelemetryDataDto {
     private String valueString;
     private Boolean valueBoolean;
     private Integer quality;
-    private LocalDateTime receivedAt;
+    private Long receivedAtMillis;
     
     // Constructors
     public TelemetryDataDto() {}
     
     public TelemetryDataDto(TelemetryData telemetryData) {
         this.id = telemetryData.getId();
-        this.timestamp = telemetryData.getTimestamp();
+        this.timestampMillis = telemetryData.getTimestampMillis();
         this.topic = telemetryData.getTopic();
         this.payload = telemetryData.getPayload();
         this.dataType = telemetryData.getDataType();
@@ -38,7 +41,7 @@ public class TelemetryDataDto {
         this.valueString = telemetryData.getValueString();
         this.valueBoolean = telemetryData.getValueBoolean();
         this.quality = telemetryData.getQuality();
-        this.receivedAt = telemetryData.getReceivedAt();
+        this.receivedAtMillis = telemetryData.getReceivedAtMillis();
         
         if (telemetryData.getDevice() != null) {
             this.deviceId = telemetryData.getDevice().getId();
@@ -46,6 +49,27 @@ public class TelemetryDataDto {
         }
     }
     
+    /**
+     * JPQL constructor expression için - entity yüklemeden, cihaz adı SQL'de join edilerek
+     * ve payload sütunu okunmadan doldurulur
+     */
+    public TelemetryDataDto(Long id, Long deviceId, String deviceName, long timestampMillis, String topic,
+                            String dataType, String unit, Double valueNumeric, String valueString,
+                            Boolean valueBoolean, Integer quality, Long receivedAtMillis) {
+        this.id = id;
+        this.deviceId = deviceId;
+        this.deviceName = deviceName;
+        this.timestampMillis = timestampMillis;
+        this.topic = topic;
+        this.dataType = dataType;
+        this.unit = unit;
+        this.valueNumeric = valueNumeric;
+        this.valueString = valueString;
+        this.valueBoolean = valueBoolean;
+        this.quality = quality;
+        this.receivedAtMillis = receivedAtMillis;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -71,12 +95,21 @@ public class TelemetryDataDto {
         this.deviceName = deviceName;
     }
     
+    @JsonIgnore
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public void setTimestampMillis(long timestampMillis) {
+        this.timestampMillis = timestampMillis;
+    }
+    
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return TelemetryTime.toLocalDateTime(timestampMillis);
     }
     
     public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
+        this.timestampMillis = TelemetryTime.toEpochMillis(timestamp);
     }
     
     public String getTopic() {
@@ -143,11 +176,20 @@ public class TelemetryDataDto {
         this.quality = quality;
     }
     
+    @JsonIgnore
+    public Long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+    
+    public void setReceivedAtMillis(Long receivedAtMillis) {
+        this.receivedAtMillis = receivedAtMillis;
+    }
+    
     public LocalDateTime getReceivedAt() {
-        return receivedAt;
+        return receivedAtMillis == null ? null : TelemetryTime.toLocalDateTime(receivedAtMillis);
     }
     
     public void setReceivedAt(LocalDateTime receivedAt) {
-        this.receivedAt = receivedAt;
+        this.receivedAtMillis = receivedAt == null ? null : TelemetryTime.toEpochMillis(receivedAt);
     }
 }
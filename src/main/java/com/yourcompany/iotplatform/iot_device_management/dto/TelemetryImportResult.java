@@ -0,0 +1,59 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Telemetri İçe Aktarma Sonucu DTO'su
+ * Devam eden veya tamamlanmış bir içe aktarma işinin ilerleme bilgisini taşır
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TelemetryImportResult {
+    
+    /**
+     * İçe aktarma işi durumu
+     */
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+    
+    private final String jobId;
+    private final String format;
+    private final Status status;
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long rowsPerSecond;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final List<String> errors;
+    
+    public TelemetryImportResult(String jobId, String format, Status status, long rowsRead, long rowsImported,
+                                 long rowsRejected, long rowsPerSecond, LocalDateTime startedAt,
+                                 LocalDateTime finishedAt, List<String> errors) {
+        this.jobId = jobId;
+        this.format = format;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.rowsPerSecond = rowsPerSecond;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.errors = errors;
+    }
+    
+    // Getters
+    public String getJobId() { return jobId; }
+    public String getFormat() { return format; }
+    public Status getStatus() { return status; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getRowsPerSecond() { return rowsPerSecond; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public List<String> getErrors() { return errors; }
+}
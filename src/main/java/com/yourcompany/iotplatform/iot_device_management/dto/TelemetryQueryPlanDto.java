@@ -0,0 +1,35 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import java.util.List;
+
+/**
+ * Telemetri Sorgu Planı DTO'su
+ * Sorgu dili ifadesinin derlendiği SQL, bağlanan parametreler ve maliyet tahmini
+ */
+public class TelemetryQueryPlanDto {
+
+    private final String source;
+    private final List<String> columns;
+    private final String sql;
+    private final List<Object> parameters;
+    private final long estimatedRows;
+    private final long maxScannedRows;
+
+    public TelemetryQueryPlanDto(String source, List<String> columns, String sql, List<Object> parameters,
+                                 long estimatedRows, long maxScannedRows) {
+        this.source = source;
+        this.columns = columns;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.estimatedRows = estimatedRows;
+        this.maxScannedRows = maxScannedRows;
+    }
+
+    // Getters
+    public String getSource() { return source; }
+    public List<String> getColumns() { return columns; }
+    public String getSql() { return sql; }
+    public List<Object> getParameters() { return parameters; }
+    public long getEstimatedRows() { return estimatedRows; }
+    public long getMaxScannedRows() { return maxScannedRows; }
+}
@@ -0,0 +1,45 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Telemetri Özeti DTO'su
+ * Bir özet kovasının sayı, toplam, ortalama, min ve max değerleri; sayaç serilerinde artış
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TelemetryRollupDto {
+    
+    private final LocalDateTime bucketStart;
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+    private final Double increase;
+    
+    public TelemetryRollupDto(LocalDateTime bucketStart, long count, double sum, double min, double max) {
+        this(bucketStart, count, sum, min, max, null);
+    }
+    
+    public TelemetryRollupDto(LocalDateTime bucketStart, long count, double sum, double min, double max, Double increase) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.increase = increase;
+    }
+    
+    // Getters
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public long getCount() { return count; }
+    public double getSum() { return sum; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+    public Double getIncrease() { return increase; }
+    
+    public double getAverage() {
+        return count > 0 ? sum / count : 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Telemetri Örneği DTO'su
+ * Düzenli zaman ızgarasındaki tek nokta; veri boşluğunda değer null'dır
+ */
+public class TelemetrySampleDto {
+    
+    private final LocalDateTime timestamp;
+    private final Double value;
+    
+    public TelemetrySampleDto(LocalDateTime timestamp, Double value) {
+        this.timestamp = timestamp;
+        this.value = value;
+    }
+    
+    // Getters
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Double getValue() { return value; }
+}
@@ -0,0 +1,26 @@
+package com.yourcompany.iotplatform.iot_device_management.dto;
+
+/**
+ * Durumda Geçen Süre DTO'su
+ * Sorgu aralığında bir durumda geçen toplam süre, aralığa oranı ve duruma kaç kez girildiği
+ */
+public class TimeInStateDto {
+    
+    private final String state;
+    private final long durationMs;
+    private final double ratio;
+    private final long entries;
+    
+    public TimeInStateDto(String state, long durationMs, double ratio, long entries) {
+        this.state = state;
+        this.durationMs = durationMs;
+        this.ratio = ratio;
+        this.entries = entries;
+    }
+    
+    // Getters
+    public String getState() { return state; }
+    public long getDurationMs() { return durationMs; }
+    public double getRatio() { return ratio; }
+    public long getEntries() { return entries; }
+}
@@ -233,8 +233,7 @@ public class MutationResolver implements GraphQLMutationResolver {
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public Device updateDeviceStatus(String id, Device.DeviceStatus status) {
-        deviceService.updateDeviceStatus(Long.parseLong(id), status);
-        return deviceService.getDeviceById(Long.parseLong(id)).orElse(null);
+        return deviceService.updateDeviceStatus(Long.parseLong(id), status);
     }
     
     // Input Classes
@@ -1,9 +1,13 @@
 package com.yourcompany.iotplatform.iot_device_management.graphql;
 
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotRequest;
 import com.yourcompany.iotplatform.iot_device_management.model.Device;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
 import com.yourcompany.iotplatform.iot_device_management.model.User;
 import com.yourcompany.iotplatform.iot_device_management.service.DeviceService;
+import com.yourcompany.iotplatform.iot_device_management.service.FleetSnapshotService;
+import com.yourcompany.iotplatform.iot_device_management.service.QueryCoalescer;
 import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataService;
 import com.yourcompany.iotplatform.iot_device_management.service.UserService;
 import graphql.kickstart.tools.GraphQLQueryResolver;
@@ -16,7 +20,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * GraphQL Query Resolver
@@ -34,6 +38,12 @@ public class QueryResolver implements GraphQLQueryResolver {
     @Autowired
     private TelemetryDataService telemetryDataService;
     
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+    
+    @Autowired
+    private QueryCoalescer queryCoalescer;
+    
     // User Queries
     
     /**
@@ -183,7 +193,9 @@ public class QueryResolver implements GraphQLQueryResolver {
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
     public List<TelemetryData> telemetryData(String deviceId, Integer limit) {
         int dataLimit = limit != null ? limit : 10;
-        return telemetryDataService.getTelemetryDataByDevice(Long.parseLong(deviceId), dataLimit);
+        Long id = Long.parseLong(deviceId);
+        return queryCoalescer.execute("device", List.of(id, dataLimit),
+                () -> telemetryDataService.getTelemetryDataByDevice(id, dataLimit));
     }
     
     /**
@@ -199,16 +211,43 @@ public class QueryResolver implements GraphQLQueryResolver {
         LocalDateTime start = LocalDateTime.parse(startTime, formatter);
         LocalDateTime end = LocalDateTime.parse(endTime, formatter);
         
-        return telemetryDataService.getTelemetryDataByTimeRange(Long.parseLong(deviceId), start, end);
+        Long id = Long.parseLong(deviceId);
+        return queryCoalescer.execute("device-timerange", List.of(id, start, end),
+                () -> telemetryDataService.getTelemetryDataByTimeRange(id, start, end));
     }
     
     /**
      * Belirli cihazın en son telemetri verisini getirme
      * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi (opsiyonel)
      * @return En son telemetri verisi
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
-    public TelemetryData latestTelemetryData(String deviceId) {
-        return telemetryDataService.getLatestTelemetryData(Long.parseLong(deviceId)).orElse(null);
+    public TelemetryData latestTelemetryData(String deviceId, String dataType) {
+        Long id = Long.parseLong(deviceId);
+        // Son değerler bellekten okunur; birleştirme yalnızca veritabanına giden sorgular için
+        if (dataType != null) {
+            return telemetryDataService.getLatestTelemetryData(id, dataType).orElse(null);
+        }
+        return telemetryDataService.getLatestTelemetryData(id).orElse(null);
+    }
+    
+    /**
+     * Filo anlık görüntüsü - çok sayıda cihazın durumu ve son değerleri
+     * @param deviceIds Cihaz ID'leri (opsiyonel)
+     * @param ownerId Cihaz sahibi ID'si (opsiyonel)
+     * @param status Cihaz durumu (opsiyonel)
+     * @param deviceType Cihaz tipi (opsiyonel)
+     * @return Filo anlık görüntüsü
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'OPERATOR')")
+    public FleetSnapshotDto fleetSnapshot(List<String> deviceIds, String ownerId,
+                                          Device.DeviceStatus status, Device.DeviceType deviceType) {
+        List<Long> ids = deviceIds == null ? null : deviceIds.stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toList());
+        Long owner = ownerId != null ? Long.parseLong(ownerId) : null;
+        
+        return fleetSnapshotService.getSnapshot(new FleetSnapshotRequest(ids, owner, status, deviceType));
     }
 }
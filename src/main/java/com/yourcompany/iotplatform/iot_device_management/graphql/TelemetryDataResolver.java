@@ -0,0 +1,27 @@
+package com.yourcompany.iotplatform.iot_device_management.graphql;
+
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataService;
+import graphql.kickstart.tools.GraphQLResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * GraphQL TelemetryData Resolver
+ * Ham veri yükü ayrı tabloda saklanabildiğinden payload yalnızca sorguda istendiğinde yüklenir
+ */
+@Component
+public class TelemetryDataResolver implements GraphQLResolver<TelemetryData> {
+    
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+    
+    /**
+     * Okumanın ham veri yükü
+     * @param telemetryData Telemetri verisi
+     * @return Ham veri yükü
+     */
+    public String payload(TelemetryData telemetryData) {
+        return telemetryDataService.getPayload(telemetryData);
+    }
+}
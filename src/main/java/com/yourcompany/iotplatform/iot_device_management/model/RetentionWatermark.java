@@ -0,0 +1,73 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Saklama İlerleme İşareti modeli
+ * Bir serinin bir özet katmanı için hangi zamana kadar özetlendiğini tutar; özet yazımı ile aynı
+ * işlemde ilerletilir, böylece yarıda kesilen çalıştırma kaldığı yerden devam eder.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_retention_watermark")
+@IdClass(RetentionWatermark.Key.class)
+public class RetentionWatermark {
+    
+    @Id
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+    
+    @Id
+    @Column(name = "data_type", nullable = false)
+    private String dataType;
+    
+    @Id
+    @Column(name = "bucket_seconds", nullable = false)
+    private Long bucketSeconds;
+    
+    @Column(name = "rolled_up_to_ms", nullable = false)
+    private Long rolledUpToMs;
+    
+    /**
+     * Sayaç serilerinde işaretten önceki son değer; sonraki parçanın ilk artışı bundan hesaplanır
+     */
+    @Column(name = "last_value")
+    private Double lastValue;
+    
+    // Constructors
+    public RetentionWatermark() {}
+    
+    // Getters
+    public Long getDeviceId() { return deviceId; }
+    public String getDataType() { return dataType; }
+    public Long getBucketSeconds() { return bucketSeconds; }
+    public Long getRolledUpToMs() { return rolledUpToMs; }
+    public Double getLastValue() { return lastValue; }
+    
+    /**
+     * Bileşik birincil anahtar (cihaz, veri tipi, aralık)
+     */
+    public static class Key implements Serializable {
+        private Long deviceId;
+        private String dataType;
+        private Long bucketSeconds;
+        
+        public Key() {}
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(deviceId, key.deviceId) && Objects.equals(dataType, key.dataType)
+                    && Objects.equals(bucketSeconds, key.bucketSeconds);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceId, dataType, bucketSeconds);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Telemetri Yük Öznitelikleri modeli
+ * telemetry.attributes.enabled iken ham yükün ayrıştırılmış sütunlara girmeyen alanları bu tabloda
+ * JSON olarak tutulur (PostgreSQL'de JSONB, H2'de JSON). Ham yükün saklama biçiminden bağımsızdır;
+ * yük sıkıştırılsa veya hiç saklanmasa da öznitelikler sorgulanabilir.
+ * Satır silinince öznitelikler veritabanında kademeli olarak silinir.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_attributes")
+public class TelemetryAttributes {
+
+    @Id
+    @Column(name = "telemetry_id")
+    private Long telemetryId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "telemetry_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TelemetryData telemetryData;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "attributes", nullable = false)
+    private String attributes;
+
+    // Constructors
+    public TelemetryAttributes() {}
+
+    // Getters
+    public Long getTelemetryId() { return telemetryId; }
+    public String getAttributes() { return attributes; }
+}
@@ -7,10 +7,16 @@ import java.time.LocalDateTime;
 
 /**
  * Telemetri Verisi modeli
- * MQTT üzerinden gelen cihaz verilerini saklamak için kullanılır
+ * MQTT üzerinden gelen cihaz verilerini saklamak için kullanılır.
+ * Zaman damgaları UTC epoch milisaniye olarak tutulur ve saklanır (bkz. TelemetryTime);
+ * LocalDateTime erişimcileri API sınırı içindir
  */
 @Entity
-@Table(name = "telemetry_data")
+@Table(name = "telemetry_data", indexes = {
+        @Index(name = "idx_telemetry_device_timestamp", columnList = "device_id, ts_epoch_ms"),
+        @Index(name = "idx_telemetry_device_type_timestamp", columnList = "device_id, data_type, ts_epoch_ms"),
+        @Index(name = "idx_telemetry_timestamp", columnList = "ts_epoch_ms")
+})
 public class TelemetryData {
     
     @Id
@@ -22,16 +28,17 @@ public class TelemetryData {
     @NotNull(message = "Cihaz boş olamaz")
     private Device device;
     
-    @Column(name = "timestamp", nullable = false)
-    @NotNull(message = "Zaman damgası boş olamaz")
-    private LocalDateTime timestamp;
+    @Column(name = "ts_epoch_ms", nullable = false)
+    private long timestampMillis;
     
     @Column(name = "topic", nullable = false)
     @NotNull(message = "MQTT topic boş olamaz")
     private String topic;
     
-    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
-    @NotNull(message = "Veri yükü boş olamaz")
+    /**
+     * Ham veri yükü; ayrı tabloda saklanıyorsa veya cihaz tipi için tutulmuyorsa satırda boştur
+     */
+    @Column(name = "payload", columnDefinition = "TEXT")
     private String payload;
     
     @Column(name = "data_type")
@@ -52,14 +59,14 @@ public class TelemetryData {
     @Column(name = "quality")
     private Integer quality;
     
-    @Column(name = "received_at")
-    private LocalDateTime receivedAt;
+    @Column(name = "received_epoch_ms")
+    private Long receivedAtMillis;
     
     // JPA Lifecycle Callbacks
     @PrePersist
     protected void onCreate() {
-        if (receivedAt == null) {
-            receivedAt = LocalDateTime.now();
+        if (receivedAtMillis == null) {
+            receivedAtMillis = TelemetryTime.nowMillis();
         }
     }
     
@@ -70,8 +77,8 @@ public class TelemetryData {
         this.device = device;
         this.topic = topic;
         this.payload = payload;
-        this.timestamp = LocalDateTime.now();
-        this.receivedAt = LocalDateTime.now();
+        this.timestampMillis = TelemetryTime.nowMillis();
+        this.receivedAtMillis = timestampMillis;
     }
     
     public TelemetryData(Device device, String topic, String payload, String dataType, Double valueNumeric) {
@@ -97,12 +104,23 @@ public class TelemetryData {
         this.device = device;
     }
     
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public void setTimestampMillis(long timestampMillis) {
+        this.timestampMillis = timestampMillis;
+    }
+    
+    /**
+     * UTC zaman damgası (API sınırı)
+     */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return TelemetryTime.toLocalDateTime(timestampMillis);
     }
     
     public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
+        this.timestampMillis = TelemetryTime.toEpochMillis(timestamp);
     }
     
     public String getTopic() {
@@ -169,11 +187,22 @@ public class TelemetryData {
         this.quality = quality;
     }
     
+    public Long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+    
+    public void setReceivedAtMillis(Long receivedAtMillis) {
+        this.receivedAtMillis = receivedAtMillis;
+    }
+    
+    /**
+     * UTC alınma zamanı (API sınırı)
+     */
     public LocalDateTime getReceivedAt() {
-        return receivedAt;
+        return receivedAtMillis == null ? null : TelemetryTime.toLocalDateTime(receivedAtMillis);
     }
     
     public void setReceivedAt(LocalDateTime receivedAt) {
-        this.receivedAt = receivedAt;
+        this.receivedAtMillis = receivedAt == null ? null : TelemetryTime.toEpochMillis(receivedAt);
     }
 }
@@ -0,0 +1,55 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Telemetri Ham Veri Yükü modeli
+ * telemetry.payload.storage=compressed iken ham JSON, sıcak sütunları taşıyan satırdan ayrı ve
+ * sıkıştırılmış olarak bu tabloda tutulur; yalnızca istemci payload istediğinde okunur.
+ * Satır silinince yük veritabanında kademeli olarak silinir.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_payload")
+public class TelemetryPayload {
+    
+    /**
+     * Sıkıştırılmamış UTF-8
+     */
+    public static final short CODEC_NONE = 0;
+    
+    /**
+     * Deflate (zlib), yaygın telemetri alanlarından oluşan ön sözlük ile
+     */
+    public static final short CODEC_DEFLATE = 1;
+    
+    @Id
+    @Column(name = "telemetry_id")
+    private Long telemetryId;
+    
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "telemetry_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TelemetryData telemetryData;
+    
+    @Column(name = "codec", nullable = false)
+    private Short codec;
+    
+    @Column(name = "raw_length", nullable = false)
+    private Integer rawLength;
+    
+    @Column(name = "data", nullable = false, length = 1_048_576)
+    private byte[] data;
+    
+    // Constructors
+    public TelemetryPayload() {}
+    
+    // Getters
+    public Long getTelemetryId() { return telemetryId; }
+    public Short getCodec() { return codec; }
+    public Integer getRawLength() { return rawLength; }
+    public byte[] getData() { return data; }
+}
@@ -0,0 +1,104 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Dar Sayısal Telemetri Noktası modeli
+ * Sayısal okumaları (seri ID, epoch milisaniye, değer, kalite) olarak saklar;
+ * topic, veri tipi ve birim seri kataloğundan türetilir.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_numeric", indexes = {
+        @Index(name = "idx_telemetry_numeric_ts", columnList = "ts_epoch_ms")
+})
+@IdClass(TelemetryPoint.Key.class)
+public class TelemetryPoint {
+    
+    @Id
+    @Column(name = "series_id", nullable = false)
+    private Integer seriesId;
+    
+    @Id
+    @Column(name = "ts_epoch_ms", nullable = false)
+    private Long tsEpochMs;
+    
+    @Column(name = "value_numeric", nullable = false)
+    private Double value;
+    
+    @Column(name = "quality")
+    private Integer quality;
+    
+    // Constructors
+    public TelemetryPoint() {}
+    
+    public TelemetryPoint(Integer seriesId, Long tsEpochMs, Double value, Integer quality) {
+        this.seriesId = seriesId;
+        this.tsEpochMs = tsEpochMs;
+        this.value = value;
+        this.quality = quality;
+    }
+    
+    // Getters and Setters
+    public Integer getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Integer seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public Long getTsEpochMs() {
+        return tsEpochMs;
+    }
+    
+    public void setTsEpochMs(Long tsEpochMs) {
+        this.tsEpochMs = tsEpochMs;
+    }
+    
+    public Double getValue() {
+        return value;
+    }
+    
+    public void setValue(Double value) {
+        this.value = value;
+    }
+    
+    public Integer getQuality() {
+        return quality;
+    }
+    
+    public void setQuality(Integer quality) {
+        this.quality = quality;
+    }
+    
+    /**
+     * Bileşik birincil anahtar (seri ID, epoch milisaniye)
+     */
+    public static class Key implements Serializable {
+        private Integer seriesId;
+        private Long tsEpochMs;
+        
+        public Key() {}
+        
+        public Key(Integer seriesId, Long tsEpochMs) {
+            this.seriesId = seriesId;
+            this.tsEpochMs = tsEpochMs;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(seriesId, key.seriesId) && Objects.equals(tsEpochMs, key.tsEpochMs);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(seriesId, tsEpochMs);
+        }
+    }
+}
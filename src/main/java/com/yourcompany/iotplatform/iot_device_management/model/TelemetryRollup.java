@@ -0,0 +1,96 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Telemetri Özeti modeli
+ * Bir cihazın sayısal veri tipinin sabit aralıklı kovalardaki sayı/toplam/min/max değerleri;
+ * sayaç serilerinde ayrıca sıfırlanmalar düzeltilmiş artış ve sıfırlanma sayısı.
+ * Saklama motoru ham veriyi silmeden önce bu tabloya özetler.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_rollup")
+@IdClass(TelemetryRollup.Key.class)
+public class TelemetryRollup {
+    
+    @Id
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+    
+    @Id
+    @Column(name = "data_type", nullable = false)
+    private String dataType;
+    
+    @Id
+    @Column(name = "bucket_seconds", nullable = false)
+    private Long bucketSeconds;
+    
+    @Id
+    @Column(name = "bucket_start_ms", nullable = false)
+    private Long bucketStartMs;
+    
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+    
+    @Column(name = "sum_value", nullable = false)
+    private Double sumValue;
+    
+    @Column(name = "min_value", nullable = false)
+    private Double minValue;
+    
+    @Column(name = "max_value", nullable = false)
+    private Double maxValue;
+    
+    /**
+     * Kova içindeki artış (yalnızca sayaç serileri; önceki kovanın son değerinden itibaren)
+     */
+    @Column(name = "increase_value")
+    private Double increaseValue;
+    
+    @Column(name = "reset_count")
+    private Long resetCount;
+    
+    // Constructors
+    public TelemetryRollup() {}
+    
+    // Getters
+    public Long getDeviceId() { return deviceId; }
+    public String getDataType() { return dataType; }
+    public Long getBucketSeconds() { return bucketSeconds; }
+    public Long getBucketStartMs() { return bucketStartMs; }
+    public Long getSampleCount() { return sampleCount; }
+    public Double getSumValue() { return sumValue; }
+    public Double getMinValue() { return minValue; }
+    public Double getMaxValue() { return maxValue; }
+    public Double getIncreaseValue() { return increaseValue; }
+    public Long getResetCount() { return resetCount; }
+    
+    /**
+     * Bileşik birincil anahtar (cihaz, veri tipi, aralık, kova başlangıcı)
+     */
+    public static class Key implements Serializable {
+        private Long deviceId;
+        private String dataType;
+        private Long bucketSeconds;
+        private Long bucketStartMs;
+        
+        public Key() {}
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(deviceId, key.deviceId) && Objects.equals(dataType, key.dataType)
+                    && Objects.equals(bucketSeconds, key.bucketSeconds) && Objects.equals(bucketStartMs, key.bucketStartMs);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceId, dataType, bucketSeconds, bucketStartMs);
+        }
+    }
+}
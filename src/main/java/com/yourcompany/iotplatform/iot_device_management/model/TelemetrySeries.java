@@ -0,0 +1,93 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Telemetri Serisi modeli
+ * Her (cihaz, veri tipi, birim) üçlüsünü tamsayı bir seri ID'sine eşleyen katalog kaydı;
+ * dar sayısal tablo bu ID üzerinden tekrar eden metinleri saklamadan veri tutar
+ */
+@Entity
+@Table(name = "telemetry_series", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_telemetry_series_key", columnNames = {"device_id", "data_type", "unit"})
+})
+public class TelemetrySeries {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "device_id", nullable = false)
+    @NotNull(message = "Cihaz boş olamaz")
+    private Device device;
+    
+    @Column(name = "data_type", nullable = false)
+    @NotNull(message = "Veri tipi boş olamaz")
+    private String dataType;
+    
+    @Column(name = "unit")
+    private String unit;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // JPA Lifecycle Callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public TelemetrySeries() {}
+    
+    public TelemetrySeries(Device device, String dataType, String unit) {
+        this.device = device;
+        this.dataType = dataType;
+        this.unit = unit;
+    }
+    
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Device getDevice() {
+        return device;
+    }
+    
+    public void setDevice(Device device) {
+        this.device = device;
+    }
+    
+    public String getDataType() {
+        return dataType;
+    }
+    
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+    
+    public String getUnit() {
+        return unit;
+    }
+    
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
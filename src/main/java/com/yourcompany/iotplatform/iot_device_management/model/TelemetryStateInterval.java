@@ -0,0 +1,74 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Telemetri Durum Aralığı modeli
+ * Boolean ve metin serilerini örnek başına satır yerine durum geçişleri olarak saklar:
+ * her satır bir durumun başladığı ve (kapanmışsa) bittiği zamandır, süren durumun bitişi boştur.
+ * Seri ID'si dar sayısal tablo ile aynı katalogdan gelir.
+ * Yazma ve okumalar JDBC ile yapılır, entity yalnızca şema tanımı içindir
+ */
+@Entity
+@Table(name = "telemetry_state", indexes = {
+        @Index(name = "idx_telemetry_state_end", columnList = "end_ms")
+})
+@IdClass(TelemetryStateInterval.Key.class)
+public class TelemetryStateInterval {
+    
+    @Id
+    @Column(name = "series_id", nullable = false)
+    private Integer seriesId;
+    
+    @Id
+    @Column(name = "start_ms", nullable = false)
+    private Long startMs;
+    
+    @Column(name = "end_ms")
+    private Long endMs;
+    
+    @Column(name = "value_boolean")
+    private Boolean valueBoolean;
+    
+    @Column(name = "value_string")
+    private String valueString;
+    
+    @Column(name = "quality")
+    private Integer quality;
+    
+    // Constructors
+    public TelemetryStateInterval() {}
+    
+    // Getters
+    public Integer getSeriesId() { return seriesId; }
+    public Long getStartMs() { return startMs; }
+    public Long getEndMs() { return endMs; }
+    public Boolean getValueBoolean() { return valueBoolean; }
+    public String getValueString() { return valueString; }
+    public Integer getQuality() { return quality; }
+    
+    /**
+     * Bileşik birincil anahtar (seri ID, başlangıç epoch milisaniye)
+     */
+    public static class Key implements Serializable {
+        private Integer seriesId;
+        private Long startMs;
+        
+        public Key() {}
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(seriesId, key.seriesId) && Objects.equals(startMs, key.startMs);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(seriesId, startMs);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Telemetri Zamanı
+ * Okumaların zaman damgaları içeride UTC epoch milisaniye (long) olarak tutulur, saklanır ve karşılaştırılır.
+ * LocalDateTime yalnızca API sınırında kullanılır ve her zaman UTC duvar saati kabul edilir; sistem saat
+ * dilimine ve yaz saati geçişlerine bağlı değildir
+ */
+public final class TelemetryTime {
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private TelemetryTime() {
+    }
+
+    /**
+     * Şimdiki zaman
+     * @return Epoch milisaniye
+     */
+    public static long nowMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * UTC zaman damgasını epoch milisaniyeye çevirme (milisaniye altı kesilir)
+     * @param time UTC zaman damgası
+     * @return Epoch milisaniye
+     */
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    /**
+     * Epoch milisaniyeyi UTC zaman damgasına çevirme
+     * @param epochMillis Epoch milisaniye
+     * @return UTC zaman damgası
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Zaman damgası metnini epoch milisaniyeye çevirme
+     * Kabul edilenler: epoch milisaniye, ofsetli ISO zaman (2024-03-31T02:30:00+02:00, ...Z) ve ofsetsiz
+     * ISO zaman (UTC kabul edilir). Yaygın biçim ara nesne oluşturmadan ayrıştırılır; diğerleri java.time'a düşer
+     * @param value Zaman damgası
+     * @return Epoch milisaniye
+     * @throws IllegalArgumentException Geçersiz zaman damgası
+     */
+    public static long parseMillis(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("geçersiz timestamp: " + value);
+        }
+        long fast = parseIso(value);
+        if (fast != Long.MIN_VALUE) {
+            return fast;
+        }
+        try {
+            if (isDigits(value, 0, value.length())) {
+                return Long.parseLong(value);
+            }
+            try {
+                return toEpochMillis(LocalDateTime.parse(value));
+            } catch (DateTimeParseException e) {
+                return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("geçersiz timestamp: " + value);
+        }
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss[.f{1,9}][Z|±HH:mm] biçimini ayrıştırma
+     * @return Epoch milisaniye; biçim uymuyorsa Long.MIN_VALUE
+     */
+    private static long parseIso(String s) {
+        int length = s.length();
+        if (length < 19 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        int hour = digits(s, 11, 13);
+        int minute = digits(s, 14, 16);
+        int second = digits(s, 17, 19);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        int position = 19;
+        int millis = 0;
+        if (position < length && s.charAt(position) == '.') {
+            int start = ++position;
+            while (position < length && Character.isDigit(s.charAt(position))) {
+                if (position - start < 3) {
+                    millis = millis * 10 + (s.charAt(position) - '0');
+                }
+                position++;
+            }
+            int fractionDigits = position - start;
+            if (fractionDigits == 0 || fractionDigits > 9) {
+                return Long.MIN_VALUE;
+            }
+            for (int i = fractionDigits; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+
+        int offsetSeconds = 0;
+        if (position < length) {
+            char sign = s.charAt(position);
+            if (sign == 'Z' && position + 1 == length) {
+                position++;
+            } else if ((sign == '+' || sign == '-') && position + 6 == length && s.charAt(position + 3) == ':') {
+                int offsetHours = digits(s, position + 1, position + 3);
+                int offsetMinutes = digits(s, position + 4, position + 6);
+                if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                    return Long.MIN_VALUE;
+                }
+                offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (sign == '-' ? -1 : 1);
+                position += 6;
+            } else {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        long epochSeconds = daysFromCivil(year, month, day) * 86_400L + hour * 3600L + minute * 60L + second
+                - offsetSeconds;
+        return epochSeconds * 1000 + millis;
+    }
+
+    /**
+     * Proleptik Gregoryen takvimde 1970-01-01'den bu yana gün sayısı
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2 && (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return to > from;
+    }
+}
@@ -1,8 +1,8 @@
 package com.yourcompany.iotplatform.iot_device_management.repository;
 
-import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,7 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,129 +20,208 @@ import java.util.List;
 @Repository
 public interface TelemetryDataRepository extends JpaRepository<TelemetryData, Long> {
     
-    /**
-     * Belirli cihaza ait telemetri verilerini listeleme
-     * @param device Cihaz
-     * @return Telemetri verisi listesi
-     */
-    List<TelemetryData> findByDeviceOrderByTimestampDesc(Device device);
-    
     /**
      * Belirli cihaza ait telemetri verilerini sayfalı listeleme
-     * @param device Cihaz
+     * Cihaz entity'si yüklenmeden doğrudan device_id üzerinden filtrelenir
+     * @param deviceId Cihaz ID'si
      * @param pageable Sayfalama bilgisi
-     * @return Sayfalı telemetri verisi listesi
+     * @return Telemetri verisi listesi
      */
-    Page<TelemetryData> findByDeviceOrderByTimestampDesc(Device device, Pageable pageable);
+    @Query("SELECT t FROM TelemetryData t WHERE t.device.id = :deviceId ORDER BY t.timestampMillis DESC")
+    List<TelemetryData> findLatestByDeviceId(@Param("deviceId") Long deviceId, Pageable pageable);
     
     /**
-     * Belirli zaman aralığındaki telemetri verilerini bulma
-     * @param device Cihaz
-     * @param startTime Başlangıç zamanı
-     * @param endTime Bitiş zamanı
+     * Belirli cihazın zaman aralığındaki telemetri verilerini bulma
+     * @param deviceId Cihaz ID'si
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
      * @return Telemetri verisi listesi
      */
-    List<TelemetryData> findByDeviceAndTimestampBetweenOrderByTimestampDesc(
-            Device device, LocalDateTime startTime, LocalDateTime endTime);
+    @Query("SELECT t FROM TelemetryData t WHERE t.device.id = :deviceId AND t.timestampMillis BETWEEN :startMillis AND :endMillis ORDER BY t.timestampMillis DESC")
+    List<TelemetryData> findByDeviceIdAndTimeRange(
+            @Param("deviceId") Long deviceId,
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis);
     
     /**
      * Belirli topic'e ait telemetri verilerini bulma
      * @param topic MQTT topic
      * @return Telemetri verisi listesi
      */
-    List<TelemetryData> findByTopicOrderByTimestampDesc(String topic);
+    List<TelemetryData> findByTopicOrderByTimestampMillisDesc(String topic);
     
     /**
      * Belirli veri tipine ait telemetri verilerini bulma
      * @param dataType Veri tipi
      * @return Telemetri verisi listesi
      */
-    List<TelemetryData> findByDataTypeOrderByTimestampDesc(String dataType);
+    List<TelemetryData> findByDataTypeOrderByTimestampMillisDesc(String dataType);
     
     /**
      * Belirli cihaz ve veri tipine ait telemetri verilerini bulma
-     * @param device Cihaz
+     * @param deviceId Cihaz ID'si
      * @param dataType Veri tipi
      * @return Telemetri verisi listesi
      */
-    List<TelemetryData> findByDeviceAndDataTypeOrderByTimestampDesc(Device device, String dataType);
+    @Query("SELECT t FROM TelemetryData t WHERE t.device.id = :deviceId AND t.dataType = :dataType ORDER BY t.timestampMillis DESC")
+    List<TelemetryData> findByDeviceIdAndDataType(@Param("deviceId") Long deviceId, @Param("dataType") String dataType);
     
     /**
-     * Son N adet telemetri verisini bulma
-     * @param device Cihaz
-     * @param limit Limit sayısı
+     * Belirli zaman aralığındaki tüm telemetri verilerini bulma
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
      * @return Telemetri verisi listesi
      */
-    @Query("SELECT t FROM TelemetryData t WHERE t.device = :device ORDER BY t.timestamp DESC")
-    List<TelemetryData> findLatestByDevice(@Param("device") Device device, Pageable pageable);
+    List<TelemetryData> findByTimestampMillisBetweenOrderByTimestampMillisDesc(long startMillis, long endMillis);
     
     /**
-     * Belirli cihazın en son telemetri verisini bulma
-     * @param device Cihaz
-     * @return En son telemetri verisi (varsa)
+     * Belirli cihazın belirli zaman aralığındaki sayı, toplam, minimum ve maksimum değerlerini tek sorguda hesaplama
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Toplam değerler
      */
-    @Query("SELECT t FROM TelemetryData t WHERE t.device = :device ORDER BY t.timestamp DESC")
-    List<TelemetryData> findLatestByDevice(@Param("device") Device device);
+    @Query("SELECT new com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate(" +
+           "COUNT(t.valueNumeric), SUM(t.valueNumeric), MIN(t.valueNumeric), MAX(t.valueNumeric)) " +
+           "FROM TelemetryData t WHERE t.device.id = :deviceId AND t.dataType = :dataType AND t.timestampMillis BETWEEN :startMillis AND :endMillis")
+    TelemetryAggregate findAggregateByDeviceIdAndDataTypeAndTimeRange(
+            @Param("deviceId") Long deviceId,
+            @Param("dataType") String dataType,
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis);
+    
+    String DEVICE_AGGREGATE_SELECT = "SELECT t.device.id AS deviceId, COUNT(t.valueNumeric) AS valueCount, " +
+           "SUM(t.valueNumeric) AS valueSum, MIN(t.valueNumeric) AS valueMin, MAX(t.valueNumeric) AS valueMax " +
+           "FROM TelemetryData t WHERE t.dataType = :dataType AND t.timestampMillis BETWEEN :startMillis AND :endMillis ";
     
     /**
-     * Belirli zaman aralığındaki tüm telemetri verilerini bulma
-     * @param startTime Başlangıç zamanı
-     * @param endTime Bitiş zamanı
-     * @return Telemetri verisi listesi
+     * Veri tipinin zaman aralığındaki toplam değerlerini cihaz bazında tek gruplu sorguda hesaplama
+     * @param dataType Veri tipi
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Cihaz bazında toplam değerler
      */
-    List<TelemetryData> findByTimestampBetweenOrderByTimestampDesc(LocalDateTime startTime, LocalDateTime endTime);
+    @Query(DEVICE_AGGREGATE_SELECT + "GROUP BY t.device.id HAVING COUNT(t.valueNumeric) > 0")
+    List<DeviceAggregateView> findAggregatesByDataTypeAndTimeRange(
+            @Param("dataType") String dataType,
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis);
     
     /**
-     * Belirli cihazın belirli zaman aralığındaki ortalama değerini hesaplama
-     * @param device Cihaz
+     * Seçilen cihazlar için veri tipinin zaman aralığındaki toplam değerlerini cihaz bazında hesaplama
      * @param dataType Veri tipi
-     * @param startTime Başlangıç zamanı
-     * @param endTime Bitiş zamanı
-     * @return Ortalama değer
+     * @param deviceIds Cihaz ID'leri
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Cihaz bazında toplam değerler
      */
-    @Query("SELECT AVG(t.valueNumeric) FROM TelemetryData t WHERE t.device = :device AND t.dataType = :dataType AND t.timestamp BETWEEN :startTime AND :endTime")
-    Double findAverageValueByDeviceAndDataTypeAndTimeRange(
-            @Param("device") Device device,
+    @Query(DEVICE_AGGREGATE_SELECT + "AND t.device.id IN :deviceIds GROUP BY t.device.id HAVING COUNT(t.valueNumeric) > 0")
+    List<DeviceAggregateView> findAggregatesByDataTypeAndDeviceIdInAndTimeRange(
             @Param("dataType") String dataType,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("deviceIds") Collection<Long> deviceIds,
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis);
+    
+    /**
+     * Cihaz bazında toplam değerler interface projeksiyonu
+     */
+    interface DeviceAggregateView {
+        Long getDeviceId();
+        Long getValueCount();
+        Double getValueSum();
+        Double getValueMin();
+        Double getValueMax();
+    }
+    
+    // Projeksiyon sorguları - entity yüklemeden, cihaz adı join ile ve payload olmadan
+    
+    String VIEW_SELECT = "SELECT new com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto(" +
+            "t.id, d.id, d.name, t.timestampMillis, t.topic, t.dataType, t.unit, " +
+            "t.valueNumeric, t.valueString, t.valueBoolean, t.quality, t.receivedAtMillis) " +
+            "FROM TelemetryData t JOIN t.device d ";
     
     /**
-     * Belirli cihazın belirli zaman aralığındaki minimum değerini bulma
-     * @param device Cihaz
+     * Belirli cihazın zaman aralığındaki telemetri verilerini projeksiyon olarak bulma
+     * @param deviceId Cihaz ID'si
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @param pageable Sayfalama bilgisi (limit için)
+     * @return Telemetri verisi projeksiyonları
+     */
+    @Query(VIEW_SELECT + "WHERE t.device.id = :deviceId AND t.timestampMillis BETWEEN :startMillis AND :endMillis ORDER BY t.timestampMillis DESC")
+    List<TelemetryDataDto> findViewsByDeviceIdAndTimeRange(
+            @Param("deviceId") Long deviceId,
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis,
+            Pageable pageable);
+    
+    /**
+     * Belirli cihaz ve veri tipinin zaman aralığındaki telemetri verilerini projeksiyon olarak bulma
+     * @param deviceId Cihaz ID'si
      * @param dataType Veri tipi
-     * @param startTime Başlangıç zamanı
-     * @param endTime Bitiş zamanı
-     * @return Minimum değer
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @param pageable Sayfalama bilgisi (limit için)
+     * @return Telemetri verisi projeksiyonları
      */
-    @Query("SELECT MIN(t.valueNumeric) FROM TelemetryData t WHERE t.device = :device AND t.dataType = :dataType AND t.timestamp BETWEEN :startTime AND :endTime")
-    Double findMinValueByDeviceAndDataTypeAndTimeRange(
-            @Param("device") Device device,
+    @Query(VIEW_SELECT + "WHERE t.device.id = :deviceId AND t.dataType = :dataType " +
+           "AND t.timestampMillis BETWEEN :startMillis AND :endMillis ORDER BY t.timestampMillis DESC")
+    List<TelemetryDataDto> findViewsByDeviceIdAndDataTypeAndTimeRange(
+            @Param("deviceId") Long deviceId,
             @Param("dataType") String dataType,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis,
+            Pageable pageable);
     
     /**
-     * Belirli cihazın belirli zaman aralığındaki maksimum değerini bulma
-     * @param device Cihaz
+     * Belirli topic'e ait telemetri verilerini projeksiyon olarak bulma
+     * @param topic MQTT topic
+     * @return Telemetri verisi projeksiyonları
+     */
+    @Query(VIEW_SELECT + "WHERE t.topic = :topic ORDER BY t.timestampMillis DESC")
+    List<TelemetryDataDto> findViewsByTopic(@Param("topic") String topic);
+    
+    /**
+     * Belirli veri tipine ait telemetri verilerini projeksiyon olarak bulma
      * @param dataType Veri tipi
-     * @param startTime Başlangıç zamanı
-     * @param endTime Bitiş zamanı
-     * @return Maksimum değer
+     * @return Telemetri verisi projeksiyonları
      */
-    @Query("SELECT MAX(t.valueNumeric) FROM TelemetryData t WHERE t.device = :device AND t.dataType = :dataType AND t.timestamp BETWEEN :startTime AND :endTime")
-    Double findMaxValueByDeviceAndDataTypeAndTimeRange(
-            @Param("device") Device device,
-            @Param("dataType") String dataType,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+    @Query(VIEW_SELECT + "WHERE t.dataType = :dataType ORDER BY t.timestampMillis DESC")
+    List<TelemetryDataDto> findViewsByDataType(@Param("dataType") String dataType);
+    
+    /**
+     * Belirli zaman aralığındaki tüm telemetri verilerini projeksiyon olarak bulma
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Telemetri verisi projeksiyonları
+     */
+    @Query(VIEW_SELECT + "WHERE t.timestampMillis BETWEEN :startMillis AND :endMillis ORDER BY t.timestampMillis DESC")
+    List<TelemetryDataDto> findViewsByTimeRange(
+            @Param("startMillis") long startMillis,
+            @Param("endMillis") long endMillis);
+    
+    /**
+     * Verilen kayıtların ham veri yüklerini bulma (yalnızca istemci payload istediğinde)
+     * @param ids Telemetri verisi ID'leri
+     * @return ID ve payload projeksiyonları
+     */
+    List<PayloadView> findPayloadsByIdIn(Collection<Long> ids);
+    
+    /**
+     * ID ve payload interface projeksiyonu
+     */
+    interface PayloadView {
+        Long getId();
+        String getPayload();
+    }
     
     /**
      * Eski telemetri verilerini silme (veri temizleme için)
-     * @param cutoffTime Kesme zamanı
+     * @param cutoffMillis Kesme zamanı (epoch ms)
      * @return Silinen kayıt sayısı
      */
     @Modifying
-    @Query("DELETE FROM TelemetryData t WHERE t.timestamp < :cutoffTime")
-    int deleteOldTelemetryData(@Param("cutoffTime") LocalDateTime cutoffTime);
+    @Query("DELETE FROM TelemetryData t WHERE t.timestampMillis < :cutoffMillis")
+    int deleteOldTelemetryData(@Param("cutoffMillis") long cutoffMillis);
 }
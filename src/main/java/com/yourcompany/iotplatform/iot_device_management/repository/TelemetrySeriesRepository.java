@@ -0,0 +1,31 @@
+package com.yourcompany.iotplatform.iot_device_management.repository;
+
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetrySeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Telemetri serisi kataloğu için repository
+ * Spring Data JPA ile otomatik CRUD işlemleri sağlar
+ */
+@Repository
+public interface TelemetrySeriesRepository extends JpaRepository<TelemetrySeries, Integer> {
+    
+    /**
+     * (Cihaz, veri tipi, birim) anahtarına göre seri bulma
+     * Birim boş olabildiği için null karşılaştırması ayrıca yapılır
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param unit Birim (boş olabilir)
+     * @return Seri (varsa)
+     */
+    @Query("SELECT s FROM TelemetrySeries s WHERE s.device.id = :deviceId AND s.dataType = :dataType " +
+           "AND (s.unit = :unit OR (s.unit IS NULL AND :unit IS NULL))")
+    Optional<TelemetrySeries> findByKey(@Param("deviceId") Long deviceId,
+                                        @Param("dataType") String dataType,
+                                        @Param("unit") String unit);
+}
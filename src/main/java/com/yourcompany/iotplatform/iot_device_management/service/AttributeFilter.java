@@ -0,0 +1,131 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Yük Özniteliği Filtresi
+ * "payload.rssi &lt; -90", "firmware = 1.4.2", "radio.snr &gt;= 3", "charging = true" veya
+ * "battery exists" biçimindeki ifadeler. "payload." öneki isteğe bağlıdır; iç içe alanlar noktayla ayrılır.
+ * Sayı değerleri sayısal, true/false mantıksal, diğerleri (tırnaklı veya tırnaksız) metin olarak karşılaştırılır;
+ * metin ve mantıksal değerlerde yalnızca = ve != kullanılabilir
+ */
+public class AttributeFilter {
+
+    /**
+     * Karşılaştırma işleci
+     */
+    public enum Operator {
+        EQ("="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">="), EXISTS("exists");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() { return symbol; }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new BusinessRuleException("Bilinmeyen işleç: " + symbol);
+        }
+    }
+
+    /**
+     * Yol bölümleri SQL'e gömüldüğünden yalnızca tanımlayıcı karakterlerine izin verilir
+     */
+    private static final String PATH = "[A-Za-z_][A-Za-z0-9_]{0,63}(?:\\.[A-Za-z_][A-Za-z0-9_]{0,63}){0,7}";
+
+    private static final Pattern PATH_PATTERN = Pattern.compile("(?:payload\\.)?(" + PATH + ")");
+
+    private static final Pattern COMPARISON = Pattern.compile(
+            "\\s*(?:payload\\.)?(" + PATH + ")\\s*(<=|>=|!=|=|<|>)\\s*(.+?)\\s*");
+
+    private static final Pattern EXISTENCE = Pattern.compile("\\s*(?:payload\\.)?(" + PATH + ")\\s+exists\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    private final List<String> path;
+    private final Operator operator;
+    private final Object value;
+
+    private AttributeFilter(List<String> path, Operator operator, Object value) {
+        this.path = path;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * Filtre ifadesini ayrıştırma
+     * @param expression Filtre ifadesi
+     * @return Filtre
+     */
+    public static AttributeFilter parse(String expression) {
+        if (expression == null) {
+            throw new BusinessRuleException("Boş öznitelik filtresi");
+        }
+        Matcher existence = EXISTENCE.matcher(expression);
+        if (existence.matches()) {
+            return new AttributeFilter(split(existence.group(1)), Operator.EXISTS, null);
+        }
+        Matcher comparison = COMPARISON.matcher(expression);
+        if (!comparison.matches()) {
+            throw new BusinessRuleException("Geçersiz öznitelik filtresi: " + expression);
+        }
+        Operator operator = Operator.of(comparison.group(2));
+        Object value = literal(comparison.group(3));
+        if (!(value instanceof Double) && operator != Operator.EQ && operator != Operator.NE) {
+            throw new BusinessRuleException("Sayısal olmayan değerle yalnızca = ve != kullanılabilir: " + expression);
+        }
+        return new AttributeFilter(split(comparison.group(1)), operator, value);
+    }
+
+    /**
+     * Öznitelik yolunu ayrıştırma (özetleme sorguları için)
+     * @param expression Yol (ör. payload.battery)
+     * @return Yol bölümleri
+     */
+    public static List<String> parsePath(String expression) {
+        Matcher matcher = expression == null ? null : PATH_PATTERN.matcher(expression.trim());
+        if (matcher == null || !matcher.matches()) {
+            throw new BusinessRuleException("Geçersiz öznitelik yolu: " + expression);
+        }
+        return split(matcher.group(1));
+    }
+
+    private static List<String> split(String path) {
+        return List.of(path.split("\\."));
+    }
+
+    private static Object literal(String text) {
+        if (text.length() >= 2 && (text.startsWith("\"") && text.endsWith("\"")
+                || text.startsWith("'") && text.endsWith("'"))) {
+            return text.substring(1, text.length() - 1);
+        }
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text.toLowerCase());
+        }
+        try {
+            double number = Double.parseDouble(text);
+            return Double.isFinite(number) ? number : text;
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
+    public List<String> getPath() { return path; }
+    public Operator getOperator() { return operator; }
+    public Object getValue() { return value; }
+
+    @Override
+    public String toString() {
+        return String.join(".", path) + " " + operator.getSymbol() + (value == null ? "" : " " + value);
+    }
+}
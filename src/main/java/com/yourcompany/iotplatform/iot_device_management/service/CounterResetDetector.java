@@ -0,0 +1,67 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.CounterProperties;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sayaç Sıfırlanma Dedektörü
+ * Sayaç serisine gelen canlı okumayı serinin son değeriyle karşılaştırır; değer düştüyse sayaç
+ * sıfırlanmış (cihaz yeniden başlamış, sayaç taşmış veya değiştirilmiş) kabul edilir.
+ * Artış hesabı özetlemede yeniden yapıldığından dedektör yalnızca izleme içindir
+ */
+@Service
+@EnableConfigurationProperties(CounterProperties.class)
+public class CounterResetDetector implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterResetDetector.class);
+
+    @Autowired
+    private CounterProperties properties;
+
+    @Autowired
+    private LatestValueStore latestValueStore;
+
+    private final AtomicLong resets = new AtomicLong();
+
+    /**
+     * Okumayı son değerle karşılaştırma (son değer güncellenmeden önce çağrılmalı)
+     * Sayaç olmayan, sayısal olmayan veya son değerden eski okumalar yok sayılır
+     * @param telemetryData Gelen telemetri verisi
+     * @return Okuma sayaç sıfırlanması ise true
+     */
+    public boolean inspect(TelemetryData telemetryData) {
+        if (!properties.isCounter(telemetryData.getDataType()) || telemetryData.getValueNumeric() == null
+                || telemetryData.getTimestamp() == null || telemetryData.getDevice() == null) {
+            return false;
+        }
+        Optional<TelemetryData> previous = latestValueStore.getLatest(telemetryData.getDevice().getId(),
+                telemetryData.getDataType());
+        if (previous.isEmpty() || previous.get().getValueNumeric() == null
+                || !telemetryData.getTimestamp().isAfter(previous.get().getTimestamp())
+                || telemetryData.getValueNumeric() >= previous.get().getValueNumeric()) {
+            return false;
+        }
+        resets.incrementAndGet();
+        logger.info("Sayaç sıfırlandı - Cihaz: {}, Veri tipi: {}, Önceki: {}, Yeni: {}",
+                telemetryData.getDevice().getDeviceId(), telemetryData.getDataType(),
+                previous.get().getValueNumeric(), telemetryData.getValueNumeric());
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.counter.resets", resets, AtomicLong::get)
+                .description("Canlı okumalarda algılanan sayaç sıfırlanmaları").register(registry);
+    }
+}
@@ -0,0 +1,184 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cihaz Kayıt Defteri
+ * Cihazların durum, son görülme, sahiplik ve konum bilgilerini bellekte tutar.
+ * Açılışta tek sorgu ile doldurulur, cihaz kaydedildiğinde güncellenir;
+ * toplu sorgular ve varlık kontrolleri veritabanına gitmeden buradan yapılır.
+ */
+@Service
+public class DeviceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    private static final String WARM_UP_SQL =
+            "SELECT id, device_id, name, device_type, status, last_seen, owner_id, location_description, is_active FROM devices";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, DeviceState> devicesById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByDeviceId = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    /**
+     * Uygulama hazır olduğunda cihazları veritabanından yükleme
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.query(WARM_UP_SQL, (RowCallbackHandler) rs -> {
+            Timestamp lastSeen = rs.getTimestamp("last_seen");
+            // Yükleme sırasında register() ile gelmiş daha güncel durumlar ezilmez
+            putIfAbsent(new DeviceState(
+                    rs.getLong("id"),
+                    rs.getString("device_id"),
+                    rs.getString("name"),
+                    Device.DeviceType.valueOf(rs.getString("device_type")),
+                    Device.DeviceStatus.valueOf(rs.getString("status")),
+                    lastSeen == null ? null : lastSeen.toLocalDateTime(),
+                    rs.getObject("owner_id", Long.class),
+                    rs.getString("location_description"),
+                    rs.getBoolean("is_active"),
+                    versionSequence.incrementAndGet()));
+        });
+        logger.info("Cihaz kayıt defteri yüklendi: {} cihaz, {} ms",
+                devicesById.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Kaydedilmiş cihazın bellek durumunu güncelleme
+     * @param device Kaydedilmiş cihaz
+     */
+    public void register(Device device) {
+        if (device == null || device.getId() == null) {
+            return;
+        }
+        Long ownerId = device.getOwner() != null ? device.getOwner().getId() : null;
+        DeviceState previous = put(new DeviceState(
+                device.getId(),
+                device.getDeviceId(),
+                device.getName(),
+                device.getDeviceType(),
+                device.getStatus(),
+                device.getLastSeen(),
+                ownerId,
+                device.getLocationDescription(),
+                device.isActive(),
+                versionSequence.incrementAndGet()));
+
+        // Cihaz ID'si değiştiyse eski eşlemeyi kaldırma
+        if (previous != null && !previous.getDeviceId().equals(device.getDeviceId())) {
+            idsByDeviceId.remove(previous.getDeviceId(), device.getId());
+        }
+    }
+
+    /**
+     * ID'ye göre cihaz durumu
+     * @param id Cihaz ID'si
+     * @return Cihaz durumu (varsa)
+     */
+    public Optional<DeviceState> get(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(devicesById.get(id));
+    }
+
+    /**
+     * Cihaz ID'sine (string) göre cihaz durumu
+     * @param deviceId Cihaz ID'si
+     * @return Cihaz durumu (varsa)
+     */
+    public Optional<DeviceState> getByDeviceId(String deviceId) {
+        Long id = deviceId == null ? null : idsByDeviceId.get(deviceId);
+        return get(id);
+    }
+
+    /**
+     * Cihaz var mı kontrolü
+     * @param id Cihaz ID'si
+     * @return Cihaz var mı
+     */
+    public boolean exists(Long id) {
+        return id != null && devicesById.containsKey(id);
+    }
+
+    /**
+     * Tüm cihaz durumları
+     * @return Cihaz durumları
+     */
+    public Collection<DeviceState> getAll() {
+        return devicesById.values();
+    }
+
+    private void putIfAbsent(DeviceState state) {
+        if (devicesById.putIfAbsent(state.getId(), state) == null) {
+            idsByDeviceId.putIfAbsent(state.getDeviceId(), state.getId());
+        }
+    }
+
+    private DeviceState put(DeviceState state) {
+        idsByDeviceId.put(state.getDeviceId(), state.getId());
+        return devicesById.put(state.getId(), state);
+    }
+
+    /**
+     * Cihazın bellekteki değişmez durumu
+     * Her güncellemede yeni bir sürüm numarası alır
+     */
+    public static class DeviceState {
+        private final Long id;
+        private final String deviceId;
+        private final String name;
+        private final Device.DeviceType deviceType;
+        private final Device.DeviceStatus status;
+        private final LocalDateTime lastSeen;
+        private final Long ownerId;
+        private final String location;
+        private final boolean active;
+        private final long version;
+
+        public DeviceState(Long id, String deviceId, String name, Device.DeviceType deviceType,
+                           Device.DeviceStatus status, LocalDateTime lastSeen, Long ownerId,
+                           String location, boolean active, long version) {
+            this.id = id;
+            this.deviceId = deviceId;
+            this.name = name;
+            this.deviceType = deviceType;
+            this.status = status;
+            this.lastSeen = lastSeen;
+            this.ownerId = ownerId;
+            this.location = location;
+            this.active = active;
+            this.version = version;
+        }
+
+        // Getters
+        public Long getId() { return id; }
+        public String getDeviceId() { return deviceId; }
+        public String getName() { return name; }
+        public Device.DeviceType getDeviceType() { return deviceType; }
+        public Device.DeviceStatus getStatus() { return status; }
+        public LocalDateTime getLastSeen() { return lastSeen; }
+        public Long getOwnerId() { return ownerId; }
+        public String getLocation() { return location; }
+        public boolean isActive() { return active; }
+        public long getVersion() { return version; }
+    }
+}
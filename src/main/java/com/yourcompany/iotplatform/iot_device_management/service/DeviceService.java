@@ -1,5 +1,6 @@
 package com.yourcompany.iotplatform.iot_device_management.service;
 
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
 import com.yourcompany.iotplatform.iot_device_management.dto.DeviceDto;
 import com.yourcompany.iotplatform.iot_device_management.model.Device;
 import com.yourcompany.iotplatform.iot_device_management.model.User;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,6 +33,9 @@ public class DeviceService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+    
     /**
      * Yeni cihaz oluşturma
      * @param deviceDto Cihaz bilgileri
@@ -65,6 +70,7 @@ public class DeviceService {
         device.setOwner(owner.get());
         
         Device savedDevice = deviceRepository.save(device);
+        deviceRegistry.register(savedDevice);
         logger.info("Yeni cihaz oluşturuldu: {} - {}", savedDevice.getDeviceId(), savedDevice.getName());
         return savedDevice;
     }
@@ -102,6 +108,7 @@ public class DeviceService {
         device.setLocationDescription(deviceDto.getLocationDescription());
         
         Device updatedDevice = deviceRepository.save(device);
+        deviceRegistry.register(updatedDevice);
         logger.info("Cihaz güncellendi: {} - {}", updatedDevice.getDeviceId(), updatedDevice.getName());
         return updatedDevice;
     }
@@ -118,7 +125,7 @@ public class DeviceService {
         
         Device currentDevice = device.get();
         currentDevice.setActive(false);
-        deviceRepository.save(currentDevice);
+        deviceRegistry.register(deviceRepository.save(currentDevice));
         
         logger.info("Cihaz silindi: {} - {}", currentDevice.getDeviceId(), currentDevice.getName());
     }
@@ -128,6 +135,7 @@ public class DeviceService {
      * @param id Cihaz ID'si
      * @return Cihaz (varsa)
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Optional<Device> getDeviceById(Long id) {
         return deviceRepository.findById(id);
     }
@@ -137,6 +145,7 @@ public class DeviceService {
      * @param deviceId Cihaz ID'si
      * @return Cihaz (varsa)
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Optional<Device> getDeviceByDeviceId(String deviceId) {
         return deviceRepository.findByDeviceId(deviceId);
     }
@@ -145,6 +154,7 @@ public class DeviceService {
      * Tüm aktif cihazları listeleme
      * @return Aktif cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> getAllActiveDevices() {
         return deviceRepository.findByIsActiveTrue();
     }
@@ -154,6 +164,7 @@ public class DeviceService {
      * @param ownerId Cihaz sahibi ID'si
      * @return Kullanıcıya ait cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> getDevicesByOwner(Long ownerId) {
         Optional<User> owner = userRepository.findById(ownerId);
         if (owner.isEmpty()) {
@@ -168,6 +179,7 @@ public class DeviceService {
      * @param pageable Sayfalama bilgisi
      * @return Sayfalı cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Page<Device> getActiveDevicesByOwner(Long ownerId, Pageable pageable) {
         Optional<User> owner = userRepository.findById(ownerId);
         if (owner.isEmpty()) {
@@ -181,6 +193,7 @@ public class DeviceService {
      * @param status Cihaz durumu
      * @return Durum sahibi cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> getDevicesByStatus(Device.DeviceStatus status) {
         return deviceRepository.findByStatus(status);
     }
@@ -190,6 +203,7 @@ public class DeviceService {
      * @param deviceType Cihaz tipi
      * @return Tip sahibi cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> getDevicesByType(Device.DeviceType deviceType) {
         return deviceRepository.findByDeviceType(deviceType);
     }
@@ -198,6 +212,7 @@ public class DeviceService {
      * Online cihazları listeleme
      * @return Online cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> getOnlineDevices() {
         return deviceRepository.findOnlineDevices();
     }
@@ -207,6 +222,7 @@ public class DeviceService {
      * @param name Cihaz adı
      * @return Cihaz listesi
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<Device> searchDevicesByName(String name) {
         return deviceRepository.findByNameContaining(name);
     }
@@ -215,8 +231,9 @@ public class DeviceService {
      * Cihaz durumunu güncelleme
      * @param id Cihaz ID'si
      * @param status Yeni durum
+     * @return Güncellenmiş cihaz
      */
-    public void updateDeviceStatus(Long id, Device.DeviceStatus status) {
+    public Device updateDeviceStatus(Long id, Device.DeviceStatus status) {
         Optional<Device> device = deviceRepository.findById(id);
         if (device.isEmpty()) {
             throw new RuntimeException("Cihaz bulunamadı: " + id);
@@ -229,8 +246,10 @@ public class DeviceService {
             currentDevice.setLastSeen(LocalDateTime.now());
         }
         
-        deviceRepository.save(currentDevice);
+        Device updatedDevice = deviceRepository.save(currentDevice);
+        deviceRegistry.register(updatedDevice);
         logger.info("Cihaz durumu güncellendi: {} - {}", currentDevice.getDeviceId(), status);
+        return updatedDevice;
     }
     
     /**
@@ -243,7 +262,7 @@ public class DeviceService {
             Device currentDevice = device.get();
             currentDevice.setLastSeen(LocalDateTime.now());
             currentDevice.setStatus(Device.DeviceStatus.ONLINE);
-            deviceRepository.save(currentDevice);
+            deviceRegistry.register(deviceRepository.save(currentDevice));
         }
     }
     
@@ -251,6 +270,7 @@ public class DeviceService {
      * Cihaz istatistiklerini getirme
      * @return Cihaz istatistikleri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public DeviceStatistics getDeviceStatistics() {
         long totalDevices = deviceRepository.count();
         long onlineDevices = deviceRepository.countByStatus(Device.DeviceStatus.ONLINE);
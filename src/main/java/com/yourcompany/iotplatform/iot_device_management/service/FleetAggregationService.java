@@ -0,0 +1,198 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateRequest;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotRequest;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Filo Toplam Servisi
+ * "X sahasındaki cihazların son bir saatteki ortalama sıcaklığı" veya "bugün en yüksek titreşimi gören
+ * 20 cihaz" gibi sorguları cihaz başına ayrı çağrı yapmadan karşılar. Satır deposu cihaz bazında tek
+ * gruplu sorgu çalıştırır (parçalı arka uçta tüm parçalarda paralel), dar seri deposu gruplu sorgu ve
+ * paralel segment taraması yapar; cihaz sonuçları bellekteki cihaz kayıt defterine göre gruplanır.
+ * Sıkıştırılmış seriler içeren gruplar işaretlenir; bu gruplar sayı, toplam veya ortalamaya göre sıralanamaz
+ */
+@Service
+public class FleetAggregationService {
+
+    /**
+     * Bundan fazla cihaz seçildiğinde veritabanına IN listesi gönderilmez, tüm filo gruplanıp süzülür
+     */
+    static final int MAX_DEVICE_FILTER = 1000;
+
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private TelemetrySeriesStore telemetrySeriesStore;
+
+    @Autowired
+    private TelemetryCompressor telemetryCompressor;
+
+    /**
+     * Filo toplamları
+     * @param request Toplam isteği
+     * @return Grup toplamları (sıralama verilmişse ona göre, verilmemişse grup adına göre; okuması olmayan gruplar yer almaz)
+     */
+    public List<FleetAggregateDto> aggregate(FleetAggregateRequest request) {
+        validate(request);
+
+        Map<Long, DeviceRegistry.DeviceState> devices = new HashMap<>();
+        for (DeviceRegistry.DeviceState state : fleetSnapshotService.selectDevices(new FleetSnapshotRequest(
+                request.getDeviceIds(), request.getOwnerId(), request.getStatus(), request.getDeviceType()))) {
+            if (request.getLocation() == null || request.getLocation().equals(state.getLocation())) {
+                devices.put(state.getId(), state);
+            }
+        }
+        if (devices.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> deviceFilter = devices.size() <= MAX_DEVICE_FILTER ? new ArrayList<>(devices.keySet()) : null;
+        long fromMs = TelemetryTime.toEpochMillis(request.getStartTime());
+        long toMs = TelemetryTime.toEpochMillis(request.getEndTime());
+        Map<Long, TelemetryAggregate> byDevice = new HashMap<>(telemetryStore.aggregateByDevice(
+                request.getDataType(), deviceFilter, fromMs, toMs));
+        telemetrySeriesStore.aggregateByDevice(request.getDataType(), deviceFilter, fromMs, toMs)
+                .forEach((deviceId, aggregate) -> byDevice.merge(deviceId, aggregate, TelemetryAggregate::combine));
+
+        FleetAggregateRequest.GroupBy groupBy = request.getGroupBy() != null
+                ? request.getGroupBy() : FleetAggregateRequest.GroupBy.DEVICE;
+        Map<String, Group> groups = new HashMap<>();
+        byDevice.forEach((deviceId, aggregate) -> {
+            DeviceRegistry.DeviceState state = devices.get(deviceId);
+            if (state != null && aggregate.getCount() > 0) {
+                groups.computeIfAbsent(groupOf(state, groupBy), Group::new)
+                        .add(aggregate, telemetryCompressor.isCompressed(deviceId, request.getDataType()));
+            }
+        });
+
+        List<FleetAggregateDto> result = new ArrayList<>(groups.size());
+        boolean compressed = false;
+        for (Group group : groups.values()) {
+            result.add(new FleetAggregateDto(group.key, group.devices, group.aggregate, group.compressed));
+            compressed |= group.compressed;
+        }
+        if (compressed && countsReadings(request.getOrderBy())) {
+            throw new BusinessRuleException("Sıkıştırılmış seriler sayı, toplam veya ortalamaya göre sıralanamaz: "
+                    + request.getDataType());
+        }
+        if (request.getOrderBy() == null) {
+            result.sort(Comparator.comparing(FleetAggregateDto::getGroup, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return limit(result, request.getLimit());
+        }
+        return topK(result, order(request.getOrderBy(), request.isDescending()), request.getLimit());
+    }
+
+    private static void validate(FleetAggregateRequest request) {
+        if (request.getDataType() == null || request.getDataType().isBlank()) {
+            throw new BusinessRuleException("Veri tipi belirtilmeli");
+        }
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || request.getStartTime().isAfter(request.getEndTime())) {
+            throw new BusinessRuleException("Geçersiz zaman aralığı");
+        }
+        if (request.getLimit() != null && request.getLimit() <= 0) {
+            throw new BusinessRuleException("Limit pozitif olmalı: " + request.getLimit());
+        }
+    }
+
+    /**
+     * Metrik okuma sayısına bağlı mı (sıkıştırılmış serilerde saklanan nokta sayısıyla bozulur)
+     */
+    private static boolean countsReadings(FleetAggregateRequest.Metric metric) {
+        return metric == FleetAggregateRequest.Metric.COUNT || metric == FleetAggregateRequest.Metric.SUM
+                || metric == FleetAggregateRequest.Metric.AVERAGE;
+    }
+
+    private static String groupOf(DeviceRegistry.DeviceState state, FleetAggregateRequest.GroupBy groupBy) {
+        return switch (groupBy) {
+            case DEVICE -> state.getDeviceId();
+            case DEVICE_TYPE -> state.getDeviceType() == null ? null : state.getDeviceType().name();
+            case OWNER -> state.getOwnerId() == null ? null : state.getOwnerId().toString();
+            case LOCATION -> state.getLocation();
+        };
+    }
+
+    /**
+     * Sıralama; değeri olmayan gruplar her iki yönde de sona kalır
+     */
+    private static Comparator<FleetAggregateDto> order(FleetAggregateRequest.Metric metric, boolean descending) {
+        Comparator<Double> values = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<FleetAggregateDto> byMetric = Comparator.comparing(row -> value(row, metric), Comparator.nullsLast(values));
+        return byMetric.thenComparing(FleetAggregateDto::getGroup, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private static Double value(FleetAggregateDto row, FleetAggregateRequest.Metric metric) {
+        return switch (metric) {
+            case AVERAGE -> row.getAverage();
+            case MIN -> row.getMin();
+            case MAX -> row.getMax();
+            case SUM -> row.getSum();
+            case COUNT -> (double) row.getCount();
+        };
+    }
+
+    /**
+     * İlk K grup; tüm listeyi sıralamak yerine K boyutlu yığın tutulur
+     */
+    static List<FleetAggregateDto> topK(List<FleetAggregateDto> rows, Comparator<FleetAggregateDto> order, Integer k) {
+        if (k == null || k >= rows.size()) {
+            rows.sort(order);
+            return rows;
+        }
+        // Yığının başı, tutulanlar arasında sıralamada en sonda olan
+        PriorityQueue<FleetAggregateDto> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (FleetAggregateDto row : rows) {
+            if (heap.size() < k) {
+                heap.add(row);
+            } else if (order.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+        List<FleetAggregateDto> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    private static List<FleetAggregateDto> limit(List<FleetAggregateDto> rows, Integer k) {
+        return k == null || k >= rows.size() ? rows : new ArrayList<>(rows.subList(0, k));
+    }
+
+    /**
+     * Grup birikimi
+     */
+    private static class Group {
+        private final String key;
+        private int devices;
+        private TelemetryAggregate aggregate = TelemetryAggregate.empty();
+        private boolean compressed;
+
+        Group(String key) {
+            this.key = key;
+        }
+
+        void add(TelemetryAggregate deviceAggregate, boolean compressedSeries) {
+            devices++;
+            aggregate = aggregate.combine(deviceAggregate);
+            compressed |= compressedSeries;
+        }
+    }
+}
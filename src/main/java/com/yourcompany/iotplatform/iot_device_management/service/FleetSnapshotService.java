@@ -0,0 +1,116 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotRequest;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Filo Anlık Görüntü Servisi
+ * Çok sayıda cihazın durumunu ve son değerlerini tek çağrıda, tamamen bellekten üretir.
+ * Sürüm (ETag) seçilen cihazların değişiklik sayaçlarından hesaplandığı için
+ * değişmemiş bir görüntü için yanıt oluşturmaya gerek kalmaz.
+ */
+@Service
+public class FleetSnapshotService {
+
+    /**
+     * Sayaçlar süreç başında sıfırlandığı için yeniden başlatma sonrası eski ETag'lerin eşleşmesini önler
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private LatestValueStore latestValueStore;
+
+    /**
+     * İsteğe göre cihaz seçimi
+     * ID listesi verilmişse o cihazlar (sırası korunarak), verilmemişse filtreye uyan aktif cihazlar döner
+     * @param request Seçim isteği
+     * @return Seçilen cihaz durumları
+     */
+    public List<DeviceRegistry.DeviceState> selectDevices(FleetSnapshotRequest request) {
+        List<DeviceRegistry.DeviceState> selected = new ArrayList<>();
+
+        if (request.getDeviceIds() != null && !request.getDeviceIds().isEmpty()) {
+            for (Long id : request.getDeviceIds()) {
+                Optional<DeviceRegistry.DeviceState> state = deviceRegistry.get(id);
+                if (state.isPresent() && matches(state.get(), request)) {
+                    selected.add(state.get());
+                }
+            }
+            return selected;
+        }
+
+        for (DeviceRegistry.DeviceState state : deviceRegistry.getAll()) {
+            if (state.isActive() && matches(state, request)) {
+                selected.add(state);
+            }
+        }
+        selected.sort(Comparator.comparing(DeviceRegistry.DeviceState::getId));
+        return selected;
+    }
+
+    /**
+     * Seçilen cihazlar için görüntü sürümü hesaplama
+     * Cihaz durumu veya son değerlerden biri değiştiğinde sürüm de değişir
+     * @param devices Seçilen cihaz durumları
+     * @return Sürüm (ETag değeri)
+     */
+    public String computeVersion(List<DeviceRegistry.DeviceState> devices) {
+        long hash = epoch;
+        for (DeviceRegistry.DeviceState state : devices) {
+            hash = 31 * hash + state.getId();
+            hash = 31 * hash + state.getVersion();
+            hash = 31 * hash + latestValueStore.getVersion(state.getId());
+        }
+        return Long.toHexString(hash) + "-" + Integer.toHexString(devices.size());
+    }
+
+    /**
+     * Seçilen cihazlar için anlık görüntü oluşturma
+     * @param devices Seçilen cihaz durumları
+     * @param version Görüntü sürümü
+     * @return Filo anlık görüntüsü
+     */
+    public FleetSnapshotDto buildSnapshot(List<DeviceRegistry.DeviceState> devices, String version) {
+        List<FleetSnapshotDto.DeviceSnapshot> snapshots = new ArrayList<>(devices.size());
+        for (DeviceRegistry.DeviceState state : devices) {
+            Map<String, TelemetryData> latest = latestValueStore.getLatestByDataType(state.getId());
+            List<FleetSnapshotDto.LatestValue> values = new ArrayList<>(latest.size());
+            for (TelemetryData telemetryData : latest.values()) {
+                values.add(new FleetSnapshotDto.LatestValue(telemetryData));
+            }
+            values.sort(Comparator.comparing(FleetSnapshotDto.LatestValue::getDataType,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+            snapshots.add(new FleetSnapshotDto.DeviceSnapshot(
+                    state.getId(), state.getDeviceId(), state.getStatus(), state.getLastSeen(), values));
+        }
+        return new FleetSnapshotDto(version, snapshots);
+    }
+
+    /**
+     * İsteğe göre filo anlık görüntüsü
+     * @param request Seçim isteği
+     * @return Filo anlık görüntüsü
+     */
+    public FleetSnapshotDto getSnapshot(FleetSnapshotRequest request) {
+        List<DeviceRegistry.DeviceState> devices = selectDevices(request);
+        return buildSnapshot(devices, computeVersion(devices));
+    }
+
+    private static boolean matches(DeviceRegistry.DeviceState state, FleetSnapshotRequest request) {
+        return (request.getOwnerId() == null || request.getOwnerId().equals(state.getOwnerId()))
+                && (request.getStatus() == null || request.getStatus() == state.getStatus())
+                && (request.getDeviceType() == null || request.getDeviceType() == state.getDeviceType());
+    }
+}
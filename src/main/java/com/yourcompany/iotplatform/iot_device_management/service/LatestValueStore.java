@@ -0,0 +1,285 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Son Değer Deposu
+ * Her (cihaz, veri tipi) için en son telemetri verisini bellekte tutar.
+ * Ingest sırasında güncellenir, uygulama açılışında tek bir DISTINCT ON sorgusu ile doldurulur;
+ * "latest" sorguları veritabanına gitmeden buradan karşılanır.
+ */
+@Service
+public class LatestValueStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatestValueStore.class);
+
+    /**
+     * ConcurrentHashMap null anahtar kabul etmediği için veri tipi olmayan kayıtlar bu anahtarla tutulur
+     */
+    private static final String NO_DATA_TYPE = "";
+
+    private static final String WARM_UP_SQL =
+            "SELECT DISTINCT ON (t.device_id, t.data_type) " +
+            "t.id, t.device_id, d.device_id AS device_key, d.name, d.device_type, d.status, " +
+            "t.ts_epoch_ms, t.topic, t.payload, t.data_type, t.unit, t.value_numeric, t.value_string, " +
+            "t.value_boolean, t.quality, t.received_epoch_ms " +
+            "FROM telemetry_data t JOIN devices d ON d.id = t.device_id " +
+            "ORDER BY t.device_id, t.data_type, t.ts_epoch_ms DESC";
+
+    private static final String NARROW_WARM_UP_SQL =
+            "SELECT DISTINCT ON (n.series_id) " +
+            "n.ts_epoch_ms, n.value_numeric, n.quality, s.device_id, s.data_type, s.unit, " +
+            "d.device_id AS device_key, d.name, d.device_type, d.status " +
+            "FROM telemetry_numeric n JOIN telemetry_series s ON s.id = n.series_id JOIN devices d ON d.id = s.device_id " +
+            "ORDER BY n.series_id, n.ts_epoch_ms DESC";
+
+    private static final String STATE_WARM_UP_SQL =
+            "SELECT st.start_ms, st.value_boolean, st.value_string, st.quality, s.device_id, s.data_type, s.unit, " +
+            "d.device_id AS device_key, d.name, d.device_type, d.status " +
+            "FROM telemetry_state st JOIN telemetry_series s ON s.id = st.series_id JOIN devices d ON d.id = s.device_id " +
+            "WHERE st.end_ms IS NULL";
+
+    private static final String DEVICE_SQL =
+            "SELECT id AS device_id, device_id AS device_key, name, device_type, status FROM devices";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    private final Map<Long, DeviceLatestValues> latestValues = new ConcurrentHashMap<>();
+
+    /**
+     * Uygulama hazır olduğunda son değerleri veritabanından yükleme
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        Map<Long, Device> devices = new HashMap<>();
+        int[] loaded = {0};
+
+        jdbcTemplate.query(WARM_UP_SQL, (RowCallbackHandler) rs -> {
+            TelemetryData data = mapRow(rs, devices);
+            update(data);
+            loaded[0]++;
+        });
+
+        // Satırları birincil veritabanında olmayan arka uçların (parçalı) son satırları
+        List<TelemetryDataDto> offPrimary = telemetryStore.latestPerSeries();
+        if (!offPrimary.isEmpty()) {
+            jdbcTemplate.query(DEVICE_SQL, (RowCallbackHandler) rs -> deviceOf(rs, devices));
+            for (TelemetryDataDto row : offPrimary) {
+                Device device = devices.get(row.getDeviceId());
+                if (device != null) {
+                    update(toTelemetryData(row, device));
+                    loaded[0]++;
+                }
+            }
+        }
+
+        // Dar tablodaki sayısal seriler; aynı veri tipinde satır tablosunda daha yeni değer varsa o korunur
+        jdbcTemplate.query(NARROW_WARM_UP_SQL, (RowCallbackHandler) rs -> {
+            update(mapNarrowRow(rs, devices));
+            loaded[0]++;
+        });
+
+        // Durum deposundaki boolean/metin serilerinin süren durumları
+        jdbcTemplate.query(STATE_WARM_UP_SQL, (RowCallbackHandler) rs -> {
+            update(mapStateRow(rs, devices));
+            loaded[0]++;
+        });
+
+        logger.info("Son değer deposu yüklendi: {} seri, {} cihaz, {} ms",
+                loaded[0], latestValues.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Yeni telemetri verisi ile son değeri güncelleme
+     * Sıra dışı (daha eski zaman damgalı) veriler mevcut son değeri ezmez
+     * @param telemetryData Kaydedilmiş telemetri verisi
+     */
+    public void update(TelemetryData telemetryData) {
+        if (telemetryData == null || telemetryData.getDevice() == null || telemetryData.getDevice().getId() == null) {
+            return;
+        }
+
+        DeviceLatestValues deviceValues = latestValues
+                .computeIfAbsent(telemetryData.getDevice().getId(), id -> new DeviceLatestValues());
+        TelemetryData current = deviceValues.byDataType
+                .merge(keyOf(telemetryData.getDataType()), telemetryData, LatestValueStore::newer);
+        if (current == telemetryData) {
+            deviceValues.version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Cihazın tüm veri tipleri arasındaki en son telemetri verisi
+     * @param deviceId Cihaz ID'si
+     * @return En son telemetri verisi (varsa)
+     */
+    public Optional<TelemetryData> getLatest(Long deviceId) {
+        DeviceLatestValues deviceValues = latestValues.get(deviceId);
+        if (deviceValues == null) {
+            return Optional.empty();
+        }
+        return deviceValues.byDataType.values().stream()
+                .max(Comparator.comparingLong(TelemetryData::getTimestampMillis));
+    }
+
+    /**
+     * Cihazın belirli veri tipindeki en son telemetri verisi
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return En son telemetri verisi (varsa)
+     */
+    public Optional<TelemetryData> getLatest(Long deviceId, String dataType) {
+        DeviceLatestValues deviceValues = latestValues.get(deviceId);
+        if (deviceValues == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(deviceValues.byDataType.get(keyOf(dataType)));
+    }
+
+    /**
+     * Cihazın veri tipi bazında en son telemetri verileri
+     * @param deviceId Cihaz ID'si
+     * @return Veri tipi -> en son telemetri verisi
+     */
+    public Map<String, TelemetryData> getLatestByDataType(Long deviceId) {
+        DeviceLatestValues deviceValues = latestValues.get(deviceId);
+        return deviceValues == null ? Map.of() : Map.copyOf(deviceValues.byDataType);
+    }
+    
+    /**
+     * Cihazın son değerlerinin sürümü; herhangi bir veri tipi güncellendiğinde artar
+     * @param deviceId Cihaz ID'si
+     * @return Sürüm numarası (hiç veri yoksa 0)
+     */
+    public long getVersion(Long deviceId) {
+        DeviceLatestValues deviceValues = latestValues.get(deviceId);
+        return deviceValues == null ? 0L : deviceValues.version.get();
+    }
+
+    /**
+     * Bir cihazın veri tipi bazında son değerleri ve değişiklik sürümü
+     */
+    private static class DeviceLatestValues {
+        private final Map<String, TelemetryData> byDataType = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+    }
+
+    private static TelemetryData newer(TelemetryData current, TelemetryData candidate) {
+        return candidate.getTimestampMillis() < current.getTimestampMillis() ? current : candidate;
+    }
+
+    private static String keyOf(String dataType) {
+        return dataType == null ? NO_DATA_TYPE : dataType;
+    }
+
+    private static TelemetryData mapRow(ResultSet rs, Map<Long, Device> devices) throws SQLException {
+        Device device = deviceOf(rs, devices);
+
+        TelemetryData data = new TelemetryData();
+        data.setId(rs.getLong("id"));
+        data.setDevice(device);
+        data.setTimestampMillis(rs.getLong("ts_epoch_ms"));
+        data.setTopic(rs.getString("topic"));
+        data.setPayload(rs.getString("payload"));
+        data.setDataType(rs.getString("data_type"));
+        data.setUnit(rs.getString("unit"));
+        data.setValueNumeric(rs.getObject("value_numeric", Double.class));
+        data.setValueString(rs.getString("value_string"));
+        data.setValueBoolean(rs.getObject("value_boolean", Boolean.class));
+        data.setQuality(rs.getObject("quality", Integer.class));
+        data.setReceivedAtMillis(rs.getObject("received_epoch_ms", Long.class));
+        return data;
+    }
+
+    private static TelemetryData toTelemetryData(TelemetryDataDto row, Device device) {
+        TelemetryData data = new TelemetryData();
+        data.setId(row.getId());
+        data.setDevice(device);
+        data.setTimestampMillis(row.getTimestampMillis());
+        data.setTopic(row.getTopic());
+        data.setPayload(row.getPayload());
+        data.setDataType(row.getDataType());
+        data.setUnit(row.getUnit());
+        data.setValueNumeric(row.getValueNumeric());
+        data.setValueString(row.getValueString());
+        data.setValueBoolean(row.getValueBoolean());
+        data.setQuality(row.getQuality());
+        data.setReceivedAtMillis(row.getReceivedAtMillis());
+        return data;
+    }
+
+    private static TelemetryData mapNarrowRow(ResultSet rs, Map<Long, Device> devices) throws SQLException {
+        Device device = deviceOf(rs, devices);
+        LocalDateTime timestamp = TelemetryTime.toLocalDateTime(rs.getLong("ts_epoch_ms"));
+
+        TelemetryData data = new TelemetryData();
+        data.setDevice(device);
+        data.setTimestamp(timestamp);
+        data.setTopic(TelemetrySeriesStore.topicOf(device.getDeviceId()));
+        data.setDataType(rs.getString("data_type"));
+        data.setUnit(rs.getString("unit"));
+        data.setValueNumeric(rs.getDouble("value_numeric"));
+        data.setQuality(rs.getObject("quality", Integer.class));
+        data.setPayload(TelemetrySeriesStore.derivePayload(data.getDataType(), data.getValueNumeric(),
+                data.getUnit(), data.getQuality(), timestamp));
+        return data;
+    }
+
+    private static TelemetryData mapStateRow(ResultSet rs, Map<Long, Device> devices) throws SQLException {
+        Device device = deviceOf(rs, devices);
+        LocalDateTime timestamp = TelemetryTime.toLocalDateTime(rs.getLong("start_ms"));
+
+        TelemetryData data = new TelemetryData();
+        data.setDevice(device);
+        data.setTimestamp(timestamp);
+        data.setTopic(TelemetrySeriesStore.topicOf(device.getDeviceId()));
+        data.setDataType(rs.getString("data_type"));
+        data.setUnit(rs.getString("unit"));
+        data.setValueBoolean(rs.getObject("value_boolean", Boolean.class));
+        data.setValueString(rs.getString("value_string"));
+        data.setQuality(rs.getObject("quality", Integer.class));
+        data.setPayload(TelemetrySeriesStore.derivePayload(new TelemetryDataDto(data)));
+        return data;
+    }
+
+    private static Device deviceOf(ResultSet rs, Map<Long, Device> devices) throws SQLException {
+        long deviceId = rs.getLong("device_id");
+        Device device = devices.get(deviceId);
+        if (device == null) {
+            device = new Device(rs.getString("device_key"), rs.getString("name"),
+                    Device.DeviceType.valueOf(rs.getString("device_type")));
+            device.setId(deviceId);
+            device.setStatus(Device.DeviceStatus.valueOf(rs.getString("status")));
+            devices.put(deviceId, device);
+        }
+        return device;
+    }
+}
@@ -2,10 +2,12 @@ package com.yourcompany.iotplatform.iot_device_management.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
 import com.yourcompany.iotplatform.iot_device_management.model.Device;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
 import com.yourcompany.iotplatform.iot_device_management.repository.DeviceRepository;
-import com.yourcompany.iotplatform.iot_device_management.repository.TelemetryDataRepository;
 import org.eclipse.paho.client.mqttv3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,11 +41,14 @@ public class MqttTelemetryService {
     private DeviceRepository deviceRepository;
     
     @Autowired
-    private TelemetryDataRepository telemetryDataRepository;
+    private TelemetryDataService telemetryDataService;
     
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
     
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+    
     @Value("${mqtt.telemetry.topic}")
     private String telemetryTopic;
     
@@ -107,6 +112,10 @@ public class MqttTelemetryService {
      * @param payload Mesaj içeriği
      */
     private void processTelemetryMessage(String topic, String payload) {
+        WorkloadContext.run(Workload.INGESTION, () -> saveTelemetryMessage(topic, payload));
+    }
+    
+    private void saveTelemetryMessage(String topic, String payload) {
         try {
             // Topic'ten cihaz ID'sini çıkarma (iot/{deviceId}/telemetry formatında)
             String deviceId = extractDeviceIdFromTopic(topic);
@@ -127,7 +136,7 @@ public class MqttTelemetryService {
             // Cihazın son görülme zamanını güncelleme
             device.setLastSeen(LocalDateTime.now());
             device.setStatus(Device.DeviceStatus.ONLINE);
-            deviceRepository.save(device);
+            deviceRegistry.register(deviceRepository.save(device));
             
             // JSON payload'u parse etme
             JsonNode jsonNode = objectMapper.readTree(payload);
@@ -161,15 +170,15 @@ public class MqttTelemetryService {
             
             if (jsonNode.has("timestamp")) {
                 try {
-                    LocalDateTime timestamp = LocalDateTime.parse(jsonNode.get("timestamp").asText());
-                    telemetryData.setTimestamp(timestamp);
-                } catch (Exception e) {
+                    // Ofsetli zamanlar UTC'ye çevrilir, ofsetsizler UTC kabul edilir
+                    telemetryData.setTimestampMillis(TelemetryTime.parseMillis(jsonNode.get("timestamp").asText()));
+                } catch (IllegalArgumentException e) {
                     logger.warn("Geçersiz timestamp formatı: {}", jsonNode.get("timestamp").asText());
                 }
             }
             
-            // Telemetri verisini veritabanına kaydetme
-            telemetryDataRepository.save(telemetryData);
+            // Telemetri verisini sıkıştırıcıdan geçirerek veritabanına kaydetme
+            telemetryDataService.ingestTelemetryData(telemetryData);
             
             // WebSocket üzerinden gerçek zamanlı veri gönderme
             sendRealtimeTelemetry(deviceId, telemetryData);
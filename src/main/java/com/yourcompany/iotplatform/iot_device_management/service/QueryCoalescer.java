@@ -0,0 +1,183 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.CoalescingProperties;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Okuma Sorgusu Birleştirici (single-flight)
+ * Aynı anda gelen özdeş okuma isteklerinden ilki sorguyu çalıştırır, o sürerken gelen diğerleri yeni
+ * sorgu açmadan aynı sonucu bekler; sonuç (veya hata) hepsine aynı nesne olarak döner. Sonuç önbelleğe
+ * alınmaz: sorgu bittiği anda anahtar bırakılır, sonraki istek yeniden çalıştırır.
+ * Anahtar sorgu adı, normalize edilmiş parametreler ve çağıranın yetki kapsamından (rolleri) oluşur;
+ * farklı rollerdeki kullanıcılar birbirinin sonucunu almaz. Paylaşılan sonuçlar değiştirilmemelidir.
+ * Bekleme, çağıranın işlemi (transaction) dışında yapılmalıdır; aksi halde bekleyen her istek bir
+ * veritabanı bağlantısı tutar
+ */
+@Service
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class QueryCoalescer implements MeterBinder {
+
+    @Autowired
+    private CoalescingProperties properties;
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+
+    /**
+     * Sorguyu, aynı anahtarla çalışmakta olan bir sorgu varsa onun sonucunu bekleyerek çalıştırma
+     * @param operation Sorgu adı (aynı sonuç tipini döndüren çağrılar için aynı ad)
+     * @param parameters Sonucu belirleyen parametreler
+     * @param loader Sorguyu çalıştıran işlem
+     * @return Sorgu sonucu (birleştirilen isteklerle paylaşılır)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<?> parameters, Supplier<T> loader) {
+        requests.incrementAndGet();
+        if (!properties.isEnabled()) {
+            executions.incrementAndGet();
+            return loader.get();
+        }
+
+        Key key = new Key(scope(), operation, normalize(parameters));
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return (T) await(running);
+        }
+
+        executions.incrementAndGet();
+        try {
+            T result = loader.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Şu an çalışmakta olan birleştirilmiş sorgu sayısı
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Gelen istek sayısının çalıştırılan sorgu sayısına oranı (1: hiç birleştirme yok)
+     * @return Oran (istek yoksa 1)
+     */
+    public double fanInRatio() {
+        long executed = executions.get();
+        return executed == 0 ? 1.0 : (double) requests.get() / executed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.query.coalescing.requests", requests, AtomicLong::get)
+                .description("Birleştiriciye gelen okuma istekleri").register(registry);
+        FunctionCounter.builder("telemetry.query.coalescing.executions", executions, AtomicLong::get)
+                .description("Gerçekten çalıştırılan okuma sorguları").register(registry);
+        Gauge.builder("telemetry.query.coalescing.in.flight", this, QueryCoalescer::inFlight)
+                .description("Şu an çalışan birleştirilmiş sorgular").register(registry);
+        Gauge.builder("telemetry.query.coalescing.fan.in.ratio", this, QueryCoalescer::fanInRatio)
+                .description("Çalıştırılan sorgu başına karşılanan istek sayısı").register(registry);
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Çağıranın yetki kapsamı: sıralı roller (kimliği doğrulanmamış çağrılar için boş)
+     */
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "";
+        }
+        List<String> authorities = new ArrayList<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        authorities.sort(null);
+        return String.join(",", authorities);
+    }
+
+    /**
+     * Aynı milisaniyeyi gösteren zamanlar (sorgular milisaniye çözünürlüğünde çalışır) aynı anahtarı üretsin
+     */
+    private static List<Object> normalize(List<?> parameters) {
+        List<Object> normalized = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            if (parameter instanceof LocalDateTime time) {
+                normalized.add(TelemetryTime.toEpochMillis(time));
+            } else {
+                normalized.add(parameter);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Birleştirme anahtarı
+     */
+    private static class Key {
+        private final String scope;
+        private final String operation;
+        private final List<Object> parameters;
+
+        Key(String scope, String operation, List<Object> parameters) {
+            this.scope = scope;
+            this.operation = operation;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return scope.equals(other.scope) && operation.equals(other.operation) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, operation, parameters);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+
+import java.util.List;
+
+/**
+ * Sayısal Seri Okuyucusu
+ * Depolar en yeni okumadan geriye doğru okuduğundan seri, artan zamanlı küçük pencerelerle sayfalanır:
+ * her pencere en fazla pageSize okuma getirir; dolu gelen pencere yarıya bölünüp yeniden okunur,
+ * seyrek pencereler büyütülür. Böylece bellekte aralığın uzunluğundan bağımsız olarak tek sayfa tutulur.
+ * Aynı milisaniyedeki birden fazla okumadan yalnızca biri döner
+ */
+final class SeriesCursor {
+
+    /**
+     * Kapalı aralıktaki en yeni okumalar (yeniden eskiye, en fazla limit kadar)
+     */
+    @FunctionalInterface
+    interface Source {
+        List<TelemetryDataDto> scan(long fromMs, long toMs, int limit);
+    }
+
+    private static final long INITIAL_WINDOW = 60 * 60 * 1000L;
+    /**
+     * Seyrek pencereler sınırsız büyür; uzun boş aralıklar logaritmik sayıda okumayla geçilir
+     */
+    private static final long MAX_WINDOW = Long.MAX_VALUE / 4;
+
+    private final Source source;
+    private final long end;
+    private final int pageSize;
+    private long nextFrom;
+    private long window = INITIAL_WINDOW;
+
+    private final long[] times;
+    private final double[] values;
+    private int position;
+    private int size;
+    private long pages;
+
+    /**
+     * @param source Okuma kaynağı
+     * @param start Başlangıç (epoch ms, dahil)
+     * @param end Bitiş (epoch ms, dahil)
+     * @param pageSize Bir seferde bellekte tutulacak en fazla okuma
+     */
+    SeriesCursor(Source source, long start, long end, int pageSize) {
+        this.source = source;
+        this.end = end;
+        this.pageSize = pageSize;
+        this.nextFrom = start;
+        this.times = new long[pageSize + 1];
+        this.values = new double[pageSize + 1];
+    }
+
+    boolean hasNext() {
+        fill();
+        return position < size;
+    }
+
+    /**
+     * Sıradaki okumanın zamanı; hasNext() true olmalı
+     */
+    long time() {
+        return times[position];
+    }
+
+    /**
+     * Sıradaki okumanın değeri; hasNext() true olmalı
+     */
+    double value() {
+        return values[position];
+    }
+
+    void advance() {
+        position++;
+    }
+
+    /**
+     * Kaynaktan yapılan okuma sayısı
+     */
+    long getPages() {
+        return pages;
+    }
+
+    private void fill() {
+        while (position == size && nextFrom <= end) {
+            long to = end - nextFrom < window ? end : nextFrom + window - 1;
+            List<TelemetryDataDto> rows = source.scan(nextFrom, to, pageSize + 1);
+            pages++;
+            if (rows.size() > pageSize && to > nextFrom) {
+                window = Math.max(1, (to - nextFrom + 1) / 2);
+                continue;
+            }
+            load(rows);
+            nextFrom = to + 1;
+            if (rows.size() < pageSize / 4) {
+                window = Math.min(window * 2, MAX_WINDOW);
+            }
+        }
+    }
+
+    private void load(List<TelemetryDataDto> newestFirst) {
+        position = 0;
+        size = 0;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            TelemetryDataDto row = newestFirst.get(i);
+            if (row.getValueNumeric() == null) {
+                continue;
+            }
+            long time = row.getTimestampMillis();
+            if (size > 0 && times[size - 1] == time) {
+                continue;
+            }
+            times[size] = time;
+            values[size] = row.getValueNumeric();
+            size++;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Seri İfadesi
+ * Aynı cihazın diğer serilerinden türetilen sanal seri formülü (ör. "voltage * current").
+ * İfade bir kez ayrıştırılıp iç içe değerlendiricilere derlenir: değişkenler giriş dizisindeki
+ * sıralarına bağlanır, sabit alt ifadeler derlemede hesaplanır; değerlendirme nesne üretmez.
+ *
+ * Sözdizimi: + - * / % ^ (üs, sağdan birleşir), parantez, sayılar, veri tipi adları
+ * (harf, rakam, '_' ve '.'; diğer karakterleri içeren adlar `ters tırnak` içinde) ve fonksiyonlar:
+ * abs, sqrt, exp, ln, log10, sin, cos, tan, floor, ceil, round, min, max, pow, clamp, dewpoint(sıcaklık, bağıl nem)
+ */
+public final class SeriesExpression {
+
+    static final int MAX_LENGTH = 1_000;
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * Magnus formülü katsayıları (-45..60 °C)
+     */
+    private static final double MAGNUS_B = 17.62;
+    private static final double MAGNUS_C = 243.12;
+
+    @FunctionalInterface
+    private interface Evaluator {
+        double evaluate(double[] inputs);
+    }
+
+    private final String source;
+    private final List<String> variables;
+    private final Evaluator evaluator;
+
+    private SeriesExpression(String source, List<String> variables, Evaluator evaluator) {
+        this.source = source;
+        this.variables = variables;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * İfadeyi derleme
+     * @param source İfade metni
+     * @return Derlenmiş ifade
+     * @throws IllegalArgumentException Sözdizimi hatası, bilinmeyen fonksiyon veya sınır aşımı
+     */
+    public static SeriesExpression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("İfade boş olamaz");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("İfade en fazla " + MAX_LENGTH + " karakter olabilir");
+        }
+        Parser parser = new Parser(source);
+        Node root = parser.parseExpression(0);
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Beklenmeyen karakter '" + source.charAt(parser.position) + "'");
+        }
+        return new SeriesExpression(source, Collections.unmodifiableList(new ArrayList<>(parser.variables.keySet())),
+                root.evaluator);
+    }
+
+    /**
+     * İfade metni
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * İfadede geçen veri tipleri; evaluate() girişleri bu sırayla verilir
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * İfadeyi değerlendirme
+     * @param inputs Değişken değerleri (getVariables() sırasıyla)
+     * @return Sonuç (tanımsız işlemlerde NaN veya sonsuz olabilir)
+     */
+    public double evaluate(double... inputs) {
+        if (inputs.length != variables.size()) {
+            throw new IllegalArgumentException(variables.size() + " giriş beklenirken " + inputs.length + " verildi");
+        }
+        return evaluator.evaluate(inputs);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Derlenmiş alt ifade; sabitse değeri derlemede bilinir
+     */
+    private static final class Node {
+        private final Evaluator evaluator;
+        private final boolean constant;
+
+        private Node(Evaluator evaluator, boolean constant) {
+            this.evaluator = evaluator;
+            this.constant = constant;
+        }
+
+        static Node constant(double value) {
+            return new Node(inputs -> value, true);
+        }
+
+        static Node unary(Node operand, DoubleUnaryOperator operator) {
+            if (operand.constant) {
+                return constant(operator.applyAsDouble(operand.evaluator.evaluate(null)));
+            }
+            Evaluator a = operand.evaluator;
+            return new Node(inputs -> operator.applyAsDouble(a.evaluate(inputs)), false);
+        }
+
+        static Node binary(Node left, Node right, DoubleBinaryOperator operator) {
+            if (left.constant && right.constant) {
+                return constant(operator.applyAsDouble(left.evaluator.evaluate(null), right.evaluator.evaluate(null)));
+            }
+            Evaluator a = left.evaluator;
+            Evaluator b = right.evaluator;
+            return new Node(inputs -> operator.applyAsDouble(a.evaluate(inputs), b.evaluate(inputs)), false);
+        }
+    }
+
+    /**
+     * Özyinelemeli iniş ayrıştırıcısı; ayrıştırırken derler
+     */
+    private static final class Parser {
+        private final String text;
+        private final Map<String, Integer> variables = new LinkedHashMap<>();
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        // toplama := çarpma (('+' | '-') çarpma)*
+        Node parseExpression(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("İfade çok derin");
+            }
+            Node left = parseTerm(depth);
+            while (true) {
+                if (consume('+')) {
+                    left = Node.binary(left, parseTerm(depth), Double::sum);
+                } else if (consume('-')) {
+                    left = Node.binary(left, parseTerm(depth), (a, b) -> a - b);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // çarpma := tekli (('*' | '/' | '%') tekli)*
+        private Node parseTerm(int depth) {
+            Node left = parseUnary(depth);
+            while (true) {
+                if (consume('*')) {
+                    left = Node.binary(left, parseUnary(depth), (a, b) -> a * b);
+                } else if (consume('/')) {
+                    left = Node.binary(left, parseUnary(depth), (a, b) -> a / b);
+                } else if (consume('%')) {
+                    left = Node.binary(left, parseUnary(depth), (a, b) -> a % b);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // tekli := ('-' | '+') tekli | üs
+        private Node parseUnary(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("İfade çok derin");
+            }
+            if (consume('-')) {
+                return Node.unary(parseUnary(depth + 1), a -> -a);
+            }
+            if (consume('+')) {
+                return parseUnary(depth + 1);
+            }
+            return parsePower(depth);
+        }
+
+        // üs := birincil ('^' tekli)?  (-2^2 = -(2^2), 2^3^2 = 2^(3^2))
+        private Node parsePower(int depth) {
+            Node base = parsePrimary(depth);
+            if (consume('^')) {
+                return Node.binary(base, parseUnary(depth + 1), Math::pow);
+            }
+            return base;
+        }
+
+        // birincil := sayı | ad | ad '(' argümanlar ')' | '(' toplama ')'
+        private Node parsePrimary(int depth) {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("İfade beklenmedik şekilde bitti");
+            }
+            char c = text.charAt(position);
+            if (consume('(')) {
+                Node inner = parseExpression(depth + 1);
+                expect(')');
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return Node.constant(parseNumber());
+            }
+            if (c == '`') {
+                return variable(parseQuotedName());
+            }
+            if (Character.isLetter(c) || c == '_') {
+                int at = position;
+                String name = parseName();
+                if (consume('(')) {
+                    return function(name, parseArguments(depth + 1), at);
+                }
+                return variable(name);
+            }
+            throw error("Beklenmeyen karakter '" + c + "'");
+        }
+
+        private List<Node> parseArguments(int depth) {
+            List<Node> arguments = new ArrayList<>();
+            if (consume(')')) {
+                return arguments;
+            }
+            do {
+                arguments.add(parseExpression(depth));
+            } while (consume(','));
+            expect(')');
+            return arguments;
+        }
+
+        private Node function(String name, List<Node> args, int at) {
+            switch (name) {
+                case "abs": return Node.unary(single(name, args, at), Math::abs);
+                case "sqrt": return Node.unary(single(name, args, at), Math::sqrt);
+                case "exp": return Node.unary(single(name, args, at), Math::exp);
+                case "ln": return Node.unary(single(name, args, at), Math::log);
+                case "log10": return Node.unary(single(name, args, at), Math::log10);
+                case "sin": return Node.unary(single(name, args, at), Math::sin);
+                case "cos": return Node.unary(single(name, args, at), Math::cos);
+                case "tan": return Node.unary(single(name, args, at), Math::tan);
+                case "floor": return Node.unary(single(name, args, at), Math::floor);
+                case "ceil": return Node.unary(single(name, args, at), Math::ceil);
+                case "round": return Node.unary(single(name, args, at), a -> (double) Math.round(a));
+                case "pow":
+                    arity(name, args, 2, at);
+                    return Node.binary(args.get(0), args.get(1), Math::pow);
+                case "min":
+                case "max": {
+                    if (args.size() < 2) {
+                        throw new IllegalArgumentException("İfade hatası (konum " + at + "): " + name
+                                + " en az 2 argüman alır");
+                    }
+                    Node result = args.get(0);
+                    for (int i = 1; i < args.size(); i++) {
+                        result = Node.binary(result, args.get(i), name.equals("min") ? Math::min : Math::max);
+                    }
+                    return result;
+                }
+                case "clamp": {
+                    arity(name, args, 3, at);
+                    Node low = Node.binary(args.get(0), args.get(1), Math::max);
+                    return Node.binary(low, args.get(2), Math::min);
+                }
+                case "dewpoint":
+                    arity(name, args, 2, at);
+                    return Node.binary(args.get(0), args.get(1), SeriesExpression::dewPoint);
+                default:
+                    throw new IllegalArgumentException("İfade hatası (konum " + at + "): bilinmeyen fonksiyon '"
+                            + name + "'");
+            }
+        }
+
+        private Node single(String name, List<Node> args, int at) {
+            arity(name, args, 1, at);
+            return args.get(0);
+        }
+
+        private void arity(String name, List<Node> args, int expected, int at) {
+            if (args.size() != expected) {
+                throw new IllegalArgumentException("İfade hatası (konum " + at + "): " + name + " " + expected
+                        + " argüman alır");
+            }
+        }
+
+        private Node variable(String name) {
+            int index = variables.computeIfAbsent(name, key -> variables.size());
+            return new Node(inputs -> inputs[index], false);
+        }
+
+        private double parseNumber() {
+            int start = position;
+            while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+                int mark = position++;
+                if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                    position++;
+                }
+                if (position < text.length() && Character.isDigit(text.charAt(position))) {
+                    while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                        position++;
+                    }
+                } else {
+                    position = mark;
+                }
+            }
+            try {
+                return Double.parseDouble(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Geçersiz sayı");
+            }
+        }
+
+        private String parseName() {
+            int start = position;
+            while (position < text.length() && (Character.isLetterOrDigit(text.charAt(position))
+                    || text.charAt(position) == '_' || text.charAt(position) == '.')) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private String parseQuotedName() {
+            int start = ++position;
+            int close = text.indexOf('`', start);
+            if (close < 0 || close == start) {
+                position = start - 1;
+                throw error("Kapanmamış veya boş `ad`");
+            }
+            position = close + 1;
+            return text.substring(start, close);
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("'" + expected + "' bekleniyordu");
+            }
+        }
+
+        void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("İfade hatası (konum " + position + "): " + message);
+        }
+    }
+
+    /**
+     * Çiy noktası (Magnus formülü)
+     * @param temperature Sıcaklık (°C)
+     * @param humidity Bağıl nem (%)
+     * @return Çiy noktası (°C); nem sıfır veya negatifse NaN
+     */
+    static double dewPoint(double temperature, double humidity) {
+        double gamma = Math.log(humidity / 100.0) + MAGNUS_B * temperature / (MAGNUS_C + temperature);
+        return MAGNUS_C * gamma / (MAGNUS_B - gamma);
+    }
+}
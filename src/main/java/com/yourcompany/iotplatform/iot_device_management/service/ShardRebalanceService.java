@@ -0,0 +1,72 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.ShardProperties;
+import com.yourcompany.iotplatform.iot_device_management.dto.ShardRebalanceReport;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.ShardCluster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parça Yeniden Dengeleme Servisi
+ * Parça eklendikten sonra halkaya göre yeri değişen cihazların satırlarını yeni sahiplerine taşır.
+ * Taşıma bitene kadar tek cihaz okumaları tüm parçalara dağıtıldığından sonuçlar eksik kalmaz
+ */
+@Service
+public class ShardRebalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalanceService.class);
+
+    @Autowired
+    private ObjectProvider<ShardCluster> shardCluster;
+
+    @Autowired
+    private ObjectProvider<ShardProperties> shardProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Parçaların durumu - satır sayıları ve yanlış parçadaki cihazlar (kuru çalıştırma)
+     * @return Rapor
+     */
+    public ShardRebalanceReport status() {
+        return cluster().rebalance(true, chunkSize());
+    }
+
+    /**
+     * Yeniden dengeleme
+     * @param dryRun true ise yalnızca taşınacaklar sayılır
+     * @return Rapor
+     */
+    public ShardRebalanceReport rebalance(boolean dryRun) {
+        ShardCluster cluster = cluster();
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("Parça yeniden dengelemesi zaten devam ediyor");
+        }
+        try {
+            ShardRebalanceReport report = cluster.rebalance(dryRun, chunkSize());
+            logger.info("Parça yeniden dengelemesi{}: {} cihaz, {} satır taşındı, {} ms", dryRun ? " (kuru)" : "",
+                    report.getMovedDevices(), report.getMovedRows(), report.getElapsedMillis());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ShardCluster cluster() {
+        ShardCluster cluster = shardCluster.getIfAvailable();
+        if (cluster == null) {
+            throw new BusinessRuleException("Telemetri parçalama etkin değil (telemetry.store.backend=sharded)");
+        }
+        return cluster;
+    }
+
+    private int chunkSize() {
+        return shardProperties.getObject().getRebalanceChunkSize();
+    }
+}
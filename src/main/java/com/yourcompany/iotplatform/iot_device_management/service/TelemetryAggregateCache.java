@@ -0,0 +1,435 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.AggregateCacheProperties;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Telemetri Toplam Sonuç Önbelleği
+ * Toplam sorgusunun aralığı UTC'ye hizalı kovalara bölünür: kapanmış tam kovaların sonucu önbellekten
+ * okunur (yoksa hesaplanıp yazılır), aralık kenarlarındaki kısmi kovalar ve açık kova her seferinde
+ * kaynaktan hesaplanır. Sayı/toplam/min/max birleştirilebildiğinden parçaların birleşimi tek sorguyla aynıdır.
+ * Kapanmış kovaya düşen geç veri veya geçmiş veri aktarımı ilgili kovaları, ham veri silme ise kesme
+ * zamanından önceki kovaları geçersiz kılar. Geçersiz kılma sürerken hesaplanan sonuçlar önbelleğe yazılmaz.
+ * Önbelleğe yazılacak kovalar, sorgu replikadan okusa bile birincil veritabanından hesaplanır: gecikmeli
+ * replikanın eksik satırlarla hesapladığı kapanmış kova hiçbir yazma ile geçersiz kılınmaz, ttl boyunca kalırdı
+ */
+@Service
+@EnableConfigurationProperties(AggregateCacheProperties.class)
+public class TelemetryAggregateCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryAggregateCache.class);
+
+    @Autowired
+    private AggregateCacheProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Kova boyları (milisaniye, büyükten küçüğe)
+     */
+    private long[] sizes;
+
+    /**
+     * Erişim sıralı; en uzun süre kullanılmayan kova sonucu önce atılır
+     */
+    private final LinkedHashMap<Key, CachedBucket> entries = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedBucket> eldest) {
+            if (size() > properties.getMaxEntries()) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Her geçersiz kılmada artar; hesaplama başladıktan sonra artmışsa sonuç önbelleğe yazılmaz
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+
+    /**
+     * Kaynaktan [fromMillis, toMillis] (iki uç dahil) aralığının toplamını hesaplayan işlem
+     */
+    @FunctionalInterface
+    public interface RangeAggregator {
+        TelemetryAggregate aggregate(long fromMillis, long toMillis);
+    }
+
+    /**
+     * Konfigürasyon kontrolü
+     */
+    @PostConstruct
+    public void validate() {
+        sizes = properties.getBucketSizes().stream().mapToLong(Duration::toMillis).toArray();
+        if (sizes.length == 0) {
+            throw new IllegalStateException("telemetry.aggregate-cache.bucket-sizes en az bir kova boyu içermeli");
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || i > 0 && (sizes[i] >= sizes[i - 1] || sizes[i - 1] % sizes[i] != 0)) {
+                throw new IllegalStateException("Kova boyları büyükten küçüğe sıralı olmalı ve bir öncekini tam bölmeli: "
+                        + properties.getBucketSizes());
+            }
+        }
+        if (properties.getMaxEntries() <= 0 || properties.getMaxBucketsPerQuery() <= 0) {
+            throw new IllegalStateException("telemetry.aggregate-cache.max-entries ve max-buckets-per-query pozitif olmalı");
+        }
+        if (properties.isEnabled()) {
+            logger.info("Toplam sonuç önbelleği: kovalar {}, en fazla {} kova", properties.getBucketSizes(),
+                    properties.getMaxEntries());
+        }
+    }
+
+    /**
+     * Serinin [startMillis, endMillis] aralığındaki toplamı
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startMillis Başlangıç (dahil)
+     * @param endMillis Bitiş (dahil)
+     * @param source Kaynak sorgu
+     * @return Toplam değerler
+     */
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis,
+                                        RangeAggregator source) {
+        return aggregate(deviceId, dataType, startMillis, endMillis, source, TelemetryTime.nowMillis());
+    }
+
+    TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis,
+                                 RangeAggregator source, long nowMillis) {
+        if (!properties.isEnabled() || endMillis < startMillis || endMillis == Long.MAX_VALUE) {
+            return source.aggregate(startMillis, endMillis);
+        }
+        Plan plan = new Plan(deviceId, dataType);
+        plan(plan, startMillis, endMillis + 1, 0, nowMillis - properties.getSettleTime().toMillis());
+        if (plan.buckets.isEmpty() || plan.overflow) {
+            if (plan.overflow) {
+                bypasses.incrementAndGet();
+            }
+            return source.aggregate(startMillis, endMillis);
+        }
+
+        long observed = generation.get();
+        long expiredBefore = nowMillis - properties.getTtl().toMillis();
+        TelemetryAggregate result = TelemetryAggregate.empty();
+        for (long[] range : plan.direct) {
+            result = result.combine(source.aggregate(range[0], range[1] - 1));
+        }
+        List<Key> missing = new ArrayList<>();
+        for (Key key : plan.buckets) {
+            TelemetryAggregate bucket = get(key, expiredBefore);
+            if (bucket != null) {
+                hits.incrementAndGet();
+                result = result.combine(bucket);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            result = result.combine(fill(missing, source, observed, nowMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Eksik kovaları hesaplayıp önbelleğe yazma
+     * Replikaya yönlenen işlemdeyken kovalar ayrı, salt okunur bir birincil veritabanı işleminde hesaplanır
+     */
+    private TelemetryAggregate fill(List<Key> missing, RangeAggregator source, long observed, long nowMillis) {
+        if (ReplicaRouting.current() == ReplicaRouting.Route.PRIMARY) {
+            return compute(missing, source, observed, nowMillis);
+        }
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        primary.setReadOnly(true);
+        return primary.execute(status -> compute(missing, source, observed, nowMillis));
+    }
+
+    private TelemetryAggregate compute(List<Key> missing, RangeAggregator source, long observed, long nowMillis) {
+        TelemetryAggregate result = TelemetryAggregate.empty();
+        for (Key key : missing) {
+            TelemetryAggregate bucket = source.aggregate(key.start, key.start + key.size - 1);
+            put(key, bucket, observed, nowMillis);
+            result = result.combine(bucket);
+        }
+        return result;
+    }
+
+    /**
+     * Yazılan okumalardan kapanmış kovalara düşenlerin kovalarını geçersiz kılma
+     * @param written Yazılan telemetri verileri
+     */
+    public void invalidate(List<TelemetryData> written) {
+        invalidate(written, TelemetryTime.nowMillis());
+    }
+
+    void invalidate(List<TelemetryData> written, long nowMillis) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long smallest = sizes[sizes.length - 1];
+        long closedBefore = nowMillis - properties.getSettleTime().toMillis();
+        List<TelemetryData> late = null;
+        for (TelemetryData data : written) {
+            // Canlı veri açık kovaya düşer; açık kova önbelleğe alınmadığından kontrol burada biter
+            if (data.getValueNumeric() == null || data.getDevice() == null
+                    || Math.floorDiv(data.getTimestampMillis(), smallest) * smallest + smallest > closedBefore) {
+                continue;
+            }
+            if (late == null) {
+                late = new ArrayList<>();
+            }
+            late.add(data);
+        }
+        if (late == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (entries) {
+            for (TelemetryData data : late) {
+                for (long size : sizes) {
+                    Key key = new Key(data.getDevice().getId(), data.getDataType(), size,
+                            Math.floorDiv(data.getTimestampMillis(), size) * size);
+                    if (entries.remove(key) != null) {
+                        invalidations.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Kesme zamanından önce başlayan kovaları geçersiz kılma (ham veri silindiğinde)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @param cutoffMillis Kesme zamanı
+     */
+    public void invalidateBefore(Long deviceId, String dataType, long cutoffMillis) {
+        invalidateRange(deviceId, dataType, Long.MIN_VALUE, cutoffMillis);
+    }
+
+    /**
+     * Zaman aralığıyla kesişen kovaları geçersiz kılma (mühürlü bloğa geç satır birleştirildiğinde)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @param fromMillis Başlangıç (dahil)
+     * @param toMillis Bitiş (hariç)
+     */
+    public void invalidateRange(Long deviceId, String dataType, long fromMillis, long toMillis) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (entries) {
+            int before = entries.size();
+            entries.keySet().removeIf(key -> key.start < toMillis && key.start + key.size > fromMillis
+                    && (deviceId == null || deviceId.equals(key.deviceId))
+                    && (dataType == null || dataType.equals(key.dataType)));
+            invalidations.addAndGet(before - entries.size());
+        }
+    }
+
+    /**
+     * Önbellekteki kova sonucu sayısı
+     * @return Kova sayısı
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.aggregate.cache.hits", hits, AtomicLong::get)
+                .description("Önbellekten okunan kapanmış kovalar").register(registry);
+        FunctionCounter.builder("telemetry.aggregate.cache.misses", misses, AtomicLong::get)
+                .description("Kaynaktan hesaplanıp önbelleğe alınan kapanmış kovalar").register(registry);
+        FunctionCounter.builder("telemetry.aggregate.cache.evictions", evictions, AtomicLong::get)
+                .description("Kapasite dolduğu için atılan kovalar").register(registry);
+        FunctionCounter.builder("telemetry.aggregate.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Geç veri, aktarım veya silme nedeniyle geçersiz kılınan kovalar").register(registry);
+        FunctionCounter.builder("telemetry.aggregate.cache.bypasses", bypasses, AtomicLong::get)
+                .description("Kova sınırını aştığı için önbelleğe uğramayan sorgular").register(registry);
+        Gauge.builder("telemetry.aggregate.cache.size", this, TelemetryAggregateCache::size)
+                .description("Önbellekteki kova sonucu sayısı").register(registry);
+        Gauge.builder("telemetry.aggregate.cache.hit.ratio", this, TelemetryAggregateCache::hitRatio)
+                .description("Kapanmış kova isteklerinin önbellekten karşılanan oranı").register(registry);
+    }
+
+    /**
+     * Kapanmış kova isteklerinin önbellekten karşılanan oranı
+     * @return 0-1 arası oran (istek yoksa 0)
+     */
+    public double hitRatio() {
+        long hit = hits.get();
+        long total = hit + misses.get();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    /**
+     * [from, to) aralığını level seviyesinden başlayarak kovalara ve doğrudan hesaplanacak parçalara bölme
+     */
+    private void plan(Plan plan, long from, long to, int level, long closedBefore) {
+        if (from >= to || plan.overflow) {
+            return;
+        }
+        if (level == sizes.length) {
+            plan.direct(from, to);
+            return;
+        }
+        long size = sizes[level];
+        long first = Math.floorDiv(from + size - 1, size) * size;
+        long last = Math.floorDiv(to, size) * size;
+        if (first >= last) {
+            plan(plan, from, to, level + 1, closedBefore);
+            return;
+        }
+        plan(plan, from, first, level + 1, closedBefore);
+        long bucket = first;
+        for (; bucket < last && bucket + size <= closedBefore; bucket += size) {
+            if (plan.buckets.size() == properties.getMaxBucketsPerQuery()) {
+                plan.overflow = true;
+                return;
+            }
+            plan.buckets.add(new Key(plan.deviceId, plan.dataType, size, bucket));
+        }
+        // Açık kova ve sonrası bir alt seviyede bölünür; en küçük seviyede doğrudan hesaplanır
+        plan(plan, bucket, to, level + 1, closedBefore);
+    }
+
+    private TelemetryAggregate get(Key key, long expiredBefore) {
+        synchronized (entries) {
+            CachedBucket bucket = entries.get(key);
+            if (bucket == null) {
+                return null;
+            }
+            if (bucket.cachedAt < expiredBefore) {
+                entries.remove(key);
+                return null;
+            }
+            return bucket.toAggregate();
+        }
+    }
+
+    private void put(Key key, TelemetryAggregate aggregate, long observedGeneration, long nowMillis) {
+        synchronized (entries) {
+            if (generation.get() == observedGeneration) {
+                entries.put(key, new CachedBucket(aggregate, nowMillis));
+            }
+        }
+    }
+
+    /**
+     * Sorgunun önbellek kovaları ve doğrudan hesaplanacak [from, to) parçaları
+     */
+    private static class Plan {
+        private final Long deviceId;
+        private final String dataType;
+        private final List<Key> buckets = new ArrayList<>();
+        private final List<long[]> direct = new ArrayList<>(4);
+        private boolean overflow;
+
+        Plan(Long deviceId, String dataType) {
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+        }
+
+        void direct(long from, long to) {
+            // Bitişik parçalar tek sorguda hesaplanır
+            if (!direct.isEmpty() && direct.get(direct.size() - 1)[1] == from) {
+                direct.get(direct.size() - 1)[1] = to;
+            } else {
+                direct.add(new long[]{from, to});
+            }
+        }
+    }
+
+    /**
+     * Kova anahtarı: seri, kova boyu ve başlangıcı
+     */
+    private static final class Key {
+        private final Long deviceId;
+        private final String dataType;
+        private final long size;
+        private final long start;
+
+        Key(Long deviceId, String dataType, long size, long start) {
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+            this.size = size;
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return size == other.size && start == other.start && Objects.equals(deviceId, other.deviceId)
+                    && Objects.equals(dataType, other.dataType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceId, dataType, size, start);
+        }
+    }
+
+    /**
+     * Önbellekteki kova sonucu; çağıranlara her seferinde yeni nesne verilir
+     */
+    private static final class CachedBucket {
+        private final long count;
+        private final double sum;
+        private final double min;
+        private final double max;
+        private final long cachedAt;
+
+        CachedBucket(TelemetryAggregate aggregate, long cachedAt) {
+            this.count = aggregate.getCount();
+            this.sum = count == 0 ? 0 : aggregate.getSum();
+            this.min = count == 0 ? 0 : aggregate.getMin();
+            this.max = count == 0 ? 0 : aggregate.getMax();
+            this.cachedAt = cachedAt;
+        }
+
+        TelemetryAggregate toAggregate() {
+            return count == 0 ? TelemetryAggregate.empty() : new TelemetryAggregate(count, sum, min, max);
+        }
+    }
+}
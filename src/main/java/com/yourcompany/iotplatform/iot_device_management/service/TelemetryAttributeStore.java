@@ -0,0 +1,378 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourcompany.iotplatform.iot_device_management.config.AttributeProperties;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Telemetri Yük Öznitelikleri Deposu
+ * Ham yükün ayrıştırılmış sütunlara girmeyen alanlarını telemetry_attributes tablosuna yazar ve
+ * "payload.rssi &lt; -90" gibi filtreleri veritabanında çalıştırır; yükler Java'ya çekilip ayrıştırılmaz.
+ * PostgreSQL'de sütun JSONB'dir: eşitlikler GIN indeksinin desteklediği @&gt; ile, sayısal karşılaştırmalar
+ * indexed-paths için oluşturulan ifade indeksleriyle birebir aynı ifadeyle yazılır.
+ * Diğer veritabanlarında (H2 testleri) JSON yol fonksiyonu olmadığından aynı anlamı taşıyan Java
+ * fonksiyonları SQL'e tanıtılır.
+ * Yalnızca satır tablosuna yazılan okumaların öznitelikleri tutulur; dar tabloya ve durum deposuna
+ * giden okumaların satır ID'si olmadığından öznitelikleri saklanmaz
+ */
+@Service
+@EnableConfigurationProperties(AttributeProperties.class)
+public class TelemetryAttributeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryAttributeStore.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * MQTT yükünden ayrıştırılıp satır sütunlarına yazılan alanlar; öznitelik olarak tekrar saklanmaz
+     */
+    private static final Set<String> PARSED_KEYS = Set.of("dataType", "value", "unit", "quality", "timestamp");
+
+    private static final String NUMBER_FUNCTION = "TELEMETRY_ATTRIBUTE_NUMBER";
+
+    private static final String TEXT_FUNCTION = "TELEMETRY_ATTRIBUTE_TEXT";
+
+    private static final String FROM =
+            "FROM telemetry_attributes a JOIN telemetry_data t ON t.id = a.telemetry_id ";
+
+    private static final String SELECT =
+            "SELECT t.id, t.device_id, d.name, t.ts_epoch_ms, t.topic, t.data_type, t.unit, " +
+            "t.value_numeric, t.value_string, t.value_boolean, t.quality, t.received_epoch_ms " +
+            FROM + "JOIN devices d ON d.id = t.device_id ";
+
+    @Autowired
+    private AttributeProperties properties;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+
+    /**
+     * Veritabanını tanıma; PostgreSQL dışındaki veritabanlarına yol fonksiyonlarını tanıtma.
+     * Fonksiyonlar tablo gerektirmediğinden ve bu aşamada açık işlem olmadığından burada tanımlanır
+     */
+    @PostConstruct
+    public void init() {
+        if (!isActive()) {
+            return;
+        }
+        postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "PostgreSQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName())));
+        if (!postgres) {
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS " + NUMBER_FUNCTION + " FOR \"" +
+                    TelemetryAttributeStore.class.getName() + ".numberAt\"");
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS " + TEXT_FUNCTION + " FOR \"" +
+                    TelemetryAttributeStore.class.getName() + ".textAt\"");
+        }
+        logger.info("Yük öznitelikleri etkin - Sorgu yöntemi: {}, İndeksli yollar: {}",
+                postgres ? "JSONB" : "Java fonksiyonu", properties.getIndexedPaths());
+    }
+
+    /**
+     * PostgreSQL'de GIN ve ifade indekslerini oluşturma
+     * Büyük tabloda yazmaları kilitlememek için CONCURRENTLY ile ve işlem dışında, uygulama hazır olunca yapılır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!isActive() || !postgres) {
+            return;
+        }
+        List<String> statements = new ArrayList<>();
+        if (properties.isGinIndex()) {
+            statements.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_telemetry_attributes_gin " +
+                    "ON telemetry_attributes USING GIN (attributes jsonb_path_ops)");
+        }
+        for (String path : properties.getIndexedPaths()) {
+            List<String> segments = AttributeFilter.parsePath(path);
+            String name = "idx_telemetry_attr_" + String.join("_", segments).toLowerCase();
+            statements.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name.substring(0, Math.min(63, name.length())) +
+                    " ON telemetry_attributes ((" + numberExpression("attributes", segments) + "))");
+        }
+        for (String statement : statements) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                logger.error("Öznitelik indeksi oluşturulamadı: {}", statement, e);
+            }
+        }
+    }
+
+    /**
+     * Satır tablosuna yazılmış okumaların özniteliklerini yazma
+     * ID'si olmayan, yükü olmayan veya ayrıştırılan alanlar dışında alan taşımayan okumalar atlanır
+     * @param batch ID atanmış telemetri verileri
+     */
+    public void write(List<TelemetryData> batch) {
+        if (!isActive()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (TelemetryData data : batch) {
+            String attributes = data.getId() == null ? null : extract(data.getPayload());
+            if (attributes != null) {
+                rows.add(new Object[]{data.getId(), attributes});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO telemetry_attributes (telemetry_id, attributes) VALUES (?, " +
+                    (postgres ? "CAST(? AS jsonb)" : "? FORMAT JSON") + ")", rows);
+        }
+    }
+
+    /**
+     * Öznitelik filtrelerine uyan okumalar (yeniden eskiye)
+     * @param filters Filtre ifadeleri (hepsi sağlanmalı)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param limit En fazla sonuç sayısı
+     * @return Payload'sız telemetri verisi DTO'ları
+     */
+    public List<TelemetryDataDto> query(List<String> filters, Long deviceId, String dataType,
+                                        LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        requireActive();
+        List<Object> args = new ArrayList<>();
+        String where = where(filters, deviceId, dataType, startTime, endTime, args);
+        args.add(limit);
+        return jdbcTemplate.query(SELECT + where + " ORDER BY t.ts_epoch_ms DESC LIMIT ?",
+                (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    /**
+     * Filtrelere uyan okumalarda sayısal özniteliğin toplamları
+     * Yolda sayı taşımayan okumalar sayılmaz
+     * @param path Öznitelik yolu (ör. payload.battery)
+     * @param filters Filtre ifadeleri (boş olabilir)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Sayı, toplam, min, max
+     */
+    public TelemetryAggregate aggregate(String path, List<String> filters, Long deviceId, String dataType,
+                                        LocalDateTime startTime, LocalDateTime endTime) {
+        requireActive();
+        String value = numberExpression("a.attributes", AttributeFilter.parsePath(path));
+        List<Object> args = new ArrayList<>();
+        String where = where(filters, deviceId, dataType, startTime, endTime, args);
+        return jdbcTemplate.queryForObject("SELECT COUNT(" + value + "), SUM(" + value + "), MIN(" + value + "), MAX(" +
+                        value + ") " + FROM + where,
+                (rs, rowNum) -> new TelemetryAggregate(rs.getLong(1), rs.getObject(2, Double.class),
+                        rs.getObject(3, Double.class), rs.getObject(4, Double.class)),
+                args.toArray());
+    }
+
+    /**
+     * Ham yükün öznitelik kısmı
+     * @param payload Ham JSON yükü
+     * @return Ayrıştırılan alanlar çıkarılmış JSON nesnesi (öznitelik yoksa veya yük geçersizse null)
+     */
+    static String extract(String payload) {
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            if (node == null || !node.isObject()) {
+                return null;
+            }
+            ObjectNode attributes = objectMapper.createObjectNode();
+            node.properties().forEach(field -> {
+                if (!PARSED_KEYS.contains(field.getKey())) {
+                    attributes.set(field.getKey(), field.getValue());
+                }
+            });
+            return attributes.isEmpty() ? null : objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            logger.debug("Öznitelikleri ayrıştırılamayan yük atlandı: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * PostgreSQL dışı veritabanları için sayısal öznitelik fonksiyonu (SQL'den çağrılır)
+     * @param attributes Öznitelik JSON'u
+     * @param path Noktayla ayrılmış yol
+     * @return Yoldaki sayı (yoksa veya sayı değilse null)
+     */
+    public static Double numberAt(String attributes, String path) {
+        JsonNode node = nodeAt(attributes, path);
+        return node != null && node.isNumber() ? node.doubleValue() : null;
+    }
+
+    /**
+     * PostgreSQL dışı veritabanları için metin öznitelik fonksiyonu (SQL'den çağrılır); PostgreSQL #&gt;&gt; ile aynı
+     * @param attributes Öznitelik JSON'u
+     * @param path Noktayla ayrılmış yol
+     * @return Yoldaki değerin metni (yoksa veya null ise null)
+     */
+    public static String textAt(String attributes, String path) {
+        JsonNode node = nodeAt(attributes, path);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    private static JsonNode nodeAt(String attributes, String path) {
+        if (attributes == null) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(attributes);
+            for (String segment : path.split("\\.")) {
+                node = node == null ? null : node.get(segment);
+            }
+            return node;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String where(List<String> filters, Long deviceId, String dataType, LocalDateTime startTime,
+                         LocalDateTime endTime, List<Object> args) {
+        List<String> expressions = filters == null ? List.of() : filters;
+        if (expressions.size() > properties.getMaxFilters()) {
+            throw new BusinessRuleException("En fazla " + properties.getMaxFilters() + " öznitelik filtresi kullanılabilir");
+        }
+        StringBuilder where = new StringBuilder("WHERE t.ts_epoch_ms BETWEEN ? AND ?");
+        args.add(TelemetryTime.toEpochMillis(startTime));
+        args.add(TelemetryTime.toEpochMillis(endTime));
+        if (deviceId != null) {
+            where.append(" AND t.device_id = ?");
+            args.add(deviceId);
+        }
+        if (dataType != null) {
+            where.append(" AND t.data_type = ?");
+            args.add(dataType);
+        }
+        for (String expression : expressions) {
+            where.append(" AND ").append(condition(AttributeFilter.parse(expression), args));
+        }
+        return where.toString();
+    }
+
+    /**
+     * Filtrenin SQL koşulu; yol bölümleri AttributeFilter'da tanımlayıcı karakterleriyle sınırlandığından
+     * SQL'e gömülür (PostgreSQL'in ifade indeksini kullanabilmesi için ifade sabit olmalı), değerler bağlanır
+     */
+    private String condition(AttributeFilter filter, List<Object> args) {
+        List<String> path = filter.getPath();
+        Object value = filter.getValue();
+        switch (filter.getOperator()) {
+            case EXISTS:
+                return postgres ? "a.attributes #> " + pathLiteral(path) + " IS NOT NULL"
+                        : TEXT_FUNCTION + "(a.attributes, '" + String.join(".", path) + "') IS NOT NULL";
+            case EQ:
+                if (postgres) {
+                    args.add(containment(path, value));
+                    return "a.attributes @> CAST(? AS jsonb)";
+                }
+                // fall through
+            default:
+                if (value instanceof Double) {
+                    args.add(value);
+                    return numberExpression("a.attributes", path) + " " + sqlOperator(filter.getOperator()) + " ?";
+                }
+                args.add(value.toString());
+                return textExpression(path) + " " + sqlOperator(filter.getOperator()) + " ?";
+        }
+    }
+
+    /**
+     * Yoldaki sayı; sayı olmayan değerlerde dönüşüm hatası yerine null verir.
+     * PostgreSQL ifade indeksleri bu ifadeyle oluşturulur, sorgular da aynısını kullanmalı
+     */
+    private String numberExpression(String column, List<String> path) {
+        if (!postgres) {
+            return NUMBER_FUNCTION + "(" + column + ", '" + String.join(".", path) + "')";
+        }
+        String literal = pathLiteral(path);
+        return "(CASE WHEN jsonb_typeof(" + column + " #> " + literal + ") = 'number' THEN CAST(" + column +
+                " #>> " + literal + " AS double precision) END)";
+    }
+
+    private String textExpression(List<String> path) {
+        return postgres ? "(a.attributes #>> " + pathLiteral(path) + ")"
+                : TEXT_FUNCTION + "(a.attributes, '" + String.join(".", path) + "')";
+    }
+
+    private static String pathLiteral(List<String> path) {
+        return "'{" + String.join(",", path) + "}'";
+    }
+
+    private static String sqlOperator(AttributeFilter.Operator operator) {
+        return operator == AttributeFilter.Operator.NE ? "<>" : operator.getSymbol();
+    }
+
+    /**
+     * Eşitlik için iç içe JSON nesnesi: rssi = -90 -&gt; {"rssi":-90}, radio.band = "eu" -&gt; {"radio":{"band":"eu"}}
+     */
+    private static String containment(List<String> path, Object value) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode node = root;
+        Iterator<String> segments = path.iterator();
+        while (true) {
+            String segment = segments.next();
+            if (!segments.hasNext()) {
+                node.set(segment, objectMapper.valueToTree(value));
+                return root.toString();
+            }
+            node = node.putObject(segment);
+        }
+    }
+
+    private void requireActive() {
+        if (!isActive()) {
+            throw new BusinessRuleException("Yük öznitelikleri etkin değil (telemetry.attributes.enabled)");
+        }
+    }
+
+    /**
+     * Öznitelikler yazılıyor mu
+     * Bellek içi ve parçalı arka uçlarda satırlar birincil veritabanında olmadığından öznitelik tablosu kullanılmaz
+     * @return Etkin ve satırlar birincil veritabanındaysa true
+     */
+    public boolean isActive() {
+        return properties.isEnabled() && telemetryStore.usesPrimaryDatabase();
+    }
+
+    private static TelemetryDataDto mapRow(ResultSet rs) throws SQLException {
+        return new TelemetryDataDto(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                rs.getLong(4), rs.getString(5), rs.getString(6), rs.getString(7),
+                rs.getObject(8, Double.class), rs.getString(9), rs.getObject(10, Boolean.class),
+                rs.getObject(11, Integer.class), rs.getObject(12, Long.class));
+    }
+}
@@ -0,0 +1,270 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.CompressionProperties;
+import com.yourcompany.iotplatform.iot_device_management.config.SeriesSelector;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Telemetri Sıkıştırıcı
+ * Kayıt öncesi seri bazında ölü bant veya döner kapı (swinging door) sıkıştırması uygular;
+ * yalnızca sinyali tolerans içinde geri kurmak için gereken okumalar yazılmak üzere döndürülür.
+ * Son gelen ama henüz yazılmamış okuma seri durumunda bekletilir; sonraki okuma, en fazla bekleme
+ * süresi veya kapanış onu yazdırır
+ */
+@Service
+@EnableConfigurationProperties(CompressionProperties.class)
+public class TelemetryCompressor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryCompressor.class);
+
+    @Autowired
+    private CompressionProperties properties;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    private final Map<Long, Map<String, SeriesState>> series = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+
+    /**
+     * Kuralların tutarlılık kontrolü
+     */
+    @PostConstruct
+    public void validateRules() {
+        for (CompressionProperties.Rule rule : properties.getRules()) {
+            if (rule.getMaxInterval() == null || rule.getMaxInterval().isNegative() || rule.getMaxInterval().isZero()) {
+                throw new IllegalStateException("Sıkıştırma kuralının en fazla bekleme süresi pozitif olmalı: " + rule.getName());
+            }
+            if (rule.getAbsolute() < 0 || rule.getPercent() < 0) {
+                throw new IllegalStateException("Sıkıştırma kuralının toleransı negatif olamaz: " + rule.getName());
+            }
+        }
+        if (properties.isEnabled()) {
+            logger.info("Telemetri sıkıştırması açık: {} kural", properties.getRules().size());
+        }
+    }
+
+    /**
+     * Yeni okumayı sıkıştırıcıdan geçirme
+     * Sayısal olmayan, veri tipi olmayan veya kuralı bulunmayan serilerin okumaları olduğu gibi döner
+     * @param telemetryData Gelen telemetri verisi
+     * @return Yazılması gereken okumalar (zaman sıralı; boş olabilir)
+     */
+    public List<TelemetryData> offer(TelemetryData telemetryData) {
+        received.incrementAndGet();
+        List<TelemetryData> archived = compress(telemetryData);
+        stored.addAndGet(archived.size());
+        return archived;
+    }
+
+    private List<TelemetryData> compress(TelemetryData telemetryData) {
+        if (!properties.isEnabled() || telemetryData.getValueNumeric() == null || telemetryData.getDataType() == null
+                || telemetryData.getTimestamp() == null || telemetryData.getDevice() == null
+                || telemetryData.getDevice().getId() == null) {
+            return List.of(telemetryData);
+        }
+
+        Long deviceId = telemetryData.getDevice().getId();
+        String dataType = telemetryData.getDataType();
+        Map<String, SeriesState> deviceSeries = series.computeIfAbsent(deviceId, id -> new ConcurrentHashMap<>());
+        SeriesState state = deviceSeries.get(dataType);
+        if (state == null) {
+            Optional<CompressionProperties.Rule> rule = resolveRule(deviceId, dataType);
+            if (rule.isEmpty() || rule.get().getMode() == CompressionProperties.Mode.NONE) {
+                return List.of(telemetryData);
+            }
+            state = deviceSeries.computeIfAbsent(dataType, type -> new SeriesState(rule.get()));
+        }
+        return state.offer(telemetryData);
+    }
+
+    /**
+     * Seriye uygulanacak sıkıştırma kuralı
+     * @param deviceId Cihaz veritabanı ID'si
+     * @param dataType Veri tipi
+     * @return En özel eşleşen kural (sıkıştırma kapalıysa veya eşleşme yoksa boş)
+     */
+    public Optional<CompressionProperties.Rule> resolveRule(Long deviceId, String dataType) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(deviceId);
+        String deviceKey = device.map(DeviceRegistry.DeviceState::getDeviceId).orElse(null);
+        Device.DeviceType deviceType = device.map(DeviceRegistry.DeviceState::getDeviceType).orElse(null);
+        return SeriesSelector.mostSpecific(properties.getRules(), deviceKey, deviceType, dataType);
+    }
+
+    /**
+     * Seri sıkıştırılarak mı yazılıyor
+     * Sıkıştırılmış seride saklanan noktalar okumaların seyrek bir alt kümesidir: minimum ve maksimum tolerans
+     * içinde kalır, ancak sayı, toplam ve ortalama okuma değil nokta sayar ve sabit kalan dönemleri az tartar
+     * @param deviceId Cihaz veritabanı ID'si
+     * @param dataType Veri tipi
+     * @return Etkin (NONE dışı) bir kural eşleşiyor mu
+     */
+    public boolean isCompressed(Long deviceId, String dataType) {
+        return resolveRule(deviceId, dataType).filter(rule -> rule.getMode() != CompressionProperties.Mode.NONE).isPresent();
+    }
+
+    /**
+     * Etkin (NONE dışı) sıkıştırma kuralları
+     * @return Kurallar (sıkıştırma kapalıysa boş)
+     */
+    public List<CompressionProperties.Rule> activeRules() {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        return properties.getRules().stream().filter(rule -> rule.getMode() != CompressionProperties.Mode.NONE).toList();
+    }
+
+    /**
+     * En fazla bekleme süresini aşmış, bekletilen okumaları yazılmak üzere çıkarma
+     * Veri göndermeyi bırakan sensörlerin son okuması böylece kaybolmaz
+     * @param nowMillis Şu an (epoch ms)
+     * @return Yazılması gereken okumalar
+     */
+    public List<TelemetryData> drainIdle(long nowMillis) {
+        return drain(nowMillis, false);
+    }
+
+    /**
+     * Bekletilen tüm okumaları yazılmak üzere çıkarma (kapanışta)
+     * @return Yazılması gereken okumalar
+     */
+    public List<TelemetryData> drainAll() {
+        return drain(Long.MAX_VALUE, true);
+    }
+
+    private List<TelemetryData> drain(long nowMillis, boolean force) {
+        List<TelemetryData> drained = new ArrayList<>();
+        for (Map<String, SeriesState> deviceSeries : series.values()) {
+            for (SeriesState state : deviceSeries.values()) {
+                state.drain(nowMillis, force).ifPresent(drained::add);
+            }
+        }
+        stored.addAndGet(drained.size());
+        return drained;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.compression.received", received, AtomicLong::get)
+                .description("Sıkıştırıcıya gelen okumalar").register(registry);
+        FunctionCounter.builder("telemetry.compression.stored", stored, AtomicLong::get)
+                .description("Sıkıştırma sonrası yazılan okumalar").register(registry);
+    }
+
+    /**
+     * Tek serinin sıkıştırma durumu
+     * archived son yazılan okuma, held son gelen okumadır (archived ile aynıysa bekleyen okuma yoktur)
+     */
+    static class SeriesState {
+        private final CompressionProperties.Rule rule;
+        private final long maxIntervalMillis;
+        private TelemetryData archived;
+        private TelemetryData held;
+
+        /**
+         * Döner kapı koridorunun eğim sınırları (değer/ms)
+         */
+        private double upperSlope;
+        private double lowerSlope;
+
+        SeriesState(CompressionProperties.Rule rule) {
+            this.rule = rule;
+            this.maxIntervalMillis = rule.getMaxInterval().toMillis();
+        }
+
+        synchronized List<TelemetryData> offer(TelemetryData data) {
+            if (archived == null) {
+                return archive(data);
+            }
+
+            long t = data.getTimestampMillis();
+            long heldTime = held.getTimestampMillis();
+            if (t <= heldTime) {
+                // Sıra dışı veya yinelenen zaman damgalı okumalar durumu bozmadan olduğu gibi yazılır
+                return List.of(data);
+            }
+
+            if (t - archived.getTimestampMillis() >= maxIntervalMillis || !Objects.equals(data.getQuality(), held.getQuality())) {
+                return archive(data);
+            }
+
+            double value = data.getValueNumeric();
+            double reference = archived.getValueNumeric();
+            if (rule.getMode() == CompressionProperties.Mode.DEADBAND) {
+                if (Math.abs(value - reference) > rule.tolerance(reference)) {
+                    return archive(data);
+                }
+                held = data;
+                return List.of();
+            }
+
+            // Son yazılan okumadan bu okumaya çizilen doğru, aradaki tüm okumaların tolerans koridorunda kalmalı
+            double tolerance = rule.tolerance(reference);
+            double elapsed = t - archived.getTimestampMillis();
+            double slope = (value - reference) / elapsed;
+            if (slope > upperSlope || slope < lowerSlope) {
+                // Kapılar açıldı: bekletilen okuma yazılır ve koridor ondan yeniden başlar
+                TelemetryData pivot = held;
+                archived = pivot;
+                double pivotValue = pivot.getValueNumeric();
+                double pivotTolerance = rule.tolerance(pivotValue);
+                double sincePivot = t - heldTime;
+                upperSlope = (value + pivotTolerance - pivotValue) / sincePivot;
+                lowerSlope = (value - pivotTolerance - pivotValue) / sincePivot;
+                held = data;
+                return List.of(pivot);
+            }
+            upperSlope = Math.min(upperSlope, (value + tolerance - reference) / elapsed);
+            lowerSlope = Math.max(lowerSlope, (value - tolerance - reference) / elapsed);
+            held = data;
+            return List.of();
+        }
+
+        synchronized Optional<TelemetryData> drain(long nowMillis, boolean force) {
+            if (held == null || held == archived || !force && nowMillis - held.getTimestampMillis() < maxIntervalMillis) {
+                return Optional.empty();
+            }
+            TelemetryData pending = held;
+            resetAt(pending);
+            return Optional.of(pending);
+        }
+
+        /**
+         * Okumayı yazma; bekletilen okuma varsa sinyalin şekli korunsun diye önce o yazılır
+         */
+        private List<TelemetryData> archive(TelemetryData data) {
+            List<TelemetryData> out = held != null && held != archived ? List.of(held, data) : List.of(data);
+            resetAt(data);
+            return out;
+        }
+
+        private void resetAt(TelemetryData data) {
+            archived = data;
+            held = data;
+            upperSlope = Double.POSITIVE_INFINITY;
+            lowerSlope = Double.NEGATIVE_INFINITY;
+        }
+    }
+}
@@ -1,18 +1,39 @@
 package com.yourcompany.iotplatform.iot_device_management.service;
 
-import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.config.CompressionProperties;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.StateTransitionDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetrySampleDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TimeInStateDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
 import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
-import com.yourcompany.iotplatform.iot_device_management.repository.DeviceRepository;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
 import com.yourcompany.iotplatform.iot_device_management.repository.TelemetryDataRepository;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * Telemetri Verisi Servisi
@@ -23,11 +44,56 @@ public class TelemetryDataService {
     
     private static final Logger logger = LoggerFactory.getLogger(TelemetryDataService.class);
     
+    /**
+     * Payload sorgusunda IN listesine konulacak en fazla ID sayısı
+     */
+    private static final int PAYLOAD_BATCH_SIZE = 1000;
+    
+    /**
+     * Enterpolasyon sorgusunda üretilecek en fazla ızgara noktası
+     */
+    private static final long MAX_INTERPOLATION_POINTS = 10_000;
+    
+    /**
+     * Sıkıştırma kuralı olmayan serilerde aralık öncesindeki son okumayı bulmak için geriye bakış
+     */
+    private static final Duration DEFAULT_INTERPOLATION_LOOKBACK = Duration.ofHours(1);
+    
     @Autowired
     private TelemetryDataRepository telemetryDataRepository;
     
     @Autowired
-    private DeviceRepository deviceRepository;
+    private TelemetryStore telemetryStore;
+    
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+    
+    @Autowired
+    private LatestValueStore latestValueStore;
+    
+    @Autowired
+    private TelemetrySeriesStore telemetrySeriesStore;
+    
+    @Autowired
+    private TelemetryStateStore telemetryStateStore;
+    
+    @Autowired
+    private TelemetryCompressor telemetryCompressor;
+    
+    @Autowired
+    private CounterResetDetector counterResetDetector;
+    
+    @Autowired
+    private TelemetryPayloadStore telemetryPayloadStore;
+    
+    @Autowired
+    private TelemetryAttributeStore telemetryAttributeStore;
+    
+    @Autowired
+    private TelemetryAggregateCache telemetryAggregateCache;
+    
+    @Autowired
+    private VirtualSeriesService virtualSeriesService;
     
     /**
      * Belirli cihaza ait telemetri verilerini getirme
@@ -35,13 +101,16 @@ public class TelemetryDataService {
      * @param limit Limit sayısı
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA_LATEST)
     public List<TelemetryData> getTelemetryDataByDevice(Long deviceId, int limit) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return List.of();
         }
         
-        return telemetryDataRepository.findLatestByDevice(device.get(), PageRequest.of(0, limit));
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findLatestByDeviceId(deviceId, PageRequest.of(0, limit)),
+                        () -> telemetryStore.scanRange(deviceId, null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, limit)),
+                concat(telemetrySeriesStore.findLatestByDevice(deviceId, limit),
+                        telemetryStateStore.findLatestByDevice(deviceId, limit)), limit);
     }
     
     /**
@@ -51,13 +120,18 @@ public class TelemetryDataService {
      * @param endTime Bitiş zamanı
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<TelemetryData> getTelemetryDataByTimeRange(Long deviceId, LocalDateTime startTime, LocalDateTime endTime) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return List.of();
         }
         
-        return telemetryDataRepository.findByDeviceAndTimestampBetweenOrderByTimestampDesc(device.get(), startTime, endTime);
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findByDeviceIdAndTimeRange(deviceId, start, end),
+                        () -> telemetryStore.scanRange(deviceId, null, start, end, Integer.MAX_VALUE)),
+                concat(telemetrySeriesStore.findByDeviceAndTimeRange(deviceId, start, end),
+                        telemetryStateStore.findByDeviceAndTimeRange(deviceId, start, end)), Integer.MAX_VALUE);
     }
     
     /**
@@ -66,13 +140,17 @@ public class TelemetryDataService {
      * @return En son telemetri verisi
      */
     public Optional<TelemetryData> getLatestTelemetryData(Long deviceId) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
-            return Optional.empty();
-        }
-        
-        List<TelemetryData> latestData = telemetryDataRepository.findLatestByDevice(device.get(), PageRequest.of(0, 1));
-        return latestData.isEmpty() ? Optional.empty() : Optional.of(latestData.get(0));
+        return latestValueStore.getLatest(deviceId);
+    }
+    
+    /**
+     * Belirli cihazın belirli veri tipindeki en son telemetri verisini getirme
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return En son telemetri verisi
+     */
+    public Optional<TelemetryData> getLatestTelemetryData(Long deviceId, String dataType) {
+        return latestValueStore.getLatest(deviceId, dataType);
     }
     
     /**
@@ -80,8 +158,12 @@ public class TelemetryDataService {
      * @param topic MQTT topic
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<TelemetryData> getTelemetryDataByTopic(String topic) {
-        return telemetryDataRepository.findByTopicOrderByTimestampDesc(topic);
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findByTopicOrderByTimestampMillisDesc(topic),
+                        () -> telemetryStore.scanFleet(null, topic, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, Integer.MAX_VALUE)),
+                concat(telemetrySeriesStore.findByTopic(topic),
+                        telemetryStateStore.findByTopic(topic)), Integer.MAX_VALUE);
     }
     
     /**
@@ -89,8 +171,12 @@ public class TelemetryDataService {
      * @param dataType Veri tipi
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<TelemetryData> getTelemetryDataByDataType(String dataType) {
-        return telemetryDataRepository.findByDataTypeOrderByTimestampDesc(dataType);
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findByDataTypeOrderByTimestampMillisDesc(dataType),
+                        () -> telemetryStore.scanFleet(dataType, null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, Integer.MAX_VALUE)),
+                concat(telemetrySeriesStore.findByDataType(dataType),
+                        telemetryStateStore.findByDataType(dataType)), Integer.MAX_VALUE);
     }
     
     /**
@@ -99,13 +185,16 @@ public class TelemetryDataService {
      * @param dataType Veri tipi
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<TelemetryData> getTelemetryDataByDeviceAndDataType(Long deviceId, String dataType) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return List.of();
         }
         
-        return telemetryDataRepository.findByDeviceAndDataTypeOrderByTimestampDesc(device.get(), dataType);
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findByDeviceIdAndDataType(deviceId, dataType),
+                        () -> telemetryStore.scanRange(deviceId, dataType, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, Integer.MAX_VALUE)),
+                concat(telemetrySeriesStore.findByDeviceAndDataType(deviceId, dataType),
+                        telemetryStateStore.findByDeviceAndDataType(deviceId, dataType)), Integer.MAX_VALUE);
     }
     
     /**
@@ -114,25 +203,36 @@ public class TelemetryDataService {
      * @param endTime Bitiş zamanı
      * @return Telemetri verileri
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public List<TelemetryData> getTelemetryDataByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
-        return telemetryDataRepository.findByTimestampBetweenOrderByTimestampDesc(startTime, endTime);
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        return mergeEntities(storedEntities(() -> telemetryDataRepository.findByTimestampMillisBetweenOrderByTimestampMillisDesc(start, end),
+                        () -> telemetryStore.scanFleet(null, null, start, end, Integer.MAX_VALUE)),
+                concat(telemetrySeriesStore.findByTimeRange(start, end),
+                        telemetryStateStore.findByTimeRange(start, end)), Integer.MAX_VALUE);
     }
     
     /**
      * Belirli cihazın belirli zaman aralığındaki ortalama değerini hesaplama
+     * Sıkıştırılmış serilerde saklanan noktaların ortalaması okumaların ortalamasını temsil etmediğinden reddedilir
      * @param deviceId Cihaz ID'si
      * @param dataType Veri tipi
      * @param startTime Başlangıç zamanı
      * @param endTime Bitiş zamanı
      * @return Ortalama değer
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Double getAverageValueByDeviceAndDataTypeAndTimeRange(Long deviceId, String dataType, LocalDateTime startTime, LocalDateTime endTime) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return null;
         }
+        if (telemetryCompressor.isCompressed(deviceId, dataType)) {
+            throw new BusinessRuleException("Sıkıştırılmış seride ortalama desteklenmiyor, enterpolasyonlu ızgara " +
+                    "kullanılmalı: " + dataType);
+        }
         
-        return telemetryDataRepository.findAverageValueByDeviceAndDataTypeAndTimeRange(device.get(), dataType, startTime, endTime);
+        return getAggregateByDeviceAndDataTypeAndTimeRange(deviceId, dataType, startTime, endTime).getAverage();
     }
     
     /**
@@ -143,13 +243,13 @@ public class TelemetryDataService {
      * @param endTime Bitiş zamanı
      * @return Minimum değer
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Double getMinValueByDeviceAndDataTypeAndTimeRange(Long deviceId, String dataType, LocalDateTime startTime, LocalDateTime endTime) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return null;
         }
         
-        return telemetryDataRepository.findMinValueByDeviceAndDataTypeAndTimeRange(device.get(), dataType, startTime, endTime);
+        return getAggregateByDeviceAndDataTypeAndTimeRange(deviceId, dataType, startTime, endTime).getMin();
     }
     
     /**
@@ -160,13 +260,385 @@ public class TelemetryDataService {
      * @param endTime Bitiş zamanı
      * @return Maksimum değer
      */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
     public Double getMaxValueByDeviceAndDataTypeAndTimeRange(Long deviceId, String dataType, LocalDateTime startTime, LocalDateTime endTime) {
-        Optional<Device> device = deviceRepository.findById(deviceId);
-        if (device.isEmpty()) {
+        if (!deviceRegistry.exists(deviceId)) {
             return null;
         }
         
-        return telemetryDataRepository.findMaxValueByDeviceAndDataTypeAndTimeRange(device.get(), dataType, startTime, endTime);
+        return getAggregateByDeviceAndDataTypeAndTimeRange(deviceId, dataType, startTime, endTime).getMax();
+    }
+    
+    /**
+     * Belirli cihazın belirli zaman aralığındaki toplam değerleri (satır tablosu ve dar tablo birlikte)
+     * Sıkıştırılmış serilerde sayı, toplam ve ortalama okumaları değil saklanan noktaları sayar;
+     * yalnızca minimum ve maksimum tolerans içinde doğrudur
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Toplam değerler
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public TelemetryAggregate getAggregateByDeviceAndDataTypeAndTimeRange(Long deviceId, String dataType,
+                                                                          LocalDateTime startTime, LocalDateTime endTime) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return TelemetryAggregate.empty();
+        }
+        
+        return telemetryAggregateCache.aggregate(deviceId, dataType, TelemetryTime.toEpochMillis(startTime),
+                TelemetryTime.toEpochMillis(endTime), (from, to) -> telemetryStore.aggregate(deviceId, dataType, from, to)
+                        .combine(telemetrySeriesStore.aggregate(deviceId, dataType, from, to)));
+    }
+    
+    // Projeksiyon tabanlı okumalar - REST API için, payload yalnızca istenirse yüklenir
+    
+    /**
+     * Belirli cihaza ait son telemetri verilerini projeksiyon olarak getirme
+     * @param deviceId Cihaz ID'si
+     * @param limit Limit sayısı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA_LATEST)
+    public List<TelemetryDataDto> getTelemetryDataViewsByDevice(Long deviceId, int limit, boolean includePayload) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        
+        return withPayload(mergeViews(telemetryStore.scanRange(deviceId, null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, limit),
+                concat(telemetrySeriesStore.findLatestByDevice(deviceId, limit),
+                        telemetryStateStore.findLatestByDevice(deviceId, limit)), limit), includePayload);
+    }
+    
+    /**
+     * Belirli cihaza ait telemetri verilerini zaman aralığına göre projeksiyon olarak getirme
+     * @param deviceId Cihaz ID'si
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByTimeRange(Long deviceId, LocalDateTime startTime,
+                                                                   LocalDateTime endTime, boolean includePayload) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        return withPayload(mergeViews(telemetryStore.scanRange(deviceId, null, start, end, Integer.MAX_VALUE),
+                concat(telemetrySeriesStore.findByDeviceAndTimeRange(deviceId, start, end),
+                        telemetryStateStore.findByDeviceAndTimeRange(deviceId, start, end)), Integer.MAX_VALUE), includePayload);
+    }
+    
+    /**
+     * Cihazın sayısal serisini düzenli zaman ızgarasında enterpolasyonla getirme
+     * Sıkıştırılarak seyrek yazılmış seriler grafiklerde tolerans içinde geri kurulur
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param step Izgara adımı
+     * @param method Enterpolasyon yöntemi (null ise serinin sıkıştırma kuralına göre seçilir)
+     * @return Izgara noktaları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetrySampleDto> getInterpolatedTelemetry(Long deviceId, String dataType, LocalDateTime startTime,
+                                                             LocalDateTime endTime, Duration step,
+                                                             TelemetryInterpolation.Method method) {
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        long stepMillis = step.toMillis();
+        if (stepMillis <= 0 || end < start) {
+            throw new BusinessRuleException("Geçersiz enterpolasyon aralığı veya adımı");
+        }
+        if ((end - start) / stepMillis + 1 > MAX_INTERPOLATION_POINTS) {
+            throw new BusinessRuleException("Enterpolasyon en fazla " + MAX_INTERPOLATION_POINTS + " nokta üretebilir");
+        }
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        
+        Optional<CompressionProperties.Rule> rule = telemetryCompressor.resolveRule(deviceId, dataType)
+                .filter(r -> r.getMode() != CompressionProperties.Mode.NONE);
+        Duration lookback = rule.map(CompressionProperties.Rule::getMaxInterval).orElse(DEFAULT_INTERPOLATION_LOOKBACK);
+        long maxGap = rule.map(r -> 2 * r.getMaxInterval().toMillis()).orElse(Long.MAX_VALUE);
+        TelemetryInterpolation.Method resolvedMethod = method != null ? method
+                : rule.filter(r -> r.getMode() == CompressionProperties.Mode.DEADBAND).isPresent()
+                        ? TelemetryInterpolation.Method.PREVIOUS : TelemetryInterpolation.Method.LINEAR;
+        
+        // Aralık sınırlarındaki noktalar için dışarıdaki komşu okumalar da okunur
+        long from = TelemetryTime.toEpochMillis(startTime) - lookback.toMillis();
+        long to = TelemetryTime.toEpochMillis(endTime) + lookback.toMillis();
+        List<TelemetryDataDto> points = new ArrayList<>(telemetryStore.scanRange(deviceId, dataType,
+                from, to, Integer.MAX_VALUE));
+        telemetrySeriesStore.findByDeviceAndTimeRange(deviceId, from, to).stream()
+                .filter(view -> dataType.equals(view.getDataType()))
+                .forEach(points::add);
+        points.removeIf(view -> view.getValueNumeric() == null);
+        points.sort(Comparator.comparingLong(TelemetryDataDto::getTimestampMillis));
+        
+        long[] times = new long[points.size()];
+        double[] values = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            times[i] = points.get(i).getTimestampMillis();
+            values[i] = points.get(i).getValueNumeric();
+        }
+        return TelemetryInterpolation.resample(times, values, start, end, stepMillis, maxGap, resolvedMethod);
+    }
+    
+    /**
+     * Boolean veya metin serisinin aralıktaki durum geçişleri
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Aralıkla kesişen durum aralıkları (başlangıca göre artan)
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<StateTransitionDto> getStateTransitions(Long deviceId, String dataType, LocalDateTime startTime,
+                                                        LocalDateTime endTime) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        return telemetryStateStore.findTransitions(deviceId, dataType, TelemetryTime.toEpochMillis(startTime),
+                TelemetryTime.toEpochMillis(endTime));
+    }
+    
+    /**
+     * Boolean veya metin serisinin aralıkta her durumda geçirdiği süre
+     * Örnekler taranmaz, durum geçişlerinden hesaplanır; süren durum şu ana kadar sayılır
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Durum süreleri (uzundan kısaya)
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TimeInStateDto> getTimeInState(Long deviceId, String dataType, LocalDateTime startTime,
+                                               LocalDateTime endTime) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        return telemetryStateStore.timeInState(deviceId, dataType, TelemetryTime.toEpochMillis(startTime),
+                TelemetryTime.toEpochMillis(endTime), TelemetryTime.nowMillis());
+    }
+    
+    /**
+     * Belirli topic'e ait telemetri verilerini projeksiyon olarak getirme
+     * @param topic MQTT topic
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByTopic(String topic, boolean includePayload) {
+        return withPayload(mergeViews(telemetryStore.scanFleet(null, topic, TelemetryStore.MIN_TIME,
+                        TelemetryStore.MAX_TIME, Integer.MAX_VALUE),
+                concat(telemetrySeriesStore.findByTopic(topic),
+                        telemetryStateStore.findByTopic(topic)), Integer.MAX_VALUE), includePayload);
+    }
+    
+    /**
+     * Belirli veri tipine ait telemetri verilerini projeksiyon olarak getirme
+     * @param dataType Veri tipi
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByDataType(String dataType, boolean includePayload) {
+        return withPayload(mergeViews(telemetryStore.scanFleet(dataType, null, TelemetryStore.MIN_TIME,
+                        TelemetryStore.MAX_TIME, Integer.MAX_VALUE),
+                concat(telemetrySeriesStore.findByDataType(dataType),
+                        telemetryStateStore.findByDataType(dataType)), Integer.MAX_VALUE), includePayload);
+    }
+    
+    /**
+     * Belirli cihaz ve veri tipine ait telemetri verilerini projeksiyon olarak getirme
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByDeviceAndDataType(Long deviceId, String dataType, boolean includePayload) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return List.of();
+        }
+        
+        return withPayload(mergeViews(telemetryStore.scanRange(deviceId, dataType, TelemetryStore.MIN_TIME,
+                        TelemetryStore.MAX_TIME, Integer.MAX_VALUE),
+                concat(telemetrySeriesStore.findByDeviceAndDataType(deviceId, dataType),
+                        telemetryStateStore.findByDeviceAndDataType(deviceId, dataType)), Integer.MAX_VALUE), includePayload);
+    }
+    
+    /**
+     * Belirli zaman aralığındaki tüm telemetri verilerini projeksiyon olarak getirme
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByTimeRange(LocalDateTime startTime, LocalDateTime endTime,
+                                                                   boolean includePayload) {
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        return withPayload(mergeViews(telemetryStore.scanFleet(null, null, start, end, Integer.MAX_VALUE),
+                concat(telemetrySeriesStore.findByTimeRange(start, end),
+                        telemetryStateStore.findByTimeRange(start, end)), Integer.MAX_VALUE), includePayload);
+    }
+    
+    /**
+     * Yük özniteliklerine göre filtrelenmiş okumalar - filtreler veritabanında çalışır (ör. payload.rssi < -90)
+     * @param filters Öznitelik filtreleri (hepsi sağlanmalı)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param limit En fazla sonuç sayısı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryDataDto> getTelemetryDataViewsByAttributes(List<String> filters, Long deviceId, String dataType,
+                                                                    LocalDateTime startTime, LocalDateTime endTime,
+                                                                    int limit, boolean includePayload) {
+        return withPayload(telemetryAttributeStore.query(filters, deviceId, dataType, startTime, endTime, limit),
+                includePayload);
+    }
+    
+    /**
+     * Filtrelenmiş okumalarda sayısal yük özniteliğinin toplamları (ör. düşük sinyalli okumalarda ortalama pil)
+     * @param path Öznitelik yolu
+     * @param filters Öznitelik filtreleri (boş olabilir)
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tümü)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Toplam değerler
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public TelemetryAggregate getAttributeAggregate(String path, List<String> filters, Long deviceId, String dataType,
+                                                    LocalDateTime startTime, LocalDateTime endTime) {
+        return telemetryAttributeStore.aggregate(path, filters, deviceId, dataType, startTime, endTime);
+    }
+    
+    /**
+     * İstenirse projeksiyonlara payload'ları toplu sorgularla ekleme
+     * @param views Telemetri verisi DTO'ları
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @return Aynı DTO listesi
+     */
+    private List<TelemetryDataDto> withPayload(List<TelemetryDataDto> views, boolean includePayload) {
+        if (!includePayload || views.isEmpty()) {
+            return views;
+        }
+        
+        // Dar tablodan gelen okumaların satır ID'si yoktur; onların ve yükü saklanmamış satırların payload'ları türetilir
+        List<Long> rowIds = views.stream()
+                .map(TelemetryDataDto::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        
+        Map<Long, String> payloads = new HashMap<>(rowIds.size() * 2);
+        for (int from = 0; from < rowIds.size(); from += PAYLOAD_BATCH_SIZE) {
+            List<Long> ids = rowIds.subList(from, Math.min(from + PAYLOAD_BATCH_SIZE, rowIds.size()));
+            payloads.putAll(telemetryPayloadStore.load(ids));
+        }
+        
+        views.forEach(view -> {
+            String payload = view.getId() != null ? payloads.get(view.getId()) : null;
+            view.setPayload(payload != null ? payload : TelemetrySeriesStore.derivePayload(view));
+        });
+        return views;
+    }
+    
+    /**
+     * Satır tablosundaki okumaları entity olarak getirme
+     * Satırlar birincil veritabanında değilse (bellek içi veya parçalı arka uç) depo taraması geçici entity'lere
+     * çevrilir; payload, istendiğinde getPayload ile ID üzerinden yüklenir
+     * @param repositoryQuery Birincil veritabanı sorgusu
+     * @param storeScan Depo taraması
+     * @return Telemetri verileri
+     */
+    private List<TelemetryData> storedEntities(Supplier<List<TelemetryData>> repositoryQuery,
+                                               Supplier<List<TelemetryDataDto>> storeScan) {
+        if (telemetryStore.usesPrimaryDatabase()) {
+            return repositoryQuery.get();
+        }
+        return storeScan.get().stream().map(view -> {
+            TelemetryData data = telemetrySeriesStore.toTelemetryData(view);
+            data.setId(view.getId());
+            data.setPayload(view.getPayload());
+            return data;
+        }).toList();
+    }
+    
+    /**
+     * Satır tablosu ve dar tablodan gelen entity sonuçlarını zamana göre (yeniden eskiye) birleştirme
+     * @param rows Satır tablosu sonuçları
+     * @param narrow Dar tablo sonuçları
+     * @param limit En fazla sonuç sayısı
+     * @return Birleşik telemetri verileri
+     */
+    private List<TelemetryData> mergeEntities(List<TelemetryData> rows, List<TelemetryDataDto> narrow, int limit) {
+        if (narrow.isEmpty()) {
+            return rows;
+        }
+        List<TelemetryData> converted = narrow.stream().map(telemetrySeriesStore::toTelemetryData).toList();
+        return mergeByTimestamp(rows, converted, TelemetryData::getTimestampMillis, limit);
+    }
+    
+    /**
+     * Satır tablosu ve dar tablodan gelen projeksiyonları zamana göre (yeniden eskiye) birleştirme
+     * @param rows Satır tablosu sonuçları
+     * @param narrow Dar tablo sonuçları
+     * @param limit En fazla sonuç sayısı
+     * @return Birleşik telemetri verisi DTO'ları
+     */
+    private List<TelemetryDataDto> mergeViews(List<TelemetryDataDto> rows, List<TelemetryDataDto> narrow, int limit) {
+        if (narrow.isEmpty()) {
+            return rows;
+        }
+        return mergeByTimestamp(rows, narrow, TelemetryDataDto::getTimestampMillis, limit);
+    }
+    
+    /**
+     * Dar sayısal tablo ve durum deposu sonuçlarını tek listede toplama
+     * @param numeric Dar tablo sonuçları
+     * @param states Durum geçişleri
+     * @return Birleşik liste (sıralama mergeByTimestamp ile yapılır)
+     */
+    private static List<TelemetryDataDto> concat(List<TelemetryDataDto> numeric, List<TelemetryDataDto> states) {
+        if (states.isEmpty()) {
+            return numeric;
+        }
+        List<TelemetryDataDto> combined = new ArrayList<>(numeric.size() + states.size());
+        combined.addAll(numeric);
+        combined.addAll(states);
+        return combined;
+    }
+    
+    private static <T> List<T> mergeByTimestamp(List<T> rows, List<T> narrow,
+                                                ToLongFunction<T> timestamp, int limit) {
+        List<T> merged = new ArrayList<>(rows.size() + narrow.size());
+        merged.addAll(rows);
+        merged.addAll(narrow);
+        merged.sort(Comparator.comparingLong(timestamp).reversed());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+    
+    /**
+     * Okumanın ham veri yükü - satırda yoksa ayrı tablodan, hiç saklanmamışsa ayrıştırılmış değerlerden türetilir
+     * @param telemetryData Telemetri verisi
+     * @return Ham veri yükü
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public String getPayload(TelemetryData telemetryData) {
+        return telemetryPayloadStore.load(telemetryData)
+                .orElseGet(() -> TelemetrySeriesStore.derivePayload(telemetryData));
     }
     
     /**
@@ -175,7 +647,11 @@ public class TelemetryDataService {
      * @return Silinen kayıt sayısı
      */
     public int deleteOldTelemetryData(LocalDateTime cutoffTime) {
-        int deletedCount = telemetryDataRepository.deleteOldTelemetryData(cutoffTime);
+        long cutoff = TelemetryTime.toEpochMillis(cutoffTime);
+        int deletedCount = telemetryStore.deleteBefore(cutoff)
+                + telemetrySeriesStore.deleteBefore(cutoff)
+                + telemetryStateStore.deleteBefore(cutoff);
+        telemetryAggregateCache.invalidateBefore(null, null, cutoff);
         logger.info("{} adet eski telemetri verisi silindi", deletedCount);
         return deletedCount;
     }
@@ -186,9 +662,126 @@ public class TelemetryDataService {
      * @return Kaydedilen telemetri verisi
      */
     public TelemetryData saveTelemetryData(TelemetryData telemetryData) {
-        TelemetryData savedData = telemetryDataRepository.save(telemetryData);
+        counterResetDetector.inspect(telemetryData);
+        TelemetryData savedData;
+        if (telemetrySeriesStore.accepts(telemetryData)) {
+            telemetrySeriesStore.append(telemetryData);
+            savedData = telemetryData;
+        } else if (telemetryStateStore.accepts(telemetryData) && telemetryStateStore.append(telemetryData)) {
+            savedData = telemetryData;
+        } else {
+            telemetryPayloadStore.append(List.of(telemetryData));
+            savedData = telemetryData;
+        }
+        latestValueStore.update(savedData);
+        telemetryAggregateCache.invalidate(List.of(savedData));
+        saveDerived(virtualSeriesService.derive(savedData));
         logger.debug("Telemetri verisi kaydedildi: Cihaz: {}, Veri Tipi: {}", 
                 savedData.getDevice().getDeviceId(), savedData.getDataType());
         return savedData;
     }
+    
+    /**
+     * Canlı telemetri verisini sıkıştırıcıdan geçirerek kaydetme
+     * Yalnızca sinyali tolerans içinde geri kurmak için gereken okumalar yazılır; son değer her okumada güncellenir,
+     * sayaç sıfırlanmaları sıkıştırmadan önce algılanır; okumayı giriş olarak kullanan sanal seriler
+     * her okumada hesaplanır
+     * @param telemetryData Gelen telemetri verisi
+     * @return Yazılan telemetri verileri (okuma bekletildiyse boş)
+     */
+    public List<TelemetryData> ingestTelemetryData(TelemetryData telemetryData) {
+        counterResetDetector.inspect(telemetryData);
+        List<TelemetryData> archived = telemetryCompressor.offer(telemetryData);
+        if (!archived.isEmpty()) {
+            saveTelemetryDataBatch(archived);
+        }
+        latestValueStore.update(telemetryData);
+        saveDerived(virtualSeriesService.derive(telemetryData));
+        return archived;
+    }
+    
+    /**
+     * Kalıcı tanımlı sanal serilerin canlı okumadan hesaplanan değerlerini kaydetme
+     * Sanal seriler sıkıştırıcıdan geçmez; girişleri zaten sıkıştırılmış olabilir
+     * @param derived Sanal okumalar
+     */
+    private void saveDerived(List<TelemetryData> derived) {
+        if (!derived.isEmpty()) {
+            saveTelemetryDataBatch(derived);
+        }
+    }
+    
+    /**
+     * Sıkıştırıcıda en fazla bekleme süresini aşmış okumaları yazma
+     */
+    @Scheduled(fixedDelayString = "${telemetry.compression.flush-interval-ms:60000}")
+    public void flushIdleCompressedSeries() {
+        List<TelemetryData> drained = telemetryCompressor.drainIdle(System.currentTimeMillis());
+        if (!drained.isEmpty()) {
+            WorkloadContext.run(Workload.INGESTION, () -> saveTelemetryDataBatch(drained));
+            logger.debug("Sıkıştırıcıda bekleyen {} okuma yazıldı", drained.size());
+        }
+    }
+    
+    /**
+     * Kapanışta sıkıştırıcıda bekleyen tüm okumaları yazma
+     */
+    @PreDestroy
+    public void flushCompressedSeries() {
+        List<TelemetryData> drained = telemetryCompressor.drainAll();
+        if (!drained.isEmpty()) {
+            try {
+                WorkloadContext.run(Workload.INGESTION, () -> saveTelemetryDataBatch(drained));
+                logger.info("Kapanışta sıkıştırıcıda bekleyen {} okuma yazıldı", drained.size());
+            } catch (RuntimeException e) {
+                logger.warn("Kapanışta bekleyen okumalar yazılamadı: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Geçmiş telemetri verilerini yüksek hacimli yükleme (içe aktarma)
+     * Satır tablosuna deponun toplu yükleme yolu ile yazılır, son değerler güncellenir
+     * @param telemetryData Telemetri verileri
+     * @return Yazılan kayıt sayısı
+     */
+    public long importTelemetryDataBatch(List<TelemetryData> telemetryData) {
+        List<TelemetryData> rows = new ArrayList<>(telemetryData.size());
+        List<TelemetryData> narrow = new ArrayList<>();
+        for (TelemetryData data : telemetryData) {
+            if (telemetrySeriesStore.accepts(data)) {
+                narrow.add(data);
+            } else if (!telemetryStateStore.accepts(data) || !telemetryStateStore.append(data)) {
+                rows.add(data);
+            }
+        }
+        telemetrySeriesStore.appendBatch(narrow);
+        long written = telemetryPayloadStore.bulkLoad(rows) + telemetryData.size() - rows.size();
+        telemetryData.forEach(latestValueStore::update);
+        telemetryAggregateCache.invalidate(telemetryData);
+        return written;
+    }
+    
+    /**
+     * Telemetri verilerini toplu kaydetme
+     * Dar tabloya gitmeyen okumalar telemetri deposuna tek toplu yazma ile eklenir
+     * @param telemetryData Telemetri verileri
+     * @return Kaydedilen telemetri verileri
+     */
+    public List<TelemetryData> saveTelemetryDataBatch(List<TelemetryData> telemetryData) {
+        List<TelemetryData> rows = new ArrayList<>(telemetryData.size());
+        for (TelemetryData data : telemetryData) {
+            if (telemetrySeriesStore.accepts(data)) {
+                telemetrySeriesStore.append(data);
+            } else if (!telemetryStateStore.accepts(data) || !telemetryStateStore.append(data)) {
+                rows.add(data);
+            }
+        }
+        telemetryPayloadStore.append(rows);
+        telemetryData.forEach(latestValueStore::update);
+        telemetryAggregateCache.invalidate(telemetryData);
+        logger.debug("{} adet telemetri verisi toplu kaydedildi ({} satır, {} dar tablo veya durum)",
+                telemetryData.size(), rows.size(), telemetryData.size() - rows.size());
+        return telemetryData;
+    }
 }
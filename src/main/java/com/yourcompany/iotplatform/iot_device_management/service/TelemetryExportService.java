@@ -0,0 +1,381 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Telemetri Dışa Aktarma Servisi
+ * Büyük zaman aralıklarını ileri yönlü JDBC cursor'ı ile satır satır okuyup
+ * NDJSON veya CSV olarak doğrudan çıkış akışına yazar; bellek kullanımı sonuç boyutundan bağımsızdır.
+ * Satır tablosu, dar sayısal tablo ve durum deposu tek sorguda birleştirilir; son ikisinde satır ID'si ve
+ * alınma zamanı tutulmadığı için bu sütunlar boş yazılır. deviceId sütunu cihazın metin anahtarıdır
+ * (devices.device_id, ör. "sensor-1"); içe aktarma da bu anahtarı beklediği için dosyalar geri yüklenebilir.
+ * Birincil veritabanı dışındaki depolar ve mühürlenmiş segmentler SQL ile okunamadığından reddedilir
+ */
+@Service
+public class TelemetryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryExportService.class);
+
+    private static final String[] COLUMNS = {
+            "id", "deviceId", "deviceName", "timestamp", "topic", "dataType", "unit",
+            "valueNumeric", "valueString", "valueBoolean", "quality", "receivedAt"
+    };
+
+    /**
+     * Epoch milisaniye olarak okunup UTC zaman damgası olarak yazılan sütunlar (1 tabanlı)
+     */
+    private static final int TIMESTAMP_COLUMN = 4;
+    private static final int RECEIVED_AT_COLUMN = 12;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @Value("${telemetry.export.fetch-size:5000}")
+    private int fetchSize;
+
+    /**
+     * Dışa aktarma formatları
+     */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    /**
+     * Aralığın eksiksiz dışa aktarılabildiğini doğrulama; akış başlamadan 4xx dönebilmek için ayrıca çağrılır
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @throws BusinessRuleException Satırlar birincil veritabanında değilse veya aralık mühürlenmiş segmentlere uzanıyorsa
+     */
+    public void checkExportable(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!telemetryStore.usesPrimaryDatabase()) {
+            throw new BusinessRuleException("Dışa aktarma yalnızca birincil veritabanındaki telemetri deposuyla kullanılabilir ("
+                    + telemetryStore.getName() + " deposu desteklenmiyor)");
+        }
+        if (segmentStore.hasSegmentsOverlapping(TelemetryTime.toEpochMillis(startTime), TelemetryTime.toEpochMillis(endTime))) {
+            throw new BusinessRuleException("Zaman aralığı mühürlenmiş segmentlere uzanıyor; aralığı daraltın");
+        }
+    }
+
+    /**
+     * Telemetri verilerini akış halinde dışa aktarma
+     * @param deviceId Cihaz ID'si (boşsa tüm cihazlar)
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param includePayload Ham veri yükü dahil edilsin mi
+     * @param format Çıkış formatı
+     * @param gzip Çıkış gzip ile sıkıştırılsın mı
+     * @param out Çıkış akışı
+     * @return Yazılan satır sayısı
+     * @throws BusinessRuleException Aralık eksiksiz dışa aktarılamıyorsa (bkz. checkExportable)
+     */
+    public long export(Long deviceId, String dataType, LocalDateTime startTime, LocalDateTime endTime,
+                       boolean includePayload, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        checkExportable(startTime, endTime);
+        long fromMs = TelemetryTime.toEpochMillis(startTime);
+        long toMs = TelemetryTime.toEpochMillis(endTime);
+        String type = dataType != null && !dataType.isBlank() ? dataType : null;
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, d.device_id, d.name, t.ts_epoch_ms AS ts, t.topic, t.data_type, t.unit, " +
+                "t.value_numeric, t.value_string, t.value_boolean, t.quality, t.received_epoch_ms");
+        if (includePayload) {
+            sql.append(", t.payload, p.codec, p.data");
+        }
+        sql.append(" FROM telemetry_data t JOIN devices d ON d.id = t.device_id");
+        if (includePayload) {
+            // Ayrı tabloda sıkıştırılmış saklanan yükler satır satır açılır
+            sql.append(" LEFT JOIN telemetry_payload p ON p.telemetry_id = t.id");
+        }
+        List<Object> params = new ArrayList<>();
+        filter(sql, params, "t.ts_epoch_ms", "t.device_id", "t.data_type", fromMs, toMs, deviceId, type);
+
+        // Dar tablodaki sayısal okumalar; topic cihaz anahtarından türetilir
+        sql.append(" UNION ALL SELECT NULL, d.device_id, d.name, n.ts_epoch_ms, 'iot/' || d.device_id || '/telemetry', " +
+                "s.data_type, s.unit, n.value_numeric, NULL, NULL, n.quality, NULL");
+        if (includePayload) {
+            sql.append(", NULL, NULL, NULL");
+        }
+        sql.append(" FROM telemetry_numeric n JOIN telemetry_series s ON s.id = n.series_id" +
+                " JOIN devices d ON d.id = s.device_id");
+        filter(sql, params, "n.ts_epoch_ms", "s.device_id", "s.data_type", fromMs, toMs, deviceId, type);
+
+        // Durum deposundaki her aralık, başladığı andaki okuma olarak yazılır; yükü okuma alanlarından türetilir
+        sql.append(" UNION ALL SELECT NULL, d.device_id, d.name, st.start_ms, 'iot/' || d.device_id || '/telemetry', " +
+                "s.data_type, s.unit, NULL, st.value_string, st.value_boolean, st.quality, NULL");
+        if (includePayload) {
+            sql.append(", NULL, NULL, NULL");
+        }
+        sql.append(" FROM telemetry_state st JOIN telemetry_series s ON s.id = st.series_id" +
+                " JOIN devices d ON d.id = s.device_id");
+        filter(sql, params, "st.start_ms", "s.device_id", "s.data_type", fromMs, toMs, deviceId, type);
+        sql.append(" ORDER BY ts");
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(target, includePayload)
+                : new NdjsonRowWriter(target, includePayload);
+
+        long started = System.nanoTime();
+        long[] rowCount = {0};
+
+        // PostgreSQL sürücüsü fetch size'ı yalnızca autocommit kapalıyken cursor olarak uygular;
+        // replikalar açıksa uzun okuma birincil veritabanı yerine replikadan yapılır
+        DefaultTransactionAttribute readOnly = new DefaultTransactionAttribute();
+        readOnly.setReadOnly(true);
+        readOnly.setLabels(List.of(ReplicaRouting.REPLICA));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager, readOnly);
+        try {
+            WorkloadContext.run(Workload.BATCH, () -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            })));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        target.flush();
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Telemetri dışa aktarımı tamamlandı - Format: {}, Satır: {}, Süre: {} ms, Hız: {} satır/sn",
+                format, rowCount[0], elapsedMillis, rowCount[0] * 1000 / elapsedMillis);
+        return rowCount[0];
+    }
+
+    private static void filter(StringBuilder sql, List<Object> params, String timeColumn, String deviceColumn,
+                               String dataTypeColumn, long fromMs, long toMs, Long deviceId, String dataType) {
+        sql.append(" WHERE ").append(timeColumn).append(" BETWEEN ? AND ?");
+        params.add(fromMs);
+        params.add(toMs);
+        if (deviceId != null) {
+            sql.append(" AND ").append(deviceColumn).append(" = ?");
+            params.add(deviceId);
+        }
+        if (dataType != null) {
+            sql.append(" AND ").append(dataTypeColumn).append(" = ?");
+            params.add(dataType);
+        }
+    }
+
+    /**
+     * Satır yazıcı arayüzü
+     */
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    /**
+     * Satırdaki veya ayrı tablodaki ham yük; satır tablosu dışındaki okumalar için okuma alanlarından türetilir
+     * (satır tablosunda yükü hiç saklanmamışsa boş)
+     */
+    private static String payloadOf(ResultSet rs) throws SQLException {
+        String payload = rs.getString(COLUMNS.length + 1);
+        if (payload != null) {
+            return payload;
+        }
+        byte[] data = rs.getBytes(COLUMNS.length + 3);
+        if (data != null) {
+            return TelemetryPayloadStore.decode(rs.getShort(COLUMNS.length + 2), data);
+        }
+        if (rs.getObject(1) != null) {
+            return null;
+        }
+        return TelemetrySeriesStore.derivePayload(new TelemetryDataDto(null, null, null, rs.getLong(4), rs.getString(5),
+                rs.getString(6), rs.getString(7), rs.getObject(8, Double.class), rs.getString(9),
+                rs.getObject(10, Boolean.class), rs.getObject(11, Integer.class), null));
+    }
+
+    /**
+     * NDJSON satır yazıcı - her satır için ara nesne oluşturmadan doğrudan JSON üretir
+     */
+    private static class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final boolean includePayload;
+
+        NdjsonRowWriter(OutputStream out, boolean includePayload) throws IOException {
+            this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+            this.includePayload = includePayload;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            long id = rs.getLong(1);
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[0]);
+            } else {
+                generator.writeNumberField(COLUMNS[0], id);
+            }
+            generator.writeStringField(COLUMNS[1], rs.getString(2));
+            generator.writeStringField(COLUMNS[2], rs.getString(3));
+            writeTimestamp(COLUMNS[3], rs, 4);
+            generator.writeStringField(COLUMNS[4], rs.getString(5));
+            generator.writeStringField(COLUMNS[5], rs.getString(6));
+            generator.writeStringField(COLUMNS[6], rs.getString(7));
+            double numeric = rs.getDouble(8);
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[7]);
+            } else {
+                generator.writeNumberField(COLUMNS[7], numeric);
+            }
+            generator.writeStringField(COLUMNS[8], rs.getString(9));
+            boolean bool = rs.getBoolean(10);
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[9]);
+            } else {
+                generator.writeBooleanField(COLUMNS[9], bool);
+            }
+            int quality = rs.getInt(11);
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[10]);
+            } else {
+                generator.writeNumberField(COLUMNS[10], quality);
+            }
+            writeTimestamp(COLUMNS[11], rs, 12);
+            if (includePayload) {
+                generator.writeStringField("payload", payloadOf(rs));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeTimestamp(String field, ResultSet rs, int column) throws SQLException, IOException {
+            long epochMillis = rs.getLong(column);
+            if (rs.wasNull()) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, TelemetryTime.toLocalDateTime(epochMillis).toString());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV satır yazıcı (RFC 4180 kaçış kuralları)
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final boolean includePayload;
+
+        CsvRowWriter(OutputStream out, boolean includePayload) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.includePayload = includePayload;
+            writer.write(String.join(",", COLUMNS));
+            if (includePayload) {
+                writer.write(",payload");
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            int columnCount = includePayload ? COLUMNS.length + 1 : COLUMNS.length;
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = i > COLUMNS.length ? payloadOf(rs) : rs.getObject(i);
+                if (value != null && (i == TIMESTAMP_COLUMN || i == RECEIVED_AT_COLUMN)) {
+                    writer.write(TelemetryTime.toLocalDateTime(((Number) value).longValue()).toString());
+                } else if (value != null) {
+                    writeEscaped(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,560 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryImportResult;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Telemetri İçe Aktarma Servisi
+ * Cihazlarda yerel olarak biriken geçmiş verileri NDJSON veya CSV (isteğe bağlı gzip) olarak
+ * akış halinde okur ve toplu yükleme yolu ile yazar; bellek kullanımı dosya boyutundan bağımsızdır.
+ * Alan adları dışa aktarma formatı ile aynıdır, böylece dışa aktarılan dosyalar doğrudan geri yüklenebilir
+ */
+@Service
+public class TelemetryImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryImportService.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * İş sonucunda saklanacak en fazla hata mesajı
+     */
+    private static final int MAX_ERRORS = 20;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Value("${telemetry.import.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${telemetry.import.progress-interval:100000}")
+    private long progressInterval;
+
+    @Value("${telemetry.import.retained-jobs:20}")
+    private int retainedJobs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * İçe aktarma formatları
+     */
+    public enum ImportFormat {
+        NDJSON, CSV
+    }
+
+    /**
+     * Telemetri verilerini akış halinde içe aktarma
+     * Gzip sıkıştırılmış girdi ilk baytlardan otomatik tanınır
+     * @param in Girdi akışı
+     * @param format Girdi formatı
+     * @param defaultDeviceKey Satırda cihaz yoksa kullanılacak cihaz ID'si (opsiyonel)
+     * @return İçe aktarma sonucu
+     */
+    public TelemetryImportResult importTelemetry(InputStream in, ImportFormat format, String defaultDeviceKey) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format.name().toLowerCase());
+        jobs.put(job.id, job);
+        logger.info("Telemetri içe aktarımı başladı - İş: {}, Format: {}", job.id, job.format);
+
+        WorkloadContext.run(Workload.BATCH, () -> readRows(job, in, format, defaultDeviceKey));
+
+        TelemetryImportResult result = job.toResult();
+        logger.info("Telemetri içe aktarımı bitti - İş: {}, Durum: {}, Okunan: {}, Yazılan: {}, Reddedilen: {}, Hız: {} satır/sn",
+                job.id, result.getStatus(), result.getRowsRead(), result.getRowsImported(),
+                result.getRowsRejected(), result.getRowsPerSecond());
+        evictFinishedJobs();
+        return result;
+    }
+
+    /**
+     * Satırları okuyup parti parti yazma; hatalı satırlar reddedilir, okuma hatası işi durdurur
+     */
+    private void readRows(ImportJob job, InputStream in, ImportFormat format, String defaultDeviceKey) {
+        Map<String, Optional<Device>> devices = new HashMap<>();
+        List<TelemetryData> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(decompress(in), StandardCharsets.UTF_8), 64 * 1024)) {
+            RowReader rows = format == ImportFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            while (true) {
+                TelemetryData data;
+                try {
+                    ImportRow row = rows.next();
+                    if (row == null) {
+                        break;
+                    }
+                    job.rowsRead.incrementAndGet();
+                    data = toTelemetryData(row, defaultDeviceKey, devices);
+                } catch (IllegalArgumentException e) {
+                    job.reject(rows.recordNumber(), e.getMessage());
+                    continue;
+                }
+
+                batch.add(data);
+                if (batch.size() >= batchSize) {
+                    flush(job, batch);
+                }
+            }
+            flush(job, batch);
+            job.finish(TelemetryImportResult.Status.COMPLETED);
+        } catch (Exception e) {
+            logger.error("Telemetri içe aktarma hatası - İş: {}: {}", job.id, e.getMessage(), e);
+            job.addError("İçe aktarma durdu: " + e.getMessage());
+            job.finish(TelemetryImportResult.Status.FAILED);
+        }
+    }
+
+    /**
+     * Devam eden ve son tamamlanan içe aktarma işleri (yeniden eskiye)
+     * @return İçe aktarma sonuçları
+     */
+    public List<TelemetryImportResult> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(ImportJob::toResult)
+                .toList();
+    }
+
+    /**
+     * İçe aktarma işinin ilerleme bilgisi
+     * @param jobId İş ID'si
+     * @return İçe aktarma sonucu (varsa)
+     */
+    public Optional<TelemetryImportResult> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toResult);
+    }
+
+    private void flush(ImportJob job, List<TelemetryData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long before = job.rowsImported.get();
+        long after = job.rowsImported.addAndGet(telemetryDataService.importTelemetryDataBatch(batch));
+        batch.clear();
+        if (after / progressInterval > before / progressInterval) {
+            logger.info("Telemetri içe aktarımı sürüyor - İş: {}, Yazılan: {}, Hız: {} satır/sn",
+                    job.id, after, job.rowsPerSecond());
+        }
+    }
+
+    private TelemetryData toTelemetryData(ImportRow row, String defaultDeviceKey, Map<String, Optional<Device>> devices) {
+        String deviceKey = row.deviceKey != null ? row.deviceKey : defaultDeviceKey;
+        if (deviceKey == null) {
+            throw new IllegalArgumentException("cihaz belirtilmemiş");
+        }
+        Device device = devices.computeIfAbsent(deviceKey, this::resolveDevice)
+                .orElseThrow(() -> new IllegalArgumentException("cihaz bulunamadı: " + deviceKey));
+        if (row.timestamp == null) {
+            throw new IllegalArgumentException("timestamp eksik");
+        }
+
+        TelemetryData data = new TelemetryData();
+        data.setDevice(device);
+        data.setTimestampMillis(TelemetryTime.parseMillis(row.timestamp));
+        data.setTopic(row.topic != null ? row.topic : TelemetrySeriesStore.topicOf(deviceKey));
+        data.setDataType(row.dataType);
+        data.setUnit(row.unit);
+        data.setValueNumeric(row.valueNumeric);
+        data.setValueString(row.valueString);
+        data.setValueBoolean(row.valueBoolean);
+        data.setQuality(row.quality);
+        data.setPayload(row.payload != null ? row.payload : derivePayload(data));
+        return data;
+    }
+
+    /**
+     * Cihaz ID'sini kayıt defterinden çözümleme; aynı iş içinde sonuç (bulunamama dahil) önbelleklenir
+     */
+    private Optional<Device> resolveDevice(String deviceKey) {
+        return deviceRegistry.getByDeviceId(deviceKey).map(state -> {
+            Device device = new Device();
+            device.setId(state.getId());
+            device.setDeviceId(state.getDeviceId());
+            device.setName(state.getName());
+            device.setDeviceType(state.getDeviceType());
+            device.setStatus(state.getStatus());
+            return device;
+        });
+    }
+
+    /**
+     * Ham veri yükü olmayan satırlar için MQTT mesaj formatında yük oluşturma
+     */
+    private static String derivePayload(TelemetryData data) {
+        ObjectNode node = objectMapper.createObjectNode();
+        if (data.getDataType() != null) {
+            node.put("dataType", data.getDataType());
+        }
+        if (data.getValueNumeric() != null) {
+            node.put("value", data.getValueNumeric());
+        } else if (data.getValueString() != null) {
+            node.put("value", data.getValueString());
+        } else if (data.getValueBoolean() != null) {
+            node.put("value", data.getValueBoolean());
+        }
+        if (data.getUnit() != null) {
+            node.put("unit", data.getUnit());
+        }
+        if (data.getQuality() != null) {
+            node.put("quality", data.getQuality());
+        }
+        node.put("timestamp", data.getTimestamp().toString());
+        return node.toString();
+    }
+
+    private static InputStream decompress(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        byte[] magic = new byte[2];
+        int read = pushback.readNBytes(magic, 0, 2);
+        pushback.unread(magic, 0, read);
+        boolean gzip = read == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b;
+        return gzip ? new GZIPInputStream(pushback, 64 * 1024) : pushback;
+    }
+
+    private void evictFinishedJobs() {
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(job -> job.status != TelemetryImportResult.Status.RUNNING)
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .toList();
+        for (int i = retainedJobs; i < finished.size(); i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    /**
+     * İçe aktarma işi ilerleme sayaçları
+     */
+    private static class ImportJob {
+        private final String id;
+        private final String format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile TelemetryImportResult.Status status = TelemetryImportResult.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        ImportJob(String id, String format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void reject(long recordNumber, String message) {
+            rowsRejected.incrementAndGet();
+            addError("Kayıt " + recordNumber + ": " + message);
+        }
+
+        void addError(String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        void finish(TelemetryImportResult.Status status) {
+            this.finishedNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        long rowsPerSecond() {
+            long end = status == TelemetryImportResult.Status.RUNNING ? System.nanoTime() : finishedNanos;
+            long elapsedMillis = Math.max(1, (end - startedNanos) / 1_000_000);
+            return rowsImported.get() * 1000 / elapsedMillis;
+        }
+
+        TelemetryImportResult toResult() {
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            return new TelemetryImportResult(id, format, status, rowsRead.get(), rowsImported.get(),
+                    rowsRejected.get(), rowsPerSecond(), startedAt, finishedAt,
+                    errorsCopy.isEmpty() ? null : errorsCopy);
+        }
+    }
+
+    /**
+     * Girdiden okunan ham satır alanları
+     */
+    private static class ImportRow {
+        private String deviceKey;
+        private String timestamp;
+        private String topic;
+        private String dataType;
+        private String unit;
+        private Double valueNumeric;
+        private String valueString;
+        private Boolean valueBoolean;
+        private Integer quality;
+        private String payload;
+
+        /**
+         * Türü belirtilmemiş değer: sayı, true/false veya metin
+         */
+        void setValue(String value) {
+            if (value == null) {
+                return;
+            }
+            if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+                valueBoolean = Boolean.parseBoolean(value);
+                return;
+            }
+            try {
+                valueNumeric = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                valueString = value;
+            }
+        }
+    }
+
+    /**
+     * Satır okuyucu arayüzü
+     */
+    private interface RowReader {
+        /**
+         * Sonraki satır; girdi bittiyse null. Bozuk satır IllegalArgumentException fırlatır ve atlanır
+         */
+        ImportRow next() throws IOException;
+
+        long recordNumber();
+    }
+
+    /**
+     * NDJSON satır okuyucu - her satır akış ayrıştırıcısı ile ara ağaç oluşturmadan okunur;
+     * payload alanı yoksa satırın kendisi ham veri yükü olarak saklanır
+     */
+    private static class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long recordNumber;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                recordNumber++;
+            } while (line.isBlank());
+
+            ImportRow row = new ImportRow();
+            try (JsonParser parser = jsonFactory.createParser(line)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("JSON nesnesi bekleniyor");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    switch (field) {
+                        case "deviceId" -> row.deviceKey = parser.getValueAsString();
+                        case "timestamp" -> row.timestamp = parser.getValueAsString();
+                        case "topic" -> row.topic = parser.getValueAsString();
+                        case "dataType" -> row.dataType = parser.getValueAsString();
+                        case "unit" -> row.unit = parser.getValueAsString();
+                        case "value" -> {
+                            if (token.isNumeric()) {
+                                row.valueNumeric = parser.getDoubleValue();
+                            } else if (token.isBoolean()) {
+                                row.valueBoolean = parser.getBooleanValue();
+                            } else if (token == JsonToken.VALUE_STRING) {
+                                row.valueString = parser.getText();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        case "valueNumeric" -> row.valueNumeric = parser.getValueAsDouble();
+                        case "valueString" -> row.valueString = parser.getValueAsString();
+                        case "valueBoolean" -> row.valueBoolean = parser.getValueAsBoolean();
+                        case "quality" -> row.quality = parser.getValueAsInt();
+                        case "payload" -> row.payload = parser.getValueAsString();
+                        default -> parser.skipChildren();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("geçersiz JSON: " + e.getOriginalMessage());
+            }
+            if (row.payload == null) {
+                row.payload = line;
+            }
+            return row;
+        }
+
+        @Override
+        public long recordNumber() {
+            return recordNumber;
+        }
+    }
+
+    /**
+     * CSV satır okuyucu (RFC 4180) - ilk satır başlıktır; tırnaklı alanlarda virgül ve satır sonu olabilir.
+     * Tırnaksız boş alan null kabul edilir
+     */
+    private static class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final StringBuilder field = new StringBuilder();
+        private long recordNumber;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i) != null) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                recordNumber++;
+            } while (record.size() == 1 && record.get(0) == null);
+
+            ImportRow row = new ImportRow();
+            row.deviceKey = get(record, "deviceId");
+            row.timestamp = get(record, "timestamp");
+            row.topic = get(record, "topic");
+            row.dataType = get(record, "dataType");
+            row.unit = get(record, "unit");
+            row.payload = get(record, "payload");
+            row.setValue(get(record, "value"));
+            try {
+                String numeric = get(record, "valueNumeric");
+                if (numeric != null) {
+                    row.valueNumeric = Double.parseDouble(numeric);
+                }
+                String quality = get(record, "quality");
+                if (quality != null) {
+                    row.quality = Integer.parseInt(quality);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("geçersiz sayı: " + e.getMessage());
+            }
+            String string = get(record, "valueString");
+            if (string != null) {
+                row.valueString = string;
+            }
+            String bool = get(record, "valueBoolean");
+            if (bool != null) {
+                row.valueBoolean = Boolean.parseBoolean(bool);
+            }
+            return row;
+        }
+
+        @Override
+        public long recordNumber() {
+            return recordNumber;
+        }
+
+        private String get(List<String> record, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= record.size() ? null : record.get(index);
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean inQuotes = false;
+            boolean quoted = false;
+            while (true) {
+                int c = reader.read();
+                if (c == -1) {
+                    if (fields.isEmpty() && field.length() == 0 && !quoted) {
+                        return null;
+                    }
+                    fields.add(value(quoted));
+                    return fields;
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(value(quoted));
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n') {
+                    fields.add(value(quoted));
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private String value(boolean quoted) {
+            return field.length() == 0 && !quoted ? null : field.toString();
+        }
+    }
+}
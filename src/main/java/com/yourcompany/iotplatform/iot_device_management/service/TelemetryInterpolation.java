@@ -0,0 +1,72 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetrySampleDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Telemetri Enterpolasyonu
+ * Sıkıştırılarak yazılmış seyrek okumalardan düzenli zaman ızgarası üretir; ölü bant ile yazılan
+ * seriler önceki değerle (basamak), döner kapı ile yazılanlar doğrusal olarak geri kurulur
+ */
+public final class TelemetryInterpolation {
+
+    /**
+     * Enterpolasyon yöntemi
+     */
+    public enum Method {
+        /**
+         * Komşu iki okuma arasında doğrusal
+         */
+        LINEAR,
+
+        /**
+         * Önceki okumanın değeri (basamak)
+         */
+        PREVIOUS
+    }
+
+    private TelemetryInterpolation() {
+    }
+
+    /**
+     * Okumaları düzenli ızgaraya yeniden örnekleme
+     * Aralarında maxGap'ten uzun boşluk olan okumalar birleştirilmez; o ızgara noktaları null döner.
+     * Son okumadan sonraki noktalar maxGap boyunca son değeri taşır (henüz yazılmamış bekleyen okuma)
+     * @param times Okuma zamanları (epoch ms, artan sıralı)
+     * @param values Okuma değerleri
+     * @param start Izgara başlangıcı (epoch ms)
+     * @param end Izgara bitişi (epoch ms, dahil)
+     * @param step Izgara adımı (ms)
+     * @param maxGap Birleştirilebilecek en uzun boşluk (ms)
+     * @param method Enterpolasyon yöntemi
+     * @return Izgara noktaları
+     */
+    public static List<TelemetrySampleDto> resample(long[] times, double[] values, long start, long end, long step,
+                                                    long maxGap, Method method) {
+        List<TelemetrySampleDto> samples = new ArrayList<>((int) Math.min((end - start) / step + 1, 1 << 16));
+        int next = 0;
+        for (long t = start; t <= end; t += step) {
+            while (next < times.length && times[next] <= t) {
+                next++;
+            }
+            int prev = next - 1;
+            Double value = null;
+            if (prev >= 0 && times[prev] == t) {
+                value = values[prev];
+            } else if (prev >= 0 && t - times[prev] <= maxGap) {
+                boolean bridged = next < times.length && times[next] - times[prev] <= maxGap;
+                if (method == Method.LINEAR && bridged) {
+                    double fraction = (double) (t - times[prev]) / (times[next] - times[prev]);
+                    value = values[prev] + (values[next] - values[prev]) * fraction;
+                } else if (method == Method.PREVIOUS || next == times.length) {
+                    value = values[prev];
+                }
+            }
+            samples.add(new TelemetrySampleDto(TelemetryTime.toLocalDateTime(t), value));
+        }
+        return samples;
+    }
+}
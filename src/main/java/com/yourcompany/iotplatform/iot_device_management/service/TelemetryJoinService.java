@@ -0,0 +1,325 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Çoklu Seri Zaman Hizalama Servisi
+ * Birden fazla (cihaz, veri tipi) serisini ortak zamana hizalar: düzenli ızgarada (önceki değer veya
+ * doğrusal enterpolasyon) ya da ilk serinin okuma zamanlarında diğer serilerin en yakın okumasıyla.
+ * Her seri artan zamanlı sayfalı bir okuyucudan gelir ve okuyucular birlikte ilerletilir (merge-join);
+ * bellekte seri başına tek sayfa tutulduğundan aralığın uzunluğu bellek kullanımını etkilemez
+ */
+@Service
+public class TelemetryJoinService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryJoinService.class);
+
+    static final int MAX_SERIES = 16;
+    static final long MAX_GRID_POINTS = 1_000_000;
+    static final int PAGE_SIZE = 5_000;
+
+    private static final Comparator<TelemetryDataDto> NEWEST_FIRST =
+            Comparator.comparingLong(TelemetryDataDto::getTimestampMillis).reversed();
+
+    /**
+     * Hizalama yöntemi
+     */
+    public enum Alignment {
+        /**
+         * Başlangıçtan itibaren adım aralıklı düzenli ızgara
+         */
+        GRID,
+
+        /**
+         * İlk serinin okuma zamanları; diğer serilerden tolerans içindeki en yakın okuma
+         */
+        NEAREST
+    }
+
+    /**
+     * Hizalanmış satır alıcısı; değer dizisi satırlar arasında yeniden kullanılır
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(long timeMillis, Double[] values) throws IOException;
+    }
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private TelemetrySeriesStore telemetrySeriesStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    /**
+     * Hizalama sorgusunu doğrulama; yanıt akışı başlamadan önce hatalar burada döner
+     * @param series Seriler ("cihazId:veriTipi", en fazla 16)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param alignment Hizalama yöntemi
+     * @param step Izgara adımı (GRID için)
+     * @param tolerance Izgarada birleştirilecek en uzun boşluk / en yakın okuma için en büyük uzaklık
+     * @param method Izgara değer yöntemi (GRID için)
+     * @return Doğrulanmış sorgu
+     */
+    public JoinQuery prepare(List<String> series, LocalDateTime startTime, LocalDateTime endTime, Alignment alignment,
+                             Duration step, Duration tolerance, TelemetryInterpolation.Method method) {
+        if (series == null || series.isEmpty() || series.size() > MAX_SERIES) {
+            throw new BusinessRuleException("1 ile " + MAX_SERIES + " arasında seri belirtilmeli");
+        }
+        List<SeriesRef> refs = new ArrayList<>(series.size());
+        for (String value : series) {
+            SeriesRef ref = SeriesRef.parse(value);
+            if (!deviceRegistry.exists(ref.getDeviceId())) {
+                throw new BusinessRuleException("Cihaz bulunamadı: " + ref.getDeviceId());
+            }
+            refs.add(ref);
+        }
+        long start = TelemetryTime.toEpochMillis(startTime);
+        long end = TelemetryTime.toEpochMillis(endTime);
+        if (end < start) {
+            throw new BusinessRuleException("Geçersiz zaman aralığı");
+        }
+        if (tolerance == null || tolerance.isNegative()) {
+            throw new BusinessRuleException("Geçersiz tolerans");
+        }
+        long stepMillis = 0;
+        if (alignment == Alignment.GRID) {
+            stepMillis = step == null ? 0 : step.toMillis();
+            if (stepMillis <= 0) {
+                throw new BusinessRuleException("Izgara adımı pozitif olmalı");
+            }
+            if ((end - start) / stepMillis + 1 > MAX_GRID_POINTS) {
+                throw new BusinessRuleException("Izgara en fazla " + MAX_GRID_POINTS + " nokta üretebilir");
+            }
+        }
+        return new JoinQuery(refs, start, end, alignment, stepMillis, tolerance.toMillis(),
+                method != null ? method : TelemetryInterpolation.Method.PREVIOUS);
+    }
+
+    /**
+     * Hizalanmış satırları NDJSON olarak yazma ({"timestamp": ..., "values": [...]}, değerler seri sırasıyla)
+     * @param query Doğrulanmış sorgu
+     * @param out Çıkış akışı
+     * @return Yazılan satır sayısı
+     */
+    public long writeNdjson(JoinQuery query, OutputStream out) throws IOException {
+        JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        long started = System.nanoTime();
+        long rows = join(query, (time, values) -> {
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", TelemetryTime.toLocalDateTime(time).toString());
+            generator.writeArrayFieldStart("values");
+            for (Double value : values) {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(value);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        logger.info("Seri hizalama tamamlandı: {} seri, {} satır, {} ms", query.series.size(), rows,
+                (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Hizalanmış satırları üretme
+     * @param query Doğrulanmış sorgu
+     * @param sink Satır alıcısı
+     * @return Üretilen satır sayısı
+     */
+    public long join(JoinQuery query, RowSink sink) throws IOException {
+        return query.alignment == Alignment.GRID ? joinOnGrid(query, sink) : joinOnNearest(query, sink);
+    }
+
+    private long joinOnGrid(JoinQuery query, RowSink sink) throws IOException {
+        int n = query.series.size();
+        List<SeriesCursor> cursors = new ArrayList<>(n);
+        for (SeriesRef ref : query.series) {
+            cursors.add(cursor(ref, query.start - query.tolerance, query.end + query.tolerance));
+        }
+        long[] prevTimes = new long[n];
+        double[] prevValues = new double[n];
+        boolean[] hasPrev = new boolean[n];
+        Double[] row = new Double[n];
+        long rows = 0;
+
+        for (long t = query.start; t <= query.end; t += query.step) {
+            for (int i = 0; i < n; i++) {
+                SeriesCursor cursor = cursors.get(i);
+                while (cursor.hasNext() && cursor.time() <= t) {
+                    prevTimes[i] = cursor.time();
+                    prevValues[i] = cursor.value();
+                    hasPrev[i] = true;
+                    cursor.advance();
+                }
+                // TelemetryInterpolation.resample ile aynı kurallar
+                row[i] = null;
+                if (hasPrev[i] && prevTimes[i] == t) {
+                    row[i] = prevValues[i];
+                } else if (hasPrev[i] && t - prevTimes[i] <= query.tolerance) {
+                    boolean more = cursor.hasNext();
+                    boolean bridged = more && cursor.time() - prevTimes[i] <= query.tolerance;
+                    if (query.method == TelemetryInterpolation.Method.LINEAR && bridged) {
+                        double fraction = (double) (t - prevTimes[i]) / (cursor.time() - prevTimes[i]);
+                        row[i] = prevValues[i] + (cursor.value() - prevValues[i]) * fraction;
+                    } else if (query.method == TelemetryInterpolation.Method.PREVIOUS || !more) {
+                        row[i] = prevValues[i];
+                    }
+                }
+            }
+            sink.accept(t, row);
+            rows++;
+        }
+        return rows;
+    }
+
+    private long joinOnNearest(JoinQuery query, RowSink sink) throws IOException {
+        int n = query.series.size();
+        SeriesCursor driver = cursor(query.series.get(0), query.start, query.end);
+        List<SeriesCursor> cursors = new ArrayList<>(n);
+        cursors.add(driver);
+        for (int i = 1; i < n; i++) {
+            cursors.add(cursor(query.series.get(i), query.start - query.tolerance, query.end + query.tolerance));
+        }
+        long[] prevTimes = new long[n];
+        double[] prevValues = new double[n];
+        boolean[] hasPrev = new boolean[n];
+        Double[] row = new Double[n];
+        long rows = 0;
+
+        while (driver.hasNext()) {
+            long t = driver.time();
+            row[0] = driver.value();
+            driver.advance();
+            for (int i = 1; i < n; i++) {
+                SeriesCursor cursor = cursors.get(i);
+                while (cursor.hasNext() && cursor.time() <= t) {
+                    prevTimes[i] = cursor.time();
+                    prevValues[i] = cursor.value();
+                    hasPrev[i] = true;
+                    cursor.advance();
+                }
+                long before = hasPrev[i] ? t - prevTimes[i] : Long.MAX_VALUE;
+                long after = cursor.hasNext() ? cursor.time() - t : Long.MAX_VALUE;
+                // Eşit uzaklıkta önceki okuma tercih edilir
+                if (before <= after && before <= query.tolerance) {
+                    row[i] = prevValues[i];
+                } else if (after < before && after <= query.tolerance) {
+                    row[i] = cursor.value();
+                } else {
+                    row[i] = null;
+                }
+            }
+            sink.accept(t, row);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Satır deposu ile dar seri deposunu birlikte okuyan sayfalı okuyucu
+     */
+    private SeriesCursor cursor(SeriesRef ref, long from, long to) {
+        return new SeriesCursor((fromMs, toMs, limit) -> {
+            List<TelemetryDataDto> rows = telemetryStore.scanRange(ref.getDeviceId(), ref.getDataType(), fromMs, toMs, limit);
+            List<TelemetryDataDto> narrow = telemetrySeriesStore.scanRange(ref.getDeviceId(), ref.getDataType(), fromMs, toMs, limit);
+            if (narrow.isEmpty()) {
+                return rows;
+            }
+            if (rows.isEmpty()) {
+                return narrow;
+            }
+            List<TelemetryDataDto> merged = new ArrayList<>(rows.size() + narrow.size());
+            merged.addAll(rows);
+            merged.addAll(narrow);
+            merged.sort(NEWEST_FIRST);
+            return merged.size() > limit ? merged.subList(0, limit) : merged;
+        }, from, to, PAGE_SIZE);
+    }
+
+    /**
+     * Seri tanımı (cihaz ID'si ve veri tipi)
+     */
+    public static class SeriesRef {
+        private final Long deviceId;
+        private final String dataType;
+
+        public SeriesRef(Long deviceId, String dataType) {
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+        }
+
+        /**
+         * "cihazId:veriTipi" biçimini ayrıştırma (veri tipi ':' içerebilir)
+         * @param value Seri tanımı
+         * @return Seri
+         */
+        public static SeriesRef parse(String value) {
+            int separator = value == null ? -1 : value.indexOf(':');
+            if (separator <= 0 || separator == value.length() - 1) {
+                throw new BusinessRuleException("Geçersiz seri (cihazId:veriTipi beklenir): " + value);
+            }
+            try {
+                return new SeriesRef(Long.parseLong(value.substring(0, separator).trim()), value.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new BusinessRuleException("Geçersiz cihaz ID'si: " + value);
+            }
+        }
+
+        public Long getDeviceId() { return deviceId; }
+        public String getDataType() { return dataType; }
+    }
+
+    /**
+     * Doğrulanmış hizalama sorgusu (zamanlar epoch ms)
+     */
+    public static class JoinQuery {
+        private final List<SeriesRef> series;
+        private final long start;
+        private final long end;
+        private final Alignment alignment;
+        private final long step;
+        private final long tolerance;
+        private final TelemetryInterpolation.Method method;
+
+        JoinQuery(List<SeriesRef> series, long start, long end, Alignment alignment, long step, long tolerance,
+                  TelemetryInterpolation.Method method) {
+            this.series = series;
+            this.start = start;
+            this.end = end;
+            this.alignment = alignment;
+            this.step = step;
+            this.tolerance = tolerance;
+            this.method = method;
+        }
+
+        public List<SeriesRef> getSeries() { return series; }
+    }
+}
@@ -0,0 +1,350 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.PayloadProperties;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryPayload;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Telemetri Ham Veri Yükü Deposu
+ * Satır tablosuna yazılan okumaların ham yükünü konfigürasyona göre satırda bırakır, Deflate ile
+ * sıkıştırıp telemetry_payload tablosuna yazar veya (cihaz tipi için tutulmuyorsa) hiç saklamaz.
+ * Satır tablosuna yükü boşaltılmış kopya yazılır; çağıranın nesnesi yükünü korur ve ID'sini alır.
+ * Bellek içi ve parçalı arka uçlar yükü kendi satırlarında tuttuğundan ayrı tablo kullanılmaz
+ */
+@Service
+@EnableConfigurationProperties(PayloadProperties.class)
+public class TelemetryPayloadStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryPayloadStore.class);
+
+    /**
+     * Deflate ön sözlüğü: tek bir kısa JSON yükünde tekrar az olduğundan yaygın alan adları ve değer kalıpları
+     * sözlükten referans alınır. Sözlük değişirse eski yükler açılamaz; yeni sözlük yeni kodek ile eklenmeli
+     */
+    private static final byte[] DICTIONARY = ("\"firmware\":\"\",\"battery\":,\"rssi\":-,\"signal\":" +
+            "\"status\":\"OK\",\"quality\":192,\"unit\":\"\",\"timestamp\":\"20\",\"value\":0.\"," +
+            "\"deviceId\":\"sensor-\",\"dataType\":\"temperature\",\"humidity\",\"pressure\",\"value\":")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO telemetry_payload (telemetry_id, codec, raw_length, data) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private PayloadProperties properties;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private TelemetryAttributeStore telemetryAttributeStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong compressNanos = new AtomicLong();
+
+    /**
+     * Konfigürasyon kontrolü
+     */
+    @PostConstruct
+    public void validate() {
+        if (properties.getCompressionLevel() < Deflater.BEST_SPEED || properties.getCompressionLevel() > Deflater.BEST_COMPRESSION) {
+            throw new IllegalStateException("Deflate seviyesi 1-9 arasında olmalı: " + properties.getCompressionLevel());
+        }
+        logger.info("Ham veri yükü saklama: {}, saklanmayan cihaz tipleri: {}", properties.getStorage(),
+                properties.getDropDeviceTypes());
+    }
+
+    /**
+     * Okumaları satır tablosuna yazma; ham yükler konfigürasyona göre ayrılır, öznitelikler
+     * (etkinse) yükün saklanma biçiminden bağımsız olarak yazılır.
+     * Yazılan nesnelere ID ve (boşsa) alınma zamanı atanır
+     * @param batch Telemetri verileri
+     */
+    public void append(List<TelemetryData> batch) {
+        if (!separates()) {
+            telemetryStore.appendBatch(batch);
+            telemetryAttributeStore.write(batch);
+            return;
+        }
+        List<TelemetryData> stripped = strip(batch);
+        telemetryStore.appendBatch(stripped);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setId(stripped.get(i).getId());
+            batch.get(i).setReceivedAt(stripped.get(i).getReceivedAt());
+        }
+        writeSeparated(batch);
+        telemetryAttributeStore.write(batch);
+    }
+
+    /**
+     * Geçmiş veri aktarımı için yüksek hacimli yazma
+     * Ayrı tabloya yük yazılacak okumalar satır ID'si gerektirdiğinden ID döndüren toplu yazma ile,
+     * diğerleri deponun toplu yükleme yolu ile yazılır. Öznitelikler etkinse tüm okumalar ID gerektirir
+     * @param batch Telemetri verileri
+     * @return Yazılan satır sayısı
+     */
+    public long bulkLoad(List<TelemetryData> batch) {
+        if (telemetryAttributeStore.isActive()) {
+            append(batch);
+            return batch.size();
+        }
+        if (!separates()) {
+            return telemetryStore.bulkLoad(batch);
+        }
+        List<TelemetryData> kept = new ArrayList<>();
+        List<TelemetryData> stripped = new ArrayList<>(batch.size());
+        for (TelemetryData data : batch) {
+            if (!keeps(data)) {
+                stripped.add(stripped(data));
+            } else if (usesSideTable()) {
+                kept.add(data);
+            } else {
+                stripped.add(data);
+            }
+        }
+        append(kept);
+        return kept.size() + telemetryStore.bulkLoad(stripped);
+    }
+
+    /**
+     * Ham veri yüklerini ID'lere göre yükleme; önce ayrı tablo, bulunamayanlar satır tablosundan
+     * Saklanmamış yükler sonuçta yer almaz (çağıran ayrıştırılmış sütunlardan türetir)
+     * @param ids Telemetri verisi ID'leri
+     * @return ID -> payload
+     */
+    public Map<Long, String> load(Collection<Long> ids) {
+        Map<Long, String> payloads = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return payloads;
+        }
+        if (usesSideTable()) {
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            jdbcTemplate.query("SELECT telemetry_id, codec, data FROM telemetry_payload " +
+                            "WHERE telemetry_id IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> payloads.put(rs.getLong(1), decode(rs.getShort(2), rs.getBytes(3))),
+                    ids.toArray());
+        }
+        if (payloads.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !payloads.containsKey(id)).toList();
+            telemetryStore.loadPayloads(missing).forEach((id, payload) -> {
+                if (payload != null) {
+                    payloads.put(id, payload);
+                }
+            });
+        }
+        return payloads;
+    }
+
+    /**
+     * Tek okumanın ham yükü (GraphQL'de payload alanı istendiğinde)
+     * @param telemetryData Telemetri verisi
+     * @return Saklanan yük (saklanmamışsa boş)
+     */
+    public Optional<String> load(TelemetryData telemetryData) {
+        if (telemetryData.getPayload() != null) {
+            return Optional.of(telemetryData.getPayload());
+        }
+        if (telemetryData.getId() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(load(List.of(telemetryData.getId())).get(telemetryData.getId()));
+    }
+
+    /**
+     * Okumanın ham yükü saklanacak mı (cihaz tipi drop-device-types içinde değilse)
+     * @param telemetryData Telemetri verisi
+     * @return Saklanacaksa true
+     */
+    public boolean keeps(TelemetryData telemetryData) {
+        if (properties.getDropDeviceTypes().isEmpty() || telemetryData.getDevice() == null) {
+            return true;
+        }
+        return deviceRegistry.get(telemetryData.getDevice().getId())
+                .map(device -> !properties.getDropDeviceTypes().contains(device.getDeviceType()))
+                .orElse(true);
+    }
+
+    /**
+     * Ham yükü sıkıştırma
+     * Sıkıştırma kazanç sağlamazsa veya yük kısaysa sıkıştırılmamış UTF-8 döner
+     * @param payload Ham yük
+     * @return Kodek ve veri
+     */
+    Encoded encode(String payload) {
+        byte[] raw = payload.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < properties.getMinCompressLength()) {
+            return new Encoded(TelemetryPayload.CODEC_NONE, raw.length, raw);
+        }
+        Deflater deflater = new Deflater(properties.getCompressionLevel());
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[Math.max(64, raw.length)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            byte[] compressed = out.toByteArray();
+            return compressed.length < raw.length
+                    ? new Encoded(TelemetryPayload.CODEC_DEFLATE, raw.length, compressed)
+                    : new Encoded(TelemetryPayload.CODEC_NONE, raw.length, raw);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String decode(short codec, byte[] data) {
+        if (codec == TelemetryPayload.CODEC_NONE) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (codec != TelemetryPayload.CODEC_DEFLATE) {
+            throw new IllegalStateException("Bilinmeyen yük kodeği: " + codec);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[Math.max(256, data.length * 4)];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsDictionary()) {
+                    inflater.setDictionary(DICTIONARY);
+                    continue;
+                }
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Eksik sıkıştırılmış yük");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bozuk sıkıştırılmış yük", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void writeSeparated(List<TelemetryData> batch) {
+        if (!usesSideTable()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (TelemetryData data : batch) {
+            if (data.getId() == null || data.getPayload() == null || !keeps(data)) {
+                continue;
+            }
+            long started = System.nanoTime();
+            Encoded encoded = encode(data.getPayload());
+            compressNanos.addAndGet(System.nanoTime() - started);
+            rawBytes.addAndGet(encoded.rawLength);
+            storedBytes.addAndGet(encoded.data.length);
+            rows.add(new Object[]{data.getId(), encoded.codec, encoded.rawLength, encoded.data});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Satır tablosuna yazılacak kopyalar; yük ayrı tabloya gidiyorsa veya saklanmıyorsa boş
+     */
+    private List<TelemetryData> strip(List<TelemetryData> batch) {
+        List<TelemetryData> stripped = new ArrayList<>(batch.size());
+        for (TelemetryData data : batch) {
+            stripped.add(usesSideTable() || !keeps(data) ? stripped(data) : data);
+        }
+        return stripped;
+    }
+
+    private static TelemetryData stripped(TelemetryData data) {
+        TelemetryData copy = new TelemetryData();
+        copy.setDevice(data.getDevice());
+        copy.setTimestamp(data.getTimestamp());
+        copy.setTopic(data.getTopic());
+        copy.setDataType(data.getDataType());
+        copy.setUnit(data.getUnit());
+        copy.setValueNumeric(data.getValueNumeric());
+        copy.setValueString(data.getValueString());
+        copy.setValueBoolean(data.getValueBoolean());
+        copy.setQuality(data.getQuality());
+        copy.setReceivedAt(data.getReceivedAt());
+        return copy;
+    }
+
+    /**
+     * Yükler satır tablosundan ayrılıyor mu (sıkıştırılmış saklama veya saklanmayan cihaz tipleri)
+     */
+    private boolean separates() {
+        return usesSideTable() || !properties.getDropDeviceTypes().isEmpty() && !isOffPrimary();
+    }
+
+    private boolean usesSideTable() {
+        return properties.getStorage() == PayloadProperties.Storage.COMPRESSED && !isOffPrimary();
+    }
+
+    private boolean isOffPrimary() {
+        return !telemetryStore.usesPrimaryDatabase();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.payload.raw.bytes", rawBytes, AtomicLong::get)
+                .description("Ayrı tabloya yazılan yüklerin sıkıştırılmamış boyutu").baseUnit("bytes").register(registry);
+        FunctionCounter.builder("telemetry.payload.stored.bytes", storedBytes, AtomicLong::get)
+                .description("Ayrı tabloya yazılan yüklerin saklanan boyutu").baseUnit("bytes").register(registry);
+        FunctionCounter.builder("telemetry.payload.compress.time", compressNanos, n -> n.get() / 1_000_000_000.0)
+                .description("Yük sıkıştırmada harcanan süre").baseUnit("seconds").register(registry);
+    }
+
+    /**
+     * Kodlanmış yük
+     */
+    static class Encoded {
+        private final short codec;
+        private final int rawLength;
+        private final byte[] data;
+
+        Encoded(short codec, int rawLength, byte[] data) {
+            this.codec = codec;
+            this.rawLength = rawLength;
+            this.data = data;
+        }
+
+        short getCodec() { return codec; }
+        int getRawLength() { return rawLength; }
+        byte[] getData() { return data; }
+    }
+}
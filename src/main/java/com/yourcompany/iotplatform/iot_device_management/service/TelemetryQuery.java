@@ -0,0 +1,878 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Telemetri Sorgu Dili
+ * Analiz sorguları için telemetri ve cihaz alanları üzerinde SQL benzeri dil; metin sunucuda ayrıştırılır,
+ * alan ve tipleri doğrulanır, sonuç SQL'e derlenmek üzere ağaç olarak tutulur:
+ *
+ * <pre>
+ * SELECT device.type, bucket(1h), avg(value), count(*)
+ * FROM raw | rollup(1h)
+ * WHERE dataType = 'temperature' AND time >= '2024-06-01T00:00:00Z' AND time < '2024-06-02T00:00:00Z'
+ *       AND value > 20 AND quality = 0 AND device.location IN ('Hall A', 'Hall B')
+ * GROUP BY device.type, bucket(1h)
+ * ORDER BY avg(value) DESC
+ * LIMIT 100
+ * </pre>
+ *
+ * Koşullar AND / OR / NOT ve parantezle birleşir; karşılaştırmalar =, !=, &lt;&gt;, &lt;, &lt;=, &gt;, &gt;=,
+ * IN (...), BETWEEN ... AND ..., LIKE (metin alanları) ve IS [NOT] NULL. Zaman değerleri ISO-8601 metin
+ * veya epoch milisaniyedir. Toplam yoksa sorgu ham okumaları listeler
+ */
+public final class TelemetryQuery {
+
+    static final int MAX_LENGTH = 4_000;
+    static final int MAX_IN_LIST = 1_000;
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * Sorgulanabilir alanlar
+     */
+    public enum Field {
+        TIME("time", Type.TIME, null),
+        VALUE("value", Type.NUMBER, null),
+        DATA_TYPE("dataType", Type.STRING, null),
+        QUALITY("quality", Type.INTEGER, null),
+        DEVICE_ID("device.id", Type.INTEGER, null),
+        DEVICE_KEY("device.deviceId", Type.STRING, "device_id"),
+        DEVICE_NAME("device.name", Type.STRING, "name"),
+        DEVICE_TYPE("device.type", Type.DEVICE_TYPE, "device_type"),
+        DEVICE_STATUS("device.status", Type.DEVICE_STATUS, "status"),
+        DEVICE_LOCATION("device.location", Type.STRING, "location_description"),
+        DEVICE_OWNER("device.owner", Type.INTEGER, "owner_id"),
+        DEVICE_FIRMWARE("device.firmware", Type.STRING, "firmware_version");
+
+        private final String label;
+        private final Type type;
+        private final String deviceColumn;
+
+        Field(String label, Type type, String deviceColumn) {
+            this.label = label;
+            this.type = type;
+            this.deviceColumn = deviceColumn;
+        }
+
+        public String getLabel() { return label; }
+        public Type getType() { return type; }
+
+        /**
+         * devices tablosundaki kolon (cihaz alanı değilse null)
+         */
+        public String getDeviceColumn() { return deviceColumn; }
+
+        /**
+         * Tekil okumaya ait alan; özet tablosunda yoktur ve indeksle daraltılamaz
+         */
+        public boolean isReadingLevel() {
+            return this == VALUE || this == QUALITY;
+        }
+
+        static Field of(String name) {
+            for (Field field : values()) {
+                if (field.label.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Alan tipi
+     */
+    public enum Type {
+        TIME, NUMBER, INTEGER, STRING, DEVICE_TYPE, DEVICE_STATUS
+    }
+
+    /**
+     * Toplam fonksiyonu
+     */
+    public enum Aggregate {
+        COUNT, SUM, MIN, MAX, AVG
+    }
+
+    /**
+     * Veri kaynağı
+     */
+    public enum Source {
+        /**
+         * Ham okumalar (satır tablosu ve dar sayısal tablo)
+         */
+        RAW,
+
+        /**
+         * Saklama politikasının yazdığı özet tablosu
+         */
+        ROLLUP
+    }
+
+    /**
+     * Karşılaştırma işleci
+     */
+    public enum Operator {
+        EQ("="), NE("<>"), LT("<"), LE("<="), GT(">"), GE(">="), LIKE("LIKE");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+    }
+
+    private final String text;
+    private final List<Column> select;
+    private final Source source;
+    private final Duration rollupInterval;
+    private final Condition where;
+    private final List<Column> groupBy;
+    private final Column orderBy;
+    private final boolean descending;
+    private final Integer limit;
+
+    private TelemetryQuery(String text, List<Column> select, Source source, Duration rollupInterval, Condition where,
+                           List<Column> groupBy, Column orderBy, boolean descending, Integer limit) {
+        this.text = text;
+        this.select = select;
+        this.source = source;
+        this.rollupInterval = rollupInterval;
+        this.where = where;
+        this.groupBy = groupBy;
+        this.orderBy = orderBy;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    /**
+     * Sorguyu ayrıştırma ve doğrulama
+     * @param text Sorgu metni
+     * @return Ayrıştırılmış sorgu
+     * @throws IllegalArgumentException Sözdizimi, alan veya tip hatası
+     */
+    public static TelemetryQuery parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Sorgu boş olamaz");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Sorgu en fazla " + MAX_LENGTH + " karakter olabilir");
+        }
+        TelemetryQuery query = new Parser(new Lexer(text).tokenize(), text).parseQuery();
+        query.validate();
+        return query;
+    }
+
+    private void validate() {
+        boolean aggregated = isAggregated();
+        for (Column column : select) {
+            if (aggregated && column.aggregate == null && !groupBy.contains(column)) {
+                throw new IllegalArgumentException("'" + column.label() + "' GROUP BY içinde olmalı veya toplam fonksiyonu ile kullanılmalı");
+            }
+        }
+        for (Column key : groupBy) {
+            if (key.aggregate != null) {
+                throw new IllegalArgumentException("GROUP BY içinde toplam fonksiyonu kullanılamaz: " + key.label());
+            }
+            if (key.field == Field.VALUE || (key.field == Field.TIME && key.bucket == null)) {
+                throw new IllegalArgumentException("'" + key.label() + "' ile gruplanamaz; zaman için bucket(süre) kullanın");
+            }
+        }
+        if (orderBy != null && !select.contains(orderBy)) {
+            throw new IllegalArgumentException("ORDER BY ifadesi SELECT listesinde olmalı: " + orderBy.label());
+        }
+        if (source == Source.ROLLUP) {
+            if (!aggregated) {
+                throw new IllegalArgumentException("Özet kaynağı yalnızca toplam sorgularında kullanılabilir");
+            }
+            List<Column> columns = new ArrayList<>(select);
+            columns.addAll(groupBy);
+            for (Column column : columns) {
+                if (column.aggregate == null && column.field.isReadingLevel()) {
+                    throw new IllegalArgumentException("'" + column.label() + "' özet kaynağında kullanılamaz");
+                }
+                if (column.bucket != null && column.bucket.toMillis() % rollupInterval.toMillis() != 0) {
+                    throw new IllegalArgumentException("bucket süresi özet aralığının katı olmalı: " + column.label());
+                }
+            }
+            if (where != null && where.references(true)) {
+                throw new IllegalArgumentException("Özet kaynağında value ve quality koşulu kullanılamaz");
+            }
+        }
+    }
+
+    /**
+     * Sorgu metni
+     */
+    public String getText() { return text; }
+    public List<Column> getSelect() { return select; }
+    public Source getSource() { return source; }
+    public Duration getRollupInterval() { return rollupInterval; }
+    public Condition getWhere() { return where; }
+    public List<Column> getGroupBy() { return groupBy; }
+    public Column getOrderBy() { return orderBy; }
+    public boolean isDescending() { return descending; }
+    public Integer getLimit() { return limit; }
+
+    /**
+     * Toplam veya gruplama içeriyor mu (içermiyorsa ham okuma listesi)
+     */
+    public boolean isAggregated() {
+        return !groupBy.isEmpty() || select.stream().anyMatch(column -> column.aggregate != null);
+    }
+
+    /**
+     * Sorgunun herhangi bir yerinde geçen alanlar
+     */
+    public List<Field> referencedFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Column column : select) {
+            if (column.field != null && !fields.contains(column.field)) {
+                fields.add(column.field);
+            }
+        }
+        for (Column column : groupBy) {
+            if (!fields.contains(column.field)) {
+                fields.add(column.field);
+            }
+        }
+        if (where != null) {
+            where.collect(fields);
+        }
+        return fields;
+    }
+
+    /**
+     * SELECT / GROUP BY / ORDER BY öğesi: alan, bucket(süre) veya toplam
+     */
+    public static final class Column {
+        private final Field field;
+        private final Aggregate aggregate;
+        private final Duration bucket;
+
+        Column(Field field, Aggregate aggregate, Duration bucket) {
+            this.field = field;
+            this.aggregate = aggregate;
+            this.bucket = bucket;
+        }
+
+        /**
+         * Alan (count(*) için null)
+         */
+        public Field getField() { return field; }
+        public Aggregate getAggregate() { return aggregate; }
+
+        /**
+         * Zaman kovası süresi (bucket(süre) değilse null)
+         */
+        public Duration getBucket() { return bucket; }
+
+        /**
+         * Sonuçtaki kolon adı
+         */
+        public String label() {
+            if (bucket != null) {
+                return "bucket(" + format(bucket) + ")";
+            }
+            if (aggregate != null) {
+                return aggregate.name().toLowerCase(Locale.ROOT) + "(" + (field == null ? "*" : field.label) + ")";
+            }
+            return field.label;
+        }
+
+        /**
+         * Süreyi tam bölen en büyük birimle yazma (ör. 1h, 90m, 45s)
+         */
+        private static String format(Duration duration) {
+            long seconds = duration.getSeconds();
+            if (seconds % 86_400 == 0) {
+                return seconds / 86_400 + "d";
+            }
+            if (seconds % 3_600 == 0) {
+                return seconds / 3_600 + "h";
+            }
+            if (seconds % 60 == 0) {
+                return seconds / 60 + "m";
+            }
+            return seconds + "s";
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Column && label().equals(((Column) other).label());
+        }
+
+        @Override
+        public int hashCode() {
+            return label().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return label();
+        }
+    }
+
+    /**
+     * WHERE koşulu
+     */
+    public interface Condition {
+
+        /**
+         * Koşulda okuma düzeyi (value, quality) alanı geçiyor mu
+         * @param readingLevel true ise yalnızca okuma düzeyi alanlara bakılır
+         */
+        boolean references(boolean readingLevel);
+
+        void collect(List<Field> fields);
+    }
+
+    /**
+     * AND / OR
+     */
+    public static final class Junction implements Condition {
+        private final boolean and;
+        private final List<Condition> operands;
+
+        Junction(boolean and, List<Condition> operands) {
+            this.and = and;
+            this.operands = operands;
+        }
+
+        public boolean isAnd() { return and; }
+        public List<Condition> getOperands() { return operands; }
+
+        @Override
+        public boolean references(boolean readingLevel) {
+            return operands.stream().anyMatch(operand -> operand.references(readingLevel));
+        }
+
+        @Override
+        public void collect(List<Field> fields) {
+            operands.forEach(operand -> operand.collect(fields));
+        }
+    }
+
+    /**
+     * NOT
+     */
+    public static final class Negation implements Condition {
+        private final Condition operand;
+
+        Negation(Condition operand) {
+            this.operand = operand;
+        }
+
+        public Condition getOperand() { return operand; }
+
+        @Override
+        public boolean references(boolean readingLevel) {
+            return operand.references(readingLevel);
+        }
+
+        @Override
+        public void collect(List<Field> fields) {
+            operand.collect(fields);
+        }
+    }
+
+    /**
+     * Alan karşılaştırması; values tek değer (işleç), iki değer (BETWEEN), liste (IN) veya boş (IS NULL)
+     */
+    public static final class Predicate implements Condition {
+
+        /**
+         * Karşılaştırma biçimi
+         */
+        public enum Kind { COMPARE, BETWEEN, IN, IS_NULL, IS_NOT_NULL }
+
+        private final Field field;
+        private final Kind kind;
+        private final Operator operator;
+        private final boolean negated;
+        private final List<Object> values;
+
+        Predicate(Field field, Kind kind, Operator operator, boolean negated, List<Object> values) {
+            this.field = field;
+            this.kind = kind;
+            this.operator = operator;
+            this.negated = negated;
+            this.values = values;
+        }
+
+        public Field getField() { return field; }
+        public Kind getKind() { return kind; }
+        public Operator getOperator() { return operator; }
+
+        /**
+         * NOT IN / NOT BETWEEN / NOT LIKE
+         */
+        public boolean isNegated() { return negated; }
+
+        /**
+         * Alan tipine dönüştürülmüş değerler (zaman: epoch ms, tamsayı: Long, sayı: Double, diğerleri: String)
+         */
+        public List<Object> getValues() { return values; }
+
+        @Override
+        public boolean references(boolean readingLevel) {
+            return !readingLevel || field.isReadingLevel();
+        }
+
+        @Override
+        public void collect(List<Field> fields) {
+            if (!fields.contains(field)) {
+                fields.add(field);
+            }
+        }
+    }
+
+    /**
+     * Sözcük birimi
+     */
+    private static final class Token {
+        enum Kind { WORD, NUMBER, DURATION, STRING, SYMBOL, END }
+
+        final Kind kind;
+        final String text;
+        final int position;
+
+        Token(Kind kind, String text, int position) {
+            this.kind = kind;
+            this.text = text;
+            this.position = position;
+        }
+
+        boolean is(String keyword) {
+            return (kind == Kind.WORD || kind == Kind.SYMBOL) && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    private static final class Lexer {
+        private final String text;
+        private int position;
+
+        Lexer(String text) {
+            this.text = text;
+        }
+
+        List<Token> tokenize() {
+            List<Token> tokens = new ArrayList<>();
+            while (true) {
+                while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                    position++;
+                }
+                if (position >= text.length()) {
+                    tokens.add(new Token(Token.Kind.END, "", position));
+                    return tokens;
+                }
+                int start = position;
+                char c = text.charAt(position);
+                if (c == '\'') {
+                    tokens.add(new Token(Token.Kind.STRING, readString(), start));
+                } else if (Character.isDigit(c) || (c == '-' && position + 1 < text.length()
+                        && Character.isDigit(text.charAt(position + 1)))) {
+                    position++;
+                    while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                        position++;
+                    }
+                    if (position < text.length() && Character.isLetter(text.charAt(position))) {
+                        while (position < text.length() && Character.isLetter(text.charAt(position))) {
+                            position++;
+                        }
+                        tokens.add(new Token(Token.Kind.DURATION, text.substring(start, position), start));
+                    } else {
+                        tokens.add(new Token(Token.Kind.NUMBER, text.substring(start, position), start));
+                    }
+                } else if (Character.isLetter(c) || c == '_') {
+                    while (position < text.length() && (Character.isLetterOrDigit(text.charAt(position))
+                            || text.charAt(position) == '_' || text.charAt(position) == '.')) {
+                        position++;
+                    }
+                    tokens.add(new Token(Token.Kind.WORD, text.substring(start, position), start));
+                } else if (text.startsWith("<=", position) || text.startsWith(">=", position)
+                        || text.startsWith("<>", position) || text.startsWith("!=", position)) {
+                    position += 2;
+                    tokens.add(new Token(Token.Kind.SYMBOL, text.substring(start, position), start));
+                } else if ("(),*=<>".indexOf(c) >= 0) {
+                    position++;
+                    tokens.add(new Token(Token.Kind.SYMBOL, String.valueOf(c), start));
+                } else {
+                    throw new IllegalArgumentException("Sorgu hatası (konum " + start + "): beklenmeyen karakter '" + c + "'");
+                }
+            }
+        }
+
+        private String readString() {
+            int start = position;
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '\'') {
+                    if (position < text.length() && text.charAt(position) == '\'') {
+                        value.append('\'');
+                        position++;
+                        continue;
+                    }
+                    return value.toString();
+                }
+                value.append(c);
+            }
+            throw new IllegalArgumentException("Sorgu hatası (konum " + start + "): kapanmamış metin");
+        }
+    }
+
+    /**
+     * Özyinelemeli iniş ayrıştırıcısı
+     */
+    private static final class Parser {
+        private final List<Token> tokens;
+        private final String text;
+        private int index;
+
+        Parser(List<Token> tokens, String text) {
+            this.tokens = tokens;
+            this.text = text;
+        }
+
+        TelemetryQuery parseQuery() {
+            expectKeyword("SELECT");
+            List<Column> select = new ArrayList<>();
+            do {
+                Column column = parseColumn(true);
+                if (select.contains(column)) {
+                    throw error("SELECT listesinde tekrar: " + column.label());
+                }
+                select.add(column);
+            } while (accept(","));
+
+            Source source = Source.RAW;
+            Duration rollupInterval = null;
+            if (accept("FROM")) {
+                if (accept("RAW")) {
+                    source = Source.RAW;
+                } else if (accept("ROLLUP")) {
+                    source = Source.ROLLUP;
+                    expect("(");
+                    rollupInterval = parseDuration();
+                    expect(")");
+                } else {
+                    throw error("Kaynak raw veya rollup(süre) olmalı");
+                }
+            }
+
+            Condition where = null;
+            if (accept("WHERE")) {
+                where = parseOr(0);
+            }
+
+            List<Column> groupBy = new ArrayList<>();
+            if (accept("GROUP")) {
+                expectKeyword("BY");
+                do {
+                    Column key = parseColumn(false);
+                    if (!groupBy.contains(key)) {
+                        groupBy.add(key);
+                    }
+                } while (accept(","));
+            }
+
+            Column orderBy = null;
+            boolean descending = false;
+            if (accept("ORDER")) {
+                expectKeyword("BY");
+                orderBy = parseColumn(true);
+                if (accept("DESC")) {
+                    descending = true;
+                } else {
+                    accept("ASC");
+                }
+            }
+
+            Integer limit = null;
+            if (accept("LIMIT")) {
+                Token token = next();
+                if (token.kind != Token.Kind.NUMBER || token.text.contains(".") || token.text.startsWith("-")) {
+                    throw error(token, "LIMIT pozitif tamsayı olmalı");
+                }
+                try {
+                    limit = Integer.parseInt(token.text);
+                } catch (NumberFormatException e) {
+                    throw error(token, "LIMIT çok büyük");
+                }
+                if (limit <= 0) {
+                    throw error(token, "LIMIT pozitif tamsayı olmalı");
+                }
+            }
+
+            if (peek().kind != Token.Kind.END) {
+                throw error("Beklenmeyen '" + peek().text + "'");
+            }
+            return new TelemetryQuery(text, Collections.unmodifiableList(select), source, rollupInterval, where,
+                    Collections.unmodifiableList(groupBy), orderBy, descending, limit);
+        }
+
+        // alan | bucket(süre) | count(*) | toplam(value)
+        private Column parseColumn(boolean allowAggregate) {
+            Token token = next();
+            if (token.kind != Token.Kind.WORD) {
+                throw error(token, "Alan adı bekleniyordu");
+            }
+            if (token.is("bucket") && accept("(")) {
+                Duration bucket = parseDuration();
+                expect(")");
+                return new Column(Field.TIME, null, bucket);
+            }
+            Aggregate aggregate = aggregateOf(token.text);
+            if (aggregate != null && peek().is("(")) {
+                if (!allowAggregate) {
+                    throw error(token, "Burada toplam fonksiyonu kullanılamaz");
+                }
+                expect("(");
+                if (aggregate == Aggregate.COUNT && accept("*")) {
+                    expect(")");
+                    return new Column(null, Aggregate.COUNT, null);
+                }
+                Token argument = next();
+                if (!argument.is("value")) {
+                    throw error(argument, "Toplam fonksiyonları yalnızca value alanına uygulanır");
+                }
+                expect(")");
+                return new Column(Field.VALUE, aggregate, null);
+            }
+            return new Column(field(token), null, null);
+        }
+
+        // veya := ve (OR ve)*
+        private Condition parseOr(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("Koşul çok derin");
+            }
+            List<Condition> operands = new ArrayList<>();
+            operands.add(parseAnd(depth));
+            while (accept("OR")) {
+                operands.add(parseAnd(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) : new Junction(false, operands);
+        }
+
+        // ve := değil (AND değil)*
+        private Condition parseAnd(int depth) {
+            List<Condition> operands = new ArrayList<>();
+            operands.add(parseNot(depth));
+            while (accept("AND")) {
+                operands.add(parseNot(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) : new Junction(true, operands);
+        }
+
+        // değil := NOT değil | '(' veya ')' | karşılaştırma
+        private Condition parseNot(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("Koşul çok derin");
+            }
+            if (accept("NOT")) {
+                return new Negation(parseNot(depth + 1));
+            }
+            if (accept("(")) {
+                Condition inner = parseOr(depth + 1);
+                expect(")");
+                return inner;
+            }
+            return parsePredicate();
+        }
+
+        private Condition parsePredicate() {
+            Token fieldToken = next();
+            if (fieldToken.kind != Token.Kind.WORD) {
+                throw error(fieldToken, "Alan adı bekleniyordu");
+            }
+            Field field = field(fieldToken);
+            if (accept("IS")) {
+                boolean not = accept("NOT");
+                expectKeyword("NULL");
+                return new Predicate(field, not ? Predicate.Kind.IS_NOT_NULL : Predicate.Kind.IS_NULL, null, false, List.of());
+            }
+            boolean negated = accept("NOT");
+            if (accept("IN")) {
+                expect("(");
+                List<Object> values = new ArrayList<>();
+                do {
+                    values.add(literal(field));
+                    if (values.size() > MAX_IN_LIST) {
+                        throw error("IN listesi en fazla " + MAX_IN_LIST + " değer içerebilir");
+                    }
+                } while (accept(","));
+                expect(")");
+                return new Predicate(field, Predicate.Kind.IN, null, negated, values);
+            }
+            if (accept("BETWEEN")) {
+                Object low = literal(field);
+                expectKeyword("AND");
+                Object high = literal(field);
+                return new Predicate(field, Predicate.Kind.BETWEEN, null, negated, List.of(low, high));
+            }
+            if (accept("LIKE")) {
+                if (field.type != Type.STRING) {
+                    throw error(fieldToken, "LIKE yalnızca metin alanlarında kullanılır: " + field.label);
+                }
+                return new Predicate(field, Predicate.Kind.COMPARE, Operator.LIKE, negated, List.of(literal(field)));
+            }
+            if (negated) {
+                throw error("NOT sonrası IN, BETWEEN veya LIKE bekleniyordu");
+            }
+            Token operatorToken = next();
+            Operator operator;
+            switch (operatorToken.text) {
+                case "=": operator = Operator.EQ; break;
+                case "!=":
+                case "<>": operator = Operator.NE; break;
+                case "<": operator = Operator.LT; break;
+                case "<=": operator = Operator.LE; break;
+                case ">": operator = Operator.GT; break;
+                case ">=": operator = Operator.GE; break;
+                default: throw error(operatorToken, "Karşılaştırma işleci bekleniyordu");
+            }
+            return new Predicate(field, Predicate.Kind.COMPARE, operator, false, List.of(literal(field)));
+        }
+
+        /**
+         * Alan tipine göre değer
+         */
+        private Object literal(Field field) {
+            Token token = next();
+            try {
+                switch (field.type) {
+                    case TIME:
+                        if (token.kind == Token.Kind.STRING) {
+                            return TelemetryTime.parseMillis(token.text);
+                        }
+                        if (token.kind == Token.Kind.NUMBER && !token.text.contains(".")) {
+                            return Long.parseLong(token.text);
+                        }
+                        break;
+                    case NUMBER:
+                        if (token.kind == Token.Kind.NUMBER) {
+                            return Double.parseDouble(token.text);
+                        }
+                        break;
+                    case INTEGER:
+                        if (token.kind == Token.Kind.NUMBER && !token.text.contains(".")) {
+                            return Long.parseLong(token.text);
+                        }
+                        break;
+                    case DEVICE_TYPE:
+                        if (token.kind == Token.Kind.STRING) {
+                            return Device.DeviceType.valueOf(token.text.toUpperCase(Locale.ROOT)).name();
+                        }
+                        break;
+                    case DEVICE_STATUS:
+                        if (token.kind == Token.Kind.STRING) {
+                            return Device.DeviceStatus.valueOf(token.text.toUpperCase(Locale.ROOT)).name();
+                        }
+                        break;
+                    default:
+                        if (token.kind == Token.Kind.STRING) {
+                            return token.text;
+                        }
+                }
+            } catch (IllegalArgumentException e) {
+                throw error(token, "'" + field.label + "' için geçersiz değer: " + token.text);
+            }
+            throw error(token, "'" + field.label + "' için " + describe(field.type) + " bekleniyordu");
+        }
+
+        private Duration parseDuration() {
+            Token token = next();
+            if (token.kind == Token.Kind.DURATION) {
+                try {
+                    Duration duration = DurationStyle.SIMPLE.parse(token.text);
+                    if (!duration.isNegative() && !duration.isZero() && duration.toMillis() % 1000 == 0) {
+                        return duration;
+                    }
+                } catch (IllegalArgumentException e) {
+                    // aşağıdaki hata
+                }
+            }
+            throw error(token, "Tam saniyeli pozitif süre bekleniyordu (ör. 15m, 1h, 1d)");
+        }
+
+        private Field field(Token token) {
+            Field field = Field.of(token.text);
+            if (field == null) {
+                throw error(token, "Bilinmeyen alan '" + token.text + "'");
+            }
+            return field;
+        }
+
+        private static Aggregate aggregateOf(String name) {
+            for (Aggregate aggregate : Aggregate.values()) {
+                if (aggregate.name().equalsIgnoreCase(name)) {
+                    return aggregate;
+                }
+            }
+            return null;
+        }
+
+        private static String describe(Type type) {
+            switch (type) {
+                case TIME: return "ISO-8601 zaman metni veya epoch ms";
+                case NUMBER: return "sayı";
+                case INTEGER: return "tamsayı";
+                case DEVICE_TYPE: return "cihaz tipi metni";
+                case DEVICE_STATUS: return "cihaz durumu metni";
+                default: return "tek tırnaklı metin";
+            }
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private Token next() {
+            Token token = tokens.get(index);
+            if (token.kind != Token.Kind.END) {
+                index++;
+            }
+            return token;
+        }
+
+        private boolean accept(String keyword) {
+            if (peek().is(keyword)) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String symbol) {
+            if (!accept(symbol)) {
+                throw error("'" + symbol + "' bekleniyordu");
+            }
+        }
+
+        private void expectKeyword(String keyword) {
+            if (!accept(keyword)) {
+                throw error(keyword + " bekleniyordu");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return error(peek(), message);
+        }
+
+        private IllegalArgumentException error(Token token, String message) {
+            return new IllegalArgumentException("Sorgu hatası (konum " + token.position + "): " + message);
+        }
+    }
+}
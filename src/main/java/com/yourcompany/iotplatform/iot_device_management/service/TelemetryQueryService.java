@@ -0,0 +1,724 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.yourcompany.iotplatform.iot_device_management.config.CompressionProperties;
+import com.yourcompany.iotplatform.iot_device_management.config.QueryLanguageProperties;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryQueryPlanDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Aggregate;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Column;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Condition;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Field;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Junction;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Negation;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryQuery.Predicate;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Telemetri Sorgu Servisi
+ * Sorgu dili ifadelerini ({@link TelemetryQuery}) tek bir SQL ifadesine derler: koşullar her kaynak tablonun
+ * (satır tablosu ve dar sayısal tablo, ya da özet tablosu) kendi sorgusuna indirilir, cihaz alanları
+ * devices tablosuyla birleştirilerek süzülür, gruplama ve toplamlar veritabanında yapılır. Çalıştırmadan
+ * önce taranacak satır sayısı indeksli, sınırlı COUNT örnekleriyle tahmin edilir ve sınırı aşan sorgu
+ * reddedilir. Sıkıştırılmış serileri seçebilen sorgularda okuma sayısına dayanan toplamlar (count, sum, avg)
+ * reddedilir. Sonuçlar ileri yönlü cursor ile NDJSON olarak akıtılır
+ */
+@Service
+@EnableConfigurationProperties(QueryLanguageProperties.class)
+public class TelemetryQueryService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryQueryService.class);
+
+    @Autowired
+    private QueryLanguageProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @Autowired
+    private TelemetryCompressor telemetryCompressor;
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong rowsReturned = new AtomicLong();
+
+    @PostConstruct
+    void validateProperties() {
+        if (properties.getMaxScannedRows() <= 0 || properties.getMaxResultRows() <= 0) {
+            throw new IllegalStateException("telemetry.query-language satır sınırları pozitif olmalı");
+        }
+        if (properties.getProbeSlices() <= 0 || properties.getProbeWindow() == null
+                || properties.getProbeWindow().toMillis() <= 0) {
+            throw new IllegalStateException("telemetry.query-language.probe-slices ve probe-window pozitif olmalı");
+        }
+    }
+
+    /**
+     * Sorguyu ayrıştırma, derleme ve maliyetini tahmin etme
+     * @param text Sorgu metni
+     * @return Çalıştırılabilir plan
+     * @throws BusinessRuleException Geçersiz sorgu, desteklenmeyen depo, sıkıştırılmış seride okuma sayısına
+     *                               dayanan toplam veya maliyet sınırının aşılması
+     */
+    public Plan prepare(String text) {
+        if (!properties.isEnabled()) {
+            throw new BusinessRuleException("Telemetri sorgu dili kapalı");
+        }
+        if (!telemetryStore.usesPrimaryDatabase()) {
+            throw reject("Telemetri sorgu dili yalnızca birincil veritabanındaki telemetri deposuyla kullanılabilir");
+        }
+        TelemetryQuery query;
+        try {
+            query = TelemetryQuery.parse(text);
+        } catch (IllegalArgumentException e) {
+            throw reject(e.getMessage());
+        }
+        if (query.getLimit() != null && query.getLimit() > properties.getMaxResultRows()) {
+            throw reject("LIMIT en fazla " + properties.getMaxResultRows() + " olabilir");
+        }
+        int limit = query.getLimit() != null ? query.getLimit() : properties.getMaxResultRows();
+
+        rejectPointWeightedAggregates(query);
+
+        long[] range = timeRange(query.getWhere());
+        boolean rollup = query.getSource() == TelemetryQuery.Source.ROLLUP;
+        if (!rollup && segmentStore.hasSegmentsOverlapping(range[0], range[1])) {
+            // Mühürlenmiş noktalar tablodan silinmiştir; SQL ile okunamazlar
+            throw reject("Zaman aralığı mühürlenmiş segmentlere uzanıyor; aralığı daraltın veya FROM rollup(...) kullanın");
+        }
+
+        List<Branch> branches = branches(query);
+        List<Object> parameters = new ArrayList<>();
+        String sql = compile(query, branches, limit, parameters);
+        long estimate = estimate(query, branches, range);
+        if (estimate > properties.getMaxScannedRows()) {
+            String hint = !rollup && query.isAggregated() && !usesReadingLevelFields(query)
+                    ? "; toplamlar için FROM rollup(...) kullanılabilir" : "";
+            throw reject("Sorgu tahmini " + estimate + " satır tarar (sınır " + properties.getMaxScannedRows()
+                    + "); zaman aralığını veya cihaz/veri tipi koşullarını daraltın" + hint);
+        }
+        return new Plan(query, sql, Collections.unmodifiableList(parameters), estimate);
+    }
+
+    /**
+     * Sorgu planı (çalıştırmadan)
+     * @param text Sorgu metni
+     * @return SQL, parametreler ve maliyet tahmini
+     */
+    public TelemetryQueryPlanDto explain(String text) {
+        Plan plan = prepare(text);
+        return new TelemetryQueryPlanDto(plan.query.getSource().name().toLowerCase(Locale.ROOT), plan.getColumns(),
+                plan.sql, plan.parameters, plan.estimatedRows, properties.getMaxScannedRows());
+    }
+
+    /**
+     * Planı çalıştırıp sonucu NDJSON olarak yazma; her satır SELECT etiketlerini anahtar olarak kullanan bir nesnedir
+     * @param plan Plan
+     * @param out Çıkış akışı
+     * @return Yazılan satır sayısı
+     */
+    public long writeNdjson(Plan plan, OutputStream out) throws IOException {
+        JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        List<Column> columns = plan.query.getSelect();
+        long[] rowCount = {0};
+        long started = System.nanoTime();
+        try {
+            WorkloadContext.run(Workload.BATCH, () -> readOnly().executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(plan.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(properties.getFetchSize());
+                ps.setQueryTimeout((int) Math.max(1, properties.getTimeout().toSeconds()));
+                for (int i = 0; i < plan.parameters.size(); i++) {
+                    ps.setObject(i + 1, plan.parameters.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    generator.writeStartObject();
+                    for (int i = 0; i < columns.size(); i++) {
+                        writeValue(generator, columns.get(i), rs, i + 1);
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            })));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+
+        executed.incrementAndGet();
+        rowsReturned.addAndGet(rowCount[0]);
+        logger.debug("Telemetri sorgusu tamamlandı - Tahmini tarama: {}, Satır: {}, Süre: {} ms",
+                plan.estimatedRows, rowCount[0], (System.nanoTime() - started) / 1_000_000);
+        return rowCount[0];
+    }
+
+    /**
+     * Sıkıştırılmış serilerde saklanan noktalar okumaların seyrek bir alt kümesidir: count, sum ve avg okuma değil
+     * nokta sayar. Özet satırları da aynı noktalardan yazıldığından kaynak fark etmeksizin, etkin bir sıkıştırma
+     * kuralının serileri WHERE koşuluyla dışlanmadıkça bu toplamlar reddedilir
+     */
+    private void rejectPointWeightedAggregates(TelemetryQuery query) {
+        if (query.getSelect().stream().map(Column::getAggregate)
+                .noneMatch(aggregate -> aggregate == Aggregate.COUNT || aggregate == Aggregate.SUM
+                        || aggregate == Aggregate.AVG)) {
+            return;
+        }
+        for (CompressionProperties.Rule rule : telemetryCompressor.activeRules()) {
+            if (!Boolean.FALSE.equals(selects(query.getWhere(), rule))) {
+                throw reject("Sorgu sıkıştırılmış serileri seçebiliyor (" + rule.getName() + "); count, sum ve avg " +
+                        "okumaları değil saklanan noktaları sayar. Bu serileri WHERE ile dışlayın veya min/max kullanın");
+            }
+        }
+    }
+
+    /**
+     * Koşulun kuralın serilerini seçip seçmediği; kural yalnızca veri tipi, cihaz ve cihaz tipini bildiğinden
+     * diğer alanlar bilinmez sayılır
+     * @return true/false, ya da karar verilemiyorsa null
+     */
+    private static Boolean selects(Condition condition, CompressionProperties.Rule rule) {
+        if (condition == null) {
+            return null;
+        }
+        if (condition instanceof Junction junction) {
+            boolean unknown = false;
+            for (Condition operand : junction.getOperands()) {
+                Boolean result = selects(operand, rule);
+                if (result == null) {
+                    unknown = true;
+                } else if (result != junction.isAnd()) {
+                    return result;
+                }
+            }
+            return unknown ? null : junction.isAnd();
+        }
+        if (condition instanceof Negation negation) {
+            Boolean result = selects(negation.getOperand(), rule);
+            return result == null ? null : !result;
+        }
+        Predicate predicate = (Predicate) condition;
+        String known = known(predicate.getField(), rule);
+        if (known == null) {
+            return null;
+        }
+        boolean result;
+        switch (predicate.getKind()) {
+            case COMPARE:
+                if (predicate.getOperator() == TelemetryQuery.Operator.EQ) {
+                    result = known.equals(predicate.getValues().get(0));
+                } else if (predicate.getOperator() == TelemetryQuery.Operator.NE) {
+                    result = !known.equals(predicate.getValues().get(0));
+                } else {
+                    return null;
+                }
+                break;
+            case IN:
+                result = predicate.getValues().contains(known);
+                break;
+            case IS_NULL:
+                result = false;
+                break;
+            case IS_NOT_NULL:
+                result = true;
+                break;
+            default:
+                return null;
+        }
+        return predicate.isNegated() != result;
+    }
+
+    /**
+     * Kuralın alan için belirlediği değer (belirlemiyorsa null)
+     */
+    private static String known(Field field, CompressionProperties.Rule rule) {
+        switch (field) {
+            case DATA_TYPE:
+                return rule.getDataType();
+            case DEVICE_KEY:
+                return rule.getDeviceId();
+            case DEVICE_TYPE:
+                return rule.getDeviceType() != null ? rule.getDeviceType().name() : null;
+            default:
+                return null;
+        }
+    }
+
+    private BusinessRuleException reject(String message) {
+        rejected.incrementAndGet();
+        return new BusinessRuleException(message);
+    }
+
+    private TransactionTemplate readOnly() {
+        // Replikalar açıksa analiz sorguları birincil veritabanı yerine replikadan okunur
+        DefaultTransactionAttribute readOnly = new DefaultTransactionAttribute();
+        readOnly.setReadOnly(true);
+        readOnly.setLabels(List.of(ReplicaRouting.REPLICA));
+        return new TransactionTemplate(transactionManager, readOnly);
+    }
+
+    // ---- Derleme ----
+
+    /**
+     * Kaynak tablo; alanların bu tablodaki SQL karşılıkları
+     */
+    private static final class Branch {
+        final String table;
+        final String from;
+        final String deviceKey;
+        final Map<Field, String> columns = new EnumMap<>(Field.class);
+        final String condition;
+        final List<Object> conditionParameters;
+
+        Branch(String table, String from, String deviceKey, String condition, List<Object> conditionParameters) {
+            this.table = table;
+            this.from = from;
+            this.deviceKey = deviceKey;
+            this.condition = condition;
+            this.conditionParameters = conditionParameters;
+        }
+
+        String column(Field field) {
+            return field.getDeviceColumn() != null ? "d." + field.getDeviceColumn() : columns.get(field);
+        }
+
+        String from(boolean joinDevices) {
+            return joinDevices ? from + " JOIN devices d ON d.id = " + deviceKey : from;
+        }
+    }
+
+    private static List<Branch> branches(TelemetryQuery query) {
+        if (query.getSource() == TelemetryQuery.Source.ROLLUP) {
+            Branch rollup = new Branch("telemetry_rollup u", "telemetry_rollup u", "u.device_id",
+                    "u.bucket_seconds = ?", List.of(query.getRollupInterval().toSeconds()));
+            rollup.columns.put(Field.TIME, "u.bucket_start_ms");
+            rollup.columns.put(Field.DATA_TYPE, "u.data_type");
+            rollup.columns.put(Field.DEVICE_ID, "u.device_id");
+            return List.of(rollup);
+        }
+        Branch rows = new Branch("telemetry_data t", "telemetry_data t", "t.device_id", null, List.of());
+        rows.columns.put(Field.TIME, "t.ts_epoch_ms");
+        rows.columns.put(Field.VALUE, "t.value_numeric");
+        rows.columns.put(Field.QUALITY, "t.quality");
+        rows.columns.put(Field.DATA_TYPE, "t.data_type");
+        rows.columns.put(Field.DEVICE_ID, "t.device_id");
+        Branch numeric = new Branch("telemetry_numeric n",
+                "telemetry_numeric n JOIN telemetry_series s ON s.id = n.series_id", "s.device_id", null, List.of());
+        numeric.columns.put(Field.TIME, "n.ts_epoch_ms");
+        numeric.columns.put(Field.VALUE, "n.value_numeric");
+        numeric.columns.put(Field.QUALITY, "n.quality");
+        numeric.columns.put(Field.DATA_TYPE, "s.data_type");
+        numeric.columns.put(Field.DEVICE_ID, "s.device_id");
+        return List.of(rows, numeric);
+    }
+
+    /**
+     * Dış sorgu: kaynakların UNION ALL'ı üzerinde gruplama, toplam, sıralama ve limit. Koşullar her kaynağın
+     * içine indirilir; toplamsız sorgularda sıralama ve limit de kaynaklara indirilerek her kaynaktan en fazla
+     * limit kadar satır okunur
+     */
+    private static String compile(TelemetryQuery query, List<Branch> branches, int limit, List<Object> parameters) {
+        boolean rollup = query.getSource() == TelemetryQuery.Source.ROLLUP;
+        boolean aggregated = query.isAggregated();
+        boolean joinDevices = query.referencedFields().stream().anyMatch(field -> field.getDeviceColumn() != null);
+
+        // Kaynaklardan dış sorguya taşınan alanlar
+        List<Field> projected = new ArrayList<>();
+        List<Column> columns = new ArrayList<>(query.getSelect());
+        columns.addAll(query.getGroupBy());
+        for (Column column : columns) {
+            if (column.getField() != null && !projected.contains(column.getField())
+                    && !(rollup && column.getAggregate() != null)) {
+                projected.add(column.getField());
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < query.getSelect().size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(outer(query.getSelect().get(i), rollup));
+        }
+        sql.append(" FROM (");
+        for (int b = 0; b < branches.size(); b++) {
+            Branch branch = branches.get(b);
+            sql.append(b == 0 ? "" : " UNION ALL ").append("(SELECT ");
+            List<String> items = new ArrayList<>();
+            for (Field field : projected) {
+                items.add(branch.column(field) + " AS " + alias(field));
+            }
+            if (rollup) {
+                items.add("u.sample_count AS r_count");
+                items.add("u.sum_value AS r_sum");
+                items.add("u.min_value AS r_min");
+                items.add("u.max_value AS r_max");
+            }
+            if (items.isEmpty()) {
+                items.add("1 AS r_row");
+            }
+            sql.append(String.join(", ", items)).append(" FROM ").append(branch.from(joinDevices));
+            where(branch, conjuncts(query.getWhere()), sql, parameters);
+            if (!aggregated) {
+                Column order = query.getOrderBy();
+                if (order != null) {
+                    sql.append(" ORDER BY ").append(branch.column(order.getField()))
+                            .append(query.isDescending() ? " DESC" : " ASC");
+                }
+                sql.append(" LIMIT ?");
+                parameters.add(limit);
+            }
+            sql.append(")");
+        }
+        sql.append(") r");
+
+        if (!query.getGroupBy().isEmpty()) {
+            sql.append(" GROUP BY ");
+            for (int i = 0; i < query.getGroupBy().size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(outer(query.getGroupBy().get(i), rollup));
+            }
+        }
+        if (query.getOrderBy() != null) {
+            sql.append(" ORDER BY ").append(query.getSelect().indexOf(query.getOrderBy()) + 1)
+                    .append(query.isDescending() ? " DESC" : " ASC");
+        }
+        sql.append(" LIMIT ?");
+        parameters.add(limit);
+        return sql.toString();
+    }
+
+    private static String outer(Column column, boolean rollup) {
+        if (column.getBucket() != null) {
+            long millis = column.getBucket().toMillis();
+            return "(r." + alias(Field.TIME) + " / " + millis + ") * " + millis;
+        }
+        if (column.getAggregate() == null) {
+            return "r." + alias(column.getField());
+        }
+        if (rollup) {
+            return switch (column.getAggregate()) {
+                case COUNT -> "SUM(r.r_count)";
+                case SUM -> "SUM(r.r_sum)";
+                case MIN -> "MIN(r.r_min)";
+                case MAX -> "MAX(r.r_max)";
+                case AVG -> "SUM(r.r_sum) / NULLIF(SUM(r.r_count), 0)";
+            };
+        }
+        String argument = column.getField() == null ? "*" : "r." + alias(column.getField());
+        return column.getAggregate().name() + "(" + argument + ")";
+    }
+
+    private static String alias(Field field) {
+        return "f_" + field.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return WHERE yazıldı mı
+     */
+    private static boolean where(Branch branch, List<Condition> conditions, StringBuilder sql, List<Object> parameters) {
+        String keyword = " WHERE ";
+        if (branch.condition != null) {
+            sql.append(keyword).append(branch.condition);
+            parameters.addAll(branch.conditionParameters);
+            keyword = " AND ";
+        }
+        for (Condition condition : conditions) {
+            sql.append(keyword);
+            condition(branch, condition, sql, parameters);
+            keyword = " AND ";
+        }
+        return !keyword.equals(" WHERE ");
+    }
+
+    private static void condition(Branch branch, Condition condition, StringBuilder sql, List<Object> parameters) {
+        if (condition instanceof Junction junction) {
+            sql.append("(");
+            for (int i = 0; i < junction.getOperands().size(); i++) {
+                sql.append(i == 0 ? "" : junction.isAnd() ? " AND " : " OR ");
+                condition(branch, junction.getOperands().get(i), sql, parameters);
+            }
+            sql.append(")");
+            return;
+        }
+        if (condition instanceof Negation negation) {
+            sql.append("NOT (");
+            condition(branch, negation.getOperand(), sql, parameters);
+            sql.append(")");
+            return;
+        }
+        Predicate predicate = (Predicate) condition;
+        String column = branch.column(predicate.getField());
+        String not = predicate.isNegated() ? "NOT " : "";
+        switch (predicate.getKind()) {
+            case COMPARE -> sql.append(column).append(' ').append(not).append(predicate.getOperator().getSql()).append(" ?");
+            case BETWEEN -> sql.append(column).append(' ').append(not).append("BETWEEN ? AND ?");
+            case IN -> sql.append(column).append(' ').append(not).append("IN (")
+                    .append(String.join(", ", Collections.nCopies(predicate.getValues().size(), "?"))).append(")");
+            case IS_NULL -> sql.append(column).append(" IS NULL");
+            case IS_NOT_NULL -> sql.append(column).append(" IS NOT NULL");
+        }
+        parameters.addAll(predicate.getValues());
+    }
+
+    /**
+     * Üst düzey AND koşulları
+     */
+    private static List<Condition> conjuncts(Condition where) {
+        if (where == null) {
+            return List.of();
+        }
+        if (where instanceof Junction junction && junction.isAnd()) {
+            return junction.getOperands();
+        }
+        return List.of(where);
+    }
+
+    /**
+     * Üst düzey AND koşullarından çıkan zaman aralığı (epoch ms, iki uç dahil)
+     */
+    static long[] timeRange(Condition where) {
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        for (Condition condition : conjuncts(where)) {
+            if (!(condition instanceof Predicate predicate) || predicate.getField() != Field.TIME || predicate.isNegated()) {
+                continue;
+            }
+            List<Object> values = predicate.getValues();
+            switch (predicate.getKind()) {
+                case BETWEEN -> {
+                    from = Math.max(from, (Long) values.get(0));
+                    to = Math.min(to, (Long) values.get(1));
+                }
+                case IN -> {
+                    from = Math.max(from, values.stream().mapToLong(value -> (Long) value).min().orElse(from));
+                    to = Math.min(to, values.stream().mapToLong(value -> (Long) value).max().orElse(to));
+                }
+                case COMPARE -> {
+                    long value = (Long) values.get(0);
+                    switch (predicate.getOperator()) {
+                        case EQ -> {
+                            from = Math.max(from, value);
+                            to = Math.min(to, value);
+                        }
+                        case GT -> from = Math.max(from, value == Long.MAX_VALUE ? value : value + 1);
+                        case GE -> from = Math.max(from, value);
+                        case LT -> to = Math.min(to, value == Long.MIN_VALUE ? value : value - 1);
+                        case LE -> to = Math.min(to, value);
+                        default -> { }
+                    }
+                }
+                default -> { }
+            }
+        }
+        return new long[]{from, to};
+    }
+
+    private static boolean usesReadingLevelFields(TelemetryQuery query) {
+        return query.referencedFields().stream().anyMatch(Field::isReadingLevel);
+    }
+
+    // ---- Maliyet tahmini ----
+
+    /**
+     * Taranacak satır tahmini. İndeksle daraltılabilen koşullar (zaman, veri tipi, cihaz) her kaynakta zaman
+     * aralığına yayılmış birkaç dilimde sayılır ve aralığın tamamına ölçeklenir; value ve quality koşulları
+     * satırlar okunduktan sonra uygulandığından taramayı azaltmaz ve hesaba katılmaz. Her örnek sayımı
+     * sınır + 1 satırda kesilir
+     */
+    private long estimate(TelemetryQuery query, List<Branch> branches, long[] range) {
+        List<Condition> scanConditions = new ArrayList<>();
+        for (Condition condition : conjuncts(query.getWhere())) {
+            if (!condition.references(true)) {
+                scanConditions.add(condition);
+            }
+        }
+        boolean joinDevices = scanConditions.stream().anyMatch(condition -> {
+            List<Field> fields = new ArrayList<>();
+            condition.collect(fields);
+            return fields.stream().anyMatch(field -> field.getDeviceColumn() != null);
+        });
+
+        return readOnly().execute(status -> {
+            long total = 0;
+            for (Branch branch : branches) {
+                total += estimate(branch, scanConditions, joinDevices, range);
+                if (total > properties.getMaxScannedRows()) {
+                    break;
+                }
+            }
+            return total;
+        });
+    }
+
+    private long estimate(Branch branch, List<Condition> scanConditions, boolean joinDevices, long[] range) {
+        String timeColumn = branch.column(Field.TIME);
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT MIN(" + timeColumn + ") AS lo, MAX(" + timeColumn + ") AS hi FROM " + branch.table);
+        if (bounds.get("lo") == null) {
+            return 0;
+        }
+        long from = Math.max(range[0], ((Number) bounds.get("lo")).longValue());
+        long to = Math.min(range[1], ((Number) bounds.get("hi")).longValue());
+        if (from > to) {
+            return 0;
+        }
+
+        long span = to - from + 1;
+        long window = properties.getProbeWindow().toMillis();
+        int slices = properties.getProbeSlices();
+        if (span <= window * slices) {
+            return probe(branch, scanConditions, joinDevices, from, to);
+        }
+        long stride = slices == 1 ? 0 : (span - window) / (slices - 1);
+        long first = slices == 1 ? from + (span - window) / 2 : from;
+        long counted = 0;
+        for (int i = 0; i < slices; i++) {
+            long sliceFrom = first + i * stride;
+            counted += probe(branch, scanConditions, joinDevices, sliceFrom, sliceFrom + window - 1);
+        }
+        return (long) Math.ceil(counted * ((double) span / ((double) window * slices)));
+    }
+
+    private long probe(Branch branch, List<Condition> scanConditions, boolean joinDevices, long from, long to) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (SELECT 1 AS x FROM ").append(branch.from(joinDevices));
+        List<Object> parameters = new ArrayList<>();
+        sql.append(where(branch, scanConditions, sql, parameters) ? " AND " : " WHERE ")
+                .append(branch.column(Field.TIME)).append(" BETWEEN ? AND ? LIMIT ?) p");
+        parameters.add(from);
+        parameters.add(to);
+        parameters.add(properties.getMaxScannedRows() + 1);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, parameters.toArray());
+        return count != null ? count : 0;
+    }
+
+    // ---- Sonuç yazma ----
+
+    private static void writeValue(JsonGenerator generator, Column column, ResultSet rs, int index)
+            throws SQLException, IOException {
+        String name = column.label();
+        if (column.getAggregate() != null) {
+            if (column.getAggregate() == TelemetryQuery.Aggregate.COUNT) {
+                generator.writeNumberField(name, rs.getLong(index));
+                return;
+            }
+            double value = rs.getDouble(index);
+            if (rs.wasNull()) {
+                generator.writeNullField(name);
+            } else {
+                generator.writeNumberField(name, value);
+            }
+            return;
+        }
+        switch (column.getField().getType()) {
+            case TIME -> {
+                long millis = rs.getLong(index);
+                if (rs.wasNull()) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeStringField(name, TelemetryTime.toLocalDateTime(millis).toString());
+                }
+            }
+            case NUMBER -> {
+                double value = rs.getDouble(index);
+                if (rs.wasNull()) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeNumberField(name, value);
+                }
+            }
+            case INTEGER -> {
+                long value = rs.getLong(index);
+                if (rs.wasNull()) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeNumberField(name, value);
+                }
+            }
+            default -> generator.writeStringField(name, rs.getString(index));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.query.executed", executed, AtomicLong::get)
+                .description("Çalıştırılan sorgu dili sorguları").register(registry);
+        FunctionCounter.builder("telemetry.query.rejected", rejected, AtomicLong::get)
+                .description("Geçersiz veya maliyet sınırını aşan sorgu dili sorguları").register(registry);
+        FunctionCounter.builder("telemetry.query.rows", rowsReturned, AtomicLong::get)
+                .description("Sorgu dili sorgularının döndürdüğü satırlar").register(registry);
+    }
+
+    /**
+     * Derlenmiş ve maliyeti kabul edilmiş sorgu
+     */
+    public static final class Plan {
+        private final TelemetryQuery query;
+        private final String sql;
+        private final List<Object> parameters;
+        private final long estimatedRows;
+
+        Plan(TelemetryQuery query, String sql, List<Object> parameters, long estimatedRows) {
+            this.query = query;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.estimatedRows = estimatedRows;
+        }
+
+        public TelemetryQuery getQuery() { return query; }
+        public String getSql() { return sql; }
+        public List<Object> getParameters() { return parameters; }
+        public long getEstimatedRows() { return estimatedRows; }
+
+        /**
+         * Sonuç kolon adları
+         */
+        public List<String> getColumns() {
+            return query.getSelect().stream().map(Column::label).toList();
+        }
+    }
+}
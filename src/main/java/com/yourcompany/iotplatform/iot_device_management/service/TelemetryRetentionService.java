@@ -0,0 +1,699 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.CounterProperties;
+import com.yourcompany.iotplatform.iot_device_management.config.RetentionProperties;
+import com.yourcompany.iotplatform.iot_device_management.config.SeriesSelector;
+import com.yourcompany.iotplatform.iot_device_management.datasource.ReplicaRouting;
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.CounterIncreaseDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.RetentionReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryRollupDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.PurgeResult;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Telemetri Saklama Servisi
+ * Seri başına en özel eşleşen saklama politikasını uygular: önce kapanmış kovaları özet tablosuna
+ * yazar, ardından özetlenmiş ve süresi dolmuş ham veriyi, en son da süresi dolmuş özetleri siler.
+ * Her parça kendi kısa işleminde çalışır; sıcak tabloda uzun kilit tutulmaz. Özet ilerlemesi
+ * (watermark) özetle aynı işlemde yazıldığından yarıda kalan çalıştırma kaldığı yerden devam eder.
+ * Sayaç serilerinde kovalara sıfırlanmalar düzeltilmiş artış da yazılır; tüketim raporları ham veriyi taramaz.
+ * Ham veri yapılandırılmış telemetri deposu, dar tablo, segmentler ve durum aralıkları üzerinden okunur ve
+ * silinir
+ */
+@Service
+@EnableConfigurationProperties({RetentionProperties.class, CounterProperties.class})
+public class TelemetryRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryRetentionService.class);
+
+    /**
+     * Geri kazanılan alan tahmini için satır başına sabit boyutlar (veri yükü hariç)
+     */
+    private static final long RAW_ROW_BYTES = 120;
+    private static final long NARROW_ROW_BYTES = 48;
+    private static final long ROLLUP_ROW_BYTES = 80;
+    private static final long STATE_ROW_BYTES = 64;
+
+    @Autowired
+    private RetentionProperties properties;
+
+    @Autowired
+    private CounterProperties counterProperties;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private TelemetrySeriesStore telemetrySeriesStore;
+
+    @Autowired
+    private TelemetryStateStore telemetryStateStore;
+
+    @Autowired
+    private TelemetrySeriesCatalog telemetrySeriesCatalog;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @Autowired
+    private TelemetryAggregateCache telemetryAggregateCache;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RetentionReport lastReport;
+    private int cursor;
+
+    /**
+     * Politika tanımlarını doğrulama
+     */
+    @PostConstruct
+    public void validatePolicies() {
+        List<RetentionProperties.Policy> policies = properties.getPolicies();
+        for (int i = 0; i < policies.size(); i++) {
+            RetentionProperties.Policy policy = policies.get(i);
+            if (policy.getName() == null || policy.getName().isBlank()) {
+                policy.setName("policy-" + i);
+            }
+            for (RetentionProperties.Rollup rollup : policy.getRollups()) {
+                Duration interval = rollup.getInterval();
+                if (interval == null || interval.toMillis() < 1000 || interval.toMillis() % 1000 != 0) {
+                    throw new IllegalStateException("Geçersiz özet aralığı (tam saniye olmalı): "
+                            + policy.getName() + " - " + interval);
+                }
+            }
+            logger.info("Saklama politikası - Ad: {}, Cihaz: {}, Cihaz tipi: {}, Veri tipi: {}, Ham: {}, Özet katmanı: {}",
+                    policy.getName(), policy.getDeviceId(), policy.getDeviceType(), policy.getDataType(),
+                    policy.getRaw() != null ? policy.getRaw() : "süresiz", policy.getRollups().size());
+        }
+    }
+
+    /**
+     * Zamanlanmış saklama çalıştırması (telemetry.retention.enabled=true iken)
+     */
+    @Scheduled(fixedDelayString = "${telemetry.retention.interval-ms:600000}",
+               initialDelayString = "${telemetry.retention.interval-ms:600000}")
+    public void scheduledRun() {
+        if (properties.isEnabled() && !running.get()) {
+            try {
+                run();
+            } catch (BusinessRuleException e) {
+                logger.debug("Saklama çalıştırması atlandı: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Saklama politikalarını uygulama
+     * Parça sınırına ulaşılırsa PARTIAL döner; sonraki çalıştırma sıradaki seriden devam eder
+     * @return Çalıştırma raporu
+     */
+    public RetentionReport run() {
+        return run(System.currentTimeMillis());
+    }
+
+    RetentionReport run(long nowMillis) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("Saklama çalıştırması zaten devam ediyor");
+        }
+        try {
+            return WorkloadContext.run(Workload.BATCH, () -> execute(nowMillis));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Son saklama çalıştırmasının raporu (devam ediyorsa RUNNING)
+     * @return Rapor
+     */
+    public Optional<RetentionReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    /**
+     * Seriye uygulanacak politika
+     * @param deviceId Cihaz veritabanı ID'si
+     * @param dataType Veri tipi
+     * @return En özel eşleşen politika (eşleşme yoksa boş; seri olduğu gibi bırakılır)
+     */
+    public Optional<RetentionProperties.Policy> resolvePolicy(Long deviceId, String dataType) {
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(deviceId);
+        String deviceKey = device.map(DeviceRegistry.DeviceState::getDeviceId).orElse(null);
+        Device.DeviceType deviceType = device.map(DeviceRegistry.DeviceState::getDeviceType).orElse(null);
+        return SeriesSelector.mostSpecific(properties.getPolicies(), deviceKey, deviceType, dataType);
+    }
+
+    /**
+     * Cihazın belirli aralıktaki özetleri
+     * Özetler saklanan noktalardan yazıldığından sıkıştırılmış serilerde sayı ve toplam nokta sayar
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param interval Özet aralığı
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @return Kova başlangıcına göre artan sıralı özetler
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<TelemetryRollupDto> getRollups(Long deviceId, String dataType, Duration interval,
+                                               LocalDateTime startTime, LocalDateTime endTime) {
+        return jdbcTemplate.query(
+                "SELECT bucket_start_ms, sample_count, sum_value, min_value, max_value, increase_value " +
+                "FROM telemetry_rollup " +
+                "WHERE device_id = ? AND data_type = ? AND bucket_seconds = ? AND bucket_start_ms BETWEEN ? AND ? " +
+                "ORDER BY bucket_start_ms",
+                (rs, rowNum) -> new TelemetryRollupDto(TelemetryTime.toLocalDateTime(rs.getLong(1)),
+                        rs.getLong(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5),
+                        rs.getObject(6, Double.class)),
+                deviceId, dataType, interval.getSeconds(),
+                TelemetryTime.toEpochMillis(startTime), TelemetryTime.toEpochMillis(endTime));
+    }
+
+    /**
+     * Sayaç serisinin kova başına artışı ve hızı
+     * Özetlenmiş dönem özet tablosundan, özet işaretinden sonraki kısa kuyruk ham veriden hesaplanır.
+     * Aralık için özet katmanı yoksa tüm aralık ham veriden hesaplanır; ilk kovanın artışı bir kova
+     * öncesine kadarki son değerden başlar
+     * @param deviceId Cihaz ID'si
+     * @param dataType Sayaç veri tipi
+     * @param interval Kova aralığı (ör. 1h, 1d)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı (hariç)
+     * @return Kova başlangıcına göre artan sıralı artışlar
+     */
+    @Transactional(readOnly = true, label = ReplicaRouting.REPLICA)
+    public List<CounterIncreaseDto> getCounterIncrease(Long deviceId, String dataType, Duration interval,
+                                                       LocalDateTime startTime, LocalDateTime endTime) {
+        if (!counterProperties.isCounter(dataType)) {
+            throw new BusinessRuleException("Veri tipi sayaç olarak tanımlı değil: " + dataType);
+        }
+        if (interval.toMillis() < 1000 || interval.toMillis() % 1000 != 0) {
+            throw new BusinessRuleException("Kova aralığı tam saniye olmalı: " + interval);
+        }
+        long bucketMillis = interval.toMillis();
+        long from = Math.floorDiv(TelemetryTime.toEpochMillis(startTime), bucketMillis) * bucketMillis;
+        long to = TelemetryTime.toEpochMillis(endTime);
+        if (to <= from) {
+            return List.of();
+        }
+
+        TreeMap<Long, double[]> buckets = new TreeMap<>();
+        Watermark watermark = readWatermark(deviceId, dataType, interval.getSeconds());
+        long tailFrom = from;
+        if (watermark != null && watermark.rolledUpTo > from) {
+            tailFrom = Math.min(watermark.rolledUpTo, to);
+            jdbcTemplate.query(
+                    "SELECT bucket_start_ms, COALESCE(increase_value, 0), COALESCE(reset_count, 0) " +
+                    "FROM telemetry_rollup WHERE device_id = ? AND data_type = ? AND bucket_seconds = ? " +
+                    "AND bucket_start_ms >= ? AND bucket_start_ms < ?",
+                    (RowCallbackHandler) rs -> {
+                        double[] stats = buckets.computeIfAbsent(rs.getLong(1), b -> newStats());
+                        stats[4] = rs.getDouble(2);
+                        stats[5] = rs.getLong(3);
+                    },
+                    deviceId, dataType, interval.getSeconds(), from, tailFrom);
+        }
+
+        if (tailFrom < to) {
+            Series series = new Series(deviceId, dataType);
+            series.seriesIds.addAll(telemetrySeriesCatalog.getSeriesIds(deviceId, dataType));
+            boolean carried = watermark != null && tailFrom == watermark.rolledUpTo && watermark.lastValue != null;
+            long readFrom = carried ? tailFrom : tailFrom - bucketMillis;
+            accumulateIncrease(buckets, readSamples(series, readFrom, to, Integer.MAX_VALUE), tailFrom, to,
+                    bucketMillis, carried ? watermark.lastValue : null);
+        }
+
+        List<CounterIncreaseDto> result = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, stats) -> result.add(new CounterIncreaseDto(TelemetryTime.toLocalDateTime(bucket),
+                stats[4], stats[4] / interval.getSeconds(), (long) stats[5])));
+        return result;
+    }
+
+    private RetentionReport execute(long now) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        lastReport = new RetentionReport(RetentionReport.Status.RUNNING, startedAt, null, 0, List.of(), null);
+        Run run = new Run(properties.getMaxChunksPerRun());
+        RetentionReport report;
+        try {
+            List<Series> series = discoverSeries();
+            RetentionReport.Status status = RetentionReport.Status.COMPLETED;
+            int start = series.isEmpty() ? 0 : cursor % series.size();
+            for (int i = 0; i < series.size(); i++) {
+                int index = (start + i) % series.size();
+                Series current = series.get(index);
+                Optional<RetentionProperties.Policy> policy = resolvePolicy(current.deviceId, current.dataType);
+                if (policy.isPresent() && !process(current, policy.get(), now, run)) {
+                    cursor = index;
+                    status = RetentionReport.Status.PARTIAL;
+                    break;
+                }
+            }
+            report = run.toReport(status, startedAt, null);
+        } catch (RuntimeException e) {
+            logger.error("Saklama çalıştırması hatası: {}", e.getMessage(), e);
+            report = run.toReport(RetentionReport.Status.FAILED, startedAt, e.getMessage());
+        }
+
+        logger.info("Saklama çalıştırması bitti - Durum: {}, Parça: {}, Tahmini geri kazanılan alan: {} bayt",
+                report.getStatus(), report.getChunks(), report.getReclaimedBytesEstimate());
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * Tek serinin politikasını uygulama: özetleme, ham veri silme, özet silme
+     * @return Parça sınırına ulaşılmadan bitti mi
+     */
+    private boolean process(Series series, RetentionProperties.Policy policy, long now, Run run) {
+        Progress progress = run.progress(policy.getName());
+        progress.series++;
+
+        long rolledUpTo = Long.MAX_VALUE;
+        if (series.dataType != null) {
+            for (RetentionProperties.Rollup rollup : policy.getRollups()) {
+                rolledUpTo = Math.min(rolledUpTo, downsample(series, rollup.getInterval().toMillis(), now, run, progress));
+                if (run.isExhausted()) {
+                    return false;
+                }
+            }
+        }
+
+        // Özetlenmemiş ham veri, süresi dolmuş olsa bile silinmez
+        if (policy.getRaw() != null) {
+            long cutoff = Math.min(now - policy.getRaw().toMillis(), rolledUpTo);
+            boolean purged = purgeRaw(series, cutoff, run, progress);
+            telemetryAggregateCache.invalidateBefore(series.deviceId, series.dataType, cutoff);
+            if (!purged) {
+                return false;
+            }
+        }
+
+        if (series.dataType != null) {
+            for (RetentionProperties.Rollup rollup : policy.getRollups()) {
+                if (rollup.getKeep() == null) {
+                    continue;
+                }
+                if (!run.hasBudget()) {
+                    return false;
+                }
+                int deleted = jdbcTemplate.update(
+                        "DELETE FROM telemetry_rollup WHERE device_id = ? AND data_type = ? AND bucket_seconds = ? " +
+                        "AND bucket_start_ms < ?",
+                        series.deviceId, series.dataType, rollup.getInterval().getSeconds(),
+                        now - rollup.getKeep().toMillis());
+                if (deleted > 0) {
+                    run.consume();
+                    progress.rollupsDeleted += deleted;
+                    progress.reclaimedBytes += deleted * ROLLUP_ROW_BYTES;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Kapanmış kovaları parça parça özetleme
+     * @return Özetlemenin ulaştığı zaman (epoch ms, hariç)
+     */
+    private long downsample(Series series, long bucketMillis, long now, Run run, Progress progress) {
+        long target = Math.floorDiv(now - properties.getLateArrival().toMillis(), bucketMillis) * bucketMillis;
+        Watermark watermark = readWatermark(series.deviceId, series.dataType, bucketMillis / 1000);
+        if (watermark == null) {
+            OptionalLong earliest = earliestTimestamp(series);
+            if (earliest.isEmpty()) {
+                return target;
+            }
+            watermark = new Watermark(Math.floorDiv(earliest.getAsLong(), bucketMillis) * bucketMillis, null);
+        }
+        while (watermark.rolledUpTo < target && run.hasBudget()) {
+            watermark = rollUpChunk(series, bucketMillis, watermark, target, progress);
+            run.consume();
+        }
+        return watermark.rolledUpTo;
+    }
+
+    private Watermark readWatermark(Long deviceId, String dataType, long bucketSeconds) {
+        return jdbcTemplate.query(
+                "SELECT rolled_up_to_ms, last_value FROM telemetry_retention_watermark " +
+                "WHERE device_id = ? AND data_type = ? AND bucket_seconds = ?",
+                rs -> rs.next() ? new Watermark(rs.getLong(1), rs.getObject(2, Double.class)) : null,
+                deviceId, dataType, bucketSeconds);
+    }
+
+    /**
+     * Bir parçayı özetleme; parça en fazla chunk-size satır (kaynak başına) okur ve tam kovalarda biter
+     * @return Parçanın bittiği zaman ve sayaç serilerinde o ana kadarki son değer (yeni watermark)
+     */
+    private Watermark rollUpChunk(Series series, long bucketMillis, Watermark watermark, long target,
+                                  Progress progress) {
+        long from = watermark.rolledUpTo;
+        int limit = properties.getChunkSize();
+        List<Samples> sources = readSamples(series, from, target, limit);
+
+        long end = target;
+        for (Samples samples : sources) {
+            if (samples.size >= limit) {
+                end = Math.min(end, Math.floorDiv(samples.timestamps[samples.size - 1], bucketMillis) * bucketMillis);
+            }
+        }
+        if (end <= from) {
+            // Tek kova chunk-size'dan fazla satır içeriyor: kova bölünemez, sınırsız okunur
+            end = from + bucketMillis;
+            sources = readSamples(series, from, end, Integer.MAX_VALUE);
+        }
+
+        TreeMap<Long, double[]> buckets = new TreeMap<>();
+        long rows = 0;
+        for (Samples samples : sources) {
+            for (int i = 0; i < samples.size && samples.timestamps[i] < end; i++) {
+                long bucket = Math.floorDiv(samples.timestamps[i], bucketMillis) * bucketMillis;
+                double value = samples.values[i];
+                double[] stats = buckets.computeIfAbsent(bucket, b -> newStats());
+                stats[0]++;
+                stats[1] += value;
+                stats[2] = Math.min(stats[2], value);
+                stats[3] = Math.max(stats[3], value);
+                rows++;
+            }
+        }
+
+        boolean counter = counterProperties.isCounter(series.dataType);
+        Double lastValue = counter
+                ? accumulateIncrease(buckets, sources, from, end, bucketMillis, watermark.lastValue)
+                : null;
+
+        long chunkEnd = end;
+        long bucketSeconds = bucketMillis / 1000;
+        List<Object[]> inserts = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, stats) -> inserts.add(new Object[]{
+                series.deviceId, series.dataType, bucketSeconds, bucket, (long) stats[0], stats[1], stats[2], stats[3],
+                counter ? stats[4] : null, counter ? (long) stats[5] : null}));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM telemetry_rollup WHERE device_id = ? AND data_type = ? " +
+                            "AND bucket_seconds = ? AND bucket_start_ms >= ? AND bucket_start_ms < ?",
+                    series.deviceId, series.dataType, bucketSeconds, from, chunkEnd);
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO telemetry_rollup (device_id, data_type, bucket_seconds, " +
+                        "bucket_start_ms, sample_count, sum_value, min_value, max_value, increase_value, reset_count) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        inserts);
+            }
+            int updated = jdbcTemplate.update("UPDATE telemetry_retention_watermark SET rolled_up_to_ms = ?, " +
+                            "last_value = ? WHERE device_id = ? AND data_type = ? AND bucket_seconds = ?",
+                    chunkEnd, lastValue, series.deviceId, series.dataType, bucketSeconds);
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO telemetry_retention_watermark " +
+                                "(device_id, data_type, bucket_seconds, rolled_up_to_ms, last_value) VALUES (?, ?, ?, ?, ?)",
+                        series.deviceId, series.dataType, bucketSeconds, chunkEnd, lastValue);
+            }
+        });
+        progress.rowsRolledUp += rows;
+        progress.rollupsWritten += inserts.size();
+        return new Watermark(end, lastValue);
+    }
+
+    /**
+     * Sayaç artışını kovalara dağıtma
+     * Kaynaklar zaman sırasıyla birleştirilir; ardışık iki okuma arasındaki artış sonraki okumanın kovasına
+     * yazılır. Değer düştüyse sayaç sıfırlanmış kabul edilir ve artış yeni değerin kendisidir
+     * @param from Bu zamandan önceki okumalar yalnızca başlangıç değeri olarak kullanılır
+     * @param carry from öncesindeki son değer (bilinmiyorsa null)
+     * @return end öncesindeki son değer (okuma yoksa carry)
+     */
+    private static Double accumulateIncrease(TreeMap<Long, double[]> buckets, List<Samples> sources, long from,
+                                             long end, long bucketMillis, Double carry) {
+        Samples merged = new Samples();
+        for (Samples samples : sources) {
+            for (int i = 0; i < samples.size && samples.timestamps[i] < end; i++) {
+                merged.add(samples.timestamps[i], samples.values[i]);
+            }
+        }
+        Integer[] order = new Integer[merged.size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> merged.timestamps[i]));
+
+        Double previous = carry;
+        for (Integer i : order) {
+            long timestamp = merged.timestamps[i];
+            double value = merged.values[i];
+            if (timestamp >= from && previous != null) {
+                double[] stats = buckets.computeIfAbsent(Math.floorDiv(timestamp, bucketMillis) * bucketMillis,
+                        b -> newStats());
+                if (value >= previous) {
+                    stats[4] += value - previous;
+                } else {
+                    stats[4] += value;
+                    stats[5]++;
+                }
+            }
+            previous = value;
+        }
+        return previous;
+    }
+
+    /**
+     * Kova istatistikleri: sayı, toplam, min, max, artış, sıfırlanma
+     */
+    private static double[] newStats() {
+        return new double[]{0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0, 0};
+    }
+
+    /**
+     * Serinin [from, to) aralığındaki sayısal noktaları; kaynak başına (satır tablosu, dar tablo,
+     * segmentler) en fazla limit nokta, zamana göre artan sırada
+     */
+    private List<Samples> readSamples(Series series, long from, long to, int limit) {
+        List<Samples> sources = new ArrayList<>();
+
+        Samples rows = new Samples();
+        telemetryStore.scanNumeric(series.deviceId, series.dataType, from, to, limit, rows::add);
+        sources.add(rows);
+
+        for (Integer seriesId : series.seriesIds) {
+            Samples narrow = new Samples();
+            telemetrySeriesStore.scanNumeric(seriesId, from, to, limit, narrow::add);
+            sources.add(narrow);
+        }
+        return sources;
+    }
+
+    private OptionalLong earliestTimestamp(Series series) {
+        long[] earliest = {Long.MAX_VALUE};
+        telemetryStore.scanNumeric(series.deviceId, series.dataType, Long.MIN_VALUE, Long.MAX_VALUE, 1,
+                (timestamp, value) -> earliest[0] = timestamp);
+        for (Integer seriesId : series.seriesIds) {
+            telemetrySeriesStore.earliestTimestamp(seriesId)
+                    .ifPresent(timestamp -> earliest[0] = Math.min(earliest[0], timestamp));
+        }
+        return earliest[0] == Long.MAX_VALUE ? OptionalLong.empty() : OptionalLong.of(earliest[0]);
+    }
+
+    /**
+     * Kesme zamanından eski ham veriyi chunk-size satırlık parçalarla silme
+     * @return Parça sınırına ulaşılmadan bitti mi
+     */
+    private boolean purgeRaw(Series series, long cutoffMillis, Run run, Progress progress) {
+        int chunkSize = properties.getChunkSize();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long deleted = chunkSize;
+        while (deleted >= chunkSize) {
+            if (!run.hasBudget()) {
+                return false;
+            }
+            PurgeResult result = transaction.execute(status ->
+                    telemetryStore.purgeBefore(series.deviceId, series.dataType, cutoffMillis, chunkSize));
+            deleted = result.getRows();
+            if (deleted > 0) {
+                run.consume();
+                progress.rawRowsDeleted += deleted;
+                progress.reclaimedBytes += result.getPayloadBytes() + deleted * RAW_ROW_BYTES;
+            }
+        }
+
+        for (Integer seriesId : series.seriesIds) {
+            deleted = chunkSize;
+            while (deleted >= chunkSize) {
+                if (!run.hasBudget()) {
+                    return false;
+                }
+                deleted = telemetrySeriesStore.deleteBefore(seriesId, cutoffMillis, chunkSize);
+                if (deleted > 0) {
+                    run.consume();
+                    progress.rawRowsDeleted += deleted;
+                    progress.reclaimedBytes += deleted * NARROW_ROW_BYTES;
+                }
+            }
+            long sealed = segmentStore.deleteBefore(seriesId, cutoffMillis);
+            if (sealed > 0) {
+                run.consume();
+                progress.segmentPointsDeleted += sealed;
+            }
+            int states = telemetryStateStore.deleteBefore(seriesId, cutoffMillis);
+            if (states > 0) {
+                run.consume();
+                progress.rawRowsDeleted += states;
+                progress.reclaimedBytes += states * STATE_ROW_BYTES;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Telemetri deposundaki (cihaz, veri tipi) grupları ve katalogdaki dar tablo/durum serileri
+     */
+    private List<Series> discoverSeries() {
+        Map<String, Series> series = new LinkedHashMap<>();
+        telemetryStore.forEachSeries((deviceId, dataType) -> {
+            Series s = new Series(deviceId, dataType);
+            series.putIfAbsent(s.key(), s);
+        });
+        for (TelemetrySeriesCatalog.SeriesInfo info : telemetrySeriesCatalog.getAll()) {
+            Series s = new Series(info.getDeviceId(), info.getDataType());
+            series.computeIfAbsent(s.key(), k -> s).seriesIds.add(info.getId());
+        }
+        List<Series> result = new ArrayList<>(series.values());
+        result.sort(Comparator.comparing((Series s) -> s.deviceId)
+                .thenComparing(s -> s.dataType, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * Saklama birimi: bir cihazın bir veri tipi (telemetri deposu ve varsa dar tablo/durum serileri)
+     */
+    private static class Series {
+        private final Long deviceId;
+        private final String dataType;
+        private final List<Integer> seriesIds = new ArrayList<>();
+
+        Series(Long deviceId, String dataType) {
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+        }
+
+        String key() {
+            return deviceId + "/" + dataType;
+        }
+    }
+
+    /**
+     * Özet ilerleme işareti: özetlenen zaman (hariç) ve sayaç serilerinde o ana kadarki son değer
+     */
+    private static class Watermark {
+        private final long rolledUpTo;
+        private final Double lastValue;
+
+        Watermark(long rolledUpTo, Double lastValue) {
+            this.rolledUpTo = rolledUpTo;
+            this.lastValue = lastValue;
+        }
+    }
+
+    /**
+     * Zamana göre artan (zaman, değer) dizisi
+     */
+    private static class Samples {
+        private long[] timestamps = new long[64];
+        private double[] values = new double[64];
+        private int size;
+
+        void add(long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    /**
+     * Tek politikanın çalıştırma sayaçları
+     */
+    private static class Progress {
+        private int series;
+        private long rowsRolledUp;
+        private long rollupsWritten;
+        private long rawRowsDeleted;
+        private long rollupsDeleted;
+        private long segmentPointsDeleted;
+        private long reclaimedBytes;
+    }
+
+    /**
+     * Çalıştırma durumu: kalan parça bütçesi ve politika sayaçları
+     */
+    private static class Run {
+        private final int maxChunks;
+        private final Map<String, Progress> progress = new LinkedHashMap<>();
+        private int chunks;
+
+        Run(int maxChunks) {
+            this.maxChunks = maxChunks;
+        }
+
+        boolean hasBudget() {
+            return chunks < maxChunks;
+        }
+
+        boolean isExhausted() {
+            return !hasBudget();
+        }
+
+        void consume() {
+            chunks++;
+        }
+
+        Progress progress(String policy) {
+            return progress.computeIfAbsent(policy, p -> new Progress());
+        }
+
+        RetentionReport toReport(RetentionReport.Status status, LocalDateTime startedAt, String error) {
+            List<RetentionReport.PolicyProgress> policies = new ArrayList<>();
+            progress.forEach((name, p) -> policies.add(new RetentionReport.PolicyProgress(name, p.series,
+                    p.rowsRolledUp, p.rollupsWritten, p.rawRowsDeleted, p.rollupsDeleted, p.segmentPointsDeleted,
+                    p.reclaimedBytes)));
+            return new RetentionReport(status, startedAt, LocalDateTime.now(), chunks, policies, error);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetrySeries;
+import com.yourcompany.iotplatform.iot_device_management.repository.DeviceRepository;
+import com.yourcompany.iotplatform.iot_device_management.repository.TelemetrySeriesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Telemetri Seri Kataloğu
+ * (cihaz, veri tipi, birim) üçlülerini tamsayı seri ID'lerine eşler ve bellekte tutar.
+ * Açılışta tek sorgu ile doldurulur; yeni seriler ilk okumada oluşturulur
+ */
+@Service
+public class TelemetrySeriesCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetrySeriesCatalog.class);
+
+    private static final String WARM_UP_SQL = "SELECT id, device_id, data_type, unit FROM telemetry_series";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetrySeriesRepository telemetrySeriesRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    private final Map<SeriesKey, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, SeriesInfo> seriesById = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Integer>> seriesIdsByDevice = new ConcurrentHashMap<>();
+
+    /**
+     * Uygulama hazır olduğunda seri kataloğunu veritabanından yükleme
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.query(WARM_UP_SQL, (RowCallbackHandler) rs -> add(new SeriesInfo(
+                rs.getInt("id"),
+                rs.getLong("device_id"),
+                rs.getString("data_type"),
+                rs.getString("unit"))));
+        logger.info("Telemetri seri kataloğu yüklendi: {} seri, {} ms",
+                seriesById.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Seri ID'sini bulma, yoksa oluşturma
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param unit Birim (boş olabilir)
+     * @return Seri ID'si
+     */
+    public int resolve(Long deviceId, String dataType, String unit) {
+        SeriesKey key = new SeriesKey(deviceId, dataType, unit);
+        Integer id = idsByKey.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        // Aynı seri için eşzamanlı iki ekleme benzersizlik kısıtına takılmasın
+        synchronized (this) {
+            id = idsByKey.get(key);
+            if (id != null) {
+                return id;
+            }
+            TelemetrySeries series = telemetrySeriesRepository.findByKey(deviceId, dataType, unit)
+                    .orElseGet(() -> telemetrySeriesRepository.save(
+                            new TelemetrySeries(deviceRepository.getReferenceById(deviceId), dataType, unit)));
+            add(new SeriesInfo(series.getId(), deviceId, dataType, unit));
+            logger.debug("Yeni telemetri serisi: {} - Cihaz: {}, Veri Tipi: {}, Birim: {}",
+                    series.getId(), deviceId, dataType, unit);
+            return series.getId();
+        }
+    }
+
+    /**
+     * ID'ye göre seri bilgisi
+     * @param seriesId Seri ID'si
+     * @return Seri bilgisi (varsa)
+     */
+    public Optional<SeriesInfo> get(int seriesId) {
+        return Optional.ofNullable(seriesById.get(seriesId));
+    }
+
+    /**
+     * Cihazın tüm serileri
+     * @param deviceId Cihaz ID'si
+     * @return Seri ID'leri
+     */
+    public List<Integer> getSeriesIds(Long deviceId) {
+        Set<Integer> ids = deviceId == null ? null : seriesIdsByDevice.get(deviceId);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    /**
+     * Cihazın belirli veri tipindeki serileri (farklı birimler ayrı seridir)
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return Seri ID'leri
+     */
+    public List<Integer> getSeriesIds(Long deviceId, String dataType) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer id : getSeriesIds(deviceId)) {
+            SeriesInfo info = seriesById.get(id);
+            if (info != null && info.getDataType().equals(dataType)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tüm cihazlarda belirli veri tipindeki seriler
+     * @param dataType Veri tipi
+     * @return Seri ID'leri
+     */
+    public List<Integer> getSeriesIdsByDataType(String dataType) {
+        List<Integer> result = new ArrayList<>();
+        for (SeriesInfo info : seriesById.values()) {
+            if (info.getDataType().equals(dataType)) {
+                result.add(info.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Katalogdaki tüm seriler
+     * @return Seri bilgileri
+     */
+    public List<SeriesInfo> getAll() {
+        return List.copyOf(seriesById.values());
+    }
+
+    /**
+     * Katalog boş mu (hiç dar seri oluşturulmamış mı)
+     * @return Boş mu
+     */
+    public boolean isEmpty() {
+        return seriesById.isEmpty();
+    }
+
+    private void add(SeriesInfo info) {
+        seriesById.put(info.getId(), info);
+        idsByKey.put(new SeriesKey(info.getDeviceId(), info.getDataType(), info.getUnit()), info.getId());
+        seriesIdsByDevice.computeIfAbsent(info.getDeviceId(), id -> ConcurrentHashMap.newKeySet()).add(info.getId());
+    }
+
+    /**
+     * Katalog anahtarı
+     */
+    private static final class SeriesKey {
+        private final Long deviceId;
+        private final String dataType;
+        private final String unit;
+
+        SeriesKey(Long deviceId, String dataType, String unit) {
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+            this.unit = unit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SeriesKey key)) return false;
+            return deviceId.equals(key.deviceId) && dataType.equals(key.dataType) && Objects.equals(unit, key.unit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceId, dataType, unit);
+        }
+    }
+
+    /**
+     * Serinin değişmez katalog bilgisi
+     */
+    public static class SeriesInfo {
+        private final int id;
+        private final Long deviceId;
+        private final String dataType;
+        private final String unit;
+
+        public SeriesInfo(int id, Long deviceId, String dataType, String unit) {
+            this.id = id;
+            this.deviceId = deviceId;
+            this.dataType = dataType;
+            this.unit = unit;
+        }
+
+        // Getters
+        public int getId() { return id; }
+        public Long getDeviceId() { return deviceId; }
+        public String getDataType() { return dataType; }
+        public String getUnit() { return unit; }
+    }
+}
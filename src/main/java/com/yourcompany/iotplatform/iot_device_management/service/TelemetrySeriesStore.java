@@ -0,0 +1,668 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentMergedEvent;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SeriesBlock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Dar Sayısal Telemetri Deposu
+ * Sayısal okumaları seri kataloğu üzerinden (seri ID, epoch ms, değer, kalite) satırları olarak yazar ve okur.
+ * Topic ve ham veri yükü saklanmaz, okuma sırasında katalog ve cihaz kayıt defterinden türetilir.
+ * Satır ID'si ve alınma zamanı (receivedAt) da saklanmaz; okumalarda boş döner.
+ * Eski bloklar SegmentStore tarafından segment dosyalarına taşınır; okumalar iki kaynağı birleştirir.
+ * Zaman damgaları UTC kabul edilerek epoch milisaniyeye çevrilir; böylece LocalDateTime değerleri aynen geri döner
+ */
+@Service
+public class TelemetrySeriesStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetrySeriesStore.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String SELECT = "SELECT series_id, ts_epoch_ms, value_numeric, quality FROM telemetry_numeric ";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO telemetry_numeric (series_id, ts_epoch_ms, value_numeric, quality) " +
+            "VALUES (:seriesId, :ts, :value, :quality)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE telemetry_numeric SET value_numeric = :value, quality = :quality " +
+            "WHERE series_id = :seriesId AND ts_epoch_ms = :ts";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TelemetrySeriesCatalog telemetrySeriesCatalog;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @Autowired
+    private TelemetryAggregateCache telemetryAggregateCache;
+
+    @Value("${telemetry.series.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Dar tabloya yazma açık mı
+     * @return Açık mı
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Okuma dar tabloya yazılabilir mi
+     * Yalnızca veri tipi olan sayısal okumalar dar tabloya gider
+     * @param telemetryData Telemetri verisi
+     * @return Dar tabloya yazılabilir mi
+     */
+    public boolean accepts(TelemetryData telemetryData) {
+        return enabled
+                && telemetryData.getValueNumeric() != null
+                && telemetryData.getDataType() != null
+                && telemetryData.getTimestamp() != null
+                && telemetryData.getDevice() != null
+                && telemetryData.getDevice().getId() != null;
+    }
+
+    /**
+     * Sayısal okumayı dar tabloya yazma
+     * Aynı seri ve milisaniyede gelen ikinci okuma öncekinin üzerine yazılır
+     * @param telemetryData Telemetri verisi
+     * @return Okumanın yazıldığı seri ID'si
+     */
+    public int append(TelemetryData telemetryData) {
+        int seriesId = telemetrySeriesCatalog.resolve(telemetryData.getDevice().getId(),
+                telemetryData.getDataType(), telemetryData.getUnit());
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("seriesId", seriesId)
+                .addValue("ts", telemetryData.getTimestampMillis())
+                .addValue("value", telemetryData.getValueNumeric())
+                .addValue("quality", telemetryData.getQuality());
+        try {
+            namedParameterJdbcTemplate.update(INSERT_SQL, params);
+        } catch (DuplicateKeyException e) {
+            namedParameterJdbcTemplate.update(UPDATE_SQL, params);
+        }
+        return seriesId;
+    }
+
+    /**
+     * Sayısal okumaları dar tabloya toplu yazma
+     * Çakışan (aynı seri ve milisaniye) okuma varsa toplu yazma tek tek yazmaya döner
+     * @param batch Telemetri verileri (accepts ile kabul edilmiş)
+     */
+    public void appendBatch(List<TelemetryData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] params = new MapSqlParameterSource[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            TelemetryData data = batch.get(i);
+            int seriesId = telemetrySeriesCatalog.resolve(data.getDevice().getId(), data.getDataType(), data.getUnit());
+            params[i] = new MapSqlParameterSource()
+                    .addValue("seriesId", seriesId)
+                    .addValue("ts", data.getTimestampMillis())
+                    .addValue("value", data.getValueNumeric())
+                    .addValue("quality", data.getQuality());
+        }
+        try {
+            namedParameterJdbcTemplate.batchUpdate(INSERT_SQL, params);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Dar tabloya toplu yazmada çakışma, tek tek yazılıyor: {} okuma", batch.size());
+            batch.forEach(this::append);
+        }
+    }
+
+    /**
+     * Belirli cihazın son N okuması
+     * @param deviceId Cihaz ID'si
+     * @param limit Limit sayısı
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findLatestByDevice(Long deviceId, int limit) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId);
+        if (seriesIds.isEmpty()) {
+            return List.of();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        List<TelemetryDataDto> hot = query(
+                "WHERE series_id IN (:seriesIds) AND ts_epoch_ms >= :sealed ORDER BY ts_epoch_ms DESC LIMIT :limit",
+                new MapSqlParameterSource("seriesIds", seriesIds).addValue("sealed", sealed).addValue("limit", limit));
+        if (!segmentStore.hasSegments() || hot.size() >= limit) {
+            return hot;
+        }
+
+        // Sıcak baş yetmiyorsa en yeni mühürlü bloklardan tamamlanır
+        List<TelemetryDataDto> merged = new ArrayList<>(hot);
+        for (Integer seriesId : seriesIds) {
+            for (SeriesBlock block : segmentStore.scanLatest(seriesId, limit, sealed)) {
+                addPoints(merged, seriesId, block);
+            }
+        }
+        return newestFirst(merged, limit);
+    }
+
+    /**
+     * Belirli cihazın zaman aralığındaki okumaları
+     * @param deviceId Cihaz ID'si
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDeviceAndTimeRange(Long deviceId, long fromMs, long toMs) {
+        return findBySeriesAndTimeRange(telemetrySeriesCatalog.getSeriesIds(deviceId), fromMs, toMs);
+    }
+
+    /**
+     * Belirli cihaz ve veri tipinin zaman aralığındaki en yeni okumaları (sayfalı okuyucular için)
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @param limit En fazla sonuç sayısı
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long fromMs, long toMs, int limit) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId, dataType);
+        if (seriesIds.isEmpty()) {
+            return List.of();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        List<TelemetryDataDto> hot = query(
+                "WHERE series_id IN (:seriesIds) AND ts_epoch_ms BETWEEN :start AND :end AND ts_epoch_ms >= :sealed " +
+                "ORDER BY ts_epoch_ms DESC LIMIT :limit",
+                new MapSqlParameterSource("seriesIds", seriesIds)
+                        .addValue("start", fromMs)
+                        .addValue("end", toMs)
+                        .addValue("sealed", sealed)
+                        .addValue("limit", limit));
+        if (!segmentStore.hasSegments()) {
+            return hot;
+        }
+        return newestFirst(withSegments(hot, seriesIds, fromMs, toMs, sealed), limit);
+    }
+
+    /**
+     * Belirli cihaz ve veri tipindeki okumalar
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDeviceAndDataType(Long deviceId, String dataType) {
+        return findBySeries(telemetrySeriesCatalog.getSeriesIds(deviceId, dataType));
+    }
+
+    /**
+     * Tüm cihazlarda belirli veri tipindeki okumalar
+     * @param dataType Veri tipi
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDataType(String dataType) {
+        return findBySeries(telemetrySeriesCatalog.getSeriesIdsByDataType(dataType));
+    }
+
+    /**
+     * Türetilmiş topic'e göre okumalar
+     * @param topic MQTT topic (iot/{deviceId}/telemetry)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByTopic(String topic) {
+        return deviceKeyOf(topic)
+                .flatMap(deviceRegistry::getByDeviceId)
+                .map(state -> findBySeries(telemetrySeriesCatalog.getSeriesIds(state.getId())))
+                .orElse(List.of());
+    }
+
+    /**
+     * Tüm cihazlarda zaman aralığındaki okumalar
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByTimeRange(long fromMs, long toMs) {
+        if (telemetrySeriesCatalog.isEmpty()) {
+            return List.of();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        List<TelemetryDataDto> hot = query(
+                "WHERE ts_epoch_ms BETWEEN :start AND :end AND ts_epoch_ms >= :sealed ORDER BY ts_epoch_ms DESC",
+                new MapSqlParameterSource("start", fromMs).addValue("end", toMs).addValue("sealed", sealed));
+        return withSegments(hot, List.copyOf(segmentStore.getSeriesIds()), fromMs, toMs, sealed);
+    }
+
+    /**
+     * Belirli cihaz ve veri tipinin zaman aralığındaki toplam değerleri
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Toplam değerler
+     */
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long fromMs, long toMs) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId, dataType);
+        if (seriesIds.isEmpty()) {
+            return TelemetryAggregate.empty();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        TelemetryAggregate aggregate = namedParameterJdbcTemplate.queryForObject(
+                "SELECT COUNT(*), SUM(value_numeric), MIN(value_numeric), MAX(value_numeric) FROM telemetry_numeric " +
+                "WHERE series_id IN (:seriesIds) AND ts_epoch_ms BETWEEN :start AND :end AND ts_epoch_ms >= :sealed",
+                new MapSqlParameterSource("seriesIds", seriesIds)
+                        .addValue("start", fromMs)
+                        .addValue("end", toMs)
+                        .addValue("sealed", sealed),
+                (rs, rowNum) -> new TelemetryAggregate(rs.getLong(1),
+                        rs.getObject(2, Double.class), rs.getObject(3, Double.class), rs.getObject(4, Double.class)));
+        for (Integer seriesId : seriesIds) {
+            aggregate = aggregate.combine(segmentStore.aggregate(seriesId, fromMs, toMs, sealed));
+        }
+        return aggregate;
+    }
+
+    /**
+     * Veri tipinin zaman aralığındaki toplam değerleri, cihaz bazında gruplanmış
+     * Dar tablo tek gruplu sorguyla okunur; segment dosyaları seri başına bağımsız olduğundan
+     * ortak fork-join havuzunda paralel çözülür
+     * @param dataType Veri tipi
+     * @param deviceIds Cihaz ID'leri (null ise tüm cihazlar)
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Cihaz ID'si -> toplam değerler (okuması olmayan cihazlar yer almaz)
+     */
+    public Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds,
+                                                          long fromMs, long toMs) {
+        Map<Integer, Long> deviceBySeries = new HashMap<>();
+        Set<Long> selected = deviceIds == null ? null : new HashSet<>(deviceIds);
+        for (Integer seriesId : telemetrySeriesCatalog.getSeriesIdsByDataType(dataType)) {
+            telemetrySeriesCatalog.get(seriesId)
+                    .filter(info -> selected == null || selected.contains(info.getDeviceId()))
+                    .ifPresent(info -> deviceBySeries.put(seriesId, info.getDeviceId()));
+        }
+        Map<Long, TelemetryAggregate> result = new HashMap<>();
+        if (deviceBySeries.isEmpty()) {
+            return result;
+        }
+
+        // Tüm filo için uzun IN listesi yerine katalog tablosu ile birleştirilir
+        long sealed = segmentStore.getSealedBefore();
+        String seriesFilter = selected == null
+                ? " AND n.series_id IN (SELECT s.id FROM telemetry_series s WHERE s.data_type = :dataType)"
+                : " AND n.series_id IN (:seriesIds)";
+        namedParameterJdbcTemplate.query(
+                "SELECT n.series_id, COUNT(*), SUM(n.value_numeric), MIN(n.value_numeric), MAX(n.value_numeric) " +
+                "FROM telemetry_numeric n WHERE n.ts_epoch_ms BETWEEN :start AND :end AND n.ts_epoch_ms >= :sealed" +
+                seriesFilter +
+                " GROUP BY n.series_id",
+                new MapSqlParameterSource("seriesIds", new ArrayList<>(deviceBySeries.keySet()))
+                        .addValue("dataType", dataType)
+                        .addValue("start", fromMs)
+                        .addValue("end", toMs)
+                        .addValue("sealed", sealed),
+                (RowCallbackHandler) rs -> {
+                    Long deviceId = deviceBySeries.get(rs.getInt(1));
+                    if (deviceId != null) {
+                        result.merge(deviceId, new TelemetryAggregate(rs.getLong(2), rs.getObject(3, Double.class),
+                                rs.getObject(4, Double.class), rs.getObject(5, Double.class)), TelemetryAggregate::combine);
+                    }
+                });
+
+        if (segmentStore.hasSegments()) {
+            Map<Long, TelemetryAggregate> archived = deviceBySeries.entrySet().parallelStream()
+                    .filter(entry -> segmentStore.getSeriesIds().contains(entry.getKey()))
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getValue,
+                            entry -> segmentStore.aggregate(entry.getKey(), fromMs, toMs, sealed),
+                            TelemetryAggregate::combine));
+            archived.forEach((deviceId, aggregate) -> {
+                if (aggregate.getCount() > 0) {
+                    result.merge(deviceId, aggregate, TelemetryAggregate::combine);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Mühürlü bloğa geç satırlar birleştirildiğinde bloğun önbellekteki toplamlarını geçersiz kılma
+     * @param event Birleştirme olayı
+     */
+    @EventListener
+    public void onSegmentMerged(SegmentMergedEvent event) {
+        telemetrySeriesCatalog.get(event.getSeriesId()).ifPresent(info -> telemetryAggregateCache.invalidateRange(
+                info.getDeviceId(), info.getDataType(), event.getBlockStart(), event.getBlockEnd()));
+    }
+
+    /**
+     * Kesme zamanından eski okumaları silme
+     * @param cutoffMs Kesme zamanı (epoch ms, hariç)
+     * @return Silinen satır sayısı
+     */
+    public int deleteBefore(long cutoffMs) {
+        if (telemetrySeriesCatalog.isEmpty()) {
+            return 0;
+        }
+        int deleted = namedParameterJdbcTemplate.update("DELETE FROM telemetry_numeric WHERE ts_epoch_ms < :cutoff",
+                new MapSqlParameterSource("cutoff", cutoffMs));
+        return deleted + (int) segmentStore.deleteBefore(cutoffMs);
+    }
+
+    /**
+     * Serinin [fromMs, toMs) aralığındaki noktaları, zamana göre artan sırada (özetleme için)
+     * Mühürlü segmentler mühür sınırından önce, tablo satırları sonra geldiğinden önce segmentler okunur
+     * @param seriesId Seri ID'si
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, hariç)
+     * @param limit En fazla nokta sayısı
+     * @param handler Nokta işleyici
+     */
+    public void scanNumeric(int seriesId, long fromMs, long toMs, int limit, TelemetryStore.SampleHandler handler) {
+        long sealed = segmentStore.getSealedBefore();
+        int count = 0;
+        for (SeriesBlock block : segmentStore.scan(seriesId, fromMs, toMs - 1, sealed)) {
+            for (int i = 0; i < block.getSize() && count < limit; i++, count++) {
+                handler.accept(block.getTimestamps()[i], block.getValues()[i]);
+            }
+        }
+        if (count >= limit) {
+            return;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT ts_epoch_ms, value_numeric FROM telemetry_numeric WHERE series_id = :seriesId " +
+                "AND ts_epoch_ms >= :start AND ts_epoch_ms < :end AND ts_epoch_ms >= :sealed ORDER BY ts_epoch_ms LIMIT :limit",
+                new MapSqlParameterSource("seriesId", seriesId)
+                        .addValue("start", fromMs)
+                        .addValue("end", toMs)
+                        .addValue("sealed", sealed)
+                        .addValue("limit", limit - count),
+                (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getDouble(2)));
+    }
+
+    /**
+     * Serinin en eski noktasının zamanı (tablo ve segmentler)
+     * @param seriesId Seri ID'si
+     * @return Epoch ms (nokta yoksa boş)
+     */
+    public OptionalLong earliestTimestamp(int seriesId) {
+        OptionalLong sealed = segmentStore.earliestTimestamp(seriesId);
+        Long hot = namedParameterJdbcTemplate.queryForObject(
+                "SELECT MIN(ts_epoch_ms) FROM telemetry_numeric WHERE series_id = :seriesId",
+                new MapSqlParameterSource("seriesId", seriesId), Long.class);
+        if (hot == null) {
+            return sealed;
+        }
+        return OptionalLong.of(sealed.isPresent() ? Math.min(hot, sealed.getAsLong()) : hot);
+    }
+
+    /**
+     * Serinin kesme zamanından eski en fazla yaklaşık limit tablo satırını silme (saklama politikaları için)
+     * Sınırdaki zaman damgasının tüm satırları aynı parçada silinir; mühürlü segmentler SegmentStore'dan silinir
+     * @param seriesId Seri ID'si
+     * @param cutoffMs Kesme zamanı (epoch ms, hariç)
+     * @param limit Parça boyutu
+     * @return Silinen satır sayısı
+     */
+    public int deleteBefore(int seriesId, long cutoffMs, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("seriesId", seriesId)
+                .addValue("cutoff", cutoffMs)
+                .addValue("offset", limit - 1);
+        Long boundary = namedParameterJdbcTemplate.query(
+                "SELECT ts_epoch_ms FROM telemetry_numeric WHERE series_id = :seriesId AND ts_epoch_ms < :cutoff " +
+                "ORDER BY ts_epoch_ms LIMIT 1 OFFSET :offset",
+                params, rs -> rs.next() ? rs.getLong(1) : null);
+        return boundary != null
+                ? namedParameterJdbcTemplate.update("DELETE FROM telemetry_numeric WHERE series_id = :seriesId " +
+                        "AND ts_epoch_ms <= :boundary", params.addValue("boundary", boundary))
+                : namedParameterJdbcTemplate.update("DELETE FROM telemetry_numeric WHERE series_id = :seriesId " +
+                        "AND ts_epoch_ms < :cutoff", params);
+    }
+
+    /**
+     * Dar tablodan gelen DTO'yu GraphQL tarafı için entity'ye çevirme
+     * Cihaz kayıt defterindeki bilgilerle geçici (yönetilmeyen) bir cihaz nesnesi oluşturulur
+     * @param dto Telemetri verisi DTO'su
+     * @return Geçici telemetri verisi
+     */
+    public TelemetryData toTelemetryData(TelemetryDataDto dto) {
+        Device device = new Device();
+        device.setId(dto.getDeviceId());
+        device.setName(dto.getDeviceName());
+        deviceRegistry.get(dto.getDeviceId()).ifPresent(state -> {
+            device.setDeviceId(state.getDeviceId());
+            device.setDeviceType(state.getDeviceType());
+            device.setStatus(state.getStatus());
+            device.setLastSeen(state.getLastSeen());
+        });
+
+        TelemetryData data = new TelemetryData();
+        data.setDevice(device);
+        data.setTimestamp(dto.getTimestamp());
+        data.setTopic(dto.getTopic());
+        data.setPayload(dto.getPayload() != null ? dto.getPayload() : derivePayload(dto));
+        data.setDataType(dto.getDataType());
+        data.setUnit(dto.getUnit());
+        data.setValueNumeric(dto.getValueNumeric());
+        data.setValueString(dto.getValueString());
+        data.setValueBoolean(dto.getValueBoolean());
+        data.setQuality(dto.getQuality());
+        data.setReceivedAt(dto.getReceivedAt());
+        return data;
+    }
+
+    /**
+     * Dar tablodaki veya durum deposundaki okuma için ham veri yükünü MQTT mesaj formatında yeniden oluşturma
+     * @param dto Telemetri verisi DTO'su
+     * @return JSON veri yükü
+     */
+    public static String derivePayload(TelemetryDataDto dto) {
+        return derivePayload(dto.getDataType(), valueNode(dto.getValueNumeric(), dto.getValueBoolean(), dto.getValueString()),
+                dto.getUnit(), dto.getQuality(), dto.getTimestamp());
+    }
+
+    /**
+     * Ham yükü saklanmamış satırın yükünü okuma alanlarından yeniden oluşturma
+     * @param data Telemetri verisi
+     * @return JSON veri yükü
+     */
+    public static String derivePayload(TelemetryData data) {
+        return derivePayload(data.getDataType(), valueNode(data.getValueNumeric(), data.getValueBoolean(), data.getValueString()),
+                data.getUnit(), data.getQuality(), data.getTimestamp());
+    }
+
+    private static JsonNode valueNode(Double numeric, Boolean bool, String text) {
+        return numeric != null ? DoubleNode.valueOf(numeric)
+                : bool != null ? BooleanNode.valueOf(bool)
+                : text != null ? TextNode.valueOf(text)
+                : NullNode.getInstance();
+    }
+
+    /**
+     * Sayısal okuma alanlarından ham veri yükünü MQTT mesaj formatında yeniden oluşturma
+     * @param dataType Veri tipi
+     * @param value Sayısal değer
+     * @param unit Birim (boş olabilir)
+     * @param quality Kalite (boş olabilir)
+     * @param timestamp Zaman damgası
+     * @return JSON veri yükü
+     */
+    public static String derivePayload(String dataType, Double value, String unit, Integer quality, LocalDateTime timestamp) {
+        return derivePayload(dataType, value != null ? DoubleNode.valueOf(value) : NullNode.getInstance(),
+                unit, quality, timestamp);
+    }
+
+    private static String derivePayload(String dataType, JsonNode value, String unit, Integer quality,
+                                        LocalDateTime timestamp) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("dataType", dataType);
+        node.set("value", value);
+        if (unit != null) {
+            node.put("unit", unit);
+        }
+        if (quality != null) {
+            node.put("quality", quality);
+        }
+        node.put("timestamp", timestamp.toString());
+        return node.toString();
+    }
+
+    /**
+     * Cihaz ID'sinden telemetri topic'ini türetme
+     * @param deviceKey Cihaz ID'si (string)
+     * @return MQTT topic
+     */
+    public static String topicOf(String deviceKey) {
+        return "iot/" + deviceKey + "/telemetry";
+    }
+
+    /**
+     * Türetilmiş topic'ten cihaz ID'sini çıkarma
+     * @param topic MQTT topic (iot/{deviceId}/telemetry)
+     * @return Cihaz ID'si (topic bu formatta değilse boş)
+     */
+    public static Optional<String> deviceKeyOf(String topic) {
+        String[] parts = topic == null ? new String[0] : topic.split("/");
+        if (parts.length != 3 || !topic.equals(topicOf(parts[1]))) {
+            return Optional.empty();
+        }
+        return Optional.of(parts[1]);
+    }
+
+    private List<TelemetryDataDto> findBySeries(List<Integer> seriesIds) {
+        if (seriesIds.isEmpty()) {
+            return List.of();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        List<TelemetryDataDto> hot = query("WHERE series_id IN (:seriesIds) AND ts_epoch_ms >= :sealed ORDER BY ts_epoch_ms DESC",
+                new MapSqlParameterSource("seriesIds", seriesIds).addValue("sealed", sealed));
+        return withSegments(hot, seriesIds, Long.MIN_VALUE, Long.MAX_VALUE, sealed);
+    }
+
+    private List<TelemetryDataDto> findBySeriesAndTimeRange(List<Integer> seriesIds, long fromMs, long toMs) {
+        if (seriesIds.isEmpty()) {
+            return List.of();
+        }
+        long sealed = segmentStore.getSealedBefore();
+        List<TelemetryDataDto> hot = query(
+                "WHERE series_id IN (:seriesIds) AND ts_epoch_ms BETWEEN :start AND :end AND ts_epoch_ms >= :sealed " +
+                "ORDER BY ts_epoch_ms DESC",
+                new MapSqlParameterSource("seriesIds", seriesIds)
+                        .addValue("start", fromMs)
+                        .addValue("end", toMs)
+                        .addValue("sealed", sealed));
+        return withSegments(hot, seriesIds, fromMs, toMs, sealed);
+    }
+
+    /**
+     * Sıcak baş sonuçlarına mühürlü segmentlerdeki noktaları ekleme
+     * @param hot Veritabanı sonuçları
+     * @param seriesIds Seri ID'leri
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @param sealed Tablo sorgusunda kullanılan mühür sınırı
+     * @return Birleşik sonuçlar (yeniden eskiye)
+     */
+    private List<TelemetryDataDto> withSegments(List<TelemetryDataDto> hot, List<Integer> seriesIds,
+                                                long fromMs, long toMs, long sealed) {
+        if (!segmentStore.hasSegments()) {
+            return hot;
+        }
+        List<TelemetryDataDto> merged = new ArrayList<>(hot);
+        for (Integer seriesId : seriesIds) {
+            for (SeriesBlock block : segmentStore.scan(seriesId, fromMs, toMs, sealed)) {
+                addPoints(merged, seriesId, block);
+            }
+        }
+        return merged.size() == hot.size() ? hot : newestFirst(merged, Integer.MAX_VALUE);
+    }
+
+    private void addPoints(List<TelemetryDataDto> target, int seriesId, SeriesBlock block) {
+        long[] timestamps = block.getTimestamps();
+        double[] values = block.getValues();
+        int[] qualities = block.getQualities();
+        for (int i = 0; i < block.getSize(); i++) {
+            TelemetryDataDto dto = toDto(seriesId, timestamps[i], values[i],
+                    qualities[i] == SeriesBlock.NO_QUALITY ? null : qualities[i]);
+            if (dto != null) {
+                target.add(dto);
+            }
+        }
+    }
+
+    private static List<TelemetryDataDto> newestFirst(List<TelemetryDataDto> rows, int limit) {
+        rows.sort(Comparator.comparingLong(TelemetryDataDto::getTimestampMillis).reversed());
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    private List<TelemetryDataDto> query(String condition, MapSqlParameterSource params) {
+        List<TelemetryDataDto> rows = namedParameterJdbcTemplate.query(SELECT + condition, params, this::mapRow);
+        rows.removeIf(Objects::isNull);
+        return rows;
+    }
+
+    private TelemetryDataDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return toDto(rs.getInt("series_id"), rs.getLong("ts_epoch_ms"), rs.getDouble("value_numeric"),
+                rs.getObject("quality", Integer.class));
+    }
+
+    private TelemetryDataDto toDto(int seriesId, long epochMillis, double value, Integer quality) {
+        Optional<TelemetrySeriesCatalog.SeriesInfo> series = telemetrySeriesCatalog.get(seriesId);
+        if (series.isEmpty()) {
+            logger.warn("Katalogda olmayan telemetri serisi atlandı: {}", seriesId);
+            return null;
+        }
+        TelemetrySeriesCatalog.SeriesInfo info = series.get();
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(info.getDeviceId());
+
+        // Satır ID'si ve alınma zamanı dar tabloda tutulmaz
+        return new TelemetryDataDto(null, info.getDeviceId(),
+                device.map(DeviceRegistry.DeviceState::getName).orElse(null),
+                epochMillis,
+                device.map(state -> topicOf(state.getDeviceId())).orElse(null),
+                info.getDataType(), info.getUnit(),
+                value, null, null, quality, null);
+    }
+}
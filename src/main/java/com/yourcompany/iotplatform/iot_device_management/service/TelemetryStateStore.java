@@ -0,0 +1,368 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.StateTransitionDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TimeInStateDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durum Geçişi Deposu
+ * Boolean ve metin okumalarını (kapı sensörü, röle durumu) seri başına durum aralıkları olarak yazar:
+ * aynı durumu tekrarlayan okumalar hiçbir şey yazmaz, durum değişince açık aralık kapatılıp yenisi açılır.
+ * "Durumda geçen süre" ve "aralıktaki geçişler" örnekler taranmadan aralıklardan hesaplanır.
+ * Her serinin açık aralığı bellekte tutulur, ilk okumada veritabanından yüklenir. Açık aralığın kapatılması
+ * ve yenisinin açılması tek işlemde yapılır; yarıda kalan yazma seriyi açık aralıksız bırakmaz.
+ * Alınma zamanı (receivedAt) saklanmaz; okumalarda boş döner
+ */
+@Service
+public class TelemetryStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryStateStore.class);
+
+    private static final String SELECT =
+            "SELECT series_id, start_ms, end_ms, value_boolean, value_string, quality FROM telemetry_state ";
+
+    private static final String OVERLAPS =
+            "WHERE series_id IN (:seriesIds) AND start_ms < :end AND (end_ms IS NULL OR end_ms > :start) ";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetrySeriesCatalog telemetrySeriesCatalog;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Value("${telemetry.state.enabled:false}")
+    private boolean enabled;
+
+    private final Map<Integer, OpenState> openStates = new ConcurrentHashMap<>();
+
+    /**
+     * Okuma durum geçişi olarak yazılabilir mi
+     * Yalnızca veri tipi olan boolean veya metin okumaları kabul edilir
+     * @param telemetryData Telemetri verisi
+     * @return Durum deposuna yazılabilir mi
+     */
+    public boolean accepts(TelemetryData telemetryData) {
+        return enabled
+                && telemetryData.getValueNumeric() == null
+                && (telemetryData.getValueBoolean() != null || telemetryData.getValueString() != null)
+                && telemetryData.getDataType() != null
+                && telemetryData.getTimestamp() != null
+                && telemetryData.getDevice() != null
+                && telemetryData.getDevice().getId() != null;
+    }
+
+    /**
+     * Durum okumasını yazma
+     * Açık aralıkla aynı durumdaki okuma yazılmaz; açık aralıktan eski (sıra dışı) okumalar kabul edilmez
+     * @param telemetryData Telemetri verisi (accepts ile kabul edilmiş)
+     * @return Okuma depoya işlendiyse true; sıra dışı ise false (çağıran satır tablosuna yazar)
+     */
+    public boolean append(TelemetryData telemetryData) {
+        int seriesId = telemetrySeriesCatalog.resolve(telemetryData.getDevice().getId(),
+                telemetryData.getDataType(), telemetryData.getUnit());
+        long ts = telemetryData.getTimestampMillis();
+        OpenState open = openStates.get(seriesId);
+        if (open == null) {
+            open = openStates.computeIfAbsent(seriesId, id -> new OpenState());
+        }
+
+        synchronized (open) {
+            try {
+                if (!open.loaded) {
+                    load(seriesId, open);
+                }
+                if (open.startMs != null && ts < open.startMs) {
+                    return false;
+                }
+                if (open.startMs != null && open.sameState(telemetryData)) {
+                    return true;
+                }
+
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("seriesId", seriesId)
+                        .addValue("ts", ts)
+                        .addValue("valueBoolean", telemetryData.getValueBoolean())
+                        .addValue("valueString", telemetryData.getValueString())
+                        .addValue("quality", telemetryData.getQuality());
+                if (open.startMs != null && open.startMs == ts) {
+                    // Aynı milisaniyede gelen farklı durum öncekinin üzerine yazılır
+                    namedParameterJdbcTemplate.update("UPDATE telemetry_state SET value_boolean = :valueBoolean, " +
+                            "value_string = :valueString, quality = :quality " +
+                            "WHERE series_id = :seriesId AND start_ms = :ts", params);
+                } else {
+                    Long previousStart = open.startMs;
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        if (previousStart != null) {
+                            namedParameterJdbcTemplate.update("UPDATE telemetry_state SET end_ms = :ts " +
+                                    "WHERE series_id = :seriesId AND start_ms = :start", params.addValue("start", previousStart));
+                        }
+                        namedParameterJdbcTemplate.update("INSERT INTO telemetry_state (series_id, start_ms, end_ms, " +
+                                "value_boolean, value_string, quality) VALUES (:seriesId, :ts, NULL, :valueBoolean, " +
+                                ":valueString, :quality)", params);
+                    });
+                }
+                open.startMs = ts;
+                open.valueBoolean = telemetryData.getValueBoolean();
+                open.valueString = telemetryData.getValueString();
+                return true;
+            } catch (RuntimeException e) {
+                // Bellekteki açık aralık veritabanıyla uyumsuz kalmasın, sonraki okumada yeniden yüklenir
+                open.loaded = false;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Aralıktaki durum geçişleri (aralıkla kesişen tüm durum aralıkları)
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param fromMs Başlangıç (epoch ms)
+     * @param toMs Bitiş (epoch ms)
+     * @return Başlangıca göre artan sıralı durum aralıkları
+     */
+    public List<StateTransitionDto> findTransitions(Long deviceId, String dataType, long fromMs, long toMs) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId, dataType);
+        if (seriesIds.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(SELECT + OVERLAPS + "ORDER BY start_ms",
+                range(seriesIds, fromMs, toMs),
+                (rs, rowNum) -> {
+                    Long end = rs.getObject("end_ms", Long.class);
+                    return new StateTransitionDto(stateOf(rs),
+                            TelemetryTime.toLocalDateTime(rs.getLong("start_ms")),
+                            end != null ? TelemetryTime.toLocalDateTime(end) : null,
+                            rs.getObject("quality", Integer.class));
+                });
+    }
+
+    /**
+     * Aralıkta her durumda geçen süre
+     * Süren durum sorgu bitişine (gelecekteyse şu ana) kadar sayılır
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param fromMs Başlangıç (epoch ms)
+     * @param toMs Bitiş (epoch ms)
+     * @param nowMillis Şu an (epoch ms)
+     * @return Süreye göre azalan sıralı durum süreleri
+     */
+    public List<TimeInStateDto> timeInState(Long deviceId, String dataType, long fromMs, long toMs, long nowMillis) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId, dataType);
+        long end = Math.min(toMs, nowMillis);
+        if (seriesIds.isEmpty() || end <= fromMs) {
+            return List.of();
+        }
+        double window = end - fromMs;
+        return namedParameterJdbcTemplate.query(
+                "SELECT value_boolean, value_string, " +
+                "SUM(LEAST(COALESCE(end_ms, :end), :end) - GREATEST(start_ms, :start)) AS duration_ms, " +
+                "SUM(CASE WHEN start_ms >= :start THEN 1 ELSE 0 END) AS entries " +
+                "FROM telemetry_state " + OVERLAPS +
+                "GROUP BY value_boolean, value_string ORDER BY duration_ms DESC",
+                range(seriesIds, fromMs, end),
+                (rs, rowNum) -> {
+                    long duration = rs.getLong("duration_ms");
+                    return new TimeInStateDto(stateOf(rs), duration, duration / window, rs.getLong("entries"));
+                });
+    }
+
+    /**
+     * Belirli cihazın son N durum geçişi
+     * @param deviceId Cihaz ID'si
+     * @param limit Limit sayısı
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findLatestByDevice(Long deviceId, int limit) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId);
+        if (!enabled || seriesIds.isEmpty()) {
+            return List.of();
+        }
+        return query("WHERE series_id IN (:seriesIds) ORDER BY start_ms DESC LIMIT :limit",
+                new MapSqlParameterSource("seriesIds", seriesIds).addValue("limit", limit));
+    }
+
+    /**
+     * Belirli cihazın zaman aralığında başlayan durum geçişleri
+     * @param deviceId Cihaz ID'si
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDeviceAndTimeRange(Long deviceId, long fromMs, long toMs) {
+        List<Integer> seriesIds = telemetrySeriesCatalog.getSeriesIds(deviceId);
+        if (!enabled || seriesIds.isEmpty()) {
+            return List.of();
+        }
+        return query("WHERE series_id IN (:seriesIds) AND start_ms BETWEEN :start AND :end ORDER BY start_ms DESC",
+                range(seriesIds, fromMs, toMs));
+    }
+
+    /**
+     * Belirli cihaz ve veri tipindeki durum geçişleri
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDeviceAndDataType(Long deviceId, String dataType) {
+        return findBySeries(telemetrySeriesCatalog.getSeriesIds(deviceId, dataType));
+    }
+
+    /**
+     * Tüm cihazlarda belirli veri tipindeki durum geçişleri
+     * @param dataType Veri tipi
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByDataType(String dataType) {
+        return findBySeries(telemetrySeriesCatalog.getSeriesIdsByDataType(dataType));
+    }
+
+    /**
+     * Türetilmiş topic'e göre durum geçişleri
+     * @param topic MQTT topic (iot/{deviceId}/telemetry)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByTopic(String topic) {
+        return TelemetrySeriesStore.deviceKeyOf(topic)
+                .flatMap(deviceRegistry::getByDeviceId)
+                .map(state -> findBySeries(telemetrySeriesCatalog.getSeriesIds(state.getId())))
+                .orElse(List.of());
+    }
+
+    /**
+     * Tüm cihazlarda zaman aralığında başlayan durum geçişleri
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Telemetri verisi DTO'ları (yeniden eskiye)
+     */
+    public List<TelemetryDataDto> findByTimeRange(long fromMs, long toMs) {
+        if (!enabled || telemetrySeriesCatalog.isEmpty()) {
+            return List.of();
+        }
+        return query("WHERE start_ms BETWEEN :start AND :end ORDER BY start_ms DESC",
+                new MapSqlParameterSource("start", fromMs).addValue("end", toMs));
+    }
+
+    /**
+     * Kesme zamanından önce bitmiş durum aralıklarını silme (süren durumlar korunur)
+     * @param cutoffMs Kesme zamanı (epoch ms, hariç)
+     * @return Silinen satır sayısı
+     */
+    public int deleteBefore(long cutoffMs) {
+        if (!enabled) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update("DELETE FROM telemetry_state WHERE end_ms < :cutoff",
+                new MapSqlParameterSource("cutoff", cutoffMs));
+    }
+
+    /**
+     * Serinin kesme zamanından önce bitmiş durum aralıklarını silme (saklama politikaları için)
+     * Yazma kapalı olsa bile önceden yazılmış aralıklar silinir
+     * @param seriesId Seri ID'si
+     * @param cutoffMs Kesme zamanı (epoch ms)
+     * @return Silinen satır sayısı
+     */
+    public int deleteBefore(int seriesId, long cutoffMs) {
+        return namedParameterJdbcTemplate.update(
+                "DELETE FROM telemetry_state WHERE series_id = :seriesId AND end_ms < :cutoff",
+                new MapSqlParameterSource("seriesId", seriesId).addValue("cutoff", cutoffMs));
+    }
+
+    private void load(int seriesId, OpenState open) {
+        List<Object[]> rows = namedParameterJdbcTemplate.query(
+                "SELECT start_ms, value_boolean, value_string FROM telemetry_state " +
+                "WHERE series_id = :seriesId AND end_ms IS NULL ORDER BY start_ms DESC LIMIT 1",
+                new MapSqlParameterSource("seriesId", seriesId),
+                (rs, rowNum) -> new Object[]{rs.getLong("start_ms"), rs.getObject("value_boolean", Boolean.class),
+                        rs.getString("value_string")});
+        open.startMs = rows.isEmpty() ? null : (Long) rows.get(0)[0];
+        open.valueBoolean = rows.isEmpty() ? null : (Boolean) rows.get(0)[1];
+        open.valueString = rows.isEmpty() ? null : (String) rows.get(0)[2];
+        open.loaded = true;
+    }
+
+    private List<TelemetryDataDto> findBySeries(List<Integer> seriesIds) {
+        if (!enabled || seriesIds.isEmpty()) {
+            return List.of();
+        }
+        return query("WHERE series_id IN (:seriesIds) ORDER BY start_ms DESC",
+                new MapSqlParameterSource("seriesIds", seriesIds));
+    }
+
+    private List<TelemetryDataDto> query(String condition, MapSqlParameterSource params) {
+        List<TelemetryDataDto> rows = new ArrayList<>(namedParameterJdbcTemplate.query(SELECT + condition, params, this::mapRow));
+        rows.removeIf(Objects::isNull);
+        return rows;
+    }
+
+    private TelemetryDataDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        int seriesId = rs.getInt("series_id");
+        Optional<TelemetrySeriesCatalog.SeriesInfo> series = telemetrySeriesCatalog.get(seriesId);
+        if (series.isEmpty()) {
+            logger.warn("Katalogda olmayan durum serisi atlandı: {}", seriesId);
+            return null;
+        }
+        TelemetrySeriesCatalog.SeriesInfo info = series.get();
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(info.getDeviceId());
+        long timestamp = rs.getLong("start_ms");
+
+        // Durum geçişi, yeni durumun ilk okuması olarak gösterilir
+        return new TelemetryDataDto(null, info.getDeviceId(),
+                device.map(DeviceRegistry.DeviceState::getName).orElse(null),
+                timestamp,
+                device.map(state -> TelemetrySeriesStore.topicOf(state.getDeviceId())).orElse(null),
+                info.getDataType(), info.getUnit(), null,
+                rs.getString("value_string"), rs.getObject("value_boolean", Boolean.class),
+                rs.getObject("quality", Integer.class), null);
+    }
+
+    private static MapSqlParameterSource range(List<Integer> seriesIds, long start, long end) {
+        return new MapSqlParameterSource("seriesIds", seriesIds).addValue("start", start).addValue("end", end);
+    }
+
+    private static String stateOf(ResultSet rs) throws SQLException {
+        Boolean valueBoolean = rs.getObject("value_boolean", Boolean.class);
+        return valueBoolean != null ? valueBoolean.toString() : rs.getString("value_string");
+    }
+
+    /**
+     * Serinin bellekteki açık aralığı
+     */
+    private static class OpenState {
+        private boolean loaded;
+        private Long startMs;
+        private Boolean valueBoolean;
+        private String valueString;
+
+        boolean sameState(TelemetryData data) {
+            return Objects.equals(valueBoolean, data.getValueBoolean()) && Objects.equals(valueString, data.getValueString());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.yourcompany.iotplatform.iot_device_management.config.SeriesSelector;
+import com.yourcompany.iotplatform.iot_device_management.config.VirtualSeriesProperties;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sanal Seri Servisi
+ * Konfigürasyondaki ifadeler başlangıçta bir kez derlenir. Canlı okumada, okumanın veri tipini giriş olarak
+ * kullanan tanımlar diğer girişlerin son değeriyle artımlı hesaplanır: sonuç son değer deposuna yazılır,
+ * kalıcı tanımlarınki ayrıca kaydedilmek üzere döner. Geçmiş için ifade, girişlerin zaman hizalamasıyla
+ * sorgu anında hesaplanır; böylece kaydedilmeyen sanal seriler de geriye dönük okunabilir
+ */
+@Service
+@EnableConfigurationProperties(VirtualSeriesProperties.class)
+public class VirtualSeriesService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualSeriesService.class);
+
+    @Autowired
+    private VirtualSeriesProperties properties;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private LatestValueStore latestValueStore;
+
+    @Autowired
+    private TelemetryJoinService telemetryJoinService;
+
+    private final Map<VirtualSeriesProperties.Definition, SeriesExpression> expressions = new IdentityHashMap<>();
+
+    /**
+     * Giriş veri tipi -> onu kullanan sanal seri adları
+     */
+    private final Map<String, Set<String>> outputsByInput = new HashMap<>();
+
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong materialized = new AtomicLong();
+
+    /**
+     * Tanımları doğrulama ve derleme; hatalı ifade uygulamanın açılmasını engeller
+     */
+    @PostConstruct
+    public void compile() {
+        expressions.clear();
+        outputsByInput.clear();
+        Set<String> names = new LinkedHashSet<>();
+        for (VirtualSeriesProperties.Definition definition : properties.getDefinitions()) {
+            if (definition.getDataType() == null || definition.getDataType().isBlank()) {
+                throw new IllegalStateException("Sanal seri tanımında data-type (seri adı) zorunlu");
+            }
+            names.add(definition.getDataType());
+        }
+        for (VirtualSeriesProperties.Definition definition : properties.getDefinitions()) {
+            SeriesExpression expression;
+            try {
+                expression = SeriesExpression.compile(definition.getExpression());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Sanal seri '" + definition.getDataType() + "' ifadesi derlenemedi: "
+                        + e.getMessage(), e);
+            }
+            if (expression.getVariables().isEmpty()) {
+                throw new IllegalStateException("Sanal seri '" + definition.getDataType() + "' en az bir seriye dayanmalı");
+            }
+            for (String input : expression.getVariables()) {
+                // Sanal seriler yalnızca gerçek serilerden türetilir; zincirleme ve döngü olmaz
+                if (names.contains(input)) {
+                    throw new IllegalStateException("Sanal seri '" + definition.getDataType()
+                            + "' başka bir sanal seriyi kullanamaz: " + input);
+                }
+                outputsByInput.computeIfAbsent(input, key -> new LinkedHashSet<>()).add(definition.getDataType());
+            }
+            if (definition.getMaxInputAge() == null || definition.getMaxInputAge().isNegative()) {
+                throw new IllegalStateException("Sanal seri '" + definition.getDataType() + "' için geçersiz max-input-age");
+            }
+            expressions.put(definition, expression);
+        }
+        if (properties.isEnabled() && !expressions.isEmpty()) {
+            logger.info("Sanal seriler derlendi: {} tanım, {}", expressions.size(), names);
+        }
+    }
+
+    /**
+     * Canlı okumanın tetiklediği sanal serileri hesaplama (okuma son değer deposuna yazıldıktan sonra çağrılmalı)
+     * Diğer girişlerden biri yoksa, sayısal değilse veya max-input-age'den eskiyse hesaplama yapılmaz;
+     * sıra dışı (son değerden eski) okumalar hesaplamayı tetiklemez
+     * @param telemetryData Gelen telemetri verisi
+     * @return Kaydedilmesi gereken (kalıcı tanımlı) sanal okumalar
+     */
+    public List<TelemetryData> derive(TelemetryData telemetryData) {
+        if (!properties.isEnabled() || telemetryData.getValueNumeric() == null || telemetryData.getDevice() == null
+                || telemetryData.getDevice().getId() == null) {
+            return List.of();
+        }
+        Set<String> outputs = outputsByInput.get(telemetryData.getDataType());
+        if (outputs == null) {
+            return List.of();
+        }
+        Long deviceId = telemetryData.getDevice().getId();
+        long time = telemetryData.getTimestampMillis();
+        Optional<TelemetryData> latest = latestValueStore.getLatest(deviceId, telemetryData.getDataType());
+        if (latest.isPresent() && latest.get().getTimestampMillis() > time) {
+            return List.of();
+        }
+
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(deviceId);
+        String deviceKey = device.map(DeviceRegistry.DeviceState::getDeviceId).orElse(null);
+        Device.DeviceType deviceType = device.map(DeviceRegistry.DeviceState::getDeviceType).orElse(null);
+        List<TelemetryData> toSave = new ArrayList<>();
+        for (String output : outputs) {
+            Optional<VirtualSeriesProperties.Definition> definition =
+                    SeriesSelector.mostSpecific(properties.getDefinitions(), deviceKey, deviceType, output);
+            if (definition.isEmpty()) {
+                continue;
+            }
+            SeriesExpression expression = expressions.get(definition.get());
+            Double value = evaluate(expression, telemetryData, deviceId, definition.get().getMaxInputAge().toMillis());
+            if (value == null) {
+                continue;
+            }
+            TelemetryData derived = new TelemetryData(telemetryData.getDevice(), telemetryData.getTopic(), null,
+                    output, value);
+            derived.setTimestampMillis(time);
+            derived.setReceivedAtMillis(telemetryData.getReceivedAtMillis());
+            latestValueStore.update(derived);
+            if (definition.get().isMaterialize()) {
+                toSave.add(derived);
+            }
+        }
+        materialized.addAndGet(toSave.size());
+        return toSave;
+    }
+
+    private Double evaluate(SeriesExpression expression, TelemetryData trigger, Long deviceId, long maxInputAge) {
+        List<String> variables = expression.getVariables();
+        if (!variables.contains(trigger.getDataType())) {
+            // Cihaza uyan daha özel tanım bu girişi kullanmıyor
+            return null;
+        }
+        double[] inputs = new double[variables.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            String input = variables.get(i);
+            if (input.equals(trigger.getDataType())) {
+                inputs[i] = trigger.getValueNumeric();
+                continue;
+            }
+            Optional<TelemetryData> latest = latestValueStore.getLatest(deviceId, input);
+            if (latest.isEmpty() || latest.get().getValueNumeric() == null
+                    || Math.abs(trigger.getTimestampMillis() - latest.get().getTimestampMillis()) > maxInputAge) {
+                skipped.incrementAndGet();
+                return null;
+            }
+            inputs[i] = latest.get().getValueNumeric();
+        }
+        evaluations.incrementAndGet();
+        double value = expression.evaluate(inputs);
+        if (!Double.isFinite(value)) {
+            skipped.incrementAndGet();
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Sorgu anında hesaplamayı doğrulama; yanıt akışı başlamadan önce hatalar burada döner
+     * @param deviceId Cihaz ID'si
+     * @param name Tanımlı sanal seri adı (expression ile birlikte verilemez)
+     * @param expression Geçici ifade (name ile birlikte verilemez)
+     * @param startTime Başlangıç zamanı
+     * @param endTime Bitiş zamanı
+     * @param alignment Girişlerin hizalanma yöntemi
+     * @param step Izgara adımı (GRID için)
+     * @param tolerance Girişler arası en büyük zaman farkı (null ise tanımın max-input-age'i, o da yoksa 1 dakika)
+     * @param method Izgara değer yöntemi (GRID için)
+     * @return Doğrulanmış sorgu
+     */
+    public VirtualQuery prepare(Long deviceId, String name, String expression, LocalDateTime startTime,
+                                LocalDateTime endTime, TelemetryJoinService.Alignment alignment, Duration step,
+                                Duration tolerance, TelemetryInterpolation.Method method) {
+        if ((name == null) == (expression == null)) {
+            throw new BusinessRuleException("Sanal seri adı veya ifade belirtilmeli (ikisi birden değil)");
+        }
+        Optional<DeviceRegistry.DeviceState> device = deviceRegistry.get(deviceId);
+        if (device.isEmpty()) {
+            throw new BusinessRuleException("Cihaz bulunamadı: " + deviceId);
+        }
+
+        SeriesExpression compiled;
+        Duration maxDistance = tolerance;
+        if (name != null) {
+            VirtualSeriesProperties.Definition definition = SeriesSelector.mostSpecific(properties.getDefinitions(),
+                            device.get().getDeviceId(), device.get().getDeviceType(), name)
+                    .orElseThrow(() -> new BusinessRuleException("Cihaz için sanal seri tanımı bulunamadı: " + name));
+            compiled = expressions.get(definition);
+            if (maxDistance == null) {
+                maxDistance = definition.getMaxInputAge();
+            }
+        } else {
+            try {
+                compiled = SeriesExpression.compile(expression);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessRuleException(e.getMessage());
+            }
+            if (compiled.getVariables().isEmpty()) {
+                throw new BusinessRuleException("İfade en az bir seriye dayanmalı");
+            }
+        }
+
+        List<String> series = new ArrayList<>(compiled.getVariables().size());
+        for (String input : compiled.getVariables()) {
+            series.add(deviceId + ":" + input);
+        }
+        TelemetryJoinService.JoinQuery join = telemetryJoinService.prepare(series, startTime, endTime, alignment, step,
+                maxDistance != null ? maxDistance : Duration.ofMinutes(1), method);
+        return new VirtualQuery(compiled, join);
+    }
+
+    /**
+     * Sanal seriyi hizalanmış girişlerden hesaplayıp NDJSON olarak yazma ({"timestamp": ..., "value": ...})
+     * Girişlerden biri eksikse veya sonuç tanımsızsa değer null yazılır
+     * @param query Doğrulanmış sorgu
+     * @param out Çıkış akışı
+     * @return Yazılan satır sayısı
+     */
+    public long writeNdjson(VirtualQuery query, OutputStream out) throws IOException {
+        JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        SeriesExpression expression = query.expression;
+        double[] inputs = new double[expression.getVariables().size()];
+        long rows = telemetryJoinService.join(query.join, (time, values) -> {
+            Double value = null;
+            if (fill(inputs, values)) {
+                double result = expression.evaluate(inputs);
+                value = Double.isFinite(result) ? result : null;
+            }
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", TelemetryTime.toLocalDateTime(time).toString());
+            if (value == null) {
+                generator.writeNullField("value");
+            } else {
+                generator.writeNumberField("value", value);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        return rows;
+    }
+
+    private static boolean fill(double[] inputs, Double[] values) {
+        for (int i = 0; i < inputs.length; i++) {
+            if (values[i] == null) {
+                return false;
+            }
+            inputs[i] = values[i];
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.virtual.evaluations", evaluations, AtomicLong::get)
+                .description("Canlı okumalarda hesaplanan sanal seri değerleri").register(registry);
+        FunctionCounter.builder("telemetry.virtual.skipped", skipped, AtomicLong::get)
+                .description("Eksik/eski giriş veya tanımsız sonuç nedeniyle hesaplanamayan sanal seri değerleri")
+                .register(registry);
+        FunctionCounter.builder("telemetry.virtual.materialized", materialized, AtomicLong::get)
+                .description("Kaydedilen sanal seri değerleri").register(registry);
+    }
+
+    /**
+     * Doğrulanmış sanal seri sorgusu
+     */
+    public static class VirtualQuery {
+        private final SeriesExpression expression;
+        private final TelemetryJoinService.JoinQuery join;
+
+        VirtualQuery(SeriesExpression expression, TelemetryJoinService.JoinQuery join) {
+            this.expression = expression;
+            this.join = join;
+        }
+
+        public SeriesExpression getExpression() { return expression; }
+    }
+}
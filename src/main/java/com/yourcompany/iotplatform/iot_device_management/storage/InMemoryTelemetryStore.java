@@ -0,0 +1,263 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.MergeIterator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Bellek İçi Telemetri Deposu
+ * Testler ve veritabanı olmayan uç düğümler için; veriler cihaz başına zamana göre (yeniden eskiye)
+ * sıralı haritalarda tutulur ve uygulama kapanınca kaybolur
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.store.backend", havingValue = "memory")
+public class InMemoryTelemetryStore implements TelemetryStore {
+
+    private static final Comparator<Key> NEWEST_FIRST = Comparator.comparingLong(Key::timestamp)
+            .thenComparingLong(Key::id)
+            .reversed();
+
+    private static final Comparator<TelemetryDataDto> NEWEST_ROW_FIRST = Comparator
+            .comparingLong(TelemetryDataDto::getTimestampMillis)
+            .thenComparing(TelemetryDataDto::getId)
+            .reversed();
+
+    private final Map<Long, ConcurrentSkipListMap<Key, TelemetryDataDto>> rowsByDevice = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> payloads = new ConcurrentHashMap<>();
+
+    private final AtomicLong idSequence = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public void appendBatch(List<TelemetryData> batch) {
+        long now = TelemetryTime.nowMillis();
+        for (TelemetryData data : batch) {
+            data.setId(idSequence.incrementAndGet());
+            if (data.getReceivedAtMillis() == null) {
+                data.setReceivedAtMillis(now);
+            }
+            TelemetryDataDto row = new TelemetryDataDto(data);
+            row.setPayload(null);
+            rowsByDevice.computeIfAbsent(row.getDeviceId(), id -> new ConcurrentSkipListMap<>(NEWEST_FIRST))
+                    .put(new Key(row.getTimestampMillis(), row.getId()), row);
+            if (data.getPayload() != null) {
+                payloads.put(row.getId(), data.getPayload());
+            }
+        }
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long startMillis, long endMillis, int limit) {
+        List<TelemetryDataDto> result = new ArrayList<>();
+        for (TelemetryDataDto row : range(deviceId, startMillis, endMillis).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (dataType == null || dataType.equals(row.getDataType())) {
+                result.add(copyOf(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean usesPrimaryDatabase() {
+        return false;
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanFleet(String dataType, String topic, long startMillis, long endMillis, int limit) {
+        // Cihaz haritaları zaten sıralı; tamamını sıralamak yerine k yollu birleştirilir
+        List<Iterator<TelemetryDataDto>> sources = new ArrayList<>(rowsByDevice.size());
+        for (Long deviceId : rowsByDevice.keySet()) {
+            sources.add(range(deviceId, startMillis, endMillis).values().stream()
+                    .filter(row -> dataType == null || dataType.equals(row.getDataType()))
+                    .filter(row -> topic == null || topic.equals(row.getTopic()))
+                    .iterator());
+        }
+        MergeIterator<TelemetryDataDto> merged = new MergeIterator<>(sources, NEWEST_ROW_FIRST);
+        List<TelemetryDataDto> result = new ArrayList<>();
+        while (result.size() < limit && merged.hasNext()) {
+            result.add(copyOf(merged.next()));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<TelemetryDataDto> latest(Long deviceId, String dataType) {
+        return scanRange(deviceId, dataType, MIN_TIME, MAX_TIME, 1).stream().findFirst();
+    }
+
+    @Override
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis) {
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (TelemetryDataDto row : range(deviceId, startMillis, endMillis).values()) {
+            if (row.getValueNumeric() == null || !Objects.equals(dataType, row.getDataType())) {
+                continue;
+            }
+            double value = row.getValueNumeric();
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return count == 0 ? TelemetryAggregate.empty() : new TelemetryAggregate(count, sum, min, max);
+    }
+
+    @Override
+    public Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds,
+                                                          long startMillis, long endMillis) {
+        Map<Long, TelemetryAggregate> result = new HashMap<>();
+        for (Long deviceId : deviceIds != null ? deviceIds : rowsByDevice.keySet()) {
+            TelemetryAggregate aggregate = aggregate(deviceId, dataType, startMillis, endMillis);
+            if (aggregate.getCount() > 0) {
+                result.put(deviceId, aggregate);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int deleteBefore(long cutoffMillis) {
+        int deleted = 0;
+        for (ConcurrentSkipListMap<Key, TelemetryDataDto> rows : rowsByDevice.values()) {
+            // Yeniden eskiye sıralı olduğundan kesme zamanından eski satırlar haritanın kuyruğundadır
+            NavigableMap<Key, TelemetryDataDto> old = rows.tailMap(new Key(cutoffMillis, Long.MIN_VALUE), false);
+            for (Key key : old.keySet()) {
+                if (rows.remove(key) != null) {
+                    payloads.remove(key.id());
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void forEachSeries(BiConsumer<Long, String> consumer) {
+        rowsByDevice.forEach((deviceId, rows) -> rows.values().stream()
+                .map(TelemetryDataDto::getDataType)
+                .distinct()
+                .forEach(dataType -> consumer.accept(deviceId, dataType)));
+    }
+
+    @Override
+    public void scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit,
+                            SampleHandler handler) {
+        int count = 0;
+        for (TelemetryDataDto row : range(deviceId, startMillis, endMillis - 1).descendingMap().values()) {
+            if (count >= limit) {
+                break;
+            }
+            if (row.getValueNumeric() != null && Objects.equals(dataType, row.getDataType())) {
+                handler.accept(row.getTimestampMillis(), row.getValueNumeric());
+                count++;
+            }
+        }
+    }
+
+    @Override
+    public PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit) {
+        ConcurrentSkipListMap<Key, TelemetryDataDto> rows = rowsByDevice.get(deviceId);
+        if (rows == null) {
+            return PurgeResult.EMPTY;
+        }
+        long deleted = 0;
+        long payloadBytes = 0;
+        Long boundary = null;
+        NavigableMap<Key, TelemetryDataDto> old = rows.tailMap(new Key(cutoffMillis, Long.MIN_VALUE), false);
+        for (Map.Entry<Key, TelemetryDataDto> entry : old.descendingMap().entrySet()) {
+            Key key = entry.getKey();
+            if (boundary != null && key.timestamp() > boundary) {
+                break;
+            }
+            if (!Objects.equals(dataType, entry.getValue().getDataType()) || rows.remove(key) == null) {
+                continue;
+            }
+            String payload = payloads.remove(key.id());
+            if (payload != null) {
+                payloadBytes += payload.length();
+            }
+            if (++deleted == limit) {
+                // Aynı zaman damgasındaki kalan satırlar da silinir
+                boundary = key.timestamp();
+            }
+        }
+        return new PurgeResult(deleted, payloadBytes);
+    }
+
+    @Override
+    public Map<Long, String> loadPayloads(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            String payload = payloads.get(id);
+            if (payload != null) {
+                result.put(id, payload);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cihazın zaman aralığındaki satırları (her iki uç dahil, yeniden eskiye)
+     */
+    private NavigableMap<Key, TelemetryDataDto> range(Long deviceId, long startMillis, long endMillis) {
+        ConcurrentSkipListMap<Key, TelemetryDataDto> rows = rowsByDevice.get(deviceId);
+        if (rows == null || startMillis > endMillis) {
+            return new ConcurrentSkipListMap<>(NEWEST_FIRST);
+        }
+        return rows.subMap(new Key(endMillis, Long.MAX_VALUE), true, new Key(startMillis, Long.MIN_VALUE), true);
+    }
+
+    /**
+     * Çağıranın payload eklemesi saklanan satırı değiştirmesin diye kopya döndürülür
+     */
+    private static TelemetryDataDto copyOf(TelemetryDataDto row) {
+        return new TelemetryDataDto(row.getId(), row.getDeviceId(), row.getDeviceName(), row.getTimestampMillis(),
+                row.getTopic(), row.getDataType(), row.getUnit(), row.getValueNumeric(), row.getValueString(),
+                row.getValueBoolean(), row.getQuality(), row.getReceivedAtMillis());
+    }
+
+    /**
+     * Satır anahtarı (epoch ms) - aynı zaman damgalı okumalar ID ile ayrılır
+     */
+    private static final class Key {
+        private final long timestamp;
+        private final long id;
+
+        private Key(long timestamp, long id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        long timestamp() { return timestamp; }
+        long id() { return id; }
+    }
+}
@@ -0,0 +1,294 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * JDBC Telemetri Deposu
+ * Hibernate oturumu ve dirty checking olmadan, tek hazırlanmış ifade ile toplu INSERT yapar.
+ * Üretilen ID'ler toplu yazma sonrası nesnelere geri atanır
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.store.backend", havingValue = "jdbc")
+public class JdbcTelemetryStore implements TelemetryStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO telemetry_data (device_id, ts_epoch_ms, topic, payload, data_type, unit, " +
+            "value_numeric, value_string, value_boolean, quality, received_epoch_ms) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT =
+            "SELECT t.id, t.device_id, d.name, t.ts_epoch_ms, t.topic, t.data_type, t.unit, " +
+            "t.value_numeric, t.value_string, t.value_boolean, t.quality, t.received_epoch_ms " +
+            "FROM telemetry_data t JOIN devices d ON d.id = t.device_id ";
+
+    private static final String ORDER_LIMIT = " ORDER BY t.ts_epoch_ms DESC LIMIT ?";
+
+    private static final String AGGREGATE_SQL =
+            "SELECT COUNT(value_numeric), SUM(value_numeric), MIN(value_numeric), MAX(value_numeric) " +
+            "FROM telemetry_data WHERE device_id = ? AND data_type = ? AND ts_epoch_ms BETWEEN ? AND ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryBulkLoader telemetryBulkLoader;
+
+    @Override
+    public String getName() {
+        return "jdbc";
+    }
+
+    @Override
+    public void appendBatch(List<TelemetryData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long now = TelemetryTime.nowMillis();
+        batch.forEach(data -> {
+            if (data.getReceivedAtMillis() == null) {
+                data.setReceivedAtMillis(now);
+            }
+        });
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, batch.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < batch.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            batch.get(i).setId(((Number) id).longValue());
+        }
+    }
+
+    @Override
+    public long bulkLoad(List<TelemetryData> batch) {
+        return telemetryBulkLoader.load(batch);
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long startMillis, long endMillis, int limit) {
+        if (dataType == null) {
+            return jdbcTemplate.query(SELECT + "WHERE t.device_id = ? AND t.ts_epoch_ms BETWEEN ? AND ?" + ORDER_LIMIT,
+                    (rs, rowNum) -> mapRow(rs), deviceId, startMillis, endMillis, limit);
+        }
+        return jdbcTemplate.query(SELECT + "WHERE t.device_id = ? AND t.data_type = ? AND t.ts_epoch_ms BETWEEN ? AND ?" + ORDER_LIMIT,
+                (rs, rowNum) -> mapRow(rs), deviceId, dataType, startMillis, endMillis, limit);
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanFleet(String dataType, String topic, long startMillis, long endMillis, int limit) {
+        StringBuilder where = new StringBuilder("WHERE t.ts_epoch_ms BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(startMillis, endMillis));
+        if (dataType != null) {
+            where.append(" AND t.data_type = ?");
+            args.add(dataType);
+        }
+        if (topic != null) {
+            where.append(" AND t.topic = ?");
+            args.add(topic);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(SELECT + where + ORDER_LIMIT, (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    @Override
+    public Optional<TelemetryDataDto> latest(Long deviceId, String dataType) {
+        return scanRange(deviceId, dataType, MIN_TIME, MAX_TIME, 1).stream().findFirst();
+    }
+
+    @Override
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis) {
+        return jdbcTemplate.queryForObject(AGGREGATE_SQL, (rs, rowNum) -> new TelemetryAggregate(
+                        rs.getLong(1), rs.getObject(2, Double.class), rs.getObject(3, Double.class), rs.getObject(4, Double.class)),
+                deviceId, dataType, startMillis, endMillis);
+    }
+
+    @Override
+    public Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds,
+                                                          long startMillis, long endMillis) {
+        return aggregateByDevice(jdbcTemplate, dataType, deviceIds, startMillis, endMillis);
+    }
+
+    /**
+     * Cihaz bazında gruplu toplam sorgusu (parça veritabanları da aynı şemayı kullanır)
+     * @param jdbcTemplate Sorgunun çalışacağı veritabanı
+     * @param dataType Veri tipi
+     * @param deviceIds Cihaz ID'leri (null ise tüm cihazlar)
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Cihaz ID'si -> toplam değerler
+     */
+    public static Map<Long, TelemetryAggregate> aggregateByDevice(JdbcTemplate jdbcTemplate, String dataType,
+                                                                  Collection<Long> deviceIds, long startMillis, long endMillis) {
+        Map<Long, TelemetryAggregate> result = new HashMap<>();
+        if (deviceIds != null && deviceIds.isEmpty()) {
+            return result;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(dataType);
+        args.add(startMillis);
+        args.add(endMillis);
+        String deviceFilter = "";
+        if (deviceIds != null) {
+            deviceFilter = " AND device_id IN (" + String.join(",", Collections.nCopies(deviceIds.size(), "?")) + ")";
+            args.addAll(deviceIds);
+        }
+        jdbcTemplate.query("SELECT device_id, COUNT(value_numeric), SUM(value_numeric), MIN(value_numeric), " +
+                        "MAX(value_numeric) FROM telemetry_data WHERE data_type = ? AND ts_epoch_ms BETWEEN ? AND ?" +
+                        deviceFilter + " GROUP BY device_id HAVING COUNT(value_numeric) > 0",
+                (RowCallbackHandler) rs -> result.put(rs.getLong(1), new TelemetryAggregate(rs.getLong(2),
+                        rs.getObject(3, Double.class), rs.getObject(4, Double.class), rs.getObject(5, Double.class))),
+                args.toArray());
+        return result;
+    }
+
+    @Override
+    public int deleteBefore(long cutoffMillis) {
+        return jdbcTemplate.update("DELETE FROM telemetry_data WHERE ts_epoch_ms < ?", cutoffMillis);
+    }
+
+    @Override
+    public void forEachSeries(BiConsumer<Long, String> consumer) {
+        forEachSeries(jdbcTemplate, consumer);
+    }
+
+    @Override
+    public void scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit,
+                            SampleHandler handler) {
+        scanNumeric(jdbcTemplate, deviceId, dataType, startMillis, endMillis, limit, handler);
+    }
+
+    @Override
+    public PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit) {
+        return purgeBefore(jdbcTemplate, true, deviceId, dataType, cutoffMillis, limit);
+    }
+
+    /**
+     * Satırı bulunan (cihaz, veri tipi) çiftleri (parça veritabanları da aynı şemayı kullanır)
+     * @param jdbcTemplate Sorgunun çalışacağı veritabanı
+     * @param consumer Cihaz ID'si ve veri tipi
+     */
+    public static void forEachSeries(JdbcTemplate jdbcTemplate, BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("SELECT DISTINCT device_id, data_type FROM telemetry_data",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2)));
+    }
+
+    /**
+     * Serinin [startMillis, endMillis) aralığındaki sayısal okumaları, zamana göre artan sırada
+     */
+    public static void scanNumeric(JdbcTemplate jdbcTemplate, Long deviceId, String dataType, long startMillis,
+                                   long endMillis, int limit, SampleHandler handler) {
+        jdbcTemplate.query(
+                "SELECT ts_epoch_ms, value_numeric FROM telemetry_data WHERE device_id = ? AND data_type = ? " +
+                "AND value_numeric IS NOT NULL AND ts_epoch_ms >= ? AND ts_epoch_ms < ? ORDER BY ts_epoch_ms LIMIT ?",
+                (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getDouble(2)),
+                deviceId, dataType, startMillis, endMillis, limit);
+    }
+
+    /**
+     * Serinin kesme zamanından eski en fazla yaklaşık limit satırını silme
+     * @param payloadTable Sıkıştırılmış yük tablosu (telemetry_payload) boyuta dahil edilsin mi (yalnızca birincil veritabanı)
+     */
+    public static PurgeResult purgeBefore(JdbcTemplate jdbcTemplate, boolean payloadTable, Long deviceId,
+                                          String dataType, long cutoffMillis, int limit) {
+        String filter = dataType == null
+                ? "device_id = ? AND data_type IS NULL"
+                : "device_id = ? AND data_type = ?";
+        List<Object> key = dataType == null ? List.of(deviceId) : List.of(deviceId, dataType);
+
+        List<Object> boundaryArgs = new ArrayList<>(key);
+        boundaryArgs.add(cutoffMillis);
+        boundaryArgs.add(limit - 1);
+        Long boundary = jdbcTemplate.query(
+                "SELECT ts_epoch_ms FROM telemetry_data WHERE " + filter + " AND ts_epoch_ms < ? " +
+                "ORDER BY ts_epoch_ms LIMIT 1 OFFSET ?",
+                rs -> rs.next() ? rs.getLong(1) : null, boundaryArgs.toArray());
+        String range = boundary != null ? " AND ts_epoch_ms <= ?" : " AND ts_epoch_ms < ?";
+        List<Object> args = new ArrayList<>(key);
+        args.add(boundary != null ? boundary : cutoffMillis);
+
+        Long payloadBytes = jdbcTemplate.queryForObject(payloadTable
+                        ? "SELECT COALESCE(SUM(COALESCE(OCTET_LENGTH(t.payload), 0) + COALESCE(OCTET_LENGTH(p.data), 0)), 0) " +
+                          "FROM telemetry_data t LEFT JOIN telemetry_payload p ON p.telemetry_id = t.id WHERE " + filter + range
+                        : "SELECT COALESCE(SUM(OCTET_LENGTH(payload)), 0) FROM telemetry_data WHERE " + filter + range,
+                Long.class, args.toArray());
+        int deleted = jdbcTemplate.update("DELETE FROM telemetry_data WHERE " + filter + range, args.toArray());
+        return new PurgeResult(deleted, payloadBytes != null ? payloadBytes : 0);
+    }
+
+    @Override
+    public Map<Long, String> loadPayloads(Collection<Long> ids) {
+        Map<Long, String> payloads = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return payloads;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query("SELECT id, payload FROM telemetry_data WHERE id IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> payloads.put(rs.getLong(1), rs.getString(2)), ids.toArray());
+        return payloads;
+    }
+
+    private static void bind(PreparedStatement ps, TelemetryData data) throws SQLException {
+        ps.setLong(1, data.getDevice().getId());
+        ps.setLong(2, data.getTimestampMillis());
+        ps.setString(3, data.getTopic());
+        ps.setString(4, data.getPayload());
+        ps.setString(5, data.getDataType());
+        ps.setString(6, data.getUnit());
+        setNullable(ps, 7, data.getValueNumeric(), Types.DOUBLE);
+        ps.setString(8, data.getValueString());
+        setNullable(ps, 9, data.getValueBoolean(), Types.BOOLEAN);
+        setNullable(ps, 10, data.getQuality(), Types.INTEGER);
+        ps.setLong(11, data.getReceivedAtMillis());
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    private static TelemetryDataDto mapRow(ResultSet rs) throws SQLException {
+        return new TelemetryDataDto(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                rs.getLong(4), rs.getString(5), rs.getString(6), rs.getString(7),
+                rs.getObject(8, Double.class), rs.getString(9), rs.getObject(10, Boolean.class),
+                rs.getObject(11, Integer.class), rs.getObject(12, Long.class));
+    }
+}
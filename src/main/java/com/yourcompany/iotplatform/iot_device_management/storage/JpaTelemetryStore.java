@@ -0,0 +1,135 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.repository.TelemetryDataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * JPA Telemetri Deposu (varsayılan)
+ * Spring Data repository üzerinden yazar; okumalar projeksiyon sorgularıyla tek SQL ifadesinde yapılır
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.store.backend", havingValue = "jpa", matchIfMissing = true)
+public class JpaTelemetryStore implements TelemetryStore {
+
+    @Autowired
+    private TelemetryDataRepository telemetryDataRepository;
+
+    @Autowired
+    private TelemetryBulkLoader telemetryBulkLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getName() {
+        return "jpa";
+    }
+
+    @Override
+    public void appendBatch(List<TelemetryData> batch) {
+        telemetryDataRepository.saveAll(batch);
+    }
+
+    @Override
+    public long bulkLoad(List<TelemetryData> batch) {
+        return telemetryBulkLoader.load(batch);
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long startMillis, long endMillis, int limit) {
+        Pageable pageable = limit == Integer.MAX_VALUE ? Pageable.unpaged() : PageRequest.of(0, limit);
+        if (dataType == null) {
+            return telemetryDataRepository.findViewsByDeviceIdAndTimeRange(deviceId, startMillis, endMillis, pageable);
+        }
+        return telemetryDataRepository.findViewsByDeviceIdAndDataTypeAndTimeRange(
+                deviceId, dataType, startMillis, endMillis, pageable);
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanFleet(String dataType, String topic, long startMillis, long endMillis, int limit) {
+        // Servisin filo sorguları tek ölçütlüdür (topic, veri tipi veya zaman aralığı); her biri kendi
+        // sorgusuna gider, kalan ölçütler sonuç üzerinde uygulanır
+        List<TelemetryDataDto> rows = topic != null ? telemetryDataRepository.findViewsByTopic(topic)
+                : dataType != null ? telemetryDataRepository.findViewsByDataType(dataType)
+                : telemetryDataRepository.findViewsByTimeRange(startMillis, endMillis);
+        return rows.stream()
+                .filter(row -> dataType == null || dataType.equals(row.getDataType()))
+                .filter(row -> row.getTimestampMillis() >= startMillis && row.getTimestampMillis() <= endMillis)
+                .limit(limit)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public Optional<TelemetryDataDto> latest(Long deviceId, String dataType) {
+        return scanRange(deviceId, dataType, MIN_TIME, MAX_TIME, 1).stream().findFirst();
+    }
+
+    @Override
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis) {
+        return telemetryDataRepository.findAggregateByDeviceIdAndDataTypeAndTimeRange(deviceId, dataType, startMillis, endMillis);
+    }
+
+    @Override
+    public Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds,
+                                                          long startMillis, long endMillis) {
+        Map<Long, TelemetryAggregate> result = new HashMap<>();
+        if (deviceIds != null && deviceIds.isEmpty()) {
+            return result;
+        }
+        List<TelemetryDataRepository.DeviceAggregateView> rows = deviceIds == null
+                ? telemetryDataRepository.findAggregatesByDataTypeAndTimeRange(dataType, startMillis, endMillis)
+                : telemetryDataRepository.findAggregatesByDataTypeAndDeviceIdInAndTimeRange(dataType, deviceIds, startMillis, endMillis);
+        for (TelemetryDataRepository.DeviceAggregateView row : rows) {
+            result.put(row.getDeviceId(), new TelemetryAggregate(
+                    row.getValueCount(), row.getValueSum(), row.getValueMin(), row.getValueMax()));
+        }
+        return result;
+    }
+
+    @Override
+    public int deleteBefore(long cutoffMillis) {
+        return telemetryDataRepository.deleteOldTelemetryData(cutoffMillis);
+    }
+
+    @Override
+    public void forEachSeries(BiConsumer<Long, String> consumer) {
+        JdbcTelemetryStore.forEachSeries(jdbcTemplate, consumer);
+    }
+
+    @Override
+    public void scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit,
+                            SampleHandler handler) {
+        JdbcTelemetryStore.scanNumeric(jdbcTemplate, deviceId, dataType, startMillis, endMillis, limit, handler);
+    }
+
+    @Override
+    public PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit) {
+        return JdbcTelemetryStore.purgeBefore(jdbcTemplate, true, deviceId, dataType, cutoffMillis, limit);
+    }
+
+    @Override
+    public Map<Long, String> loadPayloads(Collection<Long> ids) {
+        Map<Long, String> payloads = new HashMap<>(ids.size() * 2);
+        for (TelemetryDataRepository.PayloadView payload : telemetryDataRepository.findPayloadsByIdIn(ids)) {
+            payloads.put(payload.getId(), payload.getPayload());
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+/**
+ * Seri bazında silme sonucu: silinen satır sayısı ve bu satırlara ait ham veri yükü boyutu
+ */
+public class PurgeResult {
+
+    public static final PurgeResult EMPTY = new PurgeResult(0, 0);
+
+    private final long rows;
+    private final long payloadBytes;
+
+    public PurgeResult(long rows, long payloadBytes) {
+        this.rows = rows;
+        this.payloadBytes = payloadBytes;
+    }
+
+    public long getRows() { return rows; }
+    public long getPayloadBytes() { return payloadBytes; }
+
+    public PurgeResult combine(PurgeResult other) {
+        return new PurgeResult(rows + other.rows, payloadBytes + other.payloadBytes);
+    }
+}
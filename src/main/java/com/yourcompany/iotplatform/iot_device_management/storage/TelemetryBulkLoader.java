@@ -0,0 +1,175 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Toplu Telemetri Yükleyici
+ * Geçmiş veri aktarımı için telemetry_data tablosuna ID geri okumadan yazar:
+ * PostgreSQL'de COPY FROM STDIN (CSV), diğer veritabanlarında JDBC toplu INSERT kullanılır
+ */
+@Component
+public class TelemetryBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryBulkLoader.class);
+
+    private static final String COLUMNS = "device_id, ts_epoch_ms, topic, payload, data_type, unit, " +
+            "value_numeric, value_string, value_boolean, quality, received_epoch_ms";
+
+    private static final String COPY_SQL = "COPY telemetry_data (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL = "INSERT INTO telemetry_data (" + COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Telemetri verilerini toplu yükleme
+     * Boş alınma zamanları yükleme anı ile doldurulur; ID'ler nesnelere atanmaz
+     * @param batch Telemetri verileri
+     * @return Yazılan satır sayısı
+     */
+    public long load(List<TelemetryData> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long now = TelemetryTime.nowMillis();
+        batch.forEach(data -> {
+            if (data.getReceivedAtMillis() == null) {
+                data.setReceivedAtMillis(now);
+            }
+        });
+        return isPostgres() ? copy(batch) : insert(batch);
+    }
+
+    /**
+     * PostgreSQL COPY ile yükleme - satırlar CSV olarak tek akışta gönderilir
+     */
+    private long copy(List<TelemetryData> batch) {
+        StringBuilder csv = new StringBuilder(batch.size() * 160);
+        for (TelemetryData data : batch) {
+            appendCsvRow(csv, data);
+        }
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * JDBC toplu INSERT ile yükleme
+     */
+    private long insert(List<TelemetryData> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TelemetryData data = batch.get(i);
+                ps.setLong(1, data.getDevice().getId());
+                ps.setLong(2, data.getTimestampMillis());
+                ps.setString(3, data.getTopic());
+                ps.setString(4, data.getPayload());
+                ps.setString(5, data.getDataType());
+                ps.setString(6, data.getUnit());
+                setNullable(ps, 7, data.getValueNumeric(), Types.DOUBLE);
+                ps.setString(8, data.getValueString());
+                setNullable(ps, 9, data.getValueBoolean(), Types.BOOLEAN);
+                setNullable(ps, 10, data.getQuality(), Types.INTEGER);
+                ps.setLong(11, data.getReceivedAtMillis());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+        return batch.size();
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                    "PostgreSQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName()));
+            postgres = result;
+            logger.info("Toplu telemetri yükleme yöntemi: {}", Boolean.TRUE.equals(result) ? "COPY" : "JDBC batch");
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static void appendCsvRow(StringBuilder csv, TelemetryData data) {
+        csv.append(data.getDevice().getId()).append(',');
+        csv.append(data.getTimestampMillis()).append(',');
+        appendCsvText(csv, data.getTopic());
+        csv.append(',');
+        appendCsvText(csv, data.getPayload());
+        csv.append(',');
+        appendCsvText(csv, data.getDataType());
+        csv.append(',');
+        appendCsvText(csv, data.getUnit());
+        csv.append(',');
+        if (data.getValueNumeric() != null) {
+            csv.append(data.getValueNumeric());
+        }
+        csv.append(',');
+        appendCsvText(csv, data.getValueString());
+        csv.append(',');
+        if (data.getValueBoolean() != null) {
+            csv.append(data.getValueBoolean());
+        }
+        csv.append(',');
+        if (data.getQuality() != null) {
+            csv.append(data.getQuality());
+        }
+        csv.append(',');
+        csv.append(data.getReceivedAtMillis()).append('\n');
+    }
+
+    /**
+     * COPY CSV formatında tırnaksız boş alan NULL, tırnaklı boş alan boş metindir
+     */
+    private static void appendCsvText(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        csv.append('"');
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Telemetri Deposu
+ * Telemetri satırlarının yazma ve okuma yolu; arka uç telemetry.store.backend ile seçilir
+ * (jpa, jdbc, memory, sharded). Tüm okumalar zamana göre yeniden eskiye sıralı döner.
+ * Zamanlar UTC epoch milisaniyedir; LocalDateTime dönüşümü servis sınırında yapılır
+ */
+public interface TelemetryStore {
+
+    /**
+     * Sınırsız aralık sorguları için alt sınır
+     */
+    long MIN_TIME = 0L;
+
+    /**
+     * Sınırsız aralık sorguları için üst sınır
+     */
+    long MAX_TIME = 253_402_300_799_000L;
+
+    /**
+     * Arka uç adı
+     * @return Ad (jpa, jdbc, memory, sharded)
+     */
+    String getName();
+
+    /**
+     * Satırlar birincil veritabanındaki telemetry_data tablosunda mı
+     * Değilse satıra bağlı yan tablolar (sıkıştırılmış yük, öznitelikler) ve doğrudan SQL/JPA okumaları kullanılamaz
+     * @return Birincil veritabanı kullanılıyorsa true
+     */
+    default boolean usesPrimaryDatabase() {
+        return true;
+    }
+
+    /**
+     * Telemetri verilerini toplu yazma
+     * Yazılan nesnelere ID ve (boşsa) alınma zamanı atanır
+     * @param batch Telemetri verileri
+     */
+    void appendBatch(List<TelemetryData> batch);
+
+    /**
+     * Geçmiş veri aktarımı için yüksek hacimli yazma
+     * ID'ler nesnelere atanmayabilir; varsayılan olarak appendBatch kullanılır
+     * @param batch Telemetri verileri
+     * @return Yazılan satır sayısı
+     */
+    default long bulkLoad(List<TelemetryData> batch) {
+        appendBatch(batch);
+        return batch.size();
+    }
+
+    /**
+     * Cihazın zaman aralığındaki telemetri verileri (her iki uç dahil)
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @param limit En fazla sonuç sayısı
+     * @return Telemetri verisi DTO'ları (payload olmadan)
+     */
+    List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long startMillis, long endMillis, int limit);
+
+    /**
+     * Tüm cihazların zaman aralığındaki telemetri verileri (her iki uç dahil)
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @param topic MQTT topic (boşsa tüm topic'ler)
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @param limit En fazla sonuç sayısı
+     * @return Telemetri verisi DTO'ları (payload olmadan)
+     */
+    List<TelemetryDataDto> scanFleet(String dataType, String topic, long startMillis, long endMillis, int limit);
+
+    /**
+     * Cihazın en son telemetri verisi
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi (boşsa tüm veri tipleri)
+     * @return En son telemetri verisi DTO'su (varsa)
+     */
+    Optional<TelemetryDataDto> latest(Long deviceId, String dataType);
+
+    /**
+     * Cihaz ve veri tipinin zaman aralığındaki toplam değerleri
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Toplam değerler
+     */
+    TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis);
+
+    /**
+     * Veri tipinin zaman aralığındaki toplam değerleri, cihaz bazında gruplanmış (filo toplamları için)
+     * @param dataType Veri tipi
+     * @param deviceIds Cihaz ID'leri (null ise tüm cihazlar)
+     * @param startMillis Başlangıç zamanı (epoch ms)
+     * @param endMillis Bitiş zamanı (epoch ms)
+     * @return Cihaz ID'si -> toplam değerler (sayısal okuması olmayan cihazlar yer almaz)
+     */
+    Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds, long startMillis, long endMillis);
+
+    /**
+     * Kesme zamanından eski telemetri verilerini silme
+     * @param cutoffMillis Kesme zamanı (epoch ms)
+     * @return Silinen kayıt sayısı
+     */
+    int deleteBefore(long cutoffMillis);
+
+    /**
+     * Satırı bulunan her (cihaz, veri tipi) çifti
+     * @param consumer Cihaz ID'si ve veri tipi (veri tipi boş olabilir)
+     */
+    void forEachSeries(BiConsumer<Long, String> consumer);
+
+    /**
+     * Serinin [startMillis, endMillis) aralığındaki sayısal okumaları, zamana göre artan sırada
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi
+     * @param startMillis Başlangıç zamanı (epoch ms, dahil)
+     * @param endMillis Bitiş zamanı (epoch ms, hariç)
+     * @param limit En fazla okuma sayısı (en eskiden başlayarak)
+     * @param handler Okuma işleyici
+     */
+    void scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit,
+                     SampleHandler handler);
+
+    /**
+     * Serinin kesme zamanından eski satırlarını en eskiden başlayarak silme
+     * Son silinen satırla aynı zaman damgasındaki satırlar da silindiğinden limit yaklaşık bir sınırdır;
+     * limitten az satır silindiyse kesme zamanından eski satır kalmamıştır
+     * @param deviceId Cihaz ID'si
+     * @param dataType Veri tipi (boşsa veri tipi olmayan satırlar)
+     * @param cutoffMillis Kesme zamanı (epoch ms, hariç)
+     * @param limit Tek çağrıda silinecek satır sayısı
+     * @return Silinen satırlar ve ham veri yükü boyutu
+     */
+    PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit);
+
+    /**
+     * Her cihaz ve veri tipinin en son satırı, payload ile (son değer deposunu ısıtmak için)
+     * Birincil veritabanındaki satırlar son değer deposu tarafından doğrudan okunduğundan varsayılan olarak boştur
+     * @return Telemetri verisi DTO'ları (cihaz adı olmadan)
+     */
+    default List<TelemetryDataDto> latestPerSeries() {
+        return List.of();
+    }
+
+    /**
+     * Ham veri yüklerini ID'lere göre yükleme
+     * @param ids Telemetri verisi ID'leri
+     * @return ID -> payload
+     */
+    Map<Long, String> loadPayloads(Collection<Long> ids);
+
+    /**
+     * Zamana göre artan sayısal okuma işleyici
+     */
+    @FunctionalInterface
+    interface SampleHandler {
+        void accept(long timestampMillis, double value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit düzeyinde okuyucu
+ * Bellek eşlemeli tampon üzerinde kopyalamadan, en anlamlı bitten başlayarak okur
+ */
+class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private long position;
+
+    BitReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Tek bit okuma
+     * @return Bit değeri
+     */
+    boolean readBit() {
+        int b = buffer.get(offset + (int) (position >>> 3));
+        boolean bit = ((b >>> (7 - (position & 7))) & 1) != 0;
+        position++;
+        return bit;
+    }
+
+    /**
+     * n bit okuma
+     * @param bits Bit sayısı (1-64)
+     * @return Okunan değer (düşük anlamlı bitlerde)
+     */
+    long readBits(int bits) {
+        long value = 0;
+        int remaining = bits;
+        while (remaining > 0) {
+            int b = buffer.get(offset + (int) (position >>> 3)) & 0xFF;
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, remaining);
+            int shifted = (b >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | shifted;
+            position += take;
+            remaining -= take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,74 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import java.util.Arrays;
+
+/**
+ * Bit düzeyinde yazıcı
+ * Bitleri en anlamlı bitten başlayarak büyüyen bir long dizisine yazar
+ */
+class BitWriter {
+
+    private long[] words;
+    private long bitLength;
+
+    BitWriter(int expectedBits) {
+        this.words = new long[Math.max(1, (expectedBits + 63) / 64)];
+    }
+
+    /**
+     * Tek bit yazma
+     * @param bit Bit değeri
+     */
+    void writeBit(boolean bit) {
+        ensureCapacity(1);
+        if (bit) {
+            words[(int) (bitLength >>> 6)] |= 1L << (63 - (bitLength & 63));
+        }
+        bitLength++;
+    }
+
+    /**
+     * Değerin düşük anlamlı n bitini yazma
+     * @param value Değer
+     * @param bits Bit sayısı (1-64)
+     */
+    void writeBits(long value, int bits) {
+        ensureCapacity(bits);
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        int index = (int) (bitLength >>> 6);
+        int free = 64 - (int) (bitLength & 63);
+        if (bits <= free) {
+            words[index] |= value << (free - bits);
+        } else {
+            int rest = bits - free;
+            words[index] |= value >>> rest;
+            words[index + 1] |= value << (64 - rest);
+        }
+        bitLength += bits;
+    }
+
+    long getBitLength() {
+        return bitLength;
+    }
+
+    /**
+     * Yazılan bitleri bayt dizisine çevirme (son bayt sıfırla doldurulur)
+     * @return Bayt dizisi
+     */
+    byte[] toByteArray() {
+        byte[] bytes = new byte[(int) ((bitLength + 7) >>> 3)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+        }
+        return bytes;
+    }
+
+    private void ensureCapacity(int bits) {
+        long needed = (bitLength + bits + 63) >>> 6;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, (int) Math.max(needed, words.length * 2L));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gorilla tarzı zaman serisi kodlayıcı
+ * Zaman damgaları delta-of-delta, değerler bir önceki değerle XOR alınarak kodlanır;
+ * düzenli aralıklı ve yavaş değişen sensör verilerinde nokta başına birkaç bit yeterli olur.
+ * Kalite değeri yalnızca değiştiğinde yazılır
+ */
+public final class GorillaCodec {
+
+    private GorillaCodec() {
+    }
+
+    /**
+     * Noktaları kodlama
+     * @param block Zamana göre artan sıralı noktalar (en az bir nokta)
+     * @return Kodlanmış bayt dizisi
+     */
+    public static byte[] encode(SeriesBlock block) {
+        int size = block.getSize();
+        long[] timestamps = block.getTimestamps();
+        double[] values = block.getValues();
+        int[] qualities = block.getQualities();
+
+        BitWriter writer = new BitWriter(size * 16 + 192);
+
+        long previousTimestamp = timestamps[0];
+        long previousDelta = 0;
+        long previousValue = Double.doubleToRawLongBits(values[0]);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        int previousQuality = SeriesBlock.NO_QUALITY;
+
+        writer.writeBits(previousTimestamp, 64);
+        writer.writeBits(previousValue, 64);
+        previousQuality = writeQuality(writer, qualities[0], previousQuality);
+
+        for (int i = 1; i < size; i++) {
+            // Zaman damgası: delta-of-delta
+            long delta = timestamps[i] - previousTimestamp;
+            long deltaOfDelta = delta - previousDelta;
+            if (deltaOfDelta == 0) {
+                writer.writeBit(false);
+            } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                writer.writeBits(0b10, 2);
+                writer.writeBits(deltaOfDelta + 63, 7);
+            } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                writer.writeBits(0b110, 3);
+                writer.writeBits(deltaOfDelta + 255, 9);
+            } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                writer.writeBits(0b1110, 4);
+                writer.writeBits(deltaOfDelta + 2047, 12);
+            } else {
+                writer.writeBits(0b1111, 4);
+                writer.writeBits(deltaOfDelta, 64);
+            }
+            previousDelta = delta;
+            previousTimestamp = timestamps[i];
+
+            // Değer: önceki değerle XOR
+            long value = Double.doubleToRawLongBits(values[i]);
+            long xor = value ^ previousValue;
+            if (xor == 0) {
+                writer.writeBit(false);
+            } else {
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    // Anlamlı bitler önceki pencereye sığıyor
+                    writer.writeBits(0b10, 2);
+                    writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int meaningful = 64 - leading - trailing;
+                    writer.writeBits(0b11, 2);
+                    writer.writeBits(leading, 5);
+                    writer.writeBits(meaningful - 1, 6);
+                    writer.writeBits(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previousValue = value;
+
+            previousQuality = writeQuality(writer, qualities[i], previousQuality);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Kodlanmış noktaları ilkel dizilere çözme
+     * @param buffer Kodlanmış veriyi içeren tampon (bellek eşlemeli olabilir)
+     * @param offset Verinin tampondaki başlangıcı
+     * @param size Nokta sayısı
+     * @return Çözülmüş noktalar
+     */
+    public static SeriesBlock decode(ByteBuffer buffer, int offset, int size) {
+        long[] timestamps = new long[size];
+        double[] values = new double[size];
+        int[] qualities = new int[size];
+        if (size == 0) {
+            return new SeriesBlock(timestamps, values, qualities, 0);
+        }
+
+        BitReader reader = new BitReader(buffer, offset);
+
+        long timestamp = reader.readBits(64);
+        long value = reader.readBits(64);
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        int quality = readQuality(reader, SeriesBlock.NO_QUALITY);
+
+        timestamps[0] = timestamp;
+        values[0] = Double.longBitsToDouble(value);
+        qualities[0] = quality;
+
+        for (int i = 1; i < size; i++) {
+            long deltaOfDelta;
+            if (!reader.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(7) - 63;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(9) - 255;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(12) - 2047;
+            } else {
+                deltaOfDelta = reader.readBits(64);
+            }
+            delta += deltaOfDelta;
+            timestamp += delta;
+
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(5);
+                    int meaningful = (int) reader.readBits(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                long meaningfulBits = reader.readBits(64 - leading - trailing);
+                value ^= meaningfulBits << trailing;
+            }
+
+            quality = readQuality(reader, quality);
+
+            timestamps[i] = timestamp;
+            values[i] = Double.longBitsToDouble(value);
+            qualities[i] = quality;
+        }
+        return new SeriesBlock(timestamps, values, qualities, size);
+    }
+
+    private static int writeQuality(BitWriter writer, int quality, int previousQuality) {
+        if (quality == previousQuality) {
+            writer.writeBit(false);
+        } else {
+            writer.writeBit(true);
+            writer.writeBits(quality, 32);
+        }
+        return quality;
+    }
+
+    private static int readQuality(BitReader reader, int previousQuality) {
+        return reader.readBit() ? (int) reader.readBits(32) : previousQuality;
+    }
+}
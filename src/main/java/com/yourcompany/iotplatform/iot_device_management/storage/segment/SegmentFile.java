@@ -0,0 +1,154 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Mühürlenmiş segment dosyası
+ * Tek bir serinin kapalı bir zaman bloğunu Gorilla kodlamasıyla tutar.
+ * Başlıkta blok istatistikleri (sayı, toplam, min, max) bulunduğundan tam kapsanan
+ * bloklar için toplam sorguları veri çözülmeden yanıtlanır. Dosya salt okunur bellek eşlemesiyle okunur
+ */
+public class SegmentFile {
+
+    static final int MAGIC = 0x54534547; // "TSEG"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 4 + 2 + 4 + 8 + 4 + 8 + 8 + 8 + 8 + 8 + 4;
+    static final String EXTENSION = ".seg";
+
+    private final Path path;
+    private final int seriesId;
+    private final long blockStart;
+    private final int count;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final double sum;
+    private final double min;
+    private final double max;
+    private final int payloadLength;
+    private final MappedByteBuffer buffer;
+
+    private SegmentFile(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IOException("Geçersiz segment dosyası: " + path);
+        }
+        this.seriesId = buffer.getInt(6);
+        this.blockStart = buffer.getLong(10);
+        this.count = buffer.getInt(18);
+        this.minTimestamp = buffer.getLong(22);
+        this.maxTimestamp = buffer.getLong(30);
+        this.sum = buffer.getDouble(38);
+        this.min = buffer.getDouble(46);
+        this.max = buffer.getDouble(54);
+        this.payloadLength = buffer.getInt(62);
+    }
+
+    /**
+     * Segment dosyasını açma (bellek eşlemeli)
+     * @param path Dosya yolu
+     * @return Segment dosyası
+     */
+    public static SegmentFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SegmentFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Bloğu kodlayıp segment dosyası olarak yazma
+     * Önce geçici dosyaya yazılır, sonra atomik olarak yerine taşınır; yarım dosya hiç görünmez
+     * @param directory Segment dizini
+     * @param seriesId Seri ID'si
+     * @param blockStart Blok başlangıcı (epoch ms)
+     * @param block Zamana göre artan sıralı noktalar
+     * @return Yazılan segment dosyası
+     */
+    public static SegmentFile write(Path directory, int seriesId, long blockStart, SeriesBlock block) throws IOException {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double[] values = block.getValues();
+        for (int i = 0; i < block.getSize(); i++) {
+            sum += values[i];
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+
+        byte[] payload = GorillaCodec.encode(block);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putInt(seriesId)
+                .putLong(blockStart)
+                .putInt(block.getSize())
+                .putLong(block.getTimestamps()[0])
+                .putLong(block.getTimestamps()[block.getSize() - 1])
+                .putDouble(sum)
+                .putDouble(min)
+                .putDouble(max)
+                .putInt(payload.length)
+                .flip();
+
+        Path target = directory.resolve(fileName(seriesId, blockStart));
+        Path temp = directory.resolve(fileName(seriesId, blockStart) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(payload)});
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(target);
+    }
+
+    /**
+     * Seri ve blok başlangıcından dosya adı
+     * @param seriesId Seri ID'si
+     * @param blockStart Blok başlangıcı (epoch ms)
+     * @return Dosya adı
+     */
+    public static String fileName(int seriesId, long blockStart) {
+        return seriesId + "-" + blockStart + EXTENSION;
+    }
+
+    /**
+     * Tüm noktaları ilkel dizilere çözme
+     * @return Çözülmüş noktalar
+     */
+    public SeriesBlock decode() {
+        return GorillaCodec.decode(buffer, HEADER_SIZE, count);
+    }
+
+    /**
+     * Blok başlığındaki toplam değerler
+     * @return Toplam değerler
+     */
+    public TelemetryAggregate aggregate() {
+        return new TelemetryAggregate((long) count, sum, min, max);
+    }
+
+    /**
+     * Dosyanın diskteki boyutu
+     * @return Bayt
+     */
+    public long sizeInBytes() {
+        return HEADER_SIZE + (long) payloadLength;
+    }
+
+    // Getters
+    public Path getPath() { return path; }
+    public int getSeriesId() { return seriesId; }
+    public long getBlockStart() { return blockStart; }
+    public int getCount() { return count; }
+    public long getMinTimestamp() { return minTimestamp; }
+    public long getMaxTimestamp() { return maxTimestamp; }
+}
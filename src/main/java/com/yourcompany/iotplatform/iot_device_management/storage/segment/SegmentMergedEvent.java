@@ -0,0 +1,31 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+/**
+ * Mühürlü bir bloğa geç gelen satırlar birleştirildiğinde yayınlanan olay
+ * Birleştirmeden önce bu satırlar okuyuculara görünmez olduğundan bloğun önbelleğe alınmış
+ * toplam değerleri geçersiz kılınmalıdır
+ */
+public class SegmentMergedEvent {
+
+    private final int seriesId;
+    private final long blockStart;
+    private final long blockEnd;
+
+    public SegmentMergedEvent(int seriesId, long blockStart, long blockEnd) {
+        this.seriesId = seriesId;
+        this.blockStart = blockStart;
+        this.blockEnd = blockEnd;
+    }
+
+    public int getSeriesId() {
+        return seriesId;
+    }
+
+    public long getBlockStart() {
+        return blockStart;
+    }
+
+    public long getBlockEnd() {
+        return blockEnd;
+    }
+}
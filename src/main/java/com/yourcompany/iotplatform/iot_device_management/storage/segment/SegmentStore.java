@@ -0,0 +1,534 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import com.yourcompany.iotplatform.iot_device_management.datasource.Workload;
+import com.yourcompany.iotplatform.iot_device_management.datasource.WorkloadContext;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Soğuk Veri Segment Deposu
+ * Dar sayısal tablodaki kapalı zaman bloklarını seri başına Gorilla kodlu segment dosyalarına mühürler
+ * ve mühürlenen satırları tablodan siler. Sıcak baş (son bloklar) veritabanında kalır;
+ * okumalarda iki kaynak TelemetrySeriesStore tarafından birleştirilir
+ *
+ * Okuyucuların iki kaynağı tutarlı görmesi için mühür sınırı kullanılır: sınırdan eski noktalar
+ * yalnızca segmentlerden, sınırdan yeni noktalar yalnızca tablodan okunur. Sınır en yeni mühürlü bloğun
+ * sonudur ve bir mühürleme turu tüm dosyaları yazdıktan sonra tek adımda ilerler; mühürlenen satırlar ise eski sınırla okumaya
+ * başlamış sorgular bitsin diye bir sonraki turda silinir. Sınırdan eski bloğa geç gelen satırlar
+ * bir sonraki tura kadar görünmez
+ */
+@Service
+public class SegmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentStore.class);
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${telemetry.segment.enabled:false}")
+    private boolean enabled;
+
+    @Value("${telemetry.segment.dir:data/segments}")
+    private String directory;
+
+    @Value("${telemetry.segment.block-hours:24}")
+    private long blockHours;
+
+    @Value("${telemetry.segment.seal-after-hours:48}")
+    private long sealAfterHours;
+
+    /**
+     * Seri ID'si -> blok başlangıcı -> segment dosyası
+     */
+    private final Map<Integer, NavigableMap<Long, SegmentFile>> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Mühür sınırı (epoch ms); bu zamandan eski tablo satırları okumalarda yok sayılır
+     */
+    private volatile long sealedBefore = Long.MIN_VALUE;
+
+    /**
+     * Önceki turda mühürlenen ve tablodan silinmeyi bekleyen bloklar: seri ID'si -> blok başlangıçları
+     */
+    private final Map<Integer, List<Long>> pendingDeletes = new TreeMap<>();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Uygulama hazır olduğunda segment dizinini tarama ve bekleyen blokları mühürleme
+     * Mühür sınırı en yeni segment bloğunun sonuna çekilir; önceki bir mühürleme dosya yazıldıktan sonra
+     * yarıda kaldıysa tabloda kalan satırlar mevcut segmentle birleştirilip sonraki turda silinir
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            Path root = root();
+            Files.createDirectories(root);
+            try (Stream<Path> files = Files.list(root)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    String name = path.getFileName().toString();
+                    if (name.endsWith(SegmentFile.EXTENSION)) {
+                        index(SegmentFile.open(path));
+                    } else if (name.endsWith(".tmp")) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Segment dizini okunamadı: " + directory, e);
+        }
+        long blockMillis = blockMillis();
+        segments.values().stream()
+                .filter(files -> !files.isEmpty())
+                .mapToLong(files -> files.lastKey() + blockMillis)
+                .max()
+                .ifPresent(end -> sealedBefore = Math.max(sealedBefore, end));
+        logger.info("Segment deposu yüklendi: {} seri, {} segment, {} ms",
+                segments.size(), segments.values().stream().mapToInt(Map::size).sum(),
+                System.currentTimeMillis() - started);
+        seal();
+    }
+
+    /**
+     * Kapalı blokları mühürleme
+     * Kesme zamanından eski satırlar blok blok segment dosyasına yazılır; blok zaten mühürlüyse
+     * geç gelen satırlar mevcut segmentle birleştirilip dosya yeniden yazılır
+     */
+    @Scheduled(fixedDelayString = "${telemetry.segment.seal-interval-ms:3600000}",
+               initialDelayString = "${telemetry.segment.seal-interval-ms:3600000}")
+    public synchronized void seal() {
+        if (!enabled) {
+            return;
+        }
+        WorkloadContext.run(Workload.BATCH, this::sealClosedBlocks);
+    }
+
+    private void sealClosedBlocks() {
+        long blockMillis = blockMillis();
+        long cutoff = Math.floorDiv(System.currentTimeMillis() - sealAfterHours * 3_600_000L, blockMillis) * blockMillis;
+
+        long started = System.currentTimeMillis();
+        long deletedRows = deletePending();
+        List<Integer> seriesIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT series_id FROM telemetry_numeric WHERE ts_epoch_ms < ?", Integer.class, cutoff);
+
+        long sealedRows = 0;
+        long writtenBytes = 0;
+        long sealedEnd = sealedBefore;
+        boolean failed = false;
+        Map<Integer, List<Long>> sealed = new TreeMap<>();
+        for (Integer seriesId : seriesIds) {
+            for (Map.Entry<Long, SeriesBlock> entry : readClosedBlocks(seriesId, cutoff).entrySet()) {
+                long blockStart = entry.getKey();
+                SeriesBlock rows = entry.getValue();
+                SegmentFile existing = segments.getOrDefault(seriesId, Collections.emptyNavigableMap()).get(blockStart);
+                SeriesBlock merged = existing == null ? rows : merge(existing.decode(), rows);
+                try {
+                    SegmentFile file = SegmentFile.write(root(), seriesId, blockStart, merged);
+                    index(file);
+                    writtenBytes += file.sizeInBytes();
+                } catch (IOException e) {
+                    logger.error("Segment yazılamadı - Seri: {}, Blok: {}: {}", seriesId, blockStart, e.getMessage(), e);
+                    failed = true;
+                    continue;
+                }
+                sealed.computeIfAbsent(seriesId, id -> new ArrayList<>()).add(blockStart);
+                sealedEnd = Math.max(sealedEnd, blockStart + blockMillis);
+                sealedRows += rows.getSize();
+                if (existing != null && blockStart < sealedBefore) {
+                    // Birleştirilen satırlar şimdiye kadar görünmüyordu; bloğun önbellekteki toplamları eskidi
+                    eventPublisher.publishEvent(new SegmentMergedEvent(seriesId, blockStart, blockStart + blockMillis));
+                }
+            }
+        }
+
+        // Tur eksik kaldıysa sınır ilerlemez ve satırlar silinmez; yazılamayan blok tablodan okunmaya devam eder
+        if (failed) {
+            logger.warn("Segment mühürleme eksik tamamlandı, mühür sınırı ilerletilmedi");
+        } else {
+            sealedBefore = sealedEnd;
+            pendingDeletes.putAll(sealed);
+        }
+
+        if (sealedRows > 0 || deletedRows > 0) {
+            logger.info("Segment mühürleme tamamlandı - Satır: {}, Yazılan: {} bayt ({} bayt/nokta), Silinen: {}, Süre: {} ms",
+                    sealedRows, writtenBytes, sealedRows == 0 ? "-" : String.format("%.2f", (double) writtenBytes / sealedRows),
+                    deletedRows, System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * Mühür sınırı
+     * Bu zamandan eski noktalar yalnızca segmentlerden, daha yeniler yalnızca tablodan okunmalıdır.
+     * Okuyucu sınırı sorgu başında bir kez alıp hem tablo sorgusunda hem segment okumalarında kullanır
+     * @return Epoch ms (henüz mühürleme yoksa Long.MIN_VALUE)
+     */
+    public long getSealedBefore() {
+        return sealedBefore;
+    }
+
+    /**
+     * Mühürlenmiş segment var mı
+     * @return Var mı
+     */
+    public boolean hasSegments() {
+        return !segments.isEmpty();
+    }
+
+    /**
+     * Segmenti olan seri ID'leri
+     * @return Seri ID'leri
+     */
+    public Set<Integer> getSeriesIds() {
+        return segments.keySet();
+    }
+
+    /**
+     * Herhangi bir serinin zaman aralığıyla kesişen segmenti var mı
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @return Var mı
+     */
+    public boolean hasSegmentsOverlapping(long fromMs, long toMs) {
+        for (Integer seriesId : segments.keySet()) {
+            if (!overlapping(seriesId, fromMs, toMs, Long.MAX_VALUE).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Serinin zaman aralığındaki noktaları
+     * @param seriesId Seri ID'si
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @param sealedBefore Okuyucunun aldığı mühür sınırı; bu sınırdan sonra başlayan bloklar okunmaz
+     * @return Zamana göre artan sıralı bloklar
+     */
+    public List<SeriesBlock> scan(int seriesId, long fromMs, long toMs, long sealedBefore) {
+        List<SeriesBlock> result = new ArrayList<>();
+        for (SegmentFile file : overlapping(seriesId, fromMs, toMs, sealedBefore)) {
+            SeriesBlock block = file.decode().slice(fromMs, toMs);
+            if (block.getSize() > 0) {
+                result.add(block);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Serinin en yeni noktaları; bloklar yeniden eskiye, en az limit nokta toplanana kadar çözülür
+     * @param seriesId Seri ID'si
+     * @param limit Nokta sayısı
+     * @param sealedBefore Okuyucunun aldığı mühür sınırı; bu sınırdan sonra başlayan bloklar okunmaz
+     * @return Bloklar (en yeni blok önce)
+     */
+    public List<SeriesBlock> scanLatest(int seriesId, int limit, long sealedBefore) {
+        NavigableMap<Long, SegmentFile> files = segments.get(seriesId);
+        if (files == null) {
+            return List.of();
+        }
+        List<SeriesBlock> result = new ArrayList<>();
+        int collected = 0;
+        for (SegmentFile file : files.headMap(sealedBefore, false).descendingMap().values()) {
+            if (collected >= limit) {
+                break;
+            }
+            SeriesBlock block = file.decode();
+            result.add(block);
+            collected += block.getSize();
+        }
+        return result;
+    }
+
+    /**
+     * Serinin zaman aralığındaki toplam değerleri
+     * Tamamen aralık içinde kalan bloklar başlık istatistiklerinden, kısmi bloklar çözülerek hesaplanır
+     * @param seriesId Seri ID'si
+     * @param fromMs Başlangıç (epoch ms, dahil)
+     * @param toMs Bitiş (epoch ms, dahil)
+     * @param sealedBefore Okuyucunun aldığı mühür sınırı; bu sınırdan sonra başlayan bloklar okunmaz
+     * @return Toplam değerler
+     */
+    public TelemetryAggregate aggregate(int seriesId, long fromMs, long toMs, long sealedBefore) {
+        TelemetryAggregate result = TelemetryAggregate.empty();
+        for (SegmentFile file : overlapping(seriesId, fromMs, toMs, sealedBefore)) {
+            if (file.getMinTimestamp() >= fromMs && file.getMaxTimestamp() <= toMs) {
+                result = result.combine(file.aggregate());
+                continue;
+            }
+            SeriesBlock block = file.decode().slice(fromMs, toMs);
+            double[] values = block.getValues();
+            double sum = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < block.getSize(); i++) {
+                sum += values[i];
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            if (block.getSize() > 0) {
+                result = result.combine(new TelemetryAggregate((long) block.getSize(), sum, min, max));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tamamen kesme zamanından eski segmentleri silme
+     * Kesme zamanını içeren blok korunur
+     * @param cutoffMs Kesme zamanı (epoch ms)
+     * @return Silinen nokta sayısı
+     */
+    public synchronized long deleteBefore(long cutoffMs) {
+        long deleted = 0;
+        for (NavigableMap<Long, SegmentFile> files : segments.values()) {
+            deleted += deleteBefore(files, cutoffMs);
+        }
+        segments.values().removeIf(Map::isEmpty);
+        return deleted;
+    }
+
+    /**
+     * Serinin tamamen kesme zamanından eski segmentlerini silme
+     * @param seriesId Seri ID'si
+     * @param cutoffMs Kesme zamanı (epoch ms)
+     * @return Silinen nokta sayısı
+     */
+    public synchronized long deleteBefore(int seriesId, long cutoffMs) {
+        NavigableMap<Long, SegmentFile> files = segments.get(seriesId);
+        if (files == null) {
+            return 0;
+        }
+        long deleted = deleteBefore(files, cutoffMs);
+        if (files.isEmpty()) {
+            segments.remove(seriesId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Serinin mühürlenmiş en eski noktasının zamanı
+     * @param seriesId Seri ID'si
+     * @return Epoch ms (segment yoksa boş)
+     */
+    public OptionalLong earliestTimestamp(int seriesId) {
+        NavigableMap<Long, SegmentFile> files = segments.get(seriesId);
+        if (files == null || files.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(files.firstEntry().getValue().getMinTimestamp());
+    }
+
+    private long deleteBefore(NavigableMap<Long, SegmentFile> files, long cutoffMs) {
+        long deleted = 0;
+        for (SegmentFile file : new ArrayList<>(files.values())) {
+            if (file.getMaxTimestamp() < cutoffMs) {
+                try {
+                    Files.deleteIfExists(file.getPath());
+                    files.remove(file.getBlockStart());
+                    deleted += file.getCount();
+                } catch (IOException e) {
+                    logger.warn("Segment silinemedi: {}: {}", file.getPath(), e.getMessage());
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private List<SegmentFile> overlapping(int seriesId, long fromMs, long toMs, long sealedBefore) {
+        NavigableMap<Long, SegmentFile> files = segments.get(seriesId);
+        if (files == null) {
+            return List.of();
+        }
+        long blockMillis = blockMillis();
+        long firstBlock = fromMs == Long.MIN_VALUE ? Long.MIN_VALUE : Math.floorDiv(fromMs, blockMillis) * blockMillis;
+        List<SegmentFile> result = new ArrayList<>();
+        for (SegmentFile file : files.subMap(firstBlock, true, toMs, true).values()) {
+            if (file.getBlockStart() < sealedBefore && file.getMaxTimestamp() >= fromMs && file.getMinTimestamp() <= toMs) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, SeriesBlock> readClosedBlocks(int seriesId, long cutoff) {
+        long blockMillis = blockMillis();
+        Map<Long, BlockBuilder> builders = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT ts_epoch_ms, value_numeric, quality FROM telemetry_numeric " +
+                "WHERE series_id = ? AND ts_epoch_ms < ? ORDER BY ts_epoch_ms",
+                (RowCallbackHandler) rs -> {
+                    long timestamp = rs.getLong(1);
+                    int quality = rs.getInt(3);
+                    builders.computeIfAbsent(Math.floorDiv(timestamp, blockMillis) * blockMillis, start -> new BlockBuilder())
+                            .add(timestamp, rs.getDouble(2), rs.wasNull() ? SeriesBlock.NO_QUALITY : quality);
+                },
+                seriesId, cutoff);
+
+        Map<Long, SeriesBlock> blocks = new TreeMap<>();
+        builders.forEach((start, builder) -> blocks.put(start, builder.build()));
+        return blocks;
+    }
+
+    /**
+     * Önceki turda mühürlenen satırları silme
+     * Yalnızca değeri ve kalitesi segmenttekiyle aynı kalan satırlar silinir; mühürlemeden sonra güncellenen
+     * satır tabloda kalır ve bu turda segmentle birleştirilir
+     * @return Silinen satır sayısı
+     */
+    private long deletePending() {
+        long deleted = 0;
+        for (Map.Entry<Integer, List<Long>> entry : pendingDeletes.entrySet()) {
+            NavigableMap<Long, SegmentFile> files = segments.getOrDefault(entry.getKey(), Collections.emptyNavigableMap());
+            for (Long blockStart : entry.getValue()) {
+                SegmentFile file = files.get(blockStart);
+                if (file != null) {
+                    deleted += deleteRows(entry.getKey(), file.decode());
+                }
+            }
+        }
+        pendingDeletes.clear();
+        return deleted;
+    }
+
+    private long deleteRows(int seriesId, SeriesBlock sealed) {
+        long[] timestamps = sealed.getTimestamps();
+        double[] values = sealed.getValues();
+        int[] qualities = sealed.getQualities();
+        long deleted = 0;
+        for (int from = 0; from < sealed.getSize(); from += DELETE_BATCH_SIZE) {
+            int to = Math.min(from + DELETE_BATCH_SIZE, sealed.getSize());
+            List<Object[]> withQuality = new ArrayList<>(to - from);
+            List<Object[]> withoutQuality = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                if (qualities[i] == SeriesBlock.NO_QUALITY) {
+                    withoutQuality.add(new Object[]{seriesId, timestamps[i], values[i]});
+                } else {
+                    withQuality.add(new Object[]{seriesId, timestamps[i], values[i], qualities[i]});
+                }
+            }
+            deleted += delete("quality = ?", withQuality);
+            deleted += delete("quality IS NULL", withoutQuality);
+        }
+        return deleted;
+    }
+
+    private long delete(String qualityCondition, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate("DELETE FROM telemetry_numeric " +
+                "WHERE series_id = ? AND ts_epoch_ms = ? AND value_numeric = ? AND " + qualityCondition, batch);
+        return Arrays.stream(counts).filter(count -> count > 0).sum();
+    }
+
+    /**
+     * Segmentteki noktalarla geç gelen satırları birleştirme; aynı zaman damgasında satır kazanır
+     */
+    private static SeriesBlock merge(SeriesBlock sealed, SeriesBlock late) {
+        int capacity = sealed.getSize() + late.getSize();
+        BlockBuilder builder = new BlockBuilder(capacity);
+        int i = 0;
+        int j = 0;
+        while (i < sealed.getSize() || j < late.getSize()) {
+            if (j >= late.getSize()
+                    || (i < sealed.getSize() && sealed.getTimestamps()[i] < late.getTimestamps()[j])) {
+                builder.add(sealed.getTimestamps()[i], sealed.getValues()[i], sealed.getQualities()[i]);
+                i++;
+            } else {
+                if (i < sealed.getSize() && sealed.getTimestamps()[i] == late.getTimestamps()[j]) {
+                    i++;
+                }
+                builder.add(late.getTimestamps()[j], late.getValues()[j], late.getQualities()[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    private void index(SegmentFile file) {
+        segments.computeIfAbsent(file.getSeriesId(), id -> new ConcurrentSkipListMap<>())
+                .put(file.getBlockStart(), file);
+    }
+
+    private Path root() {
+        return Paths.get(directory);
+    }
+
+    private long blockMillis() {
+        return blockHours * 3_600_000L;
+    }
+
+    /**
+     * İlkel dizilerle büyüyen blok oluşturucu
+     */
+    private static class BlockBuilder {
+        private long[] timestamps;
+        private double[] values;
+        private int[] qualities;
+        private int size;
+
+        BlockBuilder() {
+            this(1024);
+        }
+
+        BlockBuilder(int capacity) {
+            timestamps = new long[Math.max(capacity, 1)];
+            values = new double[Math.max(capacity, 1)];
+            qualities = new int[Math.max(capacity, 1)];
+        }
+
+        void add(long timestamp, double value, int quality) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                qualities = Arrays.copyOf(qualities, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            qualities[size] = quality;
+            size++;
+        }
+
+        SeriesBlock build() {
+            return new SeriesBlock(timestamps, values, qualities, size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import java.util.Arrays;
+
+/**
+ * Bir serinin zamana göre artan sıralı noktaları
+ * Zaman damgaları, değerler ve kaliteler ayrı ilkel dizilerde tutulur
+ */
+public class SeriesBlock {
+
+    /**
+     * Kalite bilgisi olmayan noktalar için işaret değeri
+     */
+    public static final int NO_QUALITY = Integer.MIN_VALUE;
+
+    private final long[] timestamps;
+    private final double[] values;
+    private final int[] qualities;
+    private final int size;
+
+    public SeriesBlock(long[] timestamps, double[] values, int[] qualities, int size) {
+        this.timestamps = timestamps;
+        this.values = values;
+        this.qualities = qualities;
+        this.size = size;
+    }
+
+    /**
+     * Verilen zaman aralığına (her iki uç dahil) düşen noktalar
+     * @param fromMs Başlangıç (epoch ms)
+     * @param toMs Bitiş (epoch ms)
+     * @return Aralıktaki noktalar (tamamı aralıktaysa aynı nesne)
+     */
+    public SeriesBlock slice(long fromMs, long toMs) {
+        int from = lowerBound(fromMs);
+        int to = lowerBound(toMs == Long.MAX_VALUE ? toMs : toMs + 1);
+        if (from == 0 && to == size) {
+            return this;
+        }
+        return new SeriesBlock(
+                Arrays.copyOfRange(timestamps, from, to),
+                Arrays.copyOfRange(values, from, to),
+                Arrays.copyOfRange(qualities, from, to),
+                to - from);
+    }
+
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Getters
+    public long[] getTimestamps() { return timestamps; }
+    public double[] getValues() { return values; }
+    public int[] getQualities() { return qualities; }
+    public int getSize() { return size; }
+}
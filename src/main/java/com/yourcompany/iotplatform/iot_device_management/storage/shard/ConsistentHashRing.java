@@ -0,0 +1,87 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tutarlı Özet Halkası
+ * Her parça halkaya adından türetilen sanal düğümlerle yerleşir; anahtar, özetinden sonraki ilk düğümün
+ * parçasına düşer. Parça eklenince yalnızca yeni parçanın düğümlerine denk gelen anahtarlar (yaklaşık 1/N)
+ * yer değiştirir. Özet fonksiyonu sabittir; değişirse tüm cihazların yeri değişir
+ */
+public class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final List<String> nodes;
+    private final int virtualNodes;
+
+    /**
+     * @param nodes Parça adları (sıra parça numarasıdır)
+     * @param virtualNodes Parça başına sanal düğüm sayısı
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Halka için en az bir parça ve bir sanal düğüm gerekli");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                Integer previous = ring.put(hash(nodes.get(node) + "#" + replica), node);
+                if (previous != null && previous != node) {
+                    throw new IllegalArgumentException("Sanal düğüm çakışması: " + nodes.get(previous) + ", " + nodes.get(node));
+                }
+            }
+        }
+    }
+
+    /**
+     * Anahtarın parçası
+     * @param key Anahtar (cihaz ID'si)
+     * @return Parça numarası
+     */
+    public int nodeFor(long key) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * Halkanın kimliği; parça listesi veya sanal düğüm sayısı değişince değişir
+     * @return Parça adları ve sanal düğüm sayısı
+     */
+    public String fingerprint() {
+        return String.join(",", nodes) + "/" + virtualNodes;
+    }
+
+    public List<String> getNodes() { return nodes; }
+
+    /**
+     * Sayısal anahtar özeti - MurmurHash3 son karıştırma adımı (fmix64)
+     */
+    static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Sanal düğüm özeti - FNV-1a 64 ardından fmix64
+     */
+    static long hash(String key) {
+        long h = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        return hash(h);
+    }
+}
@@ -0,0 +1,115 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K Yollu Birleştirme
+ * Her biri aynı sıraya göre sıralı k kaynağı, her kaynaktan yalnızca sıradaki elemanı bir yığında
+ * tutarak tek sıralı akışa birleştirir: n eleman için O(n log k), ara liste ve tam sıralama yok.
+ * Eşit elemanlarda önce listedeki kaynak gelir
+ * @param <T> Eleman tipi
+ */
+public class MergeIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+    private final List<Iterator<? extends T>> sources;
+
+    /**
+     * @param sources Sıralı kaynaklar
+     * @param order Kaynakların ortak sırası
+     */
+    public MergeIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        this.sources = new ArrayList<>(sources);
+        Comparator<Head<T>> byValue = (a, b) -> order.compare(a.value, b.value);
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), byValue.thenComparingInt(head -> head.source));
+        for (int i = 0; i < this.sources.size(); i++) {
+            advance(i);
+        }
+    }
+
+    /**
+     * Sıralı listeleri birleştirip ilk limit elemanı alma
+     * @param sources Sıralı listeler
+     * @param order Ortak sıra
+     * @param limit En fazla eleman sayısı
+     * @return Birleşik liste
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> sources, Comparator<? super T> order, int limit) {
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+        int total = 0;
+        for (List<? extends T> source : sources) {
+            iterators.add(source.iterator());
+            total += source.size();
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        MergeIterator<T> iterator = new MergeIterator<>(iterators, order);
+        while (merged.size() < limit && iterator.hasNext()) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+
+    /**
+     * Sıralı listeleri birleştirip sırada eşit olan (aynı) elemanları bir kez alarak ilk limit elemanı alma
+     * Sıra benzersiz anahtarı (ör. satır ID'si) içermelidir; eşit elemanlar birleşik akışta yan yana gelir
+     * @param sources Sıralı listeler
+     * @param order Ortak sıra
+     * @param limit En fazla eleman sayısı
+     * @return Tekrarsız birleşik liste
+     */
+    public static <T> List<T> mergeDistinct(List<? extends List<? extends T>> sources, Comparator<? super T> order,
+                                            int limit) {
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+        for (List<? extends T> source : sources) {
+            iterators.add(source.iterator());
+        }
+        List<T> merged = new ArrayList<>();
+        MergeIterator<T> iterator = new MergeIterator<>(iterators, order);
+        T previous = null;
+        while (merged.size() < limit && iterator.hasNext()) {
+            T next = iterator.next();
+            if (previous == null || order.compare(previous, next) != 0) {
+                merged.add(next);
+                previous = next;
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source);
+        return head.value;
+    }
+
+    private void advance(int source) {
+        Iterator<? extends T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heads.add(new Head<>(iterator.next(), source));
+        }
+    }
+
+    private static final class Head<T> {
+        private final T value;
+        private final int source;
+
+        private Head(T value, int source) {
+            this.value = value;
+            this.source = source;
+        }
+    }
+}
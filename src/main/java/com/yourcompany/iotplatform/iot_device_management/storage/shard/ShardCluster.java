@@ -0,0 +1,229 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.ShardRebalanceReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Parça Kümesi
+ * Parçaları, tutarlı özet halkasını ve paralel dağıtım (fan-out) iş parçacıklarını bir arada tutar.
+ * Parçalardan biri satırlarını farklı bir halkayla yazmışsa (parça eklenmiş ve henüz yeniden
+ * dengelenmemişse) yeniden dengeleme bekliyor sayılır; bu sürede tek cihaz okumaları da tüm parçalara gider.
+ * Yeniden dengeleme kendi iş parçacıklarında çalışır; dağıtım havuzunu okumalardan almaz
+ */
+public class ShardCluster implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardCluster.class);
+
+    private final List<TelemetryShard> shards;
+    private final ConsistentHashRing ring;
+    private final List<AutoCloseable> resources;
+    private final ExecutorService executor;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /**
+     * Dağıtılan işlemler okuma kilidini, taşınan her parça (chunk) yazma kilidini tutar;
+     * böylece bir satır hiçbir zaman hem kaynakta hem hedefte okunmaz
+     */
+    private final ReadWriteLock moveLock = new ReentrantReadWriteLock();
+    private volatile boolean rebalancePending;
+
+    /**
+     * @param shards Parçalar (sıra halkadaki sırayla aynı)
+     * @param ring Halka
+     * @param idStep Parça ID artışı
+     * @param resources Küme kapanınca kapatılacak bağlantı havuzları
+     */
+    public ShardCluster(List<TelemetryShard> shards, ConsistentHashRing ring, int idStep, List<AutoCloseable> resources) {
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        this.resources = List.copyOf(resources);
+        this.executor = newExecutor("telemetry-shard-");
+
+        String fingerprint = ring.fingerprint();
+        for (TelemetryShard shard : this.shards) {
+            shard.createSchema(idStep);
+            Optional<String> written = shard.readFingerprint();
+            if (written.isEmpty()) {
+                shard.writeFingerprint(fingerprint);
+            } else if (!written.get().equals(fingerprint)) {
+                rebalancePending = true;
+            }
+        }
+        if (rebalancePending) {
+            logger.warn("Parça halkası değişti ({}); yeniden dengelenene kadar cihaz okumaları tüm parçalara dağıtılır",
+                    fingerprint);
+        }
+        logger.info("Telemetri parçaları: {}", ring.getNodes());
+    }
+
+    /**
+     * Cihazın parçası
+     * @param deviceId Cihaz ID'si
+     * @return Parça
+     */
+    public TelemetryShard owner(Long deviceId) {
+        return shards.get(ring.nodeFor(deviceId));
+    }
+
+    public List<TelemetryShard> getShards() { return shards; }
+
+    /**
+     * İşlemi tüm parçalarda paralel çalıştırma
+     * @param operation Parça işlemi
+     * @return Parça sırasıyla sonuçlar
+     */
+    public <T> List<T> fanOut(Function<TelemetryShard, T> operation) {
+        return fanOut(shards, operation);
+    }
+
+    /**
+     * İşlemi verilen parçalarda paralel çalıştırma; tek parça çağıran iş parçacığında çalışır.
+     * Yeniden dengeleme bir parçayı taşırken o parçanın bitmesi beklenir
+     * @param targets Parçalar
+     * @param operation Parça işlemi
+     * @return Parça sırasıyla sonuçlar
+     */
+    public <T> List<T> fanOut(List<TelemetryShard> targets, Function<TelemetryShard, T> operation) {
+        Lock lock = moveLock.readLock();
+        lock.lock();
+        try {
+            return fanOut(targets, operation, executor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> List<T> fanOut(List<TelemetryShard> targets, Function<TelemetryShard, T> operation,
+                                      ExecutorService executor) {
+        if (targets.size() == 1) {
+            return Collections.singletonList(operation.apply(targets.get(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+        for (TelemetryShard shard : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> operation.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(targets.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Yeniden dengeleme bekleniyor mu
+     * @return Bir parça farklı halkayla yazılmışsa true
+     */
+    public boolean isRebalancePending() {
+        return rebalancePending;
+    }
+
+    /**
+     * Satırları halkaya göre sahibi olmayan parçalardaki cihazları sahip parçaya taşıma
+     * Her kaynak parça ayrı bir iş parçacığında, cihazlar parça parça (chunkSize) taşınır: satırlar ID'leriyle
+     * hedefe yazılır, sonra kaynaktan silinir. Bu iki adım yazma kilidi altında çalışır; okumalar ve yazmalar
+     * yalnızca tek parçanın taşınması kadar bekler. Yarıda kalan taşıma tekrar çalıştırıldığında hedefte aynı
+     * ID'ler ezilir; o zamana kadar iki parçada kalan satırlar sıralı okumalarda ID ile tekilleştirilir
+     * @param dryRun true ise yalnızca sayılır, taşınmaz
+     * @param chunkSize Tek seferde taşınan satır sayısı
+     * @return Rapor
+     */
+    public ShardRebalanceReport rebalance(boolean dryRun, int chunkSize) {
+        long started = System.currentTimeMillis();
+        ExecutorService rebalanceExecutor = newExecutor("telemetry-shard-rebalance-");
+        List<ShardRebalanceReport.ShardStatus> statuses;
+        try {
+            statuses = fanOut(shards, source -> status(source, dryRun, chunkSize), rebalanceExecutor);
+        } finally {
+            rebalanceExecutor.shutdownNow();
+        }
+        if (!dryRun) {
+            markBalanced();
+        }
+        return new ShardRebalanceReport(dryRun, rebalancePending, System.currentTimeMillis() - started, statuses);
+    }
+
+    private ShardRebalanceReport.ShardStatus status(TelemetryShard source, boolean dryRun, int chunkSize) {
+        long rows = source.countRows();
+        List<Long> deviceIds = source.deviceIds();
+        long misplacedDevices = 0;
+        long misplacedRows = 0;
+        for (Long deviceId : deviceIds) {
+            TelemetryShard target = owner(deviceId);
+            if (target == source) {
+                continue;
+            }
+            misplacedDevices++;
+            misplacedRows += dryRun ? source.countRows(deviceId) : move(deviceId, source, target, chunkSize);
+        }
+        return new ShardRebalanceReport.ShardStatus(source.getName(), rows, deviceIds.size(),
+                misplacedDevices, misplacedRows);
+    }
+
+    private long move(Long deviceId, TelemetryShard source, TelemetryShard target, int chunkSize) {
+        long moved = 0;
+        List<TelemetryDataDto> chunk;
+        do {
+            chunk = source.readDevice(deviceId, chunkSize);
+            Lock lock = moveLock.writeLock();
+            lock.lock();
+            try {
+                target.insertWithIds(chunk);
+                source.deleteIds(chunk.stream().map(TelemetryDataDto::getId).toList());
+            } finally {
+                lock.unlock();
+            }
+            moved += chunk.size();
+        } while (chunk.size() == chunkSize);
+        logger.info("Cihaz {} parçası {} -> {} taşındı: {} satır", deviceId, source.getName(), target.getName(), moved);
+        return moved;
+    }
+
+    /**
+     * Yeniden dengeleme sonrası tüm parçaları güncel halkayla işaretleme
+     */
+    public void markBalanced() {
+        String fingerprint = ring.fingerprint();
+        shards.forEach(shard -> shard.writeFingerprint(fingerprint));
+        rebalancePending = false;
+    }
+
+    private ExecutorService newExecutor(String prefix) {
+        return Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Parça bağlantı havuzu kapatılamadı: {}", e.getMessage());
+            }
+        }
+    }
+}
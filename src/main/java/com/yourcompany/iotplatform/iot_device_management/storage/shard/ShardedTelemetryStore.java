@@ -0,0 +1,235 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.storage.PurgeResult;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Parçalı Telemetri Deposu
+ * Her cihazın satırları, cihaz ID'sinin tutarlı özet halkasındaki parçasına yazılır; tek cihaz okumaları
+ * yalnızca o parçaya gider. Filo sorguları tüm parçalarda paralel çalışır, her parça limiti kendisi uygular
+ * ve sıralı sonuçlar k yollu birleştirme ile tek listeye indirilir.
+ * Parçalarda cihaz tablosu olmadığından cihaz adları birincil veritabanından okunur.
+ * Parça yazmaları birincil veritabanı işlemine katılmaz
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.store.backend", havingValue = "sharded")
+public class ShardedTelemetryStore implements TelemetryStore {
+
+    /**
+     * Cihaz adı sorgusunda IN listesine konulacak en fazla ID sayısı
+     */
+    private static final int NAME_BATCH_SIZE = 1000;
+
+    static final Comparator<TelemetryDataDto> NEWEST_FIRST = Comparator
+            .comparingLong(TelemetryDataDto::getTimestampMillis)
+            .thenComparing(TelemetryDataDto::getId)
+            .reversed();
+
+    private static final Comparator<TelemetryShard.Sample> OLDEST_SAMPLE_FIRST = Comparator
+            .comparingLong(TelemetryShard.Sample::timestamp)
+            .thenComparingLong(TelemetryShard.Sample::id);
+
+    @Autowired
+    private ShardCluster shardCluster;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getName() {
+        return "sharded";
+    }
+
+    @Override
+    public boolean usesPrimaryDatabase() {
+        return false;
+    }
+
+    @Override
+    public void appendBatch(List<TelemetryData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long now = TelemetryTime.nowMillis();
+        Map<TelemetryShard, List<TelemetryData>> byShard = new LinkedHashMap<>();
+        for (TelemetryData data : batch) {
+            if (data.getReceivedAtMillis() == null) {
+                data.setReceivedAtMillis(now);
+            }
+            byShard.computeIfAbsent(shardCluster.owner(data.getDevice().getId()), shard -> new ArrayList<>()).add(data);
+        }
+        shardCluster.fanOut(new ArrayList<>(byShard.keySet()), shard -> {
+            shard.append(byShard.get(shard));
+            return null;
+        });
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanRange(Long deviceId, String dataType, long startMillis, long endMillis, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(deviceId);
+        String where = "WHERE t.device_id = ?";
+        if (dataType != null) {
+            where += " AND t.data_type = ?";
+            args.add(dataType);
+        }
+        where += " AND t.ts_epoch_ms BETWEEN ? AND ?";
+        args.add(startMillis);
+        args.add(endMillis);
+        return scan(shardsOf(deviceId), where, args, limit);
+    }
+
+    @Override
+    public List<TelemetryDataDto> scanFleet(String dataType, String topic, long startMillis, long endMillis, int limit) {
+        List<Object> args = new ArrayList<>(List.of(startMillis, endMillis));
+        String where = "WHERE t.ts_epoch_ms BETWEEN ? AND ?";
+        if (dataType != null) {
+            where += " AND t.data_type = ?";
+            args.add(dataType);
+        }
+        if (topic != null) {
+            where += " AND t.topic = ?";
+            args.add(topic);
+        }
+        return scan(shardCluster.getShards(), where, args, limit);
+    }
+
+    @Override
+    public Optional<TelemetryDataDto> latest(Long deviceId, String dataType) {
+        return scanRange(deviceId, dataType, MIN_TIME, MAX_TIME, 1).stream().findFirst();
+    }
+
+    @Override
+    public TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis) {
+        return shardCluster.fanOut(shardsOf(deviceId), shard -> shard.aggregate(deviceId, dataType, startMillis, endMillis))
+                .stream()
+                .reduce(TelemetryAggregate.empty(), TelemetryAggregate::combine);
+    }
+
+    @Override
+    public Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds,
+                                                          long startMillis, long endMillis) {
+        // Her parça kendi cihazlarını gruplar; yeniden dengeleme sürerken iki parçada görünen cihazlar birleştirilir
+        Map<Long, TelemetryAggregate> result = new HashMap<>();
+        for (Map<Long, TelemetryAggregate> partial : shardCluster.fanOut(
+                shard -> shard.aggregateByDevice(dataType, deviceIds, startMillis, endMillis))) {
+            partial.forEach((deviceId, aggregate) -> result.merge(deviceId, aggregate, TelemetryAggregate::combine));
+        }
+        return result;
+    }
+
+    @Override
+    public int deleteBefore(long cutoffMillis) {
+        return shardCluster.fanOut(shard -> shard.deleteBefore(cutoffMillis)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public void forEachSeries(BiConsumer<Long, String> consumer) {
+        // Yeniden dengeleme sürerken aynı seri iki parçada görünebilir; her seri bir kez bildirilir
+        Set<Map.Entry<Long, String>> series = new LinkedHashSet<>();
+        shardCluster.fanOut(shard -> {
+            List<Map.Entry<Long, String>> local = new ArrayList<>();
+            shard.forEachSeries((deviceId, dataType) -> local.add(new AbstractMap.SimpleImmutableEntry<>(deviceId, dataType)));
+            return local;
+        }).forEach(series::addAll);
+        series.forEach(entry -> consumer.accept(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public void scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit,
+                            SampleHandler handler) {
+        List<List<TelemetryShard.Sample>> results = shardCluster.fanOut(shardsOf(deviceId),
+                shard -> shard.scanNumeric(deviceId, dataType, startMillis, endMillis, limit));
+        for (TelemetryShard.Sample sample : MergeIterator.mergeDistinct(results, OLDEST_SAMPLE_FIRST, limit)) {
+            handler.accept(sample.timestamp(), sample.value());
+        }
+    }
+
+    @Override
+    public PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit) {
+        return shardCluster.fanOut(shardsOf(deviceId), shard -> shard.purgeBefore(deviceId, dataType, cutoffMillis, limit))
+                .stream()
+                .reduce(PurgeResult.EMPTY, PurgeResult::combine);
+    }
+
+    @Override
+    public Map<Long, String> loadPayloads(Collection<Long> ids) {
+        // ID, satırın ilk yazıldığı parçayı gösterir; yeniden dengelemede taşınmış olabileceğinden tüm parçalara sorulur
+        Map<Long, String> payloads = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return payloads;
+        }
+        shardCluster.fanOut(shard -> shard.loadPayloads(ids)).forEach(payloads::putAll);
+        return payloads;
+    }
+
+    @Override
+    public List<TelemetryDataDto> latestPerSeries() {
+        List<TelemetryDataDto> rows = new ArrayList<>();
+        shardCluster.fanOut(shard -> {
+            List<TelemetryDataDto> latest = new ArrayList<>();
+            shard.latestPerSeries((RowCallbackHandler) rs -> {
+                TelemetryDataDto row = TelemetryShard.mapRow(rs);
+                row.setPayload(rs.getString(12));
+                latest.add(row);
+            });
+            return latest;
+        }).forEach(rows::addAll);
+        return rows;
+    }
+
+    /**
+     * Parçalarda paralel tarama ve k yollu birleştirme
+     * Yarıda kalmış yeniden dengelemeden iki parçada kalan satırlar ID ile bir kez alınır
+     */
+    private List<TelemetryDataDto> scan(List<TelemetryShard> targets, String where, List<Object> args, int limit) {
+        List<List<TelemetryDataDto>> results = shardCluster.fanOut(targets, shard -> shard.scan(where, args, limit));
+        return withDeviceNames(MergeIterator.mergeDistinct(results, NEWEST_FIRST, limit));
+    }
+
+    /**
+     * Cihazın satırlarının bulunabileceği parçalar - yeniden dengeleme beklerken tümü
+     */
+    private List<TelemetryShard> shardsOf(Long deviceId) {
+        return shardCluster.isRebalancePending() ? shardCluster.getShards() : List.of(shardCluster.owner(deviceId));
+    }
+
+    private List<TelemetryDataDto> withDeviceNames(List<TelemetryDataDto> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> deviceIds = rows.stream().map(TelemetryDataDto::getDeviceId).distinct().toList();
+        Map<Long, String> names = new HashMap<>(deviceIds.size() * 2);
+        for (int from = 0; from < deviceIds.size(); from += NAME_BATCH_SIZE) {
+            List<Long> ids = deviceIds.subList(from, Math.min(from + NAME_BATCH_SIZE, deviceIds.size()));
+            jdbcTemplate.query("SELECT id, name FROM devices WHERE id IN (" +
+                            String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                    (RowCallbackHandler) rs -> names.put(rs.getLong(1), rs.getString(2)), ids.toArray());
+        }
+        rows.forEach(row -> row.setDeviceName(names.get(row.getDeviceId())));
+        return rows;
+    }
+}
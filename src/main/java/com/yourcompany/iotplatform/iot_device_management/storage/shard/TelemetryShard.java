@@ -0,0 +1,313 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.JdbcTelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.PurgeResult;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Telemetri Parçası
+ * Tek parça veritabanındaki telemetry_data tablosunun JDBC erişimi. Parçada cihaz tablosu yoktur;
+ * cihaz adı çağıran tarafından doldurulur. ID'ler parçanın kendi aralığından (başlangıç = sıra + 1,
+ * artış = parça sınırı) üretilir; yeniden dengelemede taşınan satırlar ID'lerini korur
+ */
+public class TelemetryShard {
+
+    private static final String COLUMNS =
+            "t.id, t.device_id, t.ts_epoch_ms, t.topic, t.data_type, t.unit, " +
+            "t.value_numeric, t.value_string, t.value_boolean, t.quality, t.received_epoch_ms";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO telemetry_data (device_id, ts_epoch_ms, topic, payload, data_type, unit, " +
+            "value_numeric, value_string, value_boolean, quality, received_epoch_ms) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WITH_ID_SQL =
+            "INSERT INTO telemetry_data (device_id, ts_epoch_ms, topic, payload, data_type, unit, " +
+            "value_numeric, value_string, value_boolean, quality, received_epoch_ms, id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final String name;
+    private final int index;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param name Halkadaki ad
+     * @param index Parça sırası (ID aralığını belirler)
+     * @param dataSource Parça veritabanı
+     */
+    public TelemetryShard(String name, int index, DataSource dataSource) {
+        this.name = name;
+        this.index = index;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public String getName() { return name; }
+    public int getIndex() { return index; }
+
+    /**
+     * Parça şemasını oluşturma (yoksa)
+     * @param idStep ID artışı (parça sınırı)
+     */
+    void createSchema(int idStep) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS telemetry_data (" +
+                "id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH " + (index + 1) + " INCREMENT BY " + idStep + ") PRIMARY KEY, " +
+                "device_id BIGINT NOT NULL, ts_epoch_ms BIGINT NOT NULL, topic VARCHAR(255) NOT NULL, payload TEXT, " +
+                "data_type VARCHAR(255), unit VARCHAR(255), value_numeric DOUBLE PRECISION, value_string VARCHAR(255), " +
+                "value_boolean BOOLEAN, quality INTEGER, received_epoch_ms BIGINT)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_telemetry_device_timestamp ON telemetry_data (device_id, ts_epoch_ms)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_telemetry_device_type_timestamp ON telemetry_data (device_id, data_type, ts_epoch_ms)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_telemetry_timestamp ON telemetry_data (ts_epoch_ms)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS telemetry_shard_meta (" +
+                "shard_name VARCHAR(255) PRIMARY KEY, ring VARCHAR(4000) NOT NULL)");
+    }
+
+    /**
+     * Satırların yazıldığı halkanın kimliği
+     * @return Kimlik (parça henüz işaretlenmemişse boş)
+     */
+    Optional<String> readFingerprint() {
+        return jdbcTemplate.query("SELECT ring FROM telemetry_shard_meta WHERE shard_name = ?",
+                (rs, rowNum) -> rs.getString(1), name).stream().findFirst();
+    }
+
+    void writeFingerprint(String fingerprint) {
+        if (jdbcTemplate.update("UPDATE telemetry_shard_meta SET ring = ? WHERE shard_name = ?", fingerprint, name) == 0) {
+            jdbcTemplate.update("INSERT INTO telemetry_shard_meta (shard_name, ring) VALUES (?, ?)", name, fingerprint);
+        }
+    }
+
+    /**
+     * Toplu yazma; üretilen ID'ler nesnelere atanır
+     * @param batch Alınma zamanı atanmış telemetri verileri
+     */
+    void append(List<TelemetryData> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TelemetryData data = batch.get(i);
+                        bind(ps, data.getDevice().getId(), data.getTimestampMillis(), data.getTopic(), data.getPayload(),
+                                data.getDataType(), data.getUnit(), data.getValueNumeric(), data.getValueString(),
+                                data.getValueBoolean(), data.getQuality(), data.getReceivedAtMillis());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < batch.size(); i++) {
+            batch.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    /**
+     * Başka parçadan taşınan satırları ID'leriyle yazma; yarım kalmış bir taşımanın tekrarında
+     * aynı ID'ler önce silinir
+     * @param rows Payload'lı satırlar
+     */
+    void insertWithIds(List<TelemetryDataDto> rows) {
+        deleteIds(rows.stream().map(TelemetryDataDto::getId).toList());
+        jdbcTemplate.batchUpdate(INSERT_WITH_ID_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TelemetryDataDto row = rows.get(i);
+                bind(ps, row.getDeviceId(), row.getTimestampMillis(), row.getTopic(), row.getPayload(), row.getDataType(),
+                        row.getUnit(), row.getValueNumeric(), row.getValueString(), row.getValueBoolean(),
+                        row.getQuality(), row.getReceivedAtMillis());
+                ps.setLong(12, row.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /**
+     * Koşula uyan satırlar (yeniden eskiye)
+     * @param where "WHERE ..." koşulu (t takma adıyla)
+     * @param args Koşul parametreleri
+     * @param limit En fazla satır sayısı
+     * @return Payload ve cihaz adı olmadan DTO'lar
+     */
+    List<TelemetryDataDto> scan(String where, List<Object> args, int limit) {
+        List<Object> all = new ArrayList<>(args);
+        all.add(limit);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM telemetry_data t " + where +
+                " ORDER BY t.ts_epoch_ms DESC, t.id DESC LIMIT ?", (rs, rowNum) -> mapRow(rs), all.toArray());
+    }
+
+    TelemetryAggregate aggregate(Long deviceId, String dataType, long startMillis, long endMillis) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(value_numeric), SUM(value_numeric), MIN(value_numeric), " +
+                        "MAX(value_numeric) FROM telemetry_data WHERE device_id = ? AND data_type = ? AND ts_epoch_ms BETWEEN ? AND ?",
+                (rs, rowNum) -> new TelemetryAggregate(rs.getLong(1), rs.getObject(2, Double.class),
+                        rs.getObject(3, Double.class), rs.getObject(4, Double.class)),
+                deviceId, dataType, startMillis, endMillis);
+    }
+
+    Map<Long, TelemetryAggregate> aggregateByDevice(String dataType, Collection<Long> deviceIds, long startMillis, long endMillis) {
+        return JdbcTelemetryStore.aggregateByDevice(jdbcTemplate, dataType, deviceIds, startMillis, endMillis);
+    }
+
+    int deleteBefore(long cutoffMillis) {
+        return jdbcTemplate.update("DELETE FROM telemetry_data WHERE ts_epoch_ms < ?", cutoffMillis);
+    }
+
+    void forEachSeries(BiConsumer<Long, String> consumer) {
+        JdbcTelemetryStore.forEachSeries(jdbcTemplate, consumer);
+    }
+
+    /**
+     * Serinin [startMillis, endMillis) aralığındaki sayısal okumaları, zamana göre artan sırada
+     * @return Satır ID'leriyle noktalar (birleştirmede taşınan satırları ayırt etmek için)
+     */
+    List<Sample> scanNumeric(Long deviceId, String dataType, long startMillis, long endMillis, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, ts_epoch_ms, value_numeric FROM telemetry_data WHERE device_id = ? AND data_type = ? " +
+                "AND value_numeric IS NOT NULL AND ts_epoch_ms >= ? AND ts_epoch_ms < ? ORDER BY ts_epoch_ms, id LIMIT ?",
+                (rs, rowNum) -> new Sample(rs.getLong(1), rs.getLong(2), rs.getDouble(3)),
+                deviceId, dataType, startMillis, endMillis, limit);
+    }
+
+    PurgeResult purgeBefore(Long deviceId, String dataType, long cutoffMillis, int limit) {
+        return JdbcTelemetryStore.purgeBefore(jdbcTemplate, false, deviceId, dataType, cutoffMillis, limit);
+    }
+
+    Map<Long, String> loadPayloads(Collection<Long> ids) {
+        Map<Long, String> payloads = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return payloads;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query("SELECT id, payload FROM telemetry_data WHERE id IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> payloads.put(rs.getLong(1), rs.getString(2)), ids.toArray());
+        return payloads;
+    }
+
+    /**
+     * Parçada satırı bulunan cihazlar
+     * @return Cihaz ID'leri
+     */
+    List<Long> deviceIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT device_id FROM telemetry_data", Long.class);
+    }
+
+    /**
+     * Cihazın ID sırasıyla ilk satırları, payload ile (yeniden dengeleme için)
+     * @param deviceId Cihaz ID'si
+     * @param limit En fazla satır sayısı
+     * @return Payload'lı DTO'lar
+     */
+    List<TelemetryDataDto> readDevice(Long deviceId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + ", t.payload FROM telemetry_data t WHERE t.device_id = ? " +
+                "ORDER BY t.id LIMIT ?", (rs, rowNum) -> {
+            TelemetryDataDto row = mapRow(rs);
+            row.setPayload(rs.getString(12));
+            return row;
+        }, deviceId, limit);
+    }
+
+    void deleteIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM telemetry_data WHERE id IN (" +
+                String.join(",", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+
+    long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    long countRows(Long deviceId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data WHERE device_id = ?",
+                Long.class, deviceId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Her cihaz ve veri tipinin en son satırı, payload ile (son değer deposunu ısıtmak için)
+     * @param handler Satır işleyici; sütunlar mapRow sırasında, 12. sütun payload
+     */
+    void latestPerSeries(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT DISTINCT ON (t.device_id, t.data_type) " + COLUMNS + ", t.payload " +
+                "FROM telemetry_data t ORDER BY t.device_id, t.data_type, t.ts_epoch_ms DESC", handler);
+    }
+
+    private static void bind(PreparedStatement ps, Long deviceId, long timestampMillis, String topic, String payload,
+                             String dataType, String unit, Double valueNumeric, String valueString,
+                             Boolean valueBoolean, Integer quality, Long receivedAtMillis) throws SQLException {
+        ps.setLong(1, deviceId);
+        ps.setLong(2, timestampMillis);
+        ps.setString(3, topic);
+        ps.setString(4, payload);
+        ps.setString(5, dataType);
+        ps.setString(6, unit);
+        setNullable(ps, 7, valueNumeric, Types.DOUBLE);
+        ps.setString(8, valueString);
+        setNullable(ps, 9, valueBoolean, Types.BOOLEAN);
+        setNullable(ps, 10, quality, Types.INTEGER);
+        setNullable(ps, 11, receivedAtMillis, Types.BIGINT);
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    static TelemetryDataDto mapRow(ResultSet rs) throws SQLException {
+        return new TelemetryDataDto(rs.getLong(1), rs.getLong(2), null,
+                rs.getLong(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                rs.getObject(7, Double.class), rs.getString(8), rs.getObject(9, Boolean.class),
+                rs.getObject(10, Integer.class), rs.getObject(11, Long.class));
+    }
+
+    /**
+     * Sayısal okuma: satır ID'si, zaman (epoch ms) ve değer
+     */
+    static final class Sample {
+        private final long id;
+        private final long timestamp;
+        private final double value;
+
+        Sample(long id, long timestamp, double value) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.value = value;
+        }
+
+        long id() { return id; }
+        long timestamp() { return timestamp; }
+        double value() { return value; }
+    }
+}
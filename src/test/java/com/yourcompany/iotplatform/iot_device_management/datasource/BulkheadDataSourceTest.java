@@ -0,0 +1,94 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bağlantı bölmesi testleri
+ */
+class BulkheadDataSourceTest {
+
+    private ConnectionBulkhead bulkhead;
+    private BulkheadDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new ConnectionBulkhead(List.of(
+                new ConnectionBulkhead.Compartment(Workload.BATCH, 1, 100),
+                new ConnectionBulkhead.Compartment(Workload.INTERACTIVE, 2, 100)));
+        registry = new SimpleMeterRegistry();
+        bulkhead.bindTo(registry);
+        dataSource = new BulkheadDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1", "sa", ""), bulkhead);
+    }
+
+    @Test
+    void saturatedBatchCompartmentDoesNotStarveInteractiveWork() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> batchJob = CompletableFuture.runAsync(() -> WorkloadContext.run(Workload.BATCH, () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                held.countDown();
+                release.await();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        WorkloadContext.run(Workload.BATCH, () -> assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("batch"));
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(bulkhead.getCompartment(Workload.INTERACTIVE).getActiveConnections()).isEqualTo(1);
+        }
+
+        release.countDown();
+        batchJob.get(5, TimeUnit.SECONDS);
+
+        assertThat(registry.get("db.bulkhead.timeouts").tag("workload", "batch").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("db.bulkhead.connections.active").tag("workload", "batch").gauge().value()).isZero();
+        assertThat(registry.get("db.bulkhead.acquire").tag("workload", "interactive").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReleasedOnceAndNestedConnectionsShareIt() throws Exception {
+        ConnectionBulkhead.Compartment batch = bulkhead.getCompartment(Workload.BATCH);
+        WorkloadContext.run(Workload.BATCH, () -> {
+            try {
+                Connection outer = dataSource.getConnection();
+                try (Connection nested = dataSource.getConnection()) {
+                    assertThat(batch.getActiveConnections()).isEqualTo(1);
+                }
+                assertThat(batch.getActiveConnections()).isEqualTo(1);
+
+                outer.close();
+                outer.close();
+                assertThat(outer.isClosed()).isTrue();
+                assertThat(batch.getActiveConnections()).isZero();
+
+                try (Connection again = dataSource.getConnection()) {
+                    assertThat(batch.getActiveConnections()).isEqualTo(1);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.INTERACTIVE);
+    }
+}
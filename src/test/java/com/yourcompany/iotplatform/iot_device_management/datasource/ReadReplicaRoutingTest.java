@@ -0,0 +1,184 @@
+package com.yourcompany.iotplatform.iot_device_management.datasource;
+
+import com.yourcompany.iotplatform.iot_device_management.config.ReadReplicaConfig;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.repository.DeviceRepository;
+import com.yourcompany.iotplatform.iot_device_management.service.DeviceRegistry;
+import com.yourcompany.iotplatform.iot_device_management.service.DeviceService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryAggregateCache;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataServiceTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Okuma replikası yönlendirme testleri
+ * İki ayrı H2 veritabanı kullanılır; replikasyon birincil veritabanının SCRIPT çıktısı ile taklit edilir.
+ * Toplam önbelleğinin kapanmış kovaları gecikmeli replikadan doldurmadığı da burada doğrulanır
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replicas.latest-max-lag-ms=5000",
+        "telemetry.aggregate-cache.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ReadReplicaConfig.class, DeviceService.class, TelemetryDataServiceTestConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    private TelemetryAggregateCache telemetryAggregateCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private Device device;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM telemetry_data");
+        jdbcTemplate.update("DELETE FROM devices");
+        device = deviceRepository.save(new Device("replica-1", "Replica Name", Device.DeviceType.SENSOR));
+        deviceRegistry.register(device);
+
+        replicaHealthMonitor.check();
+        replicate();
+        replicaHealthMonitor.check();
+
+        // Bundan sonraki değişiklikler yalnızca birincil veritabanındadır
+        jdbcTemplate.update("UPDATE devices SET name = 'Primary Name' WHERE id = ?", device.getId());
+    }
+
+    @Test
+    void labeledReadsGoToReplicaWhileWritesAndUnlabeledReadsStayOnPrimary() {
+        assertThat(replicaHealthMonitor.getReplicas()).singleElement()
+                .satisfies(r -> assertThat(r.isHealthy()).isTrue());
+
+        assertThat(deviceService.getDeviceById(device.getId())).get()
+                .extracting(Device::getName).isEqualTo("Replica Name");
+        assertThat(deviceService.getOnlineDevices()).isEmpty();
+
+        Device updated = deviceService.updateDeviceStatus(device.getId(), Device.DeviceStatus.ONLINE);
+        assertThat(updated.getName()).isEqualTo("Primary Name");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM devices WHERE id = ?", String.class, device.getId()))
+                .isEqualTo("ONLINE");
+        assertThat(replica.queryForObject("SELECT status FROM devices WHERE id = ?", String.class, device.getId()))
+                .isNotEqualTo("ONLINE");
+
+        assertThat(deviceRepository.findById(device.getId())).get()
+                .extracting(Device::getName).isEqualTo("Primary Name");
+    }
+
+    @Test
+    void failedReplicaIsTakenOutOfRotationAndRestored() {
+        replica.execute("SHUTDOWN");
+        replicaHealthMonitor.check();
+
+        assertThat(replicaHealthMonitor.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(deviceService.getDeviceById(device.getId())).get()
+                .extracting(Device::getName).isEqualTo("Primary Name");
+
+        replicate();
+        replicaHealthMonitor.check();
+
+        assertThat(replicaHealthMonitor.getReplicas().get(0).isHealthy()).isTrue();
+        assertThat(deviceService.getDeviceById(device.getId())).get()
+                .extracting(Device::getName).isEqualTo("Primary Name");
+    }
+
+    @Test
+    void latestQueriesSkipLaggingReplica() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TelemetryData data = new TelemetryData(deviceRepository.findById(device.getId()).orElseThrow(),
+                "iot/replica-1/telemetry", "{\"value\":1}", "temperature", 1.0);
+        data.setTimestamp(timestamp);
+        telemetryDataService.saveTelemetryData(data);
+
+        // Replika heartbeat'i bir dakika geride: gecikme en son değer sınırının üzerinde
+        replica.update("UPDATE replica_heartbeat SET beat_at_ms = ?", System.currentTimeMillis() - 60_000);
+        replicaHealthMonitor.check();
+
+        assertThat(replicaHealthMonitor.getReplicas().get(0).getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(telemetryDataService.getTelemetryDataViewsByDevice(device.getId(), 10, false)).hasSize(1);
+        assertThat(telemetryDataService.getTelemetryDataViewsByTimeRange(device.getId(),
+                timestamp.minusHours(1), timestamp.plusHours(1), false)).isEmpty();
+    }
+
+    @Test
+    void aggregateCacheMissesAreFilledFromPrimaryWhileReplicaLags() {
+        // Dünün kapanmış günlük kovası; okumalar yalnızca birincil veritabanında
+        LocalDateTime day = TelemetryTime.toLocalDateTime(TelemetryTime.nowMillis()).truncatedTo(ChronoUnit.DAYS)
+                .minusDays(1);
+        Device stored = deviceRepository.findById(device.getId()).orElseThrow();
+        for (int hour = 0; hour < 24; hour++) {
+            TelemetryData data = new TelemetryData(stored, "iot/replica-1/telemetry", "{\"value\":" + hour + "}",
+                    "temperature", (double) hour);
+            data.setTimestamp(day.plusHours(hour));
+            telemetryDataService.saveTelemetryData(data);
+        }
+        LocalDateTime end = day.plusDays(1).minusNanos(1_000_000);
+        // Önbelleğe alınmayan kısmi aralık replikadan okunur ve gecikmeyi gösterir
+        assertThat(telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(device.getId(),
+                "temperature", day, day.plusMinutes(30)).getCount()).isZero();
+
+        TelemetryAggregate first = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(device.getId(),
+                "temperature", day, end);
+        assertThat(first.getCount()).isEqualTo(24);
+        assertThat(telemetryAggregateCache.size()).isEqualTo(1);
+
+        // Önbellekten gelen sonuç da eksiksizdir
+        assertThat(telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(device.getId(),
+                "temperature", day, end).getSum()).isEqualTo(first.getSum());
+        assertThat(telemetryAggregateCache.hitRatio()).isEqualTo(0.5);
+    }
+
+    /**
+     * Birincil veritabanının şema ve verisini replikaya kopyalama
+     */
+    private void replicate() {
+        List<String> script = jdbcTemplate.queryForList("SCRIPT NOPASSWORDS NOSETTINGS DROP", String.class);
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+}
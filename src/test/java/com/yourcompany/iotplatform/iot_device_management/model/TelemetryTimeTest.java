@@ -0,0 +1,51 @@
+package com.yourcompany.iotplatform.iot_device_management.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Epoch milisaniye zaman modeli ve zaman damgası ayrıştırma testleri
+ */
+class TelemetryTimeTest {
+
+    @Test
+    void parsesIsoOffsetAndEpochFormatsToTheSameInstant() {
+        long expected = Instant.parse("2024-03-31T00:30:00.250Z").toEpochMilli();
+
+        assertThat(TelemetryTime.parseMillis("2024-03-31T00:30:00.250Z")).isEqualTo(expected);
+        assertThat(TelemetryTime.parseMillis("2024-03-31T00:30:00.25")).isEqualTo(expected);
+        assertThat(TelemetryTime.parseMillis("2024-03-31T00:30:00.250999")).isEqualTo(expected);
+        // Avrupa yaz saati geçişinde yerelde var olmayan 02:30, ofsetiyle tek anlamlıdır
+        assertThat(TelemetryTime.parseMillis("2024-03-31T02:30:00.250+02:00")).isEqualTo(expected);
+        assertThat(TelemetryTime.parseMillis("2024-03-30T19:30:00.250-05:00")).isEqualTo(expected);
+        assertThat(TelemetryTime.parseMillis(Long.toString(expected))).isEqualTo(expected);
+        // Hızlı yolun kapsamadığı biçimler java.time'a düşer
+        assertThat(TelemetryTime.parseMillis("2024-03-31T00:30")).isEqualTo(expected - 250);
+
+        assertThatThrownBy(() -> TelemetryTime.parseMillis("2024-02-30T00:00:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TelemetryTime.parseMillis("yarın")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TelemetryTime.parseMillis("")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fastParserMatchesJavaTimeAcrossCalendarEdges() {
+        for (String value : new String[]{"1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:00:00Z",
+                "2100-03-01T00:00:00+14:00", "1600-01-01T00:00:00-12:00", "9999-12-31T23:59:59Z"}) {
+            assertThat(TelemetryTime.parseMillis(value))
+                    .as(value)
+                    .isEqualTo(OffsetDateTime.parse(value).toInstant().toEpochMilli());
+        }
+
+        LocalDateTime time = LocalDateTime.of(1965, 7, 4, 10, 15, 30, 123_456_789);
+        long millis = TelemetryTime.toEpochMillis(time);
+        assertThat(millis).isEqualTo(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(TelemetryTime.toLocalDateTime(millis)).isEqualTo(time.withNano(123_000_000));
+    }
+}
@@ -0,0 +1,119 @@
+package com.yourcompany.iotplatform.iot_device_management.repository;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Telemetri repository testleri
+ * 10k satırlık sonuç üzerinde entity ve projeksiyon okuma yollarının sorgu sayısını ve süresini karşılaştırır
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TelemetryDataRepositoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryDataRepositoryTest.class);
+
+    private static final int DEVICE_COUNT = 100;
+    private static final int ROW_COUNT = 10_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataRepository telemetryDataRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        end = start.plusSeconds(ROW_COUNT);
+
+        Device[] devices = new Device[DEVICE_COUNT];
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            devices[i] = entityManager.persist(new Device("device-" + i, "Cihaz " + i, Device.DeviceType.SENSOR));
+        }
+        for (int i = 0; i < ROW_COUNT; i++) {
+            TelemetryData data = new TelemetryData(devices[i % DEVICE_COUNT], "iot/device-" + (i % DEVICE_COUNT) + "/telemetry",
+                    "{\"dataType\":\"temperature\",\"value\":" + i + ",\"padding\":\"" + "x".repeat(200) + "\"}",
+                    "temperature", (double) i);
+            data.setTimestamp(start.plusSeconds(i));
+            entityManager.persist(data);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entityReadLoadsDevicePerDistinctDevice() {
+        long started = System.nanoTime();
+        List<TelemetryDataDto> dtos = telemetryDataRepository.findByTimestampMillisBetweenOrderByTimestampMillisDesc(
+                TelemetryTime.toEpochMillis(start), TelemetryTime.toEpochMillis(end))
+                .stream()
+                .map(TelemetryDataDto::new)
+                .collect(Collectors.toList());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(dtos).hasSize(ROW_COUNT);
+        // 1 telemetri sorgusu + her farklı cihaz için lazy Device yüklemesi (N+1)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + DEVICE_COUNT);
+        logger.info("Entity yolu: {} satır, {} sorgu, {} ms", dtos.size(), statistics.getPrepareStatementCount(), elapsedMillis);
+    }
+
+    @Test
+    void projectionReadIsSingleStatementWithoutPayload() {
+        long started = System.nanoTime();
+        List<TelemetryDataDto> dtos = telemetryDataRepository.findViewsByTimeRange(TelemetryTime.toEpochMillis(start),
+                TelemetryTime.toEpochMillis(end));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(dtos).hasSize(ROW_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getDeviceName()).startsWith("Cihaz ");
+            assertThat(dto.getPayload()).isNull();
+        });
+        logger.info("Projeksiyon yolu: {} satır, {} sorgu, {} ms", dtos.size(), statistics.getPrepareStatementCount(), elapsedMillis);
+    }
+
+    @Test
+    void payloadsAreLoadedOnlyOnRequest() {
+        List<TelemetryDataDto> dtos = telemetryDataRepository.findViewsByTimeRange(TelemetryTime.toEpochMillis(start),
+                TelemetryTime.toEpochMillis(start.plusSeconds(9)));
+        List<Long> ids = dtos.stream().map(TelemetryDataDto::getId).collect(Collectors.toList());
+
+        List<TelemetryDataRepository.PayloadView> payloads = telemetryDataRepository.findPayloadsByIdIn(ids);
+
+        assertThat(payloads).hasSize(10);
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.getPayload()).contains("temperature"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
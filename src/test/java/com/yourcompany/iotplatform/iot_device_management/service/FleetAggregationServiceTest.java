@@ -0,0 +1,142 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateRequest;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Filo toplamları: cihaz/tip/konum gruplama, ilk K ve iki depodan gelen okumaların birleşimi
+ */
+@DataJpaTest(showSql = false, properties = "telemetry.series.enabled=true")
+@ActiveProfiles("test")
+@Import({FleetAggregationService.class, FleetSnapshotService.class, TelemetryDataServiceTestConfiguration.class})
+class FleetAggregationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FleetAggregationService fleetAggregationService;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        // Saha A: iki sensör ve bir aktüatör, Saha B: bir sensör
+        Device a1 = device("pump-a1", Device.DeviceType.SENSOR, "Saha A");
+        Device a2 = device("pump-a2", Device.DeviceType.SENSOR, "Saha A");
+        Device a3 = device("valve-a3", Device.DeviceType.ACTUATOR, "Saha A");
+        Device b1 = device("pump-b1", Device.DeviceType.SENSOR, "Saha B");
+
+        // Canlı okumalar dar seri tablosuna gider
+        for (int i = 0; i < 6; i++) {
+            telemetryDataService.saveTelemetryData(reading(a1, 10.0 + i, i));
+            telemetryDataService.saveTelemetryData(reading(a2, 20.0 + i, i));
+            telemetryDataService.saveTelemetryData(reading(b1, 40.0 + i, i));
+        }
+        // Dar seriden önceki okumalar satır tablosunda kalır
+        List<TelemetryData> legacy = new ArrayList<>();
+        legacy.add(reading(a1, 90.0, 1));
+        legacy.add(reading(a3, 30.0, 2));
+        legacy.add(reading(a3, 32.0, 3));
+        telemetryStore.appendBatch(legacy);
+        entityManager.flush();
+    }
+
+    @Test
+    void topDevicesByMaxCombineBothStores() {
+        FleetAggregateRequest request = request(FleetAggregateRequest.GroupBy.DEVICE);
+        request.setOrderBy(FleetAggregateRequest.Metric.MAX);
+        request.setLimit(2);
+
+        List<FleetAggregateDto> top = fleetAggregationService.aggregate(request);
+
+        assertThat(top).extracting(FleetAggregateDto::getGroup).containsExactly("pump-a1", "pump-b1");
+        assertThat(top.get(0).getMax()).isEqualTo(90.0);
+        assertThat(top.get(0).getCount()).isEqualTo(7);
+
+        request.setDescending(false);
+        assertThat(fleetAggregationService.aggregate(request))
+                .extracting(FleetAggregateDto::getGroup).containsExactly("pump-a2", "valve-a3");
+    }
+
+    @Test
+    void groupsByLocationAndTypeWithFilters() {
+        List<FleetAggregateDto> byLocation = fleetAggregationService.aggregate(
+                request(FleetAggregateRequest.GroupBy.LOCATION));
+
+        assertThat(byLocation).extracting(FleetAggregateDto::getGroup).containsExactly("Saha A", "Saha B");
+        assertThat(byLocation.get(0).getDeviceCount()).isEqualTo(3);
+        assertThat(byLocation.get(0).getCount()).isEqualTo(6 + 6 + 1 + 2);
+        assertThat(byLocation.get(1).getAverage()).isEqualTo(42.5);
+
+        FleetAggregateRequest siteA = request(FleetAggregateRequest.GroupBy.DEVICE_TYPE);
+        siteA.setLocation("Saha A");
+        siteA.setStartTime(start.plusMinutes(2));
+        List<FleetAggregateDto> byType = fleetAggregationService.aggregate(siteA);
+        assertThat(byType).extracting(FleetAggregateDto::getGroup).containsExactly("ACTUATOR", "SENSOR");
+        assertThat(byType.get(0).getAverage()).isEqualTo(31.0);
+        assertThat(byType.get(1).getDeviceCount()).isEqualTo(2);
+        assertThat(byType.get(1).getMin()).isEqualTo(12.0);
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        FleetAggregateRequest missingType = request(FleetAggregateRequest.GroupBy.DEVICE);
+        missingType.setDataType(null);
+        assertThatThrownBy(() -> fleetAggregationService.aggregate(missingType)).isInstanceOf(BusinessRuleException.class);
+
+        FleetAggregateRequest reversed = request(FleetAggregateRequest.GroupBy.DEVICE);
+        reversed.setEndTime(start.minusHours(1));
+        assertThatThrownBy(() -> fleetAggregationService.aggregate(reversed)).isInstanceOf(BusinessRuleException.class);
+    }
+
+    private FleetAggregateRequest request(FleetAggregateRequest.GroupBy groupBy) {
+        FleetAggregateRequest request = new FleetAggregateRequest();
+        request.setDataType("vibration");
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(1));
+        request.setGroupBy(groupBy);
+        return request;
+    }
+
+    private Device device(String deviceId, Device.DeviceType type, String location) {
+        Device device = new Device(deviceId, "Cihaz " + deviceId, type);
+        device.setLocationDescription(location);
+        entityManager.persist(device);
+        deviceRegistry.register(device);
+        return device;
+    }
+
+    private TelemetryData reading(Device device, double value, int minute) {
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry", "{}", "vibration", value);
+        data.setTimestamp(start.plusMinutes(minute));
+        return data;
+    }
+}
@@ -0,0 +1,184 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.controller.TelemetryController;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetSnapshotRequest;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filo anlık görüntü testleri
+ * Cihaz seçim filtrelerini, okuma geldiğinde değişen sürümü ve GET/POST uç noktalarında
+ * If-None-Match ile 304 dönüşünü doğrular
+ */
+class FleetSnapshotServiceTest {
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private DeviceRegistry deviceRegistry;
+    private LatestValueStore latestValueStore;
+    private FleetSnapshotService service;
+    private TelemetryController controller;
+
+    private Device sensor;
+    private Device actuator;
+    private Device offline;
+    private Device retired;
+
+    @BeforeEach
+    void setUp() {
+        deviceRegistry = new DeviceRegistry();
+        latestValueStore = new LatestValueStore();
+        service = new FleetSnapshotService();
+        ReflectionTestUtils.setField(service, "deviceRegistry", deviceRegistry);
+        ReflectionTestUtils.setField(service, "latestValueStore", latestValueStore);
+        controller = new TelemetryController();
+        ReflectionTestUtils.setField(controller, "fleetSnapshotService", service);
+
+        User owner = new User();
+        owner.setId(100L);
+        sensor = device(1L, "sensor-1", Device.DeviceType.SENSOR, Device.DeviceStatus.ONLINE, owner);
+        actuator = device(2L, "actuator-1", Device.DeviceType.ACTUATOR, Device.DeviceStatus.ONLINE, null);
+        offline = device(3L, "sensor-2", Device.DeviceType.SENSOR, Device.DeviceStatus.OFFLINE, owner);
+        retired = device(4L, "sensor-3", Device.DeviceType.SENSOR, Device.DeviceStatus.ONLINE, owner);
+        retired.setActive(false);
+        List.of(sensor, actuator, offline, retired).forEach(deviceRegistry::register);
+
+        latestValueStore.update(reading(sensor, "temperature", 21.0, start));
+        latestValueStore.update(reading(sensor, "humidity", 40.0, start));
+    }
+
+    @Test
+    void devicesAreSelectedByIdsOwnerStatusAndType() {
+        assertThat(ids(new FleetSnapshotRequest())).containsExactly(1L, 2L, 3L);
+        assertThat(ids(new FleetSnapshotRequest(null, 100L, null, null))).containsExactly(1L, 3L);
+        assertThat(ids(new FleetSnapshotRequest(null, null, Device.DeviceStatus.ONLINE, null))).containsExactly(1L, 2L);
+        assertThat(ids(new FleetSnapshotRequest(null, 100L, Device.DeviceStatus.ONLINE, Device.DeviceType.SENSOR)))
+                .containsExactly(1L);
+
+        // ID listesi sırası korunur, pasif cihaz adıyla istenirse döner, bilinmeyen ID'ler ve filtre dışı kalanlar atlanır
+        assertThat(ids(new FleetSnapshotRequest(List.of(4L, 99L, 2L, 1L), null, null, null))).containsExactly(4L, 2L, 1L);
+        assertThat(ids(new FleetSnapshotRequest(List.of(2L, 1L), null, null, Device.DeviceType.SENSOR)))
+                .containsExactly(1L);
+
+        FleetSnapshotDto snapshot = service.getSnapshot(new FleetSnapshotRequest(List.of(1L, 2L), null, null, null));
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getDevices().get(0).getValues()).extracting(FleetSnapshotDto.LatestValue::getDataType)
+                .containsExactly("humidity", "temperature");
+        assertThat(snapshot.getDevices().get(1).getValues()).isEmpty();
+    }
+
+    @Test
+    void versionChangesWhenADeviceIngestsAReading() {
+        FleetSnapshotRequest request = new FleetSnapshotRequest(List.of(1L, 2L), null, null, null);
+        String version = service.getSnapshot(request).getVersion();
+        assertThat(service.getSnapshot(request).getVersion()).isEqualTo(version);
+
+        latestValueStore.update(reading(actuator, "position", 0.5, start.plusMinutes(1)));
+        String afterReading = service.getSnapshot(request).getVersion();
+        assertThat(afterReading).isNotEqualTo(version);
+
+        // Sıra dışı gelen eski okuma son değeri değiştirmediği için sürüm de değişmez
+        latestValueStore.update(reading(actuator, "position", 0.1, start));
+        assertThat(service.getSnapshot(request).getVersion()).isEqualTo(afterReading);
+
+        actuator.setStatus(Device.DeviceStatus.ERROR);
+        deviceRegistry.register(actuator);
+        assertThat(service.getSnapshot(request).getVersion()).isNotEqualTo(afterReading);
+
+        // Seçime girmeyen cihazın okuması sürümü etkilemez
+        String current = service.getSnapshot(request).getVersion();
+        latestValueStore.update(reading(offline, "temperature", 18.0, start.plusMinutes(2)));
+        assertThat(service.getSnapshot(request).getVersion()).isEqualTo(current);
+    }
+
+    @Test
+    void getReturnsNotModifiedForMatchingETag() {
+        ResponseEntity<FleetSnapshotDto> first = controller.getFleetSnapshot(List.of(1L, 2L), null, null, null,
+                webRequest(null));
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"" + first.getBody().getVersion() + "\"");
+
+        ResponseEntity<FleetSnapshotDto> unchanged = controller.getFleetSnapshot(List.of(1L, 2L), null, null, null,
+                webRequest(etag));
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+
+        latestValueStore.update(reading(sensor, "temperature", 22.0, start.plusMinutes(1)));
+        ResponseEntity<FleetSnapshotDto> changed = controller.getFleetSnapshot(List.of(1L, 2L), null, null, null,
+                webRequest(etag));
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void postReturnsNotModifiedForMatchingETag() {
+        FleetSnapshotRequest request = new FleetSnapshotRequest(List.of(1L, 2L), null, null, null);
+        ResponseEntity<FleetSnapshotDto> first = controller.postFleetSnapshot(request, null);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String etag = first.getHeaders().getETag();
+
+        assertThat(controller.postFleetSnapshot(request, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.postFleetSnapshot(request, "W/" + etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        latestValueStore.update(reading(actuator, "position", 1.0, start.plusMinutes(1)));
+        assertThat(controller.postFleetSnapshot(request, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void unknownDeviceIdsYieldAnEmptySnapshot() {
+        FleetSnapshotRequest request = new FleetSnapshotRequest(List.of(98L, 99L), null, null, null);
+        ResponseEntity<FleetSnapshotDto> response = controller.postFleetSnapshot(request, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getCount()).isZero();
+        assertThat(response.getBody().getDevices()).isEmpty();
+        // Boş seçimin sürümü de kararlıdır; istemci 304 alabilir
+        assertThat(controller.postFleetSnapshot(request, response.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.getFleetSnapshot(List.of(98L), null, null, null, webRequest(null)).getBody().getCount())
+                .isZero();
+    }
+
+    private List<Long> ids(FleetSnapshotRequest request) {
+        return service.selectDevices(request).stream().map(DeviceRegistry.DeviceState::getId).toList();
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/telemetry/snapshot");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static Device device(Long id, String deviceId, Device.DeviceType type, Device.DeviceStatus status, User owner) {
+        Device device = new Device(deviceId, deviceId, type);
+        device.setId(id);
+        device.setStatus(status);
+        device.setOwner(owner);
+        return device;
+    }
+
+    private static TelemetryData reading(Device device, String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry", "{}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,154 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.controller.TelemetryController;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.graphql.QueryResolver;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Son değer deposu testleri
+ * REST ve GraphQL son değer okumalarının veritabanına gitmediğini, açılıştaki DISTINCT ON yüklemesini
+ * ve sıra dışı gelen eski okumaların yeni değeri ezmediğini doğrular
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class LatestValueStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private Device device;
+
+    @BeforeEach
+    void setUp() {
+        device = entityManager.persist(new Device("device-1", "Cihaz 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+    }
+
+    @Test
+    void latestReadsAreServedWithoutDatabaseAccess() {
+        telemetryDataService.saveTelemetryDataBatch(List.of(
+                reading(device, "temperature", 21.0, start),
+                reading(device, "humidity", 40.0, start.plusMinutes(1))));
+        entityManager.flush();
+
+        TelemetryController controller = new TelemetryController();
+        ReflectionTestUtils.setField(controller, "telemetryDataService", telemetryDataService);
+        QueryResolver resolver = new QueryResolver();
+        ReflectionTestUtils.setField(resolver, "telemetryDataService", telemetryDataService);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        clearInvocations(jdbcTemplate);
+
+        ResponseEntity<TelemetryDataDto> latest = controller.getLatestTelemetryData(device.getId());
+        assertThat(latest.getBody().getDataType()).isEqualTo("humidity");
+        ResponseEntity<TelemetryDataDto> latestTemperature =
+                controller.getLatestTelemetryDataByDataType(device.getId(), "temperature");
+        assertThat(latestTemperature.getBody().getValueNumeric()).isEqualTo(21.0);
+        assertThat(controller.getLatestTelemetryDataByDataType(device.getId(), "pressure").getStatusCode().value())
+                .isEqualTo(404);
+        assertThat(resolver.latestTelemetryData(device.getId().toString(), null).getValueNumeric()).isEqualTo(40.0);
+        assertThat(resolver.latestTelemetryData(device.getId().toString(), "temperature").getValueNumeric())
+                .isEqualTo(21.0);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void warmUpLoadsNewestRowPerDeviceAndDataType() {
+        Device other = entityManager.persist(new Device("device-2", "Cihaz 2", Device.DeviceType.ACTUATOR));
+        // Satırlar zaman sırasına göre yazılmaz; yükleme yine de her seri için en yenisini seçmeli
+        entityManager.persist(reading(device, "temperature", 22.0, start.plusMinutes(5)));
+        entityManager.persist(reading(device, "temperature", 20.0, start));
+        entityManager.persist(reading(device, "temperature", 21.0, start.plusMinutes(2)));
+        entityManager.persist(reading(device, "humidity", 45.0, start.plusMinutes(1)));
+        entityManager.persist(reading(other, "temperature", 30.0, start.plusMinutes(3)));
+        entityManager.flush();
+
+        LatestValueStore store = new LatestValueStore();
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(store, "telemetryStore", telemetryStore);
+        store.warmUp();
+
+        assertThat(store.getLatest(device.getId(), "temperature").orElseThrow().getValueNumeric()).isEqualTo(22.0);
+        assertThat(store.getLatest(device.getId(), "humidity").orElseThrow().getValueNumeric()).isEqualTo(45.0);
+        assertThat(store.getLatest(device.getId()).orElseThrow().getTimestamp()).isEqualTo(start.plusMinutes(5));
+        assertThat(store.getLatestByDataType(device.getId())).containsOnlyKeys("temperature", "humidity");
+
+        TelemetryData otherLatest = store.getLatest(other.getId()).orElseThrow();
+        assertThat(otherLatest.getValueNumeric()).isEqualTo(30.0);
+        assertThat(otherLatest.getDevice().getDeviceId()).isEqualTo("device-2");
+        assertThat(otherLatest.getDevice().getDeviceType()).isEqualTo(Device.DeviceType.ACTUATOR);
+    }
+
+    @Test
+    void olderReadingsDoNotOverwriteNewerOnes() {
+        LatestValueStore store = new LatestValueStore();
+        store.update(reading(device, "temperature", 25.0, start.plusMinutes(10)));
+        long version = store.getVersion(device.getId());
+
+        store.update(reading(device, "temperature", 19.0, start));
+        assertThat(store.getLatest(device.getId(), "temperature").orElseThrow().getValueNumeric()).isEqualTo(25.0);
+        assertThat(store.getVersion(device.getId())).isEqualTo(version);
+
+        store.update(reading(device, "temperature", 26.0, start.plusMinutes(11)));
+        assertThat(store.getLatest(device.getId(), "temperature").orElseThrow().getValueNumeric()).isEqualTo(26.0);
+        assertThat(store.getVersion(device.getId())).isEqualTo(version + 1);
+
+        // Ingest yolunda da gecikmeli gelen okuma son değeri geri almaz
+        telemetryDataService.saveTelemetryData(reading(device, "pressure", 1013.0, start.plusMinutes(5)));
+        telemetryDataService.saveTelemetryData(reading(device, "pressure", 1001.0, start));
+        assertThat(telemetryDataService.getLatestTelemetryData(device.getId(), "pressure").orElseThrow()
+                .getValueNumeric()).isEqualTo(1013.0);
+    }
+
+    private static TelemetryData reading(Device device, String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry",
+                "{\"dataType\":\"" + dataType + "\",\"value\":" + value + "}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,154 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.CoalescingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Özdeş eşzamanlı okuma isteklerinin tek sorguda birleştirilmesi
+ */
+class QueryCoalescerTest {
+
+    private final CoalescingProperties properties = new CoalescingProperties();
+    private final QueryCoalescer coalescer = new QueryCoalescer();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "properties", properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Thread> callers = Collections.synchronizedList(new ArrayList<>());
+        List<Future<List<String>>> results = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            // Farklı kullanıcılar, aynı rol; aynı anı farklı yazılışla soran zaman parametresi
+            String user = "operator" + i;
+            LocalDateTime start = LocalDateTime.of(2024, 5, 1, 0, 0).plusNanos(i * 1_000L);
+            results.add(executor.submit(() -> {
+                callers.add(Thread.currentThread());
+                authenticate(user, "ROLE_OPERATOR");
+                return coalescer.execute("device-timerange", List.of(7L, start), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return List.of("sonuç");
+                });
+            }));
+        }
+        waitUntilFollowersBlocked(callers, 6, 5);
+        release.countDown();
+
+        List<String> first = results.get(0).get();
+        for (Future<List<String>> result : results) {
+            assertThat(result.get()).isSameAs(first);
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(coalescer.fanInRatio()).isEqualTo(6.0);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void differentScopeParametersAndSequentialCallsAreNotShared() {
+        AtomicInteger executions = new AtomicInteger();
+        authenticate("admin", "ROLE_ADMIN");
+        coalescer.execute("latest", List.of(7L), () -> {
+            // Çalışırken farklı rol veya farklı parametre ile gelen istek kendi sorgusunu çalıştırır
+            authenticate("operator", "ROLE_OPERATOR");
+            coalescer.execute("latest", List.of(7L), executions::incrementAndGet);
+            authenticate("admin", "ROLE_ADMIN");
+            coalescer.execute("latest", List.of(8L), executions::incrementAndGet);
+            return executions.incrementAndGet();
+        });
+        coalescer.execute("latest", List.of(7L), executions::incrementAndGet);
+
+        assertThat(executions).hasValue(4);
+        assertThat(coalescer.fanInRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failureIsDeliveredToAllWaitersAndNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> {
+                callers.add(Thread.currentThread());
+                return coalescer.execute("latest", List.of(1L), () -> {
+                    await(release);
+                    throw new IllegalStateException("veritabanı hatası");
+                });
+            }));
+        }
+        waitUntilFollowersBlocked(callers, 3, 2);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(result::get).hasRootCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(coalescer.execute("latest", List.of(1L), () -> "tamam")).isEqualTo("tamam");
+    }
+
+    private static void authenticate(String user, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null, role));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lider sorgu serbest bırakılmadan önce diğer çağıranların sonucu beklemeye başladığından emin olma
+     */
+    private static void waitUntilFollowersBlocked(List<Thread> callers, int total, int followers) throws InterruptedException {
+        while (true) {
+            List<Thread> snapshot;
+            synchronized (callers) {
+                snapshot = new ArrayList<>(callers);
+            }
+            int parked = 0;
+            for (Thread caller : snapshot) {
+                for (StackTraceElement frame : caller.getStackTrace()) {
+                    if (frame.getClassName().equals("java.util.concurrent.CompletableFuture")) {
+                        parked++;
+                        break;
+                    }
+                }
+            }
+            if (snapshot.size() == total && parked == followers) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.AggregateCacheProperties;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kova bazlı toplam önbelleği: kapanmış kovaların yeniden kullanımı, geç veri ile geçersiz kılma ve sınırlar
+ */
+class TelemetryAggregateCacheTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long DEVICE_ID = 7L;
+
+    private final AggregateCacheProperties properties = new AggregateCacheProperties();
+    private TelemetryAggregateCache cache;
+    private Source source;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        cache = new TelemetryAggregateCache();
+        ReflectionTestUtils.setField(cache, "properties", properties);
+        cache.validate();
+
+        // Üç gün boyunca dakikada bir okuma; şu an üçüncü günün 12:30'u
+        now = 10_000 * DAY + 2 * DAY + 12 * HOUR + 30 * MINUTE;
+        source = new Source();
+        for (long t = 10_000 * DAY; t <= now; t += MINUTE) {
+            source.add(t, (t / MINUTE) % 97);
+        }
+    }
+
+    @Test
+    void closedBucketsAreReusedAndOnlyEdgesAndOpenBucketAreRecomputed() {
+        long start = 10_000 * DAY + 5 * HOUR + 17 * MINUTE;
+
+        TelemetryAggregate first = aggregate(start, now);
+        assertThat(same(first, source.aggregate(start, now))).isTrue();
+        // Kenar (05:17-06:00), 18 saat, 1 gün, 12 saat, açık 12:00-12:30
+        assertThat(cache.size()).isEqualTo(18 + 1 + 12);
+
+        source.calls = 0;
+        TelemetryAggregate second = aggregate(start, now);
+        assertThat(same(second, first)).isTrue();
+        assertThat(source.calls).isEqualTo(2);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+
+        // Açık kovaya gelen canlı veri önbelleğe dokunmaz, sonuçta görünür
+        TelemetryData live = reading(now, 1000.0);
+        source.add(now, 1000.0);
+        cache.invalidate(List.of(live), now);
+        assertThat(cache.size()).isEqualTo(31);
+        assertThat(aggregate(start, now).getMax()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void lateDataAndPurgesInvalidateClosedBuckets() {
+        long start = 10_000 * DAY;
+        aggregate(start, now);
+        int cached = cache.size();
+
+        // Dünün 03:10'una geç gelen okuma: o günün ve o saatin kovası düşer
+        long late = 10_000 * DAY + DAY + 3 * HOUR + 10 * MINUTE;
+        source.add(late, -50.0);
+        cache.invalidate(List.of(reading(late, -50.0)), now);
+        assertThat(cache.size()).isEqualTo(cached - 1);
+        TelemetryAggregate afterLate = aggregate(start, now);
+        assertThat(afterLate.getMin()).isEqualTo(-50.0);
+        assertThat(same(afterLate, source.aggregate(start, now))).isTrue();
+
+        // Ham veri silinince kesme zamanından önceki kovalar düşer
+        source.removeBefore(start + DAY);
+        cache.invalidateBefore(DEVICE_ID, "temperature", start + DAY);
+        assertThat(same(aggregate(start, now), source.aggregate(start, now))).isTrue();
+    }
+
+    @Test
+    void resultsComputedDuringInvalidationAreNotCached() {
+        long start = 10_000 * DAY;
+        TelemetryAggregateCache.RangeAggregator racing = (from, to) -> {
+            // Hesaplama sürerken geçmişe yazma olur
+            cache.invalidate(List.of(reading(10_000 * DAY + HOUR, 1.0)), now);
+            return source.aggregate(from, to);
+        };
+
+        cache.aggregate(DEVICE_ID, "temperature", start, start + DAY - 1, racing, now);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void capacityAndQueryLengthAreBounded() {
+        properties.setMaxEntries(10);
+        properties.setMaxBucketsPerQuery(40);
+
+        aggregate(now - 30 * HOUR, now);
+        assertThat(cache.size()).isEqualTo(10);
+
+        source.calls = 0;
+        TelemetryAggregate wide = aggregate(10_000 * DAY - 100 * DAY, now);
+        assertThat(source.calls).isEqualTo(1);
+        assertThat(same(wide, source.aggregate(10_000 * DAY - 100 * DAY, now))).isTrue();
+
+        properties.setBucketSizes(new ArrayList<>(List.of(Duration.ofHours(1), Duration.ofMinutes(25))));
+        assertThatThrownBy(cache::validate).isInstanceOf(IllegalStateException.class);
+    }
+
+    private TelemetryAggregate aggregate(long start, long end) {
+        return cache.aggregate(DEVICE_ID, "temperature", start, end, source, now);
+    }
+
+    private static TelemetryData reading(long timestamp, double value) {
+        Device device = new Device();
+        device.setId(DEVICE_ID);
+        TelemetryData data = new TelemetryData(device, "iot/sensor/telemetry", "{}", "temperature", value);
+        data.setTimestampMillis(timestamp);
+        return data;
+    }
+
+    private static boolean same(TelemetryAggregate a, TelemetryAggregate b) {
+        return a.getCount() == b.getCount() && Math.abs(a.getSum() - b.getSum()) < 1e-6
+                && a.getMin().equals(b.getMin()) && a.getMax().equals(b.getMax());
+    }
+
+    /**
+     * Çağrı sayan bellek içi kaynak
+     */
+    private static class Source implements TelemetryAggregateCache.RangeAggregator {
+        private final List<Long> times = new ArrayList<>();
+        private final List<Double> values = new ArrayList<>();
+        private int calls;
+
+        void add(long timestamp, double value) {
+            times.add(timestamp);
+            values.add(value);
+        }
+
+        void removeBefore(long cutoff) {
+            for (int i = times.size() - 1; i >= 0; i--) {
+                if (times.get(i) < cutoff) {
+                    times.remove(i);
+                    values.remove(i);
+                }
+            }
+        }
+
+        @Override
+        public TelemetryAggregate aggregate(long fromMillis, long toMillis) {
+            calls++;
+            TelemetryAggregate result = TelemetryAggregate.empty();
+            for (int i = 0; i < times.size(); i++) {
+                long t = times.get(i);
+                if (t >= fromMillis && t <= toMillis) {
+                    double v = values.get(i);
+                    result = result.combine(new TelemetryAggregate(1L, v, v, v));
+                }
+            }
+            return result;
+        }
+    }
+}
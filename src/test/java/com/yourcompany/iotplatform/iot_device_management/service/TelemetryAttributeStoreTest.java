@@ -0,0 +1,160 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Yük öznitelikleri deposu testleri
+ * Ayrıştırılmayan yük alanlarının sıkıştırılmış veya hiç saklanmayan yükten bağımsız olarak yazıldığını
+ * ve filtre ile özetlerin veritabanında (H2'de Java fonksiyonlarıyla) çalıştığını doğrular
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.attributes.enabled=true",
+        "telemetry.payload.storage=compressed",
+        "telemetry.payload.drop-device-types=ACTUATOR"
+})
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class TelemetryAttributeStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryPayloadStore telemetryPayloadStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device sensor;
+    private Device actuator;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        end = start.plusDays(1);
+        sensor = entityManager.persist(new Device("sensor-1", "Sensör 1", Device.DeviceType.SENSOR));
+        actuator = entityManager.persist(new Device("valve-1", "Vana 1", Device.DeviceType.ACTUATOR));
+        entityManager.flush();
+        deviceRegistry.register(sensor);
+        deviceRegistry.register(actuator);
+    }
+
+    @Test
+    void filtersRunInDatabaseAlongsideCompressedPayloads() {
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(reading(sensor, i, -70 - i * 2, 50 + i, "1.4." + i % 3));
+        }
+        telemetryDataService.saveTelemetryDataBatch(batch);
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_attributes", Long.class)).isEqualTo(20);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_payload", Long.class)).isEqualTo(20);
+
+        // rssi: -70, -72, ..., -108 -> -90'dan küçük olanlar i = 11..19
+        List<TelemetryDataDto> weak = telemetryDataService.getTelemetryDataViewsByAttributes(
+                List.of("payload.rssi < -90"), sensor.getId(), null, start, end, 100, false);
+        assertThat(weak).hasSize(9).allSatisfy(view -> assertThat(view.getPayload()).isNull());
+        assertThat(weak.get(0).getTimestamp()).isEqualTo(start.plusMinutes(19));
+
+        List<TelemetryDataDto> weakOnFirmware = telemetryDataService.getTelemetryDataViewsByAttributes(
+                List.of("payload.rssi < -90", "firmware = \"1.4.2\"", "radio.band = eu868", "charging = false"),
+                null, "temperature", start, end, 100, true);
+        assertThat(weakOnFirmware).extracting(TelemetryDataDto::getTimestamp)
+                .containsExactly(start.plusMinutes(17), start.plusMinutes(14), start.plusMinutes(11));
+        assertThat(weakOnFirmware.get(0).getPayload()).isEqualTo(batch.get(17).getPayload());
+
+        assertThat(telemetryDataService.getTelemetryDataViewsByAttributes(List.of("radio.snr exists"),
+                null, null, start, end, 100, false)).isEmpty();
+    }
+
+    @Test
+    void aggregatesNumericAttributeOverFilteredReadings() {
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(reading(sensor, i, -80 - i * 3, 40 + i, "1.4.0"));
+        }
+        telemetryDataService.saveTelemetryDataBatch(batch);
+        entityManager.flush();
+
+        // rssi: -80..-107 -> -90'dan küçük olanlar i = 4..9, pil 44..49
+        TelemetryAggregate battery = telemetryDataService.getAttributeAggregate("payload.battery",
+                List.of("payload.rssi < -90"), null, null, start, end);
+        assertThat(battery.getCount()).isEqualTo(6);
+        assertThat(battery.getMin()).isEqualTo(44.0);
+        assertThat(battery.getMax()).isEqualTo(49.0);
+        assertThat(battery.getAverage()).isEqualTo(46.5);
+
+        // Metin özniteliği sayı olarak sayılmaz
+        assertThat(telemetryDataService.getAttributeAggregate("firmware", List.of(), null, null, start, end)
+                .getCount()).isZero();
+    }
+
+    @Test
+    void attributesAreKeptForDroppedPayloadsAndBulkLoads() {
+        telemetryDataService.saveTelemetryData(reading(actuator, 0, -95, 30, "2.0.0"));
+        telemetryPayloadStore.bulkLoad(List.of(reading(sensor, 1, -99, 20, "1.4.1"),
+                new TelemetryData(sensor, "iot/sensor-1/telemetry", "{\"dataType\":\"temperature\",\"value\":1}",
+                        "temperature", 1.0)));
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_payload", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_attributes", Long.class)).isEqualTo(2);
+        assertThat(telemetryDataService.getTelemetryDataViewsByAttributes(List.of("rssi <= -95"),
+                null, null, start, end, 100, false))
+                .extracting(TelemetryDataDto::getDeviceId).containsExactly(sensor.getId(), actuator.getId());
+    }
+
+    @Test
+    void invalidFiltersAreRejected() {
+        assertThatThrownBy(() -> AttributeFilter.parse("rssi; DROP TABLE x < 1"))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> AttributeFilter.parse("firmware > abc"))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> telemetryDataService.getAttributeAggregate("battery') OR 1=1 --", List.of(),
+                null, null, start, end)).isInstanceOf(BusinessRuleException.class);
+        assertThat(AttributeFilter.parse("payload.radio.snr >= 3").getPath()).containsExactly("radio", "snr");
+    }
+
+    /**
+     * Ayrıştırılan alanların yanında pil, sinyal, yazılım sürümü ve iç içe radyo bilgisi taşıyan MQTT yükü
+     */
+    private TelemetryData reading(Device device, int minute, int rssi, int battery, String firmware) {
+        LocalDateTime timestamp = start.plusMinutes(minute);
+        String payload = "{\"dataType\":\"temperature\",\"value\":21.5,\"unit\":\"C\",\"timestamp\":\"" + timestamp +
+                "\",\"battery\":" + battery + ",\"rssi\":" + rssi + ",\"firmware\":\"" + firmware +
+                "\",\"charging\":false,\"radio\":{\"band\":\"eu868\",\"sf\":7}}";
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry", payload,
+                "temperature", 21.5);
+        data.setUnit("C");
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,238 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.FleetAggregateRequest;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetrySampleDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Telemetri sıkıştırma testleri
+ * Ölü bant ve döner kapı sıkıştırmasının yazma hacmini düşürdüğünü ve enterpolasyonla
+ * sinyalin tolerans içinde geri kurulduğunu, saklanan noktaları sayan toplamların sıkıştırılmış serilerde
+ * reddedildiğini veya işaretlendiğini doğrular
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.compression.enabled=true",
+        "telemetry.compression.rules[0].name=temperature",
+        "telemetry.compression.rules[0].data-type=temperature",
+        "telemetry.compression.rules[0].mode=deadband",
+        "telemetry.compression.rules[0].absolute=0.1",
+        "telemetry.compression.rules[0].max-interval=10m",
+        "telemetry.compression.rules[1].name=vibration",
+        "telemetry.compression.rules[1].data-type=vibration",
+        "telemetry.compression.rules[1].mode=swinging-door",
+        "telemetry.compression.rules[1].absolute=0.1",
+        "telemetry.compression.rules[1].max-interval=10m"
+})
+@ActiveProfiles("test")
+@Import({TelemetryDataServiceTestConfiguration.class, FleetAggregationService.class, FleetSnapshotService.class,
+        TelemetryQueryService.class})
+class TelemetryCompressorTest {
+
+    private static final double TOLERANCE = 0.1;
+    private static final long SECOND = 1000;
+    private static final int SAMPLES = 3600;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryCompressor telemetryCompressor;
+
+    @Autowired
+    private LatestValueStore latestValueStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private FleetAggregationService fleetAggregationService;
+
+    @Autowired
+    private TelemetryQueryService telemetryQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device device;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        device = entityManager.persist(new Device("sensor-1", "Sensör 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+    }
+
+    @Test
+    void deadbandKeepsStepsWithinToleranceAndForcesMaxIntervalWrites() {
+        // Saniyede bir, çoğunlukla sabit ve arada basamak yapan sıcaklık
+        double[] values = new double[SAMPLES];
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            values[i] = 21.5 + (i / 900) * 0.5 + (random.nextDouble() - 0.5) * 0.05;
+        }
+
+        List<TelemetryData> archived = compress("temperature", values);
+
+        assertThat(archived.size() * 20).isLessThanOrEqualTo(SAMPLES);
+        assertReconstructed(archived, values, TelemetryInterpolation.Method.PREVIOUS);
+        for (int i = 1; i < archived.size(); i++) {
+            assertThat(archived.get(i).getTimestampMillis() - archived.get(i - 1).getTimestampMillis())
+                    .isLessThanOrEqualTo(Duration.ofMinutes(10).toMillis());
+        }
+    }
+
+    @Test
+    void swingingDoorKeepsSlowSignalWithinTolerance() {
+        // 20 dakika periyotlu yavaş salınım ve küçük gürültü
+        double[] values = new double[SAMPLES];
+        Random random = new Random(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            values[i] = 5 * Math.sin(2 * Math.PI * i / 1200.0) + (random.nextDouble() - 0.5) * 0.04;
+        }
+
+        List<TelemetryData> archived = compress("vibration", values);
+
+        assertThat(archived.size() * 5).isLessThanOrEqualTo(SAMPLES);
+        assertReconstructed(archived, values, TelemetryInterpolation.Method.LINEAR);
+    }
+
+    @Test
+    void ingestPersistsOnlyArchivedReadingsAndInterpolatesForCharts() {
+        for (int i = 0; i < 600; i++) {
+            telemetryDataService.ingestTelemetryData(reading("temperature", i, i < 300 ? 20.0 : 25.0));
+            telemetryDataService.ingestTelemetryData(reading("humidity", i, 40.0));
+        }
+        entityManager.flush();
+
+        // Kuralı olmayan seri olduğu gibi, sıcaklık yalnızca basamak kenarlarında yazılır
+        assertThat(storedRows("humidity")).isEqualTo(600);
+        assertThat(storedRows("temperature")).isEqualTo(3);
+        assertThat(latestValueStore.getLatest(device.getId(), "temperature"))
+                .map(TelemetryData::getTimestamp).contains(start.plusSeconds(599));
+
+        List<TelemetrySampleDto> samples = telemetryDataService.getInterpolatedTelemetry(device.getId(), "temperature",
+                start, start.plusSeconds(590), Duration.ofSeconds(10), null);
+        assertThat(samples).hasSize(60);
+        assertThat(samples.get(29).getValue()).isEqualTo(20.0);
+        assertThat(samples.get(30).getValue()).isEqualTo(25.0);
+        assertThat(samples.get(59).getValue()).isEqualTo(25.0);
+
+        // Bekletilen son okuma kapanışta yazılır
+        assertThat(telemetryCompressor.drainAll()).extracting(TelemetryData::getTimestamp)
+                .containsExactly(start.plusSeconds(599));
+    }
+
+    @Test
+    void readingCountBasedAggregatesAreRejectedOrFlaggedOnCompressedSeries() {
+        for (int i = 0; i < 600; i++) {
+            telemetryDataService.ingestTelemetryData(reading("temperature", i, i < 500 ? 20.0 : 30.0));
+            telemetryDataService.ingestTelemetryData(reading("humidity", i, i < 500 ? 20.0 : 30.0));
+        }
+        telemetryDataService.saveTelemetryDataBatch(telemetryCompressor.drainAll());
+        entityManager.flush();
+        LocalDateTime end = start.plusSeconds(599);
+
+        // Üç saklanan noktanın ortalaması (26.7) okumaların ortalamasından (21.7) uzaktır
+        assertThatThrownBy(() -> telemetryDataService.getAverageValueByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", start, end)).isInstanceOf(BusinessRuleException.class);
+        assertThat(telemetryDataService.getMaxValueByDeviceAndDataTypeAndTimeRange(device.getId(), "temperature",
+                start, end)).isEqualTo(30.0);
+        assertThat(telemetryDataService.getAverageValueByDeviceAndDataTypeAndTimeRange(device.getId(), "humidity",
+                start, end)).isCloseTo(21.67, within(0.01));
+
+        FleetAggregateRequest request = new FleetAggregateRequest();
+        request.setDataType("temperature");
+        request.setStartTime(start);
+        request.setEndTime(end);
+        List<FleetAggregateDto> groups = fleetAggregationService.aggregate(request);
+        assertThat(groups).singleElement().satisfies(group -> {
+            assertThat(group.isCompressed()).isTrue();
+            assertThat(group.getMax()).isEqualTo(30.0);
+        });
+        request.setOrderBy(FleetAggregateRequest.Metric.MAX);
+        assertThat(fleetAggregationService.aggregate(request)).hasSize(1);
+        request.setOrderBy(FleetAggregateRequest.Metric.AVERAGE);
+        assertThatThrownBy(() -> fleetAggregationService.aggregate(request)).isInstanceOf(BusinessRuleException.class);
+
+        request.setDataType("humidity");
+        assertThat(fleetAggregationService.aggregate(request)).singleElement()
+                .satisfies(group -> assertThat(group.isCompressed()).isFalse());
+
+        // Sorgu dilinde ham veri ve özetler için aynı kural; WHERE sıkıştırılmış serileri dışlıyorsa izin verilir
+        for (String text : List.of("SELECT count(*)", "SELECT avg(value) WHERE dataType = 'temperature'",
+                "SELECT dataType, sum(value) WHERE device.name = 'Sensör 1' GROUP BY dataType",
+                "SELECT avg(value) FROM rollup(1m) WHERE dataType IN ('humidity', 'vibration')",
+                "SELECT avg(value) WHERE dataType = 'humidity' OR (dataType = 'temperature' AND device.type = 'ACTUATOR')")) {
+            assertThatThrownBy(() -> telemetryQueryService.prepare(text)).as(text)
+                    .isInstanceOf(BusinessRuleException.class).hasMessageContaining("sıkıştırılmış");
+        }
+        for (String text : List.of("SELECT max(value), min(value) WHERE dataType = 'temperature'",
+                "SELECT avg(value) WHERE dataType = 'humidity'",
+                "SELECT count(*) FROM rollup(1m) WHERE dataType NOT IN ('temperature', 'vibration')",
+                "SELECT sum(value) WHERE dataType = 'humidity' AND device.name = 'Sensör 1'")) {
+            assertThat(telemetryQueryService.prepare(text)).as(text).isNotNull();
+        }
+    }
+
+    private List<TelemetryData> compress(String dataType, double[] values) {
+        List<TelemetryData> archived = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            archived.addAll(telemetryCompressor.offer(reading(dataType, i, values[i])));
+        }
+        archived.addAll(telemetryCompressor.drainAll());
+        return archived;
+    }
+
+    private void assertReconstructed(List<TelemetryData> archived, double[] values, TelemetryInterpolation.Method method) {
+        long[] times = archived.stream().mapToLong(TelemetryData::getTimestampMillis).toArray();
+        double[] archivedValues = archived.stream().mapToDouble(TelemetryData::getValueNumeric).toArray();
+        long first = TelemetryTime.toEpochMillis(start);
+        List<TelemetrySampleDto> samples = TelemetryInterpolation.resample(times, archivedValues, first,
+                first + (values.length - 1) * SECOND, SECOND, Duration.ofMinutes(20).toMillis(), method);
+
+        assertThat(samples).hasSize(values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertThat(samples.get(i).getValue()).isCloseTo(values[i], within(TOLERANCE + 1e-9));
+        }
+    }
+
+    private TelemetryData reading(String dataType, int second, double value) {
+        TelemetryData data = new TelemetryData(device, "iot/sensor-1/telemetry",
+                "{\"dataType\":\"" + dataType + "\",\"value\":" + value + "}", dataType, value);
+        data.setTimestamp(start.plusSeconds(second));
+        return data;
+    }
+
+    private long storedRows(String dataType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data WHERE data_type = ?", Long.class, dataType)
+                + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric n JOIN telemetry_series s " +
+                "ON s.id = n.series_id WHERE s.data_type = ?", Long.class, dataType);
+    }
+}
@@ -0,0 +1,121 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Telemetri servisi testleri
+ * Cihaz kapsamlı her okumanın cihaz sorgusu olmadan tek SQL ifadesiyle yapıldığını doğrular
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class TelemetryDataServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long deviceId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        end = start.plusMinutes(10);
+
+        Device device = entityManager.persist(new Device("device-1", "Cihaz 1", Device.DeviceType.SENSOR));
+        for (int i = 0; i < 10; i++) {
+            TelemetryData data = new TelemetryData(device, "iot/device-1/telemetry",
+                    "{\"dataType\":\"temperature\",\"value\":" + i + "}", "temperature", (double) i);
+            data.setTimestamp(start.plusMinutes(i));
+            entityManager.persist(data);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        deviceRegistry.register(device);
+        deviceId = device.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deviceScopedEntityReadsUseSingleStatement() {
+        assertThat(telemetryDataService.getTelemetryDataByDevice(deviceId, 5)).hasSize(5);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getTelemetryDataByTimeRange(deviceId, start, end)).hasSize(10);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getTelemetryDataByDeviceAndDataType(deviceId, "temperature")).hasSize(10);
+        assertSingleStatement();
+    }
+
+    @Test
+    void deviceScopedAggregatesUseSingleStatement() {
+        assertThat(telemetryDataService.getAverageValueByDeviceAndDataTypeAndTimeRange(deviceId, "temperature", start, end))
+                .isEqualTo(4.5);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getMinValueByDeviceAndDataTypeAndTimeRange(deviceId, "temperature", start, end))
+                .isEqualTo(0.0);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getMaxValueByDeviceAndDataTypeAndTimeRange(deviceId, "temperature", start, end))
+                .isEqualTo(9.0);
+        assertSingleStatement();
+    }
+
+    @Test
+    void deviceScopedViewReadsUseSingleStatement() {
+        assertThat(telemetryDataService.getTelemetryDataViewsByDevice(deviceId, 5, false)).hasSize(5);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getTelemetryDataViewsByTimeRange(deviceId, start, end, false)).hasSize(10);
+        assertSingleStatement();
+
+        assertThat(telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(deviceId, "temperature", false)).hasSize(10);
+        assertSingleStatement();
+    }
+
+    @Test
+    void unknownDeviceIsAnsweredWithoutQuery() {
+        assertThat(telemetryDataService.getTelemetryDataByDevice(-1L, 5)).isEmpty();
+        assertThat(telemetryDataService.getAverageValueByDeviceAndDataTypeAndTimeRange(-1L, "temperature", start, end))
+                .isNull();
+        assertThat(telemetryDataService.getTelemetryDataViewsByDevice(-1L, 5, false)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        entityManager.clear();
+        statistics.clear();
+    }
+}
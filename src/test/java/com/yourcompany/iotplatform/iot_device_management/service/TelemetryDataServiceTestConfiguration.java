@@ -0,0 +1,21 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.storage.JpaTelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryBulkLoader;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * TelemetryDataService ve yazma/okuma yolundaki tüm bağımlılıkları
+ * @DataJpaTest testleri bu sınıfı ve yalnızca kendi test ettikleri ek servisleri içe aktarır
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({TelemetryDataService.class, DeviceRegistry.class, LatestValueStore.class,
+        TelemetrySeriesStore.class, TelemetrySeriesCatalog.class, SegmentStore.class,
+        JpaTelemetryStore.class, TelemetryBulkLoader.class, TelemetryCompressor.class,
+        TelemetryStateStore.class, CounterResetDetector.class,
+        TelemetryPayloadStore.class, TelemetryAttributeStore.class, TelemetryAggregateCache.class,
+        VirtualSeriesService.class, TelemetryJoinService.class})
+public class TelemetryDataServiceTestConfiguration {
+}
@@ -0,0 +1,264 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.InMemoryTelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Telemetri dışa aktarma testleri
+ * NDJSON/CSV/gzip çıktısını, satır tablosu, dar sayısal tablo ve durum deposunun birleştirilmesini, aralık ve filtre sayımlarını,
+ * SQL ile okunamayan kaynakların reddedilmesini ve büyük aralıkta akışın sınırlı tamponla yazıldığını doğrular
+ */
+@DataJpaTest(showSql = false, properties = {"telemetry.series.enabled=true", "telemetry.state.enabled=true"})
+@ActiveProfiles("test")
+@Import({TelemetryDataServiceTestConfiguration.class, TelemetryExportService.class})
+class TelemetryExportServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryExportServiceTest.class);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryExportService telemetryExportService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private Device sensor;
+    private Device door;
+
+    @BeforeEach
+    void setUp() {
+        sensor = device("sensor-1");
+        door = device("door-1");
+
+        // Bir saat boyunca dakikalık sıcaklık (dar tablo), kapının 4 durum geçişi (durum deposu)
+        // ve doğrudan satır tablosuna yazılmış iki durum metni
+        List<TelemetryData> readings = new ArrayList<>();
+        for (int minute = 0; minute < 60; minute++) {
+            readings.add(reading(sensor, "temperature", 20 + minute / 10.0, start.plusMinutes(minute)));
+        }
+        telemetryDataService.saveTelemetryDataBatch(readings);
+        for (int i = 0; i < 4; i++) {
+            TelemetryData state = new TelemetryData(door, "iot/door-1/telemetry", "{}");
+            state.setDataType("open");
+            state.setValueBoolean(i % 2 == 0);
+            state.setTimestamp(start.plusMinutes(15 * i + 1));
+            telemetryDataService.saveTelemetryData(state);
+        }
+        for (int minute : new int[]{10, 40}) {
+            TelemetryData status = new TelemetryData(sensor, "iot/sensor-1/status", "{\"status\":\"ok\"}");
+            status.setDataType("status");
+            status.setValueString("ok");
+            status.setTimestamp(start.plusMinutes(minute));
+            entityManager.persist(status);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void ndjsonMergesAllSourcesInTimeOrder() throws IOException {
+        List<JsonNode> rows = ndjson(export(null, null, start, start.plusHours(1), false,
+                TelemetryExportService.ExportFormat.NDJSON, false));
+        assertThat(rows).hasSize(66);
+        assertThat(rows).extracting(row -> row.get("timestamp").asText()).isSorted();
+
+        // Dar tablo satırında ID ve alınma zamanı tutulmaz
+        JsonNode first = rows.get(0);
+        assertThat(first.get("deviceId").asText()).isEqualTo("sensor-1");
+        assertThat(first.get("deviceName").asText()).isEqualTo("sensor-1");
+        assertThat(first.get("timestamp").asText()).isEqualTo("2024-03-01T00:00");
+        assertThat(first.get("topic").asText()).isEqualTo("iot/sensor-1/telemetry");
+        assertThat(first.get("valueNumeric").asDouble()).isEqualTo(20.0);
+        assertThat(first.get("id").isNull()).isTrue();
+        assertThat(first.get("receivedAt").isNull()).isTrue();
+
+        JsonNode status = rows.stream().filter(row -> "status".equals(row.get("dataType").asText())).findFirst().orElseThrow();
+        assertThat(status.get("id").isNumber()).isTrue();
+        assertThat(status.get("topic").asText()).isEqualTo("iot/sensor-1/status");
+        assertThat(status.get("receivedAt").isNull()).isFalse();
+
+        JsonNode opened = rows.stream().filter(row -> "open".equals(row.get("dataType").asText())).findFirst().orElseThrow();
+        assertThat(opened.get("deviceId").asText()).isEqualTo("door-1");
+        assertThat(opened.get("topic").asText()).isEqualTo("iot/door-1/telemetry");
+        assertThat(opened.get("valueBoolean").asBoolean()).isTrue();
+        assertThat(opened.get("id").isNull()).isTrue();
+
+        // Aralık, cihaz ve veri tipi filtreleri her kaynağa uygulanır
+        assertThat(ndjson(export(null, null, start, start.plusMinutes(29), false,
+                TelemetryExportService.ExportFormat.NDJSON, false))).hasSize(33);
+        assertThat(ndjson(export(door.getId(), null, start, start.plusHours(1), false,
+                TelemetryExportService.ExportFormat.NDJSON, false))).hasSize(4);
+        assertThat(ndjson(export(null, "temperature", start, start.plusHours(1), false,
+                TelemetryExportService.ExportFormat.NDJSON, false))).hasSize(60);
+        assertThat(ndjson(export(sensor.getId(), "status", start, start.plusHours(1), false,
+                TelemetryExportService.ExportFormat.NDJSON, false))).hasSize(2);
+    }
+
+    @Test
+    void csvIsGzippedWithHeaderAndDerivedPayloads() throws IOException {
+        byte[] compressed = export(null, null, start, start.plusMinutes(20), true,
+                TelemetryExportService.ExportFormat.CSV, true);
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("id,deviceId,deviceName,timestamp,topic,dataType,unit,valueNumeric," +
+                "valueString,valueBoolean,quality,receivedAt,payload");
+        assertThat(lines).hasSize(1 + 21 + 2 + 1);
+        assertThat(lines[1]).startsWith(",sensor-1,sensor-1,2024-03-01T00:00,iot/sensor-1/telemetry,temperature,,20.0,,,,,");
+        assertThat(lines[1]).contains("\"\"value\"\":20.0");
+
+        String state = List.of(lines).stream().filter(line -> line.contains(",open,")).findFirst().orElseThrow();
+        assertThat(state).startsWith(",door-1,door-1,2024-03-01T00:01,iot/door-1/telemetry,open,,,,true,,,");
+        assertThat(state).contains("\"\"dataType\"\":\"\"open\"\"", "\"\"value\"\":true");
+    }
+
+    @Test
+    void sourcesThatSqlCannotReadAreRejected() {
+        try {
+            ReflectionTestUtils.setField(telemetryExportService, "telemetryStore", new InMemoryTelemetryStore());
+            assertThatThrownBy(() -> telemetryExportService.checkExportable(start, start.plusHours(1)))
+                    .isInstanceOf(BusinessRuleException.class).hasMessageContaining("memory");
+        } finally {
+            ReflectionTestUtils.setField(telemetryExportService, "telemetryStore", telemetryStore);
+        }
+
+        try {
+            ReflectionTestUtils.setField(telemetryExportService, "segmentStore", new SegmentStore() {
+                @Override
+                public boolean hasSegmentsOverlapping(long fromMs, long toMs) {
+                    return true;
+                }
+            });
+            assertThatThrownBy(() -> export(null, null, start, start.plusHours(1), false,
+                    TelemetryExportService.ExportFormat.NDJSON, false))
+                    .isInstanceOf(BusinessRuleException.class).hasMessageContaining("segment");
+        } finally {
+            ReflectionTestUtils.setField(telemetryExportService, "segmentStore", segmentStore);
+        }
+    }
+
+    @Test
+    void largeRangeIsStreamedWithBoundedBuffers() throws IOException {
+        int days = 14;
+        LocalDateTime benchmarkStart = start.plusDays(1);
+        for (int day = 0; day < days; day++) {
+            List<TelemetryData> readings = new ArrayList<>(1440);
+            for (int minute = 0; minute < 1440; minute++) {
+                readings.add(reading(sensor, "temperature", minute % 100,
+                        benchmarkStart.plusDays(day).plusMinutes(minute)));
+            }
+            telemetryDataService.saveTelemetryDataBatch(readings);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ChunkCountingOutputStream out = new ChunkCountingOutputStream();
+        long started = System.nanoTime();
+        long rows = telemetryExportService.export(null, null, benchmarkStart, benchmarkStart.plusDays(days), false,
+                TelemetryExportService.ExportFormat.NDJSON, false, out);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Dışa aktarma ölçümü: {} satır, {} bayt, {} ms, {} satır/sn, en büyük yazma {} bayt",
+                rows, out.bytes, elapsedMillis, rows * 1000 / elapsedMillis, out.largestChunk);
+
+        assertThat(rows).isEqualTo(days * 1440L);
+        // Çıktı sonuç boyutundan bağımsız sabit tamponlarla, parça parça yazılır
+        assertThat(out.writes).isGreaterThan(10);
+        assertThat(out.largestChunk).isLessThanOrEqualTo(64 * 1024);
+        assertThat(out.bytes).isGreaterThan(100L * out.largestChunk / 64);
+    }
+
+    private byte[] export(Long deviceId, String dataType, LocalDateTime from, LocalDateTime to, boolean includePayload,
+                          TelemetryExportService.ExportFormat format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        telemetryExportService.export(deviceId, dataType, from, to, includePayload, format, gzip, out);
+        return out.toByteArray();
+    }
+
+    private List<JsonNode> ndjson(byte[] content) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private Device device(String deviceId) {
+        Device device = entityManager.persist(new Device(deviceId, deviceId, Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+        return device;
+    }
+
+    private static TelemetryData reading(Device device, String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry",
+                "{\"dataType\":\"" + dataType + "\",\"value\":" + value + "}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+
+    /**
+     * Yazılan baytları saklamadan sayan ve en büyük tek yazmayı izleyen çıkış akışı
+     */
+    private static class ChunkCountingOutputStream extends OutputStream {
+        private long bytes;
+        private int writes;
+        private int largestChunk;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            writes++;
+            largestChunk = Math.max(largestChunk, len);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryImportResult;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Telemetri içe aktarma testleri
+ * NDJSON, CSV ve gzip girdilerinin toplu yükleme yolu ile yazıldığını ve son değerlerin güncellendiğini doğrular
+ */
+@DataJpaTest(showSql = false, properties = "telemetry.import.batch-size=1000")
+@ActiveProfiles("test")
+@Import({TelemetryImportService.class, TelemetryDataServiceTestConfiguration.class})
+class TelemetryImportServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryImportServiceTest.class);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryImportService telemetryImportService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private LatestValueStore latestValueStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device device;
+
+    @BeforeEach
+    void setUp() {
+        device = entityManager.persist(new Device("import-1", "İçe Aktarma 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+    }
+
+    @Test
+    void ndjsonImportWritesRowsRejectsBadOnesAndUpdatesLatestValues() {
+        String ndjson = """
+                {"deviceId":"import-1","timestamp":"2024-01-01T00:00:00","dataType":"temperature","value":20.5,"unit":"C"}
+                {"deviceId":"import-1","timestamp":"2024-01-01T00:01:00","dataType":"temperature","value":21.5,"unit":"C"}
+
+                {"deviceId":"import-1","timestamp":1704067320000,"dataType":"status","value":"running"}
+                {"deviceId":"unknown","timestamp":"2024-01-01T00:03:00","dataType":"temperature","value":1}
+                {"deviceId":"import-1","timestamp":"yesterday","dataType":"temperature","value":1}
+                not json
+                """;
+
+        TelemetryImportResult result = telemetryImportService.importTelemetry(
+                stream(ndjson), TelemetryImportService.ImportFormat.NDJSON, null);
+
+        assertThat(result.getStatus()).isEqualTo(TelemetryImportResult.Status.COMPLETED);
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        assertThat(result.getRowsRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(3).anyMatch(error -> error.contains("unknown"));
+        assertThat(countRows()).isEqualTo(3);
+
+        assertThat(latestValueStore.getLatest(device.getId(), "temperature"))
+                .hasValueSatisfying(data -> assertThat(data.getValueNumeric()).isEqualTo(21.5));
+        assertThat(latestValueStore.getLatest(device.getId(), "status"))
+                .hasValueSatisfying(data -> {
+                    assertThat(data.getValueString()).isEqualTo("running");
+                    assertThat(data.getTimestamp()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 2));
+                });
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT payload FROM telemetry_data WHERE data_type = 'status'", String.class))
+                .contains("\"running\"");
+        assertThat(telemetryImportService.getJob(result.getJobId())).isPresent();
+    }
+
+    @Test
+    void gzipCsvImportUsesDefaultDeviceAndKeepsQuotedPayloads() throws IOException {
+        String csv = "timestamp,topic,dataType,unit,valueNumeric,valueString,quality,payload\r\n" +
+                "2024-01-01T00:00:00,site/a,temperature,C,20.5,,192,\"{\"\"value\"\":20.5,\"\"note\"\":\"\"a,b\"\"}\"\r\n" +
+                "2024-01-01T00:01:00Z,,message,,,\"line one\nline two\",,\r\n";
+
+        TelemetryImportResult result = telemetryImportService.importTelemetry(
+                new ByteArrayInputStream(gzip(csv)), TelemetryImportService.ImportFormat.CSV, "import-1");
+
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getRowsRejected()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT payload FROM telemetry_data WHERE data_type = 'temperature'", String.class))
+                .isEqualTo("{\"value\":20.5,\"note\":\"a,b\"}");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT quality FROM telemetry_data WHERE data_type = 'temperature'", Integer.class)).isEqualTo(192);
+
+        TelemetryData message = latestValueStore.getLatest(device.getId(), "message").orElseThrow();
+        assertThat(message.getValueString()).isEqualTo("line one\nline two");
+        assertThat(message.getTopic()).isEqualTo("iot/import-1/telemetry");
+        assertThat(message.getPayload()).contains("\"dataType\":\"message\"");
+    }
+
+    @Test
+    void benchmarkNdjsonImport() {
+        int rows = 50_000;
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        StringBuilder ndjson = new StringBuilder(rows * 110);
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"deviceId\":\"import-1\",\"timestamp\":\"").append(start.plusSeconds(i))
+                    .append("\",\"dataType\":\"temperature\",\"value\":").append(i % 100).append(".5}\n");
+        }
+
+        TelemetryImportResult result = telemetryImportService.importTelemetry(
+                stream(ndjson.toString()), TelemetryImportService.ImportFormat.NDJSON, null);
+
+        assertThat(result.getRowsImported()).isEqualTo(rows);
+        assertThat(countRows()).isEqualTo(rows);
+        logger.info("NDJSON içe aktarma: {} satır, {} satır/sn", rows, result.getRowsPerSecond());
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data WHERE device_id = ?",
+                Long.class, device.getId());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
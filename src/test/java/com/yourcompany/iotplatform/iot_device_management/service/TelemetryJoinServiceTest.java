@@ -0,0 +1,170 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.JpaTelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryBulkLoader;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import com.yourcompany.iotplatform.iot_device_management.storage.segment.SegmentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Çoklu seri hizalama: ızgara ve en yakın okuma ile birleştirme, sayfalı okuyucu
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({TelemetryJoinService.class, DeviceRegistry.class,
+        TelemetrySeriesStore.class, TelemetrySeriesCatalog.class, SegmentStore.class,
+        JpaTelemetryStore.class, TelemetryBulkLoader.class, TelemetryAggregateCache.class})
+class TelemetryJoinServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryJoinService telemetryJoinService;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 8, 0);
+    private Device device;
+
+    @BeforeEach
+    void setUp() {
+        device = entityManager.persist(new Device("pump-1", "Pompa 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+
+        // Güç her dakika, sıcaklık 08:00:30'dan itibaren iki dakikada bir
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i <= 10; i++) {
+            batch.add(reading("power", 100.0 + i, start.plusMinutes(i)));
+        }
+        for (int i = 0; i < 5; i++) {
+            batch.add(reading("temperature", 20.0 + 2 * i, start.plusSeconds(30).plusMinutes(2 * i)));
+        }
+        telemetryStore.appendBatch(batch);
+        entityManager.flush();
+    }
+
+    @Test
+    void gridAlignsSeriesWithPreviousAndLinearValues() throws Exception {
+        List<String> series = List.of(device.getId() + ":power", device.getId() + ":temperature");
+
+        List<Double[]> previous = join(telemetryJoinService.prepare(series, start, start.plusMinutes(4),
+                TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), Duration.ofMinutes(2), null));
+        assertThat(previous).hasSize(5);
+        assertThat(previous.get(0)).containsExactly(100.0, null);
+        assertThat(previous.get(1)).containsExactly(101.0, 20.0);
+        assertThat(previous.get(4)).containsExactly(104.0, 22.0);
+
+        List<Double[]> linear = join(telemetryJoinService.prepare(series, start, start.plusMinutes(4),
+                TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), Duration.ofMinutes(2),
+                TelemetryInterpolation.Method.LINEAR));
+        assertThat(linear.get(1)).containsExactly(101.0, 20.5);
+        assertThat(linear.get(3)).containsExactly(103.0, 22.5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        telemetryJoinService.writeNdjson(telemetryJoinService.prepare(series, start, start.plusMinutes(1),
+                TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), Duration.ofMinutes(2), null), out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"timestamp\":\"2024-06-01T08:00\",\"values\":[100.0,null]}\n" +
+                "{\"timestamp\":\"2024-06-01T08:01\",\"values\":[101.0,20.0]}\n");
+    }
+
+    @Test
+    void nearestUsesFirstSeriesTimestampsWithinTolerance() throws Exception {
+        List<Double[]> rows = join(telemetryJoinService.prepare(
+                List.of(device.getId() + ":temperature", device.getId() + ":power"), start, start.plusMinutes(10),
+                TelemetryJoinService.Alignment.NEAREST, null, Duration.ofSeconds(30), null));
+
+        // Eşit uzaklıkta önceki okuma seçilir
+        assertThat(rows).hasSize(5);
+        assertThat(rows.get(0)).containsExactly(20.0, 100.0);
+        assertThat(rows.get(4)).containsExactly(28.0, 108.0);
+
+        List<Double[]> strict = join(telemetryJoinService.prepare(
+                List.of(device.getId() + ":temperature", device.getId() + ":power"), start, start.plusMinutes(10),
+                TelemetryJoinService.Alignment.NEAREST, null, Duration.ofSeconds(10), null));
+        assertThat(strict).allSatisfy(row -> assertThat(row[1]).isNull());
+    }
+
+    @Test
+    void cursorPagesAscendingWithinPageSize() {
+        // 1000 okuma, sayfa 50: dolu pencereler bölünür, her okuma bir kez ve artan sırada döner
+        long[] times = new long[1000];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = 1_000_000L + i * 7_000L + (i % 3 == 0 ? 0 : 1);
+        }
+        int[] largest = new int[1];
+        SeriesCursor cursor = new SeriesCursor((from, to, limit) -> {
+            List<TelemetryDataDto> rows = new ArrayList<>();
+            for (int i = times.length - 1; i >= 0 && rows.size() < limit; i--) {
+                if (times[i] >= from && times[i] <= to) {
+                    TelemetryDataDto row = new TelemetryDataDto();
+                    row.setTimestampMillis(times[i]);
+                    row.setValueNumeric((double) i);
+                    rows.add(row);
+                }
+            }
+            largest[0] = Math.max(largest[0], rows.size());
+            return rows;
+        }, 0, Long.MAX_VALUE / 2, 50);
+
+        List<Long> seen = new ArrayList<>();
+        while (cursor.hasNext()) {
+            seen.add(cursor.time());
+            cursor.advance();
+        }
+        assertThat(seen).containsExactly(Arrays.stream(times).boxed().toArray(Long[]::new));
+        assertThat(largest[0]).isLessThanOrEqualTo(51);
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThatThrownBy(() -> telemetryJoinService.prepare(List.of("power"), start, start.plusHours(1),
+                TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), Duration.ofMinutes(1), null))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> telemetryJoinService.prepare(List.of("999:power"), start, start.plusHours(1),
+                TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), Duration.ofMinutes(1), null))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> telemetryJoinService.prepare(List.of(device.getId() + ":power"), start,
+                start.plusYears(10), TelemetryJoinService.Alignment.GRID, Duration.ofSeconds(1), Duration.ofMinutes(1), null))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    private List<Double[]> join(TelemetryJoinService.JoinQuery query) throws Exception {
+        List<Double[]> rows = new ArrayList<>();
+        telemetryJoinService.join(query, (time, values) -> rows.add(values.clone()));
+        return rows;
+    }
+
+    private TelemetryData reading(String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/pump-1/telemetry", "{}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,174 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ham veri yükü deposu testleri
+ * Yüklerin ayrı tabloya sıkıştırılarak yazıldığını, yalnızca istendiğinde okunduğunu, saklanmayan cihaz
+ * tiplerinde türetildiğini ve sıkıştırma kazancı ile CPU maliyetini ölçer
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.payload.storage=compressed",
+        "telemetry.payload.drop-device-types=ACTUATOR"
+})
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class TelemetryPayloadStoreTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryPayloadStoreTest.class);
+
+    private static final int BENCHMARK_PAYLOADS = 20_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryPayloadStore telemetryPayloadStore;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device sensor;
+    private Device actuator;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        sensor = entityManager.persist(new Device("sensor-1", "Sensör 1", Device.DeviceType.SENSOR));
+        actuator = entityManager.persist(new Device("valve-1", "Vana 1", Device.DeviceType.ACTUATOR));
+        entityManager.flush();
+        deviceRegistry.register(sensor);
+        deviceRegistry.register(actuator);
+    }
+
+    @Test
+    void payloadsMoveToSideTableAndAreLoadedOnlyWhenRequested() {
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batch.add(reading(sensor, i, new Random(i)));
+        }
+        List<String> payloads = batch.stream().map(TelemetryData::getPayload).toList();
+
+        telemetryDataService.saveTelemetryDataBatch(batch);
+        entityManager.flush();
+
+        assertThat(batch).allSatisfy(data -> assertThat(data.getId()).isNotNull());
+        assertThat(batch).extracting(TelemetryData::getPayload).containsExactlyElementsOf(payloads);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data WHERE payload IS NOT NULL",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_payload", Long.class)).isEqualTo(50);
+
+        assertThat(telemetryDataService.getTelemetryDataViewsByDevice(sensor.getId(), 50, false))
+                .allSatisfy(view -> assertThat(view.getPayload()).isNull());
+        List<TelemetryDataDto> views = telemetryDataService.getTelemetryDataViewsByDevice(sensor.getId(), 50, true);
+        assertThat(views).extracting(TelemetryDataDto::getPayload).containsExactlyInAnyOrderElementsOf(payloads);
+
+        // Entity okuma yolu yükü taşımaz; GraphQL alanı istendiğinde ayrı tablodan yüklenir
+        TelemetryData entity = telemetryDataService.getTelemetryDataByDevice(sensor.getId(), 1).get(0);
+        entityManager.clear();
+        assertThat(telemetryDataService.getPayload(entity)).isEqualTo(payloads.get(49));
+    }
+
+    @Test
+    void droppedDeviceTypesKeepNoPayloadAndDeriveItOnRead() {
+        TelemetryData reading = reading(actuator, 0, new Random(1));
+        telemetryDataService.saveTelemetryData(reading);
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_payload", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data WHERE payload IS NULL",
+                Long.class)).isEqualTo(1);
+        assertThat(telemetryDataService.getTelemetryDataViewsByDevice(actuator.getId(), 1, true).get(0).getPayload())
+                .contains("\"dataType\":\"temperature\"").contains("\"value\":" + reading.getValueNumeric());
+    }
+
+    @Test
+    void deletingRowsCascadesToPayloads() {
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(reading(sensor, i, new Random(i)));
+        }
+        telemetryDataService.saveTelemetryDataBatch(batch);
+        entityManager.flush();
+
+        telemetryDataService.deleteOldTelemetryData(start.plusMinutes(5));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_payload", Long.class)).isEqualTo(5);
+    }
+
+    @Test
+    void benchmarkCompressionRatioAndCpuCost() {
+        Random random = new Random(42);
+        List<String> payloads = new ArrayList<>(BENCHMARK_PAYLOADS);
+        for (int i = 0; i < BENCHMARK_PAYLOADS; i++) {
+            payloads.add(reading(sensor, i, random).getPayload());
+        }
+
+        long raw = 0;
+        long stored = 0;
+        long started = System.nanoTime();
+        List<TelemetryPayloadStore.Encoded> encoded = new ArrayList<>(BENCHMARK_PAYLOADS);
+        for (String payload : payloads) {
+            TelemetryPayloadStore.Encoded result = telemetryPayloadStore.encode(payload);
+            encoded.add(result);
+            raw += result.getRawLength();
+            stored += result.getData().length;
+        }
+        long encodeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_PAYLOADS; i++) {
+            TelemetryPayloadStore.Encoded result = encoded.get(i);
+            assertThat(TelemetryPayloadStore.decode(result.getCodec(), result.getData())).isEqualTo(payloads.get(i));
+        }
+        long decodeNanos = System.nanoTime() - started;
+
+        logger.info("Ham veri yükü: {} yük, {} bayt -> {} bayt (%{}), sıkıştırma {} µs/yük, açma {} µs/yük",
+                BENCHMARK_PAYLOADS, raw, stored, stored * 100 / raw,
+                encodeNanos / 1000 / BENCHMARK_PAYLOADS, decodeNanos / 1000 / BENCHMARK_PAYLOADS);
+        assertThat(stored).isLessThan(raw * 7 / 10);
+    }
+
+    /**
+     * Ayrıştırılan alanların yanında pil, sinyal ve yazılım sürümü taşıyan MQTT yükü
+     */
+    private TelemetryData reading(Device device, int minute, Random random) {
+        double value = Math.round((20 + random.nextGaussian()) * 100) / 100.0;
+        LocalDateTime timestamp = start.plusMinutes(minute);
+        String payload = "{\"dataType\":\"temperature\",\"value\":" + value + ",\"unit\":\"C\",\"quality\":192," +
+                "\"timestamp\":\"" + timestamp + "\",\"battery\":" + (60 + random.nextInt(40)) +
+                ",\"rssi\":" + (-50 - random.nextInt(50)) + ",\"firmware\":\"1.4." + random.nextInt(3) + "\"}";
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry", payload,
+                "temperature", value);
+        data.setUnit("C");
+        data.setQuality(192);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,204 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.QueryLanguageProperties;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryQueryPlanDto;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Telemetri sorgu dili testleri
+ * Ayrıştırma ve doğrulama, cihaz alanlarıyla birleşen gruplu toplamların SQL'e indirilmesi, özet kaynağı
+ * ve maliyet tahmininin büyük taramaları reddetmesi
+ */
+@DataJpaTest(showSql = false, properties = "telemetry.series.enabled=true")
+@ActiveProfiles("test")
+@Import({TelemetryDataServiceTestConfiguration.class, TelemetryQueryService.class})
+class TelemetryQueryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private TelemetryQueryService telemetryQueryService;
+
+    @Autowired
+    private QueryLanguageProperties properties;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private Device sensor;
+    private Device actuator;
+
+    @BeforeEach
+    void setUp() {
+        sensor = device("sensor-1", Device.DeviceType.SENSOR, "Hall A");
+        actuator = device("actuator-1", Device.DeviceType.ACTUATOR, "Hall B");
+
+        // İki saat boyunca dakikalık sıcaklık (dar tablo) ve bir metin okuması (satır tablosu)
+        List<TelemetryData> readings = new ArrayList<>();
+        for (int minute = 0; minute < 120; minute++) {
+            readings.add(reading(sensor, "temperature", minute, start.plusMinutes(minute)));
+            readings.add(reading(actuator, "temperature", 100 + minute, start.plusMinutes(minute)));
+        }
+        telemetryDataService.saveTelemetryDataBatch(readings);
+        TelemetryData status = new TelemetryData(sensor, "iot/sensor-1/telemetry", "{}");
+        status.setDataType("status");
+        status.setValueString("ok");
+        status.setTimestamp(start.plusMinutes(30));
+        telemetryDataService.saveTelemetryData(status);
+        entityManager.flush();
+    }
+
+    @Test
+    void queriesAreParsedAndValidated() {
+        TelemetryQuery query = TelemetryQuery.parse("select Device.Type, bucket(15m), AVG(value) from raw " +
+                "where not (dataType <> 'x' or value between 1 and 2) and device.status in ('online', 'Error') " +
+                "group by device.type, bucket(15m) order by avg(value) desc limit 5");
+        assertThat(query.getSelect()).extracting(TelemetryQuery.Column::label)
+                .containsExactly("device.type", "bucket(15m)", "avg(value)");
+        assertThat(query.isAggregated()).isTrue();
+        assertThat(query.isDescending()).isTrue();
+        assertThat(query.getLimit()).isEqualTo(5);
+        assertThat(query.referencedFields()).contains(TelemetryQuery.Field.DEVICE_STATUS, TelemetryQuery.Field.VALUE);
+
+        String[] invalid = {
+                "", "SELECT", "SELECT foo", "SELECT value WHERE value = 'x'", "SELECT device.type, count(*)",
+                "SELECT count(*) GROUP BY value", "SELECT time WHERE device.type = 'robot'",
+                "SELECT time WHERE time > 'yesterday'", "SELECT sum(quality)", "SELECT time LIMIT 0",
+                "SELECT time ORDER BY value", "SELECT time WHERE value LIKE '1%'", "SELECT time WHERE dataType = 'x' x",
+                "SELECT time WHERE dataType = 'x", "SELECT bucket(0s), count(*) GROUP BY bucket(0s)",
+                "SELECT time, time", "SELECT avg(value) FROM rollup(1m) WHERE quality = 0",
+                "SELECT bucket(90s), count(*) FROM rollup(1m) GROUP BY bucket(90s)", "SELECT time FROM rollup(1m)",
+                "SELECT time WHERE " + "(".repeat(100) + "value > 1" + ")".repeat(100),
+                "SELECT time LIMIT 1000000"
+        };
+        for (String text : invalid) {
+            assertThatThrownBy(() -> telemetryQueryService.prepare(text)).as(text)
+                    .isInstanceOf(BusinessRuleException.class);
+        }
+    }
+
+    @Test
+    void groupedAggregatesArePushedDownWithDeviceFilters() throws Exception {
+        String grouped = "SELECT device.type, bucket(1h), count(*), avg(value), max(value) " +
+                "WHERE dataType = 'temperature' AND time >= '2024-06-01T00:00:00Z' AND time < '2024-06-01T02:00:00Z' " +
+                "AND device.location LIKE 'Hall%' AND value >= 30 " +
+                "GROUP BY device.type, bucket(1h) ORDER BY max(value) DESC";
+        assertThat(run(grouped)).isEqualTo(
+                "{\"device.type\":\"ACTUATOR\",\"bucket(1h)\":\"2024-06-01T01:00\",\"count(*)\":60,\"avg(value)\":189.5,\"max(value)\":219.0}\n" +
+                "{\"device.type\":\"ACTUATOR\",\"bucket(1h)\":\"2024-06-01T00:00\",\"count(*)\":60,\"avg(value)\":129.5,\"max(value)\":159.0}\n" +
+                "{\"device.type\":\"SENSOR\",\"bucket(1h)\":\"2024-06-01T01:00\",\"count(*)\":60,\"avg(value)\":89.5,\"max(value)\":119.0}\n" +
+                "{\"device.type\":\"SENSOR\",\"bucket(1h)\":\"2024-06-01T00:00\",\"count(*)\":30,\"avg(value)\":44.5,\"max(value)\":59.0}\n");
+
+        TelemetryQueryPlanDto plan = telemetryQueryService.explain(grouped);
+        assertThat(plan.getSource()).isEqualTo("raw");
+        assertThat(plan.getSql()).contains("UNION ALL", "JOIN devices d ON d.id = t.device_id",
+                "d.location_description LIKE ?", "n.value_numeric >= ?", "GROUP BY");
+        assertThat(plan.getParameters()).contains("temperature", "Hall%", 30.0);
+
+        // Toplamsız sorguda sıralama ve limit kaynaklara da indirilir
+        assertThat(run("SELECT time, device.deviceId, value WHERE device.type = 'actuator' AND dataType NOT IN ('status') " +
+                "ORDER BY time DESC LIMIT 2")).isEqualTo(
+                "{\"time\":\"2024-06-01T01:59\",\"device.deviceId\":\"actuator-1\",\"value\":219.0}\n" +
+                "{\"time\":\"2024-06-01T01:58\",\"device.deviceId\":\"actuator-1\",\"value\":218.0}\n");
+        assertThat(run("SELECT dataType, count(*) WHERE (value IS NULL OR value < 1) AND device.deviceId = 'sensor-1' " +
+                "GROUP BY dataType ORDER BY dataType")).isEqualTo(
+                "{\"dataType\":\"status\",\"count(*)\":1}\n" +
+                "{\"dataType\":\"temperature\",\"count(*)\":1}\n");
+    }
+
+    @Test
+    void rollupSourceAggregatesSummaryRows() throws Exception {
+        for (int minute = 0; minute < 120; minute++) {
+            jdbcTemplate.update("INSERT INTO telemetry_rollup (device_id, data_type, bucket_seconds, bucket_start_ms, " +
+                    "sample_count, sum_value, min_value, max_value) VALUES (?, 'temperature', 60, ?, 2, ?, ?, ?)",
+                    sensor.getId(), TelemetryTime.toEpochMillis(start.plusMinutes(minute)), 2.0 * minute,
+                    (double) minute, minute + 1.0);
+        }
+
+        assertThat(run("SELECT device.deviceId, bucket(1h), count(value), sum(value), avg(value), min(value) " +
+                "FROM rollup(1m) WHERE dataType = 'temperature' AND device.type = 'SENSOR' " +
+                "GROUP BY device.deviceId, bucket(1h) ORDER BY bucket(1h)")).isEqualTo(
+                "{\"device.deviceId\":\"sensor-1\",\"bucket(1h)\":\"2024-06-01T00:00\",\"count(value)\":120," +
+                        "\"sum(value)\":3540.0,\"avg(value)\":29.5,\"min(value)\":0.0}\n" +
+                "{\"device.deviceId\":\"sensor-1\",\"bucket(1h)\":\"2024-06-01T01:00\",\"count(value)\":120," +
+                        "\"sum(value)\":10740.0,\"avg(value)\":89.5,\"min(value)\":60.0}\n");
+        assertThat(telemetryQueryService.explain("SELECT count(*) FROM rollup(1m)").getSql())
+                .contains("telemetry_rollup u", "u.bucket_seconds = ?", "SUM(r.r_count)");
+    }
+
+    @Test
+    void costEstimateRejectsLargeScans() {
+        long maxScannedRows = properties.getMaxScannedRows();
+        Duration probeWindow = properties.getProbeWindow();
+        try {
+            // Dört 10 dakikalık dilim iki saatlik aralığa ölçeklenir
+            properties.setProbeWindow(Duration.ofMinutes(10));
+            assertThat(telemetryQueryService.explain("SELECT device.type, count(*) GROUP BY device.type")
+                    .getEstimatedRows()).isBetween(220L, 260L);
+            assertThat(telemetryQueryService.explain("SELECT count(*) WHERE device.deviceId = 'sensor-1' " +
+                    "AND time < '2024-06-01T00:20:00Z'").getEstimatedRows()).isBetween(18L, 23L);
+
+            properties.setMaxScannedRows(100);
+            assertThatThrownBy(() -> telemetryQueryService.prepare("SELECT device.type, count(*) GROUP BY device.type"))
+                    .isInstanceOf(BusinessRuleException.class).hasMessageContaining("rollup");
+            // value koşulu taramayı daraltmaz
+            assertThatThrownBy(() -> telemetryQueryService.prepare("SELECT time, value WHERE value > 500"))
+                    .isInstanceOf(BusinessRuleException.class).hasMessageNotContaining("rollup");
+            assertThat(telemetryQueryService.prepare("SELECT time WHERE dataType = 'status'").getEstimatedRows())
+                    .isEqualTo(1);
+        } finally {
+            properties.setMaxScannedRows(maxScannedRows);
+            properties.setProbeWindow(probeWindow);
+        }
+    }
+
+    private String run(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        telemetryQueryService.writeNdjson(telemetryQueryService.prepare(text), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Device device(String deviceId, Device.DeviceType type, String location) {
+        Device device = new Device(deviceId, deviceId, type);
+        device.setLocationDescription(location);
+        device = entityManager.persist(device);
+        entityManager.flush();
+        deviceRegistry.register(device);
+        return device;
+    }
+
+    private static TelemetryData reading(Device device, String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/" + device.getDeviceId() + "/telemetry", "{}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+}
@@ -0,0 +1,284 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.RetentionProperties;
+import com.yourcompany.iotplatform.iot_device_management.dto.CounterIncreaseDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.RetentionReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryRollupDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Telemetri saklama testleri
+ * Politika seçimi, özetleme sonrası silme, parça sınırıyla kaldığı yerden devam, özet saklama süresi ve
+ * sayaç artışlarının özetlerden hesaplanmasını ve durum aralıklarının silinmesini doğrular
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.retention.chunk-size=100",
+        "telemetry.retention.policies[0].name=vibration",
+        "telemetry.retention.policies[0].data-type=vibration",
+        "telemetry.retention.policies[0].raw=7d",
+        "telemetry.retention.policies[0].rollups[0].interval=1m",
+        "telemetry.retention.policies[0].rollups[0].keep=90d",
+        "telemetry.retention.policies[0].rollups[1].interval=1d",
+        "telemetry.retention.policies[1].name=sensors",
+        "telemetry.retention.policies[1].device-type=SENSOR",
+        "telemetry.retention.policies[1].raw=30d",
+        "telemetry.retention.policies[2].name=special",
+        "telemetry.retention.policies[2].device-id=special-1",
+        "telemetry.retention.policies[2].raw=1d",
+        "telemetry.retention.policies[3].name=energy",
+        "telemetry.retention.policies[3].data-type=energy",
+        "telemetry.retention.policies[3].raw=2d",
+        "telemetry.retention.policies[3].rollups[0].interval=1d",
+        "telemetry.counters.data-types=energy"
+})
+@ActiveProfiles("test")
+@Import({TelemetryDataServiceTestConfiguration.class, TelemetryRetentionService.class})
+class TelemetryRetentionServiceTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long DAY = 86_400_000;
+    private static final long STEP = 5 * MINUTE;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryRetentionService telemetryRetentionService;
+
+    @Autowired
+    private RetentionProperties retentionProperties;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private TelemetrySeriesCatalog telemetrySeriesCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device sensor;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        sensor = entityManager.persist(new Device("vib-1", "Titreşim 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(sensor);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void mostSpecificPolicyWins() {
+        Device special = entityManager.persist(new Device("special-1", "Özel", Device.DeviceType.SENSOR));
+        Device actuator = entityManager.persist(new Device("act-1", "Vana", Device.DeviceType.ACTUATOR));
+        entityManager.flush();
+        deviceRegistry.register(special);
+        deviceRegistry.register(actuator);
+
+        assertThat(policyName(sensor.getId(), "vibration")).isEqualTo("vibration");
+        assertThat(policyName(sensor.getId(), "temperature")).isEqualTo("sensors");
+        assertThat(policyName(special.getId(), "vibration")).isEqualTo("special");
+        assertThat(policyName(actuator.getId(), "temperature")).isNull();
+    }
+
+    @Test
+    void rollsUpClosedBucketsBeforePurgingExpiredRawRows() {
+        int rows = insertVibration(10 * DAY);
+
+        RetentionReport report = telemetryRetentionService.run(now);
+
+        assertThat(report.getStatus()).isEqualTo(RetentionReport.Status.COMPLETED);
+        assertExpectedState(rows);
+
+        RetentionReport.PolicyProgress progress = progress(report, "vibration");
+        assertThat(progress.getRawRowsDeleted()).isEqualTo(rows - rawRowsKept());
+        assertThat(progress.getReclaimedBytesEstimate()).isGreaterThan(progress.getRawRowsDeleted() * 100);
+        assertThat(telemetryRetentionService.getLastReport()).containsSame(report);
+
+        // Ham verisi silinmiş dönem özetlerden okunabilir
+        long oldest = firstSampleTime(10 * DAY);
+        List<TelemetryRollupDto> minutes = telemetryRetentionService.getRollups(sensor.getId(), "vibration",
+                Duration.ofMinutes(1), TelemetryTime.toLocalDateTime(oldest),
+                TelemetryTime.toLocalDateTime(oldest + 30 * MINUTE));
+        assertThat(minutes).hasSize(7);
+        assertThat(minutes.get(0).getCount()).isEqualTo(1);
+        assertThat(minutes.get(0).getAverage()).isEqualTo(valueAt(oldest));
+    }
+
+    @Test
+    void chunkBudgetMakesRunsPartialAndLaterRunsResume() {
+        int rows = insertVibration(10 * DAY);
+        int maxChunks = retentionProperties.getMaxChunksPerRun();
+        retentionProperties.setMaxChunksPerRun(7);
+        try {
+            List<RetentionReport> reports = new ArrayList<>();
+            RetentionReport report;
+            do {
+                report = telemetryRetentionService.run(now);
+                reports.add(report);
+                assertThat(report.getChunks()).isLessThanOrEqualTo(7);
+            } while (report.getStatus() == RetentionReport.Status.PARTIAL && reports.size() < 200);
+
+            assertThat(reports.get(0).getStatus()).isEqualTo(RetentionReport.Status.PARTIAL);
+            assertThat(report.getStatus()).isEqualTo(RetentionReport.Status.COMPLETED);
+            assertExpectedState(rows);
+        } finally {
+            retentionProperties.setMaxChunksPerRun(maxChunks);
+        }
+    }
+
+    @Test
+    void expiredRollupsAreDeletedAndUnboundedTiersKept() {
+        long old = Math.floorDiv(now - 100 * DAY, DAY) * DAY;
+        for (long seconds : new long[]{60, 86_400}) {
+            jdbcTemplate.update("INSERT INTO telemetry_rollup (device_id, data_type, bucket_seconds, bucket_start_ms, " +
+                    "sample_count, sum_value, min_value, max_value) VALUES (?, 'vibration', ?, ?, 1, 1, 1, 1)",
+                    sensor.getId(), seconds, old);
+        }
+        insertVibration(DAY);
+
+        RetentionReport report = telemetryRetentionService.run(now);
+
+        assertThat(progress(report, "vibration").getRollupsDeleted()).isEqualTo(1);
+        assertThat(countRollups(60, old)).isZero();
+        assertThat(countRollups(86_400, old)).isEqualTo(1);
+    }
+
+    @Test
+    void counterIncreaseIsReadFromRollupsAcrossResetsAndPurgedRawData() {
+        // 5 dakikada bir 1 kWh; 5 gün önce sayaç 0.5'ten yeniden başlıyor
+        long first = firstSampleTime(10 * DAY);
+        long reset = firstSampleTime(5 * DAY);
+        List<Object[]> batch = new ArrayList<>();
+        for (long ts = first; ts <= now; ts += STEP) {
+            double value = ts < reset ? (ts - first) / STEP : 0.5 + (ts - reset) / STEP;
+            batch.add(new Object[]{sensor.getId(), ts,
+                    "iot/vib-1/telemetry", "{\"energy\":" + value + "}", "energy", value});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO telemetry_data (device_id, ts_epoch_ms, topic, payload, data_type, " +
+                "value_numeric) VALUES (?, ?, ?, ?, ?, ?)", batch);
+
+        telemetryRetentionService.run(now);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(ts_epoch_ms) FROM telemetry_data WHERE data_type = 'energy'",
+                Long.class)).isGreaterThan(now - 3 * DAY);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_rollup WHERE data_type = 'energy' " +
+                "AND increase_value IS NULL", Long.class)).isZero();
+
+        List<CounterIncreaseDto> days = telemetryRetentionService.getCounterIncrease(sensor.getId(), "energy",
+                Duration.ofDays(1), TelemetryTime.toLocalDateTime(first),
+                TelemetryTime.toLocalDateTime(now + 1));
+        assertThat(days.stream().mapToDouble(CounterIncreaseDto::getIncrease).sum())
+                .isEqualTo(batch.size() - 2 + 0.5);
+        assertThat(days.stream().mapToLong(CounterIncreaseDto::getResets).sum()).isEqualTo(1);
+        assertThat(days.get(1).getIncrease()).isEqualTo(288);
+        assertThat(days.get(1).getRatePerSecond()).isEqualTo(288.0 / 86_400);
+    }
+
+    @Test
+    void expiredStateIntervalsArePurgedAndOpenStateKept() {
+        int seriesId = telemetrySeriesCatalog.resolve(sensor.getId(), "door", null);
+        long old = now - 40 * DAY;
+        jdbcTemplate.batchUpdate("INSERT INTO telemetry_state (series_id, start_ms, end_ms, value_boolean) " +
+                "VALUES (?, ?, ?, ?)", List.of(
+                new Object[]{seriesId, old, old + MINUTE, true},
+                new Object[]{seriesId, old + MINUTE, now - DAY, false},
+                new Object[]{seriesId, now - DAY, null, true}));
+
+        RetentionReport report = telemetryRetentionService.run(now);
+
+        assertThat(report.getStatus()).isEqualTo(RetentionReport.Status.COMPLETED);
+        assertThat(jdbcTemplate.queryForList("SELECT start_ms FROM telemetry_state WHERE series_id = ? " +
+                "ORDER BY start_ms", Long.class, seriesId)).containsExactly(old + MINUTE, now - DAY);
+        assertThat(progress(report, "sensors").getRawRowsDeleted()).isEqualTo(1);
+    }
+
+    private void assertExpectedState(int rows) {
+        long minuteTarget = Math.floorDiv(now - Duration.ofHours(1).toMillis(), MINUTE) * MINUTE;
+        long dayTarget = Math.floorDiv(now - Duration.ofHours(1).toMillis(), DAY) * DAY;
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data", Integer.class))
+                .isEqualTo(rawRowsKept());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM telemetry_rollup WHERE bucket_seconds = 60", Long.class))
+                .isEqualTo(samplesBefore(minuteTarget));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(sample_count) FROM telemetry_rollup WHERE bucket_seconds = 86400", Long.class))
+                .isEqualTo(samplesBefore(dayTarget));
+        assertThat(jdbcTemplate.queryForObject("SELECT rolled_up_to_ms FROM telemetry_retention_watermark " +
+                "WHERE bucket_seconds = 60", Long.class)).isEqualTo(minuteTarget);
+        assertThat(rows).isGreaterThan(rawRowsKept());
+    }
+
+    /**
+     * Katalog bağlamlar arasında paylaşıldığından rapordaki politika sırasına güvenilmez
+     */
+    private static RetentionReport.PolicyProgress progress(RetentionReport report, String policy) {
+        return report.getPolicies().stream().filter(p -> p.getPolicy().equals(policy)).findFirst().orElseThrow();
+    }
+
+    private String policyName(Long deviceId, String dataType) {
+        return telemetryRetentionService.resolvePolicy(deviceId, dataType)
+                .map(RetentionProperties.Policy::getName).orElse(null);
+    }
+
+    /**
+     * now'dan geriye 5 dakikalık aralıklarla titreşim satırları
+     */
+    private int insertVibration(long span) {
+        List<Object[]> batch = new ArrayList<>();
+        for (long ts = firstSampleTime(span); ts <= now; ts += STEP) {
+            batch.add(new Object[]{sensor.getId(), ts,
+                    "iot/vib-1/telemetry", "{\"vibration\":" + valueAt(ts) + "}", "vibration", valueAt(ts)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO telemetry_data (device_id, ts_epoch_ms, topic, payload, data_type, " +
+                "value_numeric) VALUES (?, ?, ?, ?, ?, ?)", batch);
+        return batch.size();
+    }
+
+    private long firstSampleTime(long span) {
+        return Math.floorDiv(now - span, STEP) * STEP;
+    }
+
+    private double valueAt(long ts) {
+        return (ts / STEP) % 100;
+    }
+
+    private long samplesBefore(long end) {
+        long first = firstSampleTime(10 * DAY);
+        return end <= first ? 0 : (end - first + STEP - 1) / STEP;
+    }
+
+    private int rawRowsKept() {
+        long cutoff = now - 7 * DAY;
+        long first = firstSampleTime(10 * DAY);
+        int kept = 0;
+        for (long ts = first; ts <= now; ts += STEP) {
+            if (ts >= cutoff) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private int countRollups(long bucketSeconds, long bucketStart) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_rollup WHERE bucket_seconds = ? " +
+                "AND bucket_start_ms = ?", Integer.class, bucketSeconds, bucketStart);
+    }
+}
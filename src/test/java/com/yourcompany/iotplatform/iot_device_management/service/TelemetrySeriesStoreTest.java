@@ -0,0 +1,159 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.storage.TelemetryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dar sayısal telemetri deposu testleri
+ * Sayısal okumaların dar tabloya yazıldığını ve mevcut okuma yollarında satır tablosu ile birleştiğini doğrular
+ */
+@DataJpaTest(showSql = false, properties = "telemetry.series.enabled=true")
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class TelemetrySeriesStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    private Device device;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_000_000);
+        device = entityManager.persist(new Device("device-1", "Cihaz 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+
+        // Sayısal okumalar dar tabloya, metin okuması satır tablosuna gider
+        for (int i = 0; i < 4; i++) {
+            TelemetryData data = new TelemetryData(device, "iot/device-1/telemetry",
+                    "{\"dataType\":\"temperature\",\"value\":" + i + "}", "temperature", (double) i);
+            data.setUnit("C");
+            data.setQuality(1);
+            data.setTimestamp(start.plusMinutes(i * 2));
+            telemetryDataService.saveTelemetryData(data);
+        }
+        TelemetryData status = new TelemetryData(device, "iot/device-1/telemetry",
+                "{\"dataType\":\"status\",\"value\":\"ok\"}");
+        status.setDataType("status");
+        status.setValueString("ok");
+        status.setTimestamp(start.plusMinutes(3));
+        telemetryDataService.saveTelemetryData(status);
+        entityManager.flush();
+    }
+
+    @Test
+    void numericReadingsGoToNarrowTable() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_series", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void readsMergeBothTablesNewestFirst() {
+        List<TelemetryDataDto> views = telemetryDataService.getTelemetryDataViewsByDevice(device.getId(), 3, false);
+
+        assertThat(views).extracting(TelemetryDataDto::getTimestamp)
+                .containsExactly(start.plusMinutes(6), start.plusMinutes(4), start.plusMinutes(3));
+        TelemetryDataDto narrow = views.get(0);
+        assertThat(narrow.getId()).isNull();
+        assertThat(narrow.getDeviceName()).isEqualTo("Cihaz 1");
+        assertThat(narrow.getTopic()).isEqualTo("iot/device-1/telemetry");
+        assertThat(narrow.getUnit()).isEqualTo("C");
+        assertThat(narrow.getValueNumeric()).isEqualTo(3.0);
+        assertThat(narrow.getPayload()).isNull();
+
+        List<TelemetryData> entities = telemetryDataService.getTelemetryDataByTimeRange(
+                device.getId(), start, start.plusMinutes(10));
+        assertThat(entities).hasSize(5);
+        assertThat(entities.get(0).getDevice().getDeviceId()).isEqualTo("device-1");
+        assertThat(entities.get(0).getPayload()).contains("\"value\":3.0");
+    }
+
+    @Test
+    void payloadIsDerivedForNarrowReadings() {
+        List<TelemetryDataDto> views = telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(
+                device.getId(), "temperature", true);
+
+        assertThat(views).hasSize(4);
+        assertThat(views.get(0).getPayload())
+                .contains("\"dataType\":\"temperature\"", "\"value\":3.0", "\"unit\":\"C\"");
+    }
+
+    @Test
+    void queriesByTopicAndDataTypeIncludeNarrowReadings() {
+        assertThat(telemetryDataService.getTelemetryDataViewsByTopic("iot/device-1/telemetry", false)).hasSize(5);
+        assertThat(telemetryDataService.getTelemetryDataViewsByDataType("temperature", false)).hasSize(4);
+        assertThat(telemetryDataService.getTelemetryDataViewsByTimeRange(start, start.plusMinutes(3), false)).hasSize(3);
+    }
+
+    @Test
+    void aggregatesCombineBothTables() {
+        TelemetryData legacy = new TelemetryData(device, "iot/device-1/telemetry", "{}", "temperature", 10.0);
+        legacy.setTimestamp(start.plusMinutes(1));
+        entityManager.persist(legacy);
+        entityManager.flush();
+
+        TelemetryAggregate aggregate = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", start, start.plusMinutes(10));
+
+        assertThat(aggregate.getCount()).isEqualTo(5);
+        assertThat(aggregate.getSum()).isEqualTo(16.0);
+        assertThat(aggregate.getMin()).isEqualTo(0.0);
+        assertThat(aggregate.getMax()).isEqualTo(10.0);
+        assertThat(telemetryDataService.getAverageValueByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", start, start.plusMinutes(10))).isEqualTo(3.2);
+    }
+
+    @Test
+    void timestampsRoundTripToTheMillisecond() {
+        List<TelemetryDataDto> views = telemetryDataService.getTelemetryDataViewsByTimeRange(
+                device.getId(), start, start, false);
+
+        assertThat(views).extracting(TelemetryDataDto::getTimestamp).containsExactly(start);
+        assertThat(views).extracting(TelemetryDataDto::getReceivedAt).containsOnlyNulls();
+    }
+
+    @Test
+    void latestValuesAreWarmedFromNarrowTable() {
+        LatestValueStore store = new LatestValueStore();
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(store, "telemetryStore", telemetryStore);
+        store.warmUp();
+
+        TelemetryData latest = store.getLatest(device.getId(), "temperature").orElseThrow();
+        assertThat(latest.getValueNumeric()).isEqualTo(3.0);
+        assertThat(latest.getTopic()).isEqualTo("iot/device-1/telemetry");
+        assertThat(latest.getPayload()).contains("\"value\":3.0");
+    }
+}
@@ -0,0 +1,136 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.StateTransitionDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.dto.TimeInStateDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Durum geçişi deposu testleri
+ * Boolean/metin okumalarının yalnızca durum değişince yazıldığını ve süre/geçiş sorgularının
+ * geçişlerden hesaplandığını doğrular
+ */
+@DataJpaTest(showSql = false, properties = "telemetry.state.enabled=true")
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class TelemetryStateStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device device;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        device = entityManager.persist(new Device("door-1", "Kapı 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+
+        // Dakikada bir: 0-30 açık, 30-90 kapalı, 90-120 açık; röle 0-60 ON, 60-120 OFF
+        for (int minute = 0; minute < 120; minute++) {
+            telemetryDataService.saveTelemetryData(booleanReading(minute, minute < 30 || minute >= 90));
+            telemetryDataService.saveTelemetryData(stringReading(minute, minute < 60 ? "ON" : "OFF"));
+        }
+    }
+
+    @Test
+    void repeatedStatesAreNotStored() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_state", Long.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_state WHERE end_ms IS NULL",
+                Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data", Long.class)).isZero();
+    }
+
+    @Test
+    void timeInStateIsComputedFromTransitions() {
+        List<TimeInStateDto> door = telemetryDataService.getTimeInState(device.getId(), "doorOpen",
+                start, start.plusMinutes(120));
+
+        assertThat(door).extracting(TimeInStateDto::getState, TimeInStateDto::getDurationMs, TimeInStateDto::getEntries)
+                .containsExactlyInAnyOrder(
+                        tuple("true", 60 * 60_000L, 2L),
+                        tuple("false", 60 * 60_000L, 1L));
+
+        // Aralık başında süren durum kırpılır, giriş sayılmaz
+        List<TimeInStateDto> relay = telemetryDataService.getTimeInState(device.getId(), "relay",
+                start.plusMinutes(45), start.plusMinutes(75));
+        assertThat(relay).extracting(TimeInStateDto::getState, TimeInStateDto::getDurationMs, TimeInStateDto::getRatio)
+                .containsExactlyInAnyOrder(
+                        tuple("ON", 15 * 60_000L, 0.5),
+                        tuple("OFF", 15 * 60_000L, 0.5));
+        assertThat(relay).filteredOn(t -> t.getState().equals("ON")).extracting(TimeInStateDto::getEntries)
+                .containsExactly(0L);
+    }
+
+    @Test
+    void transitionsInRangeIncludeOverlappingIntervals() {
+        List<StateTransitionDto> transitions = telemetryDataService.getStateTransitions(device.getId(), "doorOpen",
+                start.plusMinutes(45), start.plusMinutes(100));
+
+        assertThat(transitions).extracting(StateTransitionDto::getState, StateTransitionDto::getStart,
+                        StateTransitionDto::getEnd)
+                .containsExactly(
+                        tuple("false", start.plusMinutes(30), start.plusMinutes(90)),
+                        tuple("true", start.plusMinutes(90), null));
+    }
+
+    @Test
+    void transitionsAppearInExistingReadPathsAndLateReadingsFallBackToRows() {
+        List<TelemetryDataDto> views = telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(device.getId(),
+                "doorOpen", true);
+        assertThat(views).extracting(TelemetryDataDto::getTimestamp)
+                .containsExactly(start.plusMinutes(90), start.plusMinutes(30), start);
+        assertThat(views.get(0).getValueBoolean()).isTrue();
+        assertThat(views.get(0).getPayload()).contains("\"value\":true").contains("\"dataType\":\"doorOpen\"");
+
+        // Açık aralıktan eski okuma geçişleri bozmaz, satır tablosuna yazılır
+        telemetryDataService.saveTelemetryData(booleanReading(50, true));
+        entityManager.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_data", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_state", Long.class)).isEqualTo(5);
+    }
+
+    private TelemetryData booleanReading(int minute, boolean open) {
+        TelemetryData data = new TelemetryData(device, "iot/door-1/telemetry",
+                "{\"dataType\":\"doorOpen\",\"value\":" + open + "}");
+        data.setDataType("doorOpen");
+        data.setValueBoolean(open);
+        data.setTimestamp(start.plusMinutes(minute));
+        return data;
+    }
+
+    private TelemetryData stringReading(int minute, String state) {
+        TelemetryData data = new TelemetryData(device, "iot/door-1/telemetry",
+                "{\"dataType\":\"relay\",\"value\":\"" + state + "\"}");
+        data.setDataType("relay");
+        data.setValueString(state);
+        data.setTimestamp(start.plusMinutes(minute));
+        return data;
+    }
+}
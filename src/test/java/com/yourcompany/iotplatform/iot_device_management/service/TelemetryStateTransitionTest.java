@@ -0,0 +1,92 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.StateTransitionDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import com.yourcompany.iotplatform.iot_device_management.repository.DeviceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Durum geçişi işlem testleri
+ * Test işlemi dışında, ayrı bir veritabanında çalışır; açık aralığın kapatılması ile yeni aralığın
+ * eklenmesinin birlikte geri alındığını doğrular
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:state-transition;DB_CLOSE_DELAY=-1",
+        "telemetry.state.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TelemetryStateTransitionTest {
+
+    @Autowired
+    private TelemetryStateStore telemetryStateStore;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Test
+    void failedInsertLeavesTheOpenIntervalOpen() {
+        Device device = deviceRepository.save(new Device("door-tx", "Kapı", Device.DeviceType.SENSOR));
+        deviceRegistry.register(device);
+        assertThat(telemetryStateStore.append(reading(device, 0, true))).isTrue();
+        Integer seriesId = jdbcTemplate.queryForObject("SELECT series_id FROM telemetry_state", Integer.class);
+        long next = TelemetryTime.toEpochMillis(start.plusMinutes(10));
+
+        // Yeni aralığın anahtarıyla çakışan satır INSERT'i başarısız kılar; aynı işlemdeki kapatma da geri alınmalı
+        jdbcTemplate.update("INSERT INTO telemetry_state (series_id, start_ms, end_ms, value_boolean) " +
+                "VALUES (?, ?, ?, FALSE)", seriesId, next, next + 60_000);
+        assertThatThrownBy(() -> telemetryStateStore.append(reading(device, 10, false)))
+                .isInstanceOf(DataAccessException.class);
+        assertThat(jdbcTemplate.queryForList("SELECT start_ms FROM telemetry_state " +
+                "WHERE series_id = ? AND end_ms IS NULL", Long.class, seriesId))
+                .containsExactly(TelemetryTime.toEpochMillis(start));
+
+        // Çakışma giderilince sonraki okuma açık aralığı yeniden yükleyip geçişi yazar
+        jdbcTemplate.update("DELETE FROM telemetry_state WHERE series_id = ? AND start_ms = ?", seriesId, next);
+        assertThat(telemetryStateStore.append(reading(device, 10, false))).isTrue();
+        assertThat(telemetryDataService.getStateTransitions(device.getId(), "doorOpen", start, start.plusMinutes(20)))
+                .extracting(StateTransitionDto::getState, StateTransitionDto::getStart, StateTransitionDto::getEnd)
+                .containsExactly(
+                        tuple("true", start, start.plusMinutes(10)),
+                        tuple("false", start.plusMinutes(10), null));
+    }
+
+    private TelemetryData reading(Device device, int minute, boolean open) {
+        TelemetryData data = new TelemetryData(device, "iot/door-tx/telemetry",
+                "{\"dataType\":\"doorOpen\",\"value\":" + open + "}");
+        data.setDataType("doorOpen");
+        data.setValueBoolean(open);
+        data.setTimestamp(start.plusMinutes(minute));
+        return data;
+    }
+}
@@ -0,0 +1,167 @@
+package com.yourcompany.iotplatform.iot_device_management.service;
+
+import com.yourcompany.iotplatform.iot_device_management.config.VirtualSeriesProperties;
+import com.yourcompany.iotplatform.iot_device_management.exception.BusinessRuleException;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Sanal seri testleri
+ * İfade derleme, canlı okumada artımlı hesaplama (kalıcı ve yalnızca son değer) ve sorgu anında hesaplama
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.virtual-series.enabled=true",
+        "telemetry.virtual-series.definitions[0].data-type=power",
+        "telemetry.virtual-series.definitions[0].expression=voltage * current",
+        "telemetry.virtual-series.definitions[0].materialize=true",
+        "telemetry.virtual-series.definitions[1].data-type=dew_point",
+        "telemetry.virtual-series.definitions[1].expression=dewpoint(temperature, humidity)",
+        "telemetry.virtual-series.definitions[1].max-input-age=5m"
+})
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class VirtualSeriesServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private VirtualSeriesService virtualSeriesService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 8, 0);
+    private Device device;
+
+    @BeforeEach
+    void setUp() {
+        device = entityManager.persist(new Device("meter-1", "Sayaç 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+    }
+
+    @Test
+    void expressionsCompileWithPrecedenceFunctionsAndConstantFolding() {
+        assertThat(SeriesExpression.compile("2 + 3 * 4 ^ 2").evaluate()).isEqualTo(50.0);
+        assertThat(SeriesExpression.compile("-2^2").evaluate()).isEqualTo(-4.0);
+        assertThat(SeriesExpression.compile("2^3^2").evaluate()).isEqualTo(512.0);
+        assertThat(SeriesExpression.compile("1.5e3 / 3 % 7").evaluate()).isEqualTo(3.0);
+
+        SeriesExpression expression = SeriesExpression.compile("clamp(max(a, `b-1`, 3) - a, 0, 10) + a * 0");
+        assertThat(expression.getVariables()).containsExactly("a", "b-1");
+        assertThat(expression.evaluate(1, 8)).isEqualTo(7.0);
+        assertThat(expression.evaluate(-20, -30)).isEqualTo(10.0);
+        assertThat(SeriesExpression.compile("dewpoint(t, rh)").evaluate(20, 50)).isCloseTo(9.26, within(0.01));
+        assertThat(SeriesExpression.compile("sqrt(x)").evaluate(-1)).isNaN();
+
+        for (String invalid : new String[]{"", "a +", "(a", "foo(1)", "min(1)", "a b", "`", "1..2"}) {
+            assertThatThrownBy(() -> SeriesExpression.compile(invalid)).as(invalid)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> SeriesExpression.compile("(".repeat(100) + "a" + ")".repeat(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Sanal seri başka bir sanal seriye dayanamaz
+        VirtualSeriesProperties properties = new VirtualSeriesProperties();
+        VirtualSeriesProperties.Definition power = definition("power", "voltage * current");
+        VirtualSeriesProperties.Definition cost = definition("cost", "power * 0.2");
+        properties.setDefinitions(List.of(power, cost));
+        VirtualSeriesService service = new VirtualSeriesService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        assertThatThrownBy(service::compile).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void liveReadingsDeriveVirtualSeriesIncrementally() {
+        telemetryDataService.saveTelemetryData(reading("voltage", 230.0, start));
+        assertThat(telemetryDataService.getLatestTelemetryData(device.getId(), "power")).isEmpty();
+
+        telemetryDataService.saveTelemetryData(reading("current", 2.0, start.plusSeconds(10)));
+        TelemetryData power = telemetryDataService.getLatestTelemetryData(device.getId(), "power").orElseThrow();
+        assertThat(power.getValueNumeric()).isEqualTo(460.0);
+        assertThat(power.getTimestamp()).isEqualTo(start.plusSeconds(10));
+
+        // Gerilim okuması max-input-age'den eski: hesaplanmaz
+        telemetryDataService.saveTelemetryData(reading("current", 3.0, start.plusMinutes(2)));
+        assertThat(telemetryDataService.getLatestTelemetryData(device.getId(), "power").orElseThrow()
+                .getValueNumeric()).isEqualTo(460.0);
+        telemetryDataService.saveTelemetryData(reading("voltage", 220.0, start.plusMinutes(2).plusSeconds(5)));
+        // Sıra dışı (son gerilimden eski) okuma hesaplamayı tetiklemez
+        telemetryDataService.saveTelemetryData(reading("voltage", 100.0, start.plusMinutes(1).plusSeconds(59)));
+        assertThat(telemetryDataService.getLatestTelemetryData(device.getId(), "power").orElseThrow()
+                .getValueNumeric()).isEqualTo(660.0);
+
+        // Kalıcı tanım kaydedilir, diğeri yalnızca son değerde tutulur
+        assertThat(telemetryDataService.getTelemetryDataByDeviceAndDataType(device.getId(), "power"))
+                .extracting(TelemetryData::getValueNumeric).containsExactlyInAnyOrder(460.0, 660.0);
+        telemetryDataService.saveTelemetryData(reading("temperature", 20.0, start));
+        telemetryDataService.saveTelemetryData(reading("humidity", 50.0, start.plusMinutes(4)));
+        assertThat(telemetryDataService.getLatestTelemetryData(device.getId(), "dew_point").orElseThrow()
+                .getValueNumeric()).isCloseTo(9.26, within(0.01));
+        assertThat(telemetryDataService.getTelemetryDataByDeviceAndDataType(device.getId(), "dew_point")).isEmpty();
+    }
+
+    @Test
+    void historyIsEvaluatedAtQueryTimeOverAlignedInputs() throws Exception {
+        for (int minute = 0; minute < 3; minute++) {
+            telemetryDataService.saveTelemetryData(reading("voltage", 230.0 - minute, start.plusMinutes(minute)));
+            telemetryDataService.saveTelemetryData(reading("current", 1.0 + minute, start.plusMinutes(minute).plusSeconds(20)));
+        }
+
+        assertThat(query("power", null, Duration.ofMinutes(1))).isEqualTo(
+                "{\"timestamp\":\"2024-06-01T08:00\",\"value\":null}\n" +
+                "{\"timestamp\":\"2024-06-01T08:01\",\"value\":229.0}\n" +
+                "{\"timestamp\":\"2024-06-01T08:02\",\"value\":456.0}\n");
+        assertThat(query(null, "voltage / (current - 1)", Duration.ofMinutes(1))).isEqualTo(
+                "{\"timestamp\":\"2024-06-01T08:00\",\"value\":null}\n" +
+                "{\"timestamp\":\"2024-06-01T08:01\",\"value\":null}\n" +
+                "{\"timestamp\":\"2024-06-01T08:02\",\"value\":228.0}\n");
+
+        assertThatThrownBy(() -> query(null, "voltage *", null)).isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> query("power", "voltage", null)).isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> query("unknown", null, null)).isInstanceOf(BusinessRuleException.class);
+    }
+
+    private String query(String name, String expression, Duration tolerance) throws Exception {
+        VirtualSeriesService.VirtualQuery query = virtualSeriesService.prepare(device.getId(), name, expression, start,
+                start.plusMinutes(2), TelemetryJoinService.Alignment.GRID, Duration.ofMinutes(1), tolerance, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        virtualSeriesService.writeNdjson(query, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private TelemetryData reading(String dataType, double value, LocalDateTime timestamp) {
+        TelemetryData data = new TelemetryData(device, "iot/meter-1/telemetry", "{}", dataType, value);
+        data.setTimestamp(timestamp);
+        return data;
+    }
+
+    private static VirtualSeriesProperties.Definition definition(String name, String expression) {
+        VirtualSeriesProperties.Definition definition = new VirtualSeriesProperties.Definition();
+        definition.setDataType(name);
+        definition.setExpression(expression);
+        return definition;
+    }
+}
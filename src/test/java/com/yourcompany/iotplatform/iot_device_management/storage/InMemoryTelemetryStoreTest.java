@@ -0,0 +1,27 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bellek içi telemetri deposu uyumluluk testleri
+ */
+class InMemoryTelemetryStoreTest extends TelemetryStoreConformanceTest {
+
+    private final InMemoryTelemetryStore telemetryStore = new InMemoryTelemetryStore();
+
+    private final AtomicLong deviceIds = new AtomicLong();
+
+    @Override
+    protected TelemetryStore store() {
+        return telemetryStore;
+    }
+
+    @Override
+    protected Device newDevice(String deviceId) {
+        Device device = new Device(deviceId, "Cihaz " + deviceId, Device.DeviceType.SENSOR);
+        device.setId(deviceIds.incrementAndGet());
+        return device;
+    }
+}
@@ -0,0 +1,33 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * JPA telemetri deposu uyumluluk testleri
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({JpaTelemetryStore.class, TelemetryBulkLoader.class})
+class JpaTelemetryStoreTest extends TelemetryStoreConformanceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Override
+    protected TelemetryStore store() {
+        return telemetryStore;
+    }
+
+    @Override
+    protected Device newDevice(String deviceId) {
+        return entityManager.persistFlushFind(new Device(deviceId, "Cihaz " + deviceId, Device.DeviceType.SENSOR));
+    }
+}
@@ -0,0 +1,49 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.config.TelemetryShardConfig;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.storage.shard.ShardedTelemetryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Parçalı telemetri deposu uyumluluk testleri
+ * Parça yazmaları test işlemine katılmadığından parçalar her testten önce boşaltılır
+ */
+@DataJpaTest(showSql = false, properties = {
+        "telemetry.store.backend=sharded",
+        "telemetry.shards.nodes[0].name=a",
+        "telemetry.shards.nodes[0].url=jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1",
+        "telemetry.shards.nodes[1].name=b",
+        "telemetry.shards.nodes[1].url=jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1",
+        "telemetry.shards.nodes[2].name=c",
+        "telemetry.shards.nodes[2].url=jdbc:h2:mem:shard-c;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("test")
+@Import({TelemetryShardConfig.class, ShardedTelemetryStore.class})
+class ShardedTelemetryStoreTest extends TelemetryStoreConformanceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @BeforeEach
+    void clearShards() {
+        telemetryStore.deleteBefore(TelemetryStore.MAX_TIME);
+    }
+
+    @Override
+    protected TelemetryStore store() {
+        return telemetryStore;
+    }
+
+    @Override
+    protected Device newDevice(String deviceId) {
+        return entityManager.persistFlushFind(new Device(deviceId, "Cihaz " + deviceId, Device.DeviceType.SENSOR));
+    }
+}
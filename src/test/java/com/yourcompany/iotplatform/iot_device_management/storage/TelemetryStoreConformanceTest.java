@@ -0,0 +1,274 @@
+package com.yourcompany.iotplatform.iot_device_management.storage;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Telemetri deposu uyumluluk ve performans testleri
+ * Her arka uç bu sınıfı genişletir; aynı senaryolar tüm arka uçlarda aynı sonucu vermelidir.
+ * Test metotları burada tanımlandığı için veritabanı arka uçlarında geri alınan işlem buradan başlatılır
+ */
+@Transactional
+abstract class TelemetryStoreConformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryStoreConformanceTest.class);
+
+    private static final int BENCHMARK_ROWS = 20_000;
+    private static final int BENCHMARK_BATCH_SIZE = 500;
+
+    protected LocalDateTime start;
+    protected Device device;
+
+    /**
+     * Test edilen arka uç
+     */
+    protected abstract TelemetryStore store();
+
+    /**
+     * Arka uçta kalıcı (ID'si atanmış) yeni bir cihaz
+     */
+    protected abstract Device newDevice(String deviceId);
+
+    @BeforeEach
+    void setUpDevice() {
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        device = newDevice("device-1");
+    }
+
+    @Test
+    void appendBatchAssignsIdsAndReceivedAt() {
+        List<TelemetryData> batch = readings(device, "temperature", 3);
+
+        store().appendBatch(batch);
+
+        assertThat(batch).allSatisfy(data -> {
+            assertThat(data.getId()).isNotNull();
+            assertThat(data.getReceivedAt()).isNotNull();
+        });
+        assertThat(batch.stream().map(TelemetryData::getId).distinct()).hasSize(3);
+    }
+
+    @Test
+    void scanRangeReturnsNewestFirstWithInclusiveBounds() {
+        store().appendBatch(readings(device, "temperature", 10));
+
+        List<TelemetryDataDto> rows = store().scanRange(device.getId(), null,
+                minute(2), minute(5), Integer.MAX_VALUE);
+
+        assertThat(rows).extracting(TelemetryDataDto::getValueNumeric).containsExactly(5.0, 4.0, 3.0, 2.0);
+        assertThat(rows.get(0).getDeviceId()).isEqualTo(device.getId());
+        assertThat(rows.get(0).getDeviceName()).isEqualTo(device.getName());
+        assertThat(rows.get(0).getTopic()).isEqualTo("iot/device-1/telemetry");
+        assertThat(rows.get(0).getPayload()).isNull();
+    }
+
+    @Test
+    void scanRangeFiltersDataTypeAndDeviceAndAppliesLimit() {
+        Device other = newDevice("device-2");
+        List<TelemetryData> batch = new ArrayList<>(readings(device, "temperature", 5));
+        batch.addAll(readings(device, "humidity", 5));
+        batch.addAll(readings(other, "temperature", 5));
+        store().appendBatch(batch);
+
+        assertThat(store().scanRange(device.getId(), "humidity", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).hasSize(5).allMatch(row -> row.getDataType().equals("humidity"));
+        assertThat(store().scanRange(device.getId(), null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).hasSize(10).allMatch(row -> row.getDeviceId().equals(device.getId()));
+        assertThat(store().scanRange(device.getId(), "temperature", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, 2))
+                .extracting(TelemetryDataDto::getValueNumeric).containsExactly(4.0, 3.0);
+    }
+
+    @Test
+    void scanFleetMergesDevicesNewestFirst() {
+        List<Device> devices = List.of(device, newDevice("device-2"), newDevice("device-3"), newDevice("device-4"));
+        List<TelemetryData> batch = new ArrayList<>();
+        for (int i = 0; i < devices.size(); i++) {
+            for (int j = 0; j < 5; j++) {
+                batch.add(reading(devices.get(i), j % 2 == 0 ? "temperature" : "humidity", j * devices.size() + i));
+            }
+        }
+        store().appendBatch(batch);
+
+        List<TelemetryDataDto> rows = store().scanFleet(null, null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE);
+
+        assertThat(rows).hasSize(20).isSortedAccordingTo((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+        assertThat(rows.get(0).getDeviceName()).isEqualTo("Cihaz device-4");
+        assertThat(store().scanFleet("temperature", null, minute(4), minute(11), 3))
+                .extracting(TelemetryDataDto::getValueNumeric).containsExactly(11.0, 10.0, 9.0);
+        assertThat(store().scanFleet(null, "iot/device-2/telemetry", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).hasSize(5).allMatch(row -> row.getDeviceId().equals(devices.get(1).getId()));
+    }
+
+    @Test
+    void latestReturnsNewestReading() {
+        store().appendBatch(readings(device, "temperature", 5));
+        List<TelemetryData> humidity = readings(device, "humidity", 3);
+        store().appendBatch(humidity);
+
+        assertThat(store().latest(device.getId(), "temperature"))
+                .hasValueSatisfying(row -> assertThat(row.getValueNumeric()).isEqualTo(4.0));
+        assertThat(store().latest(device.getId(), null))
+                .hasValueSatisfying(row -> assertThat(row.getTimestamp()).isEqualTo(start.plusMinutes(4)));
+        assertThat(store().latest(newDevice("device-3").getId(), null)).isEmpty();
+    }
+
+    @Test
+    void aggregateCombinesOnlyMatchingNumericReadings() {
+        List<TelemetryData> batch = new ArrayList<>(readings(device, "temperature", 10));
+        batch.addAll(readings(device, "humidity", 10));
+        TelemetryData text = new TelemetryData(device, "iot/device-1/telemetry", "{\"dataType\":\"temperature\"}", "temperature", null);
+        text.setValueString("n/a");
+        text.setTimestamp(start.plusMinutes(3));
+        batch.add(text);
+        store().appendBatch(batch);
+
+        TelemetryAggregate aggregate = store().aggregate(device.getId(), "temperature", minute(1), minute(4));
+
+        assertThat(aggregate.getCount()).isEqualTo(4);
+        assertThat(aggregate.getSum()).isEqualTo(10.0);
+        assertThat(aggregate.getMin()).isEqualTo(1.0);
+        assertThat(aggregate.getMax()).isEqualTo(4.0);
+        assertThat(aggregate.getAverage()).isEqualTo(2.5);
+        assertThat(store().aggregate(device.getId(), "pressure", minute(0), minute(24 * 60)).getCount()).isZero();
+    }
+
+    @Test
+    void aggregateByDeviceGroupsDevicesInOneQuery() {
+        Device second = newDevice("device-2");
+        Device quiet = newDevice("device-3");
+        List<TelemetryData> batch = new ArrayList<>(readings(device, "temperature", 10));
+        batch.addAll(readings(device, "humidity", 10));
+        for (int i = 0; i < 5; i++) {
+            batch.add(reading(second, "temperature", 100 + i));
+        }
+        store().appendBatch(batch);
+
+        Map<Long, TelemetryAggregate> all = store().aggregateByDevice("temperature", null, minute(0), minute(200));
+
+        assertThat(all).containsOnlyKeys(device.getId(), second.getId());
+        assertThat(all.get(device.getId()).getSum()).isEqualTo(45.0);
+        assertThat(all.get(second.getId()).getCount()).isEqualTo(5);
+        assertThat(all.get(second.getId()).getMax()).isEqualTo(104.0);
+
+        Map<Long, TelemetryAggregate> selected = store().aggregateByDevice("temperature",
+                List.of(device.getId(), quiet.getId()), minute(2), minute(4));
+        assertThat(selected).containsOnlyKeys(device.getId());
+        assertThat(selected.get(device.getId()).getAverage()).isEqualTo(3.0);
+        assertThat(store().aggregateByDevice("temperature", List.of(), minute(0), minute(200))).isEmpty();
+    }
+
+    @Test
+    void loadPayloadsReturnsRawPayloadsById() {
+        List<TelemetryData> batch = readings(device, "temperature", 3);
+        store().appendBatch(batch);
+
+        Map<Long, String> payloads = store().loadPayloads(List.of(batch.get(0).getId(), batch.get(2).getId()));
+
+        assertThat(payloads).containsOnly(
+                Map.entry(batch.get(0).getId(), batch.get(0).getPayload()),
+                Map.entry(batch.get(2).getId(), batch.get(2).getPayload()));
+    }
+
+    @Test
+    void deleteBeforeRemovesOnlyOlderReadings() {
+        store().appendBatch(readings(device, "temperature", 10));
+
+        assertThat(store().deleteBefore(minute(6))).isEqualTo(6);
+
+        assertThat(store().scanRange(device.getId(), null, TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).extracting(TelemetryDataDto::getValueNumeric).containsExactly(9.0, 8.0, 7.0, 6.0);
+    }
+
+    @Test
+    void retentionScansAndPurgesOneSeriesOldestFirst() {
+        Device other = newDevice("device-2");
+        List<TelemetryData> batch = new ArrayList<>(readings(device, "temperature", 10));
+        batch.addAll(readings(device, "humidity", 10));
+        batch.addAll(readings(other, "temperature", 10));
+        store().appendBatch(batch);
+
+        List<String> series = new ArrayList<>();
+        store().forEachSeries((deviceId, dataType) -> series.add(deviceId + "/" + dataType));
+        assertThat(series).containsExactlyInAnyOrder(device.getId() + "/temperature", device.getId() + "/humidity",
+                other.getId() + "/temperature");
+
+        List<Double> values = new ArrayList<>();
+        store().scanNumeric(device.getId(), "temperature", minute(2), minute(8), 3, (timestamp, value) -> values.add(value));
+        assertThat(values).containsExactly(2.0, 3.0, 4.0);
+
+        PurgeResult first = store().purgeBefore(device.getId(), "temperature", minute(6), 4);
+        assertThat(first.getRows()).isEqualTo(4);
+        assertThat(first.getPayloadBytes()).isPositive();
+        assertThat(store().purgeBefore(device.getId(), "temperature", minute(6), 4).getRows()).isEqualTo(2);
+        assertThat(store().purgeBefore(device.getId(), "temperature", minute(6), 4).getRows()).isZero();
+
+        assertThat(store().scanRange(device.getId(), "temperature", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).extracting(TelemetryDataDto::getValueNumeric).containsExactly(9.0, 8.0, 7.0, 6.0);
+        assertThat(store().scanRange(device.getId(), "humidity", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).hasSize(10);
+        assertThat(store().scanRange(other.getId(), "temperature", TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME,
+                Integer.MAX_VALUE)).hasSize(10);
+    }
+
+    @Test
+    void benchmarkAppendAndScan() {
+        long started = System.nanoTime();
+        for (int from = 0; from < BENCHMARK_ROWS; from += BENCHMARK_BATCH_SIZE) {
+            List<TelemetryData> batch = new ArrayList<>(BENCHMARK_BATCH_SIZE);
+            for (int i = from; i < from + BENCHMARK_BATCH_SIZE; i++) {
+                batch.add(reading(device, "temperature", i));
+            }
+            store().appendBatch(batch);
+        }
+        long appendNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        List<TelemetryDataDto> rows = store().scanRange(device.getId(), "temperature",
+                TelemetryStore.MIN_TIME, TelemetryStore.MAX_TIME, Integer.MAX_VALUE);
+        long scanNanos = System.nanoTime() - started;
+
+        assertThat(rows).hasSize(BENCHMARK_ROWS);
+        logger.info("Telemetri deposu '{}': {} satır yazma {} satır/sn, tarama {} satır/sn", store().getName(),
+                BENCHMARK_ROWS, rowsPerSecond(BENCHMARK_ROWS, appendNanos), rowsPerSecond(rows.size(), scanNanos));
+    }
+
+    private List<TelemetryData> readings(Device target, String dataType, int count) {
+        List<TelemetryData> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(reading(target, dataType, i));
+        }
+        return batch;
+    }
+
+    private TelemetryData reading(Device target, String dataType, int minute) {
+        TelemetryData data = new TelemetryData(target, "iot/" + target.getDeviceId() + "/telemetry",
+                "{\"dataType\":\"" + dataType + "\",\"value\":" + minute + "}", dataType, (double) minute);
+        data.setTimestamp(start.plusMinutes(minute));
+        data.setReceivedAt(null);
+        return data;
+    }
+
+    private long minute(int minute) {
+        return TelemetryTime.toEpochMillis(start.plusMinutes(minute));
+    }
+
+    private static long rowsPerSecond(int rows, long nanos) {
+        return nanos == 0 ? rows : rows * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,216 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.segment;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import com.yourcompany.iotplatform.iot_device_management.service.DeviceRegistry;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataService;
+import com.yourcompany.iotplatform.iot_device_management.service.TelemetryDataServiceTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Segment deposu testleri
+ * Eski blokların segment dosyalarına taşındığını, okumaların iki kaynağı şeffaf şekilde birleştirdiğini
+ * ve silinmeyi bekleyen satırların ne çift sayıldığını ne de sonradan gelen güncellemeleri sildiğini doğrular
+ */
+@DataJpaTest(showSql = false, properties = {"telemetry.series.enabled=true", "telemetry.segment.enabled=true",
+        "telemetry.aggregate-cache.enabled=true"})
+@ActiveProfiles("test")
+@Import(TelemetryDataServiceTestConfiguration.class)
+class SegmentStoreTest {
+
+    @TempDir
+    static Path segmentDir;
+
+    @DynamicPropertySource
+    static void segmentProperties(DynamicPropertyRegistry registry) {
+        registry.add("telemetry.segment.dir", () -> segmentDir.toString());
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TelemetryDataService telemetryDataService;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device device;
+    private LocalDateTime coldStart;
+    private LocalDateTime hotStart;
+
+    @BeforeEach
+    void setUp() {
+        device = entityManager.persist(new Device("device-1", "Cihaz 1", Device.DeviceType.SENSOR));
+        entityManager.flush();
+        deviceRegistry.register(device);
+        // Bağlam testler arasında paylaşılır, veritabanı ise geri alınır; önceki testin mühür sınırı sıfırlanır
+        ReflectionTestUtils.setField(segmentStore, "sealedBefore", Long.MIN_VALUE);
+
+        // Beş gün önce başlayan 3 günlük dakikalık veri (mühürlenir) ve son bir saatlik veri (sıcak kalır)
+        coldStart = LocalDateTime.now(ZoneOffset.UTC).minusDays(5).truncatedTo(ChronoUnit.DAYS);
+        hotStart = LocalDateTime.now(ZoneOffset.UTC).minusHours(1).truncatedTo(ChronoUnit.MINUTES);
+        for (int i = 0; i < 3 * 1440; i++) {
+            save(coldStart.plusMinutes(i), i % 100);
+        }
+        for (int i = 0; i < 60; i++) {
+            save(hotStart.plusMinutes(i), 1000 + i);
+        }
+    }
+
+    @Test
+    void sealMovesClosedBlocksToSegmentFiles() throws Exception {
+        segmentStore.seal();
+        // Mühürlenen satırlar bir sonraki turda silinir
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class))
+                .isEqualTo(3 * 1440 + 60);
+        segmentStore.seal();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class)).isEqualTo(60);
+        // Dizin testler arasında paylaşıldığı için yalnızca bu testin serisine ait dosyalar sayılır
+        Integer seriesId = jdbcTemplate.queryForObject("SELECT id FROM telemetry_series", Integer.class);
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            assertThat(files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(seriesId + "-") && name.endsWith(".seg"))
+                    .count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void readsSpanSegmentsAndHotHead() {
+        segmentStore.seal();
+
+        List<TelemetryDataDto> range = telemetryDataService.getTelemetryDataViewsByTimeRange(
+                device.getId(), coldStart.plusDays(1).minusMinutes(5), coldStart.plusDays(1).plusMinutes(4), false);
+        assertThat(range).hasSize(10);
+        assertThat(range.get(0).getTimestamp()).isEqualTo(coldStart.plusDays(1).plusMinutes(4));
+        assertThat(range.get(0).getTopic()).isEqualTo("iot/device-1/telemetry");
+
+        List<TelemetryDataDto> all = telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(
+                device.getId(), "temperature", false);
+        assertThat(all).hasSize(3 * 1440 + 60);
+        assertThat(all.get(0).getValueNumeric()).isEqualTo(1059.0);
+        assertThat(all.get(all.size() - 1).getTimestamp()).isEqualTo(coldStart);
+
+        List<TelemetryDataDto> latest = telemetryDataService.getTelemetryDataViewsByDevice(device.getId(), 70, false);
+        assertThat(latest).hasSize(70);
+        assertThat(latest.get(60).getTimestamp()).isEqualTo(coldStart.plusDays(3).minusMinutes(1));
+    }
+
+    @Test
+    void aggregatesCombineSegmentStatisticsAndHotRows() {
+        TelemetryAggregate before = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", coldStart.plusHours(12), hotStart.plusMinutes(30));
+
+        segmentStore.seal();
+
+        TelemetryAggregate after = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", coldStart.plusHours(12), hotStart.plusMinutes(30));
+        assertThat(after.getCount()).isEqualTo(before.getCount());
+        assertThat(after.getSum()).isEqualTo(before.getSum());
+        assertThat(after.getMin()).isEqualTo(before.getMin());
+        assertThat(after.getMax()).isEqualTo(before.getMax());
+    }
+
+    @Test
+    void lateRowsAreMergedIntoExistingSegment() {
+        segmentStore.seal();
+
+        save(coldStart.plusSeconds(30), 500);
+        save(coldStart.plusMinutes(1), 600);
+        segmentStore.seal();
+        segmentStore.seal();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class)).isEqualTo(60);
+        List<TelemetryDataDto> firstMinutes = telemetryDataService.getTelemetryDataViewsByTimeRange(
+                device.getId(), coldStart, coldStart.plusMinutes(1), false);
+        assertThat(firstMinutes).extracting(TelemetryDataDto::getValueNumeric).containsExactly(600.0, 500.0, 0.0);
+    }
+
+    @Test
+    void rowsAwaitingDeletionAreNotCountedTwice() {
+        LocalDateTime from = coldStart.plusHours(12);
+        LocalDateTime to = hotStart.plusMinutes(30);
+        TelemetryAggregate before = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", from, to);
+        segmentStore.seal();
+
+        // Satırlar hem tabloda hem segmentte; mühür sınırının altındaki tablo satırları okunmaz
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class))
+                .isEqualTo(3 * 1440 + 60);
+        assertThat(segmentStore.getSealedBefore())
+                .isEqualTo(coldStart.plusDays(3).toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(telemetryDataService.getTelemetryDataViewsByDeviceAndDataType(device.getId(), "temperature", false))
+                .hasSize(3 * 1440 + 60);
+        assertThat(telemetryDataService.getTelemetryDataViewsByTimeRange(device.getId(), from, to, false))
+                .hasSize((int) before.getCount());
+        TelemetryAggregate after = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", from, to);
+        assertThat(after.getCount()).isEqualTo(before.getCount());
+        assertThat(after.getSum()).isEqualTo(before.getSum());
+    }
+
+    @Test
+    void updatesToSealedRowsAreNotLost() {
+        LocalDateTime from = coldStart;
+        LocalDateTime to = coldStart.plusDays(1).minusMinutes(1);
+        segmentStore.seal();
+        TelemetryAggregate sealed = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", from, to);
+
+        // Silinmeyi bekleyen satır güncellenir; silme yalnızca segmentteki değerle aynı kalan satırları siler
+        save(coldStart.plusMinutes(5), 700);
+        segmentStore.seal();
+
+        List<TelemetryDataDto> updated = telemetryDataService.getTelemetryDataViewsByTimeRange(
+                device.getId(), coldStart.plusMinutes(5), coldStart.plusMinutes(5), false);
+        assertThat(updated).extracting(TelemetryDataDto::getValueNumeric).containsExactly(700.0);
+        // Birleştirme bloğun önbellekteki toplamını geçersiz kılar
+        TelemetryAggregate merged = telemetryDataService.getAggregateByDeviceAndDataTypeAndTimeRange(
+                device.getId(), "temperature", from, to);
+        assertThat(merged.getCount()).isEqualTo(sealed.getCount());
+        assertThat(merged.getSum()).isEqualTo(sealed.getSum() + 695);
+
+        segmentStore.seal();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telemetry_numeric", Long.class)).isEqualTo(60);
+        assertThat(telemetryDataService.getTelemetryDataViewsByTimeRange(
+                device.getId(), coldStart.plusMinutes(5), coldStart.plusMinutes(5), false))
+                .extracting(TelemetryDataDto::getValueNumeric).containsExactly(700.0);
+    }
+
+    private void save(LocalDateTime timestamp, double value) {
+        TelemetryData data = new TelemetryData(device, "iot/device-1/telemetry", "{}", "temperature", value);
+        data.setTimestamp(timestamp);
+        data.setQuality(1);
+        telemetryDataService.saveTelemetryData(data);
+    }
+}
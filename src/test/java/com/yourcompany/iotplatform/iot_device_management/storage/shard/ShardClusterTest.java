@@ -0,0 +1,163 @@
+package com.yourcompany.iotplatform.iot_device_management.storage.shard;
+
+import com.yourcompany.iotplatform.iot_device_management.dto.ShardRebalanceReport;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryAggregate;
+import com.yourcompany.iotplatform.iot_device_management.dto.TelemetryDataDto;
+import com.yourcompany.iotplatform.iot_device_management.model.Device;
+import com.yourcompany.iotplatform.iot_device_management.model.TelemetryData;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parça halkası, k yollu birleştirme, yeniden dengeleme ve taşıma sırasında okumaların tekrar saymadığı testleri
+ */
+class ShardClusterTest {
+
+    private static final int DEVICES = 60;
+    private static final int READINGS = 7;
+
+    @Test
+    void ringSpreadsKeysAndMovesOnlyToAddedNode() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing four = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        int[] counts = new int[3];
+        int moved = 0;
+        for (long key = 1; key <= 30_000; key++) {
+            int before = three.nodeFor(key);
+            int after = four.nodeFor(key);
+            counts[before]++;
+            if (before != after) {
+                assertThat(after).isEqualTo(3);
+                moved++;
+            }
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(7_000, 13_000);
+        }
+        assertThat(moved).isBetween(30_000 / 4 - 3_000, 30_000 / 4 + 3_000);
+        assertThat(three.fingerprint()).isNotEqualTo(four.fingerprint());
+    }
+
+    @Test
+    void mergeInterleavesSortedSourcesUpToLimit() {
+        List<List<Integer>> sources = List.of(List.of(9, 6, 3), List.of(8, 5, 2), List.of(), List.of(7, 4, 1));
+
+        assertThat(MergeIterator.merge(sources, Comparator.<Integer>reverseOrder(), Integer.MAX_VALUE))
+                .containsExactly(9, 8, 7, 6, 5, 4, 3, 2, 1);
+        assertThat(MergeIterator.merge(sources, Comparator.<Integer>reverseOrder(), 4)).containsExactly(9, 8, 7, 6);
+
+        // İki kaynakta birden bulunan elemanlar bir kez alınır
+        List<List<Integer>> overlapping = List.of(List.of(9, 6, 5, 3), List.of(8, 6, 5, 2));
+        assertThat(MergeIterator.mergeDistinct(overlapping, Comparator.<Integer>reverseOrder(), Integer.MAX_VALUE))
+                .containsExactly(9, 8, 6, 5, 3, 2);
+        assertThat(MergeIterator.mergeDistinct(overlapping, Comparator.<Integer>reverseOrder(), 4))
+                .containsExactly(9, 8, 6, 5);
+    }
+
+    @Test
+    void rebalanceMovesDevicesToOwnersAfterShardIsAdded() {
+        TelemetryShard a = shard("rebalance-a", 0);
+        TelemetryShard b = shard("rebalance-b", 1);
+        ShardCluster before = cluster(a, b);
+        Map<Long, List<Long>> idsByDevice = new HashMap<>();
+        for (long deviceId = 1; deviceId <= DEVICES; deviceId++) {
+            List<TelemetryData> batch = readings(deviceId);
+            before.owner(deviceId).append(batch);
+            idsByDevice.put(deviceId, batch.stream().map(TelemetryData::getId).toList());
+        }
+        assertThat(before.isRebalancePending()).isFalse();
+
+        ShardCluster after = cluster(a, b, shard("rebalance-c", 2));
+        assertThat(after.isRebalancePending()).isTrue();
+
+        ShardRebalanceReport dryRun = after.rebalance(true, 3);
+        long misplaced = dryRun.getShards().stream().mapToLong(ShardRebalanceReport.ShardStatus::getMisplacedDevices).sum();
+        assertThat(misplaced).isPositive();
+        assertThat(dryRun.getMovedRows()).isZero();
+        assertThat(after.isRebalancePending()).isTrue();
+
+        ShardRebalanceReport report = after.rebalance(false, 3);
+
+        assertThat(report.getMovedDevices()).isEqualTo(misplaced);
+        assertThat(report.getMovedRows()).isEqualTo(misplaced * READINGS);
+        assertThat(after.isRebalancePending()).isFalse();
+        long total = 0;
+        for (TelemetryShard shard : after.getShards()) {
+            assertThat(shard.deviceIds()).allMatch(deviceId -> after.owner(deviceId) == shard);
+            total += shard.countRows();
+        }
+        assertThat(total).isEqualTo(DEVICES * READINGS);
+        for (long deviceId = 1; deviceId <= DEVICES; deviceId++) {
+            Set<Long> ids = after.owner(deviceId).readDevice(deviceId, Integer.MAX_VALUE).stream()
+                    .map(TelemetryDataDto::getId).collect(Collectors.toSet());
+            assertThat(ids).containsExactlyInAnyOrderElementsOf(idsByDevice.get(deviceId));
+        }
+        assertThat(cluster(a, b, shard("rebalance-c", 2)).isRebalancePending()).isFalse();
+    }
+
+    @Test
+    void readsDuringRebalanceCountEveryRowOnce() {
+        TelemetryShard a = shard("moving-a", 0);
+        TelemetryShard b = shard("moving-b", 1);
+        ShardCluster before = cluster(a, b);
+        for (long deviceId = 1; deviceId <= DEVICES; deviceId++) {
+            before.owner(deviceId).append(readings(deviceId));
+        }
+        ShardCluster after = cluster(a, b, shard("moving-c", 2));
+
+        // Satır satır taşınırken her okuma tüm satırları tam bir kez görmeli
+        CompletableFuture<ShardRebalanceReport> rebalance = CompletableFuture.supplyAsync(() -> after.rebalance(false, 1));
+        int reads = 0;
+        do {
+            long count = after.fanOut(shard -> shard.aggregateByDevice("temperature", null, Long.MIN_VALUE, Long.MAX_VALUE))
+                    .stream()
+                    .flatMap(byDevice -> byDevice.values().stream())
+                    .mapToLong(TelemetryAggregate::getCount)
+                    .sum();
+            assertThat(count).isEqualTo(DEVICES * READINGS);
+            reads++;
+        } while (!rebalance.isDone());
+
+        assertThat(rebalance.join().getMovedRows()).isPositive();
+        assertThat(reads).isPositive();
+    }
+
+    private static TelemetryShard shard(String name, int index) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return new TelemetryShard(name, index, dataSource);
+    }
+
+    private static ShardCluster cluster(TelemetryShard... shards) {
+        List<TelemetryShard> list = List.of(shards);
+        return new ShardCluster(list, new ConsistentHashRing(list.stream().map(TelemetryShard::getName).toList(), 64),
+                64, List.of());
+    }
+
+    private static List<TelemetryData> readings(long deviceId) {
+        Device device = new Device("device-" + deviceId, "Cihaz " + deviceId, Device.DeviceType.SENSOR);
+        device.setId(deviceId);
+        List<TelemetryData> batch = new ArrayList<>(READINGS);
+        for (int i = 0; i < READINGS; i++) {
+            TelemetryData data = new TelemetryData(device, "iot/device-" + deviceId + "/telemetry",
+                    "{\"value\":" + i + "}", "temperature", (double) i);
+            data.setTimestamp(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            batch.add(data);
+        }
+        return batch;
+    }
+}